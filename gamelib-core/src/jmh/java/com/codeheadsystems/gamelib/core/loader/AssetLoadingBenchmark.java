@@ -0,0 +1,113 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.loader;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.resolvers.AbsoluteFileHandleResolver;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.Texture;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Loads a directory of PNGs through a plain AssetManager (threads = 0) and through the ParallelAssetManager.
+ * Runs headless, so the GL upload is a no-op and the time is the decoding. Run with
+ * ./gradlew :gamelib-core:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssetLoadingBenchmark {
+
+  private static final int SIZE = 256;
+
+  @Param({"64"})
+  private int images;
+  @Param({"0", "2", "4", "8"})
+  private int threads;
+
+  private HeadlessApplication application;
+  private File directory;
+  private final List<String> files = new ArrayList<>();
+
+  @Setup
+  public void setup() throws IOException {
+    application = new HeadlessApplication(new ApplicationAdapter() {
+    });
+    directory = Files.createTempDirectory("asset-loading").toFile();
+    final Random random = new Random(42);
+    final Pixmap pixmap = new Pixmap(SIZE, SIZE, Pixmap.Format.RGBA8888);
+    for (int i = 0; i < images; i++) {
+      // noise, so the png does not compress away to nothing.
+      for (int y = 0; y < SIZE; y++) {
+        for (int x = 0; x < SIZE; x++) {
+          pixmap.drawPixel(x, y, random.nextInt());
+        }
+      }
+      final File file = new File(directory, "image" + i + ".png");
+      PixmapIO.writePNG(new FileHandle(file), pixmap);
+      files.add(file.getAbsolutePath());
+    }
+    pixmap.dispose();
+  }
+
+  @TearDown
+  public void tearDown() {
+    new FileHandle(directory).deleteDirectory();
+    application.exit();
+  }
+
+  @Benchmark
+  public void load(final Blackhole blackhole) {
+    final AbsoluteFileHandleResolver resolver = new AbsoluteFileHandleResolver();
+    final AssetManager assetManager = threads > 0
+        ? new ParallelAssetManager(resolver, threads)
+        : new AssetManager(resolver);
+    for (String file : files) {
+      assetManager.load(file, Texture.class);
+    }
+    assetManager.finishLoading();
+    blackhole.consume(assetManager.getLoadedAssets());
+    assetManager.dispose();
+  }
+}
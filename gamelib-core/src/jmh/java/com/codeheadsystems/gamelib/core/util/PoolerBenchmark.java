@@ -0,0 +1,122 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.util;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Obtain and free through each pooler, from one thread and from several sharing the same pooler. PoolerImpl is
+ * not thread safe, so it is locked when shared, which is what callers have to do today. Run with
+ * ./gradlew :gamelib-core:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PoolerBenchmark {
+
+  private static final int HELD = 8;
+
+  @Param({"pooler", "concurrent", "disabled"})
+  private String type;
+
+  private Pooler<Object[]> pooler;
+
+  @Setup
+  public void setup() {
+    pooler = switch (type) {
+      case "pooler" -> new LockedPooler<>(Pooler.of(() -> new Object[4]));
+      case "concurrent" -> Pooler.concurrent(() -> new Object[4]);
+      case "disabled" -> Pooler.disabled(() -> new Object[4]);
+      default -> throw new IllegalArgumentException("Unknown pooler: " + type);
+    };
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void oneThread(final Held held, final Blackhole blackhole) {
+    cycle(held, blackhole);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void fourThreads(final Held held, final Blackhole blackhole) {
+    cycle(held, blackhole);
+  }
+
+  private void cycle(final Held held, final Blackhole blackhole) {
+    final Object[][] objects = held.objects;
+    for (int i = 0; i < HELD; i++) {
+      objects[i] = pooler.obtain();
+    }
+    blackhole.consume(objects);
+    for (int i = 0; i < HELD; i++) {
+      pooler.free(objects[i]);
+    }
+  }
+
+  /**
+   * Each thread's objects in hand.
+   */
+  @State(Scope.Thread)
+  public static class Held {
+    private final Object[][] objects = new Object[HELD][];
+  }
+
+  /**
+   * PoolerImpl behind a lock, so it can be shared.
+   */
+  private static class LockedPooler<T> implements Pooler<T> {
+
+    private final Pooler<T> pooler;
+
+    private LockedPooler(final Pooler<T> pooler) {
+      this.pooler = pooler;
+    }
+
+    @Override
+    public synchronized T obtain() {
+      return pooler.obtain();
+    }
+
+    @Override
+    public synchronized void free(final T tInstance) {
+      pooler.free(tInstance);
+    }
+
+    @Override
+    public synchronized int poolSize() {
+      return pooler.poolSize();
+    }
+  }
+}
@@ -22,10 +22,12 @@ import static com.codeheadsystems.gamelib.core.dagger.LoadingModule.MAIN_SCREEN_
 
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.utils.Disposable;
+import com.codeheadsystems.gamelib.core.loader.AssetLoaderFactory;
 import com.codeheadsystems.gamelib.core.manager.ResizeManager;
 import dagger.BindsOptionalOf;
 import dagger.Module;
 import dagger.multibindings.Multibinds;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 import javax.inject.Named;
@@ -97,4 +99,13 @@ public interface GameResources {
    */
   @Multibinds
   Set<ResizeManager.Listener> resizeListeners();
+
+  /**
+   * Asset loader factories, keyed by the loaderClass name in assets.json. Loaders without one are built by
+   * reflection.
+   *
+   * @return the map.
+   */
+  @Multibinds
+  Map<String, AssetLoaderFactory<?>> assetLoaderFactories();
 }
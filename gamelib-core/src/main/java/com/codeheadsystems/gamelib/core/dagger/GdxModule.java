@@ -27,7 +27,10 @@ import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.utils.Json;
+import com.codeheadsystems.gamelib.core.loader.ListenableAssetManager;
+import com.codeheadsystems.gamelib.core.loader.ParallelAssetManager;
 import com.codeheadsystems.gamelib.core.manager.ResizeManager;
+import com.codeheadsystems.gamelib.core.model.LoadingConfiguration;
 import com.codeheadsystems.gamelib.core.util.InternalPrefixedFileHandleResolver;
 import com.codeheadsystems.gamelib.core.util.JsonFactory;
 import dagger.Module;
@@ -78,15 +81,22 @@ public class GdxModule {
   }
 
   /**
-   * Asset manager asset manager.
+   * Asset manager asset manager. Decodes textures on a worker pool when the loading configuration asks for
+   * decode threads. Either way it is listenable, so the LoadingProfiler can time each asset.
    *
-   * @param fileHandleResolver the file handle resolver
+   * @param fileHandleResolver   the file handle resolver
+   * @param loadingConfiguration the loading configuration
    * @return the asset manager
    */
   @Provides
   @Singleton
-  public AssetManager assetManager(final FileHandleResolver fileHandleResolver) {
-    return new AssetManager(fileHandleResolver);
+  public AssetManager assetManager(final FileHandleResolver fileHandleResolver,
+                                   final LoadingConfiguration loadingConfiguration) {
+    final int decodeThreads = loadingConfiguration.getDecodeThreads();
+    if (decodeThreads > 0) {
+      return new ParallelAssetManager(fileHandleResolver, decodeThreads);
+    }
+    return new ListenableAssetManager(fileHandleResolver);
   }
 
   /**
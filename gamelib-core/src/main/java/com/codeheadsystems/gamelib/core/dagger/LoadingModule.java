@@ -21,14 +21,21 @@ import static com.codeheadsystems.gamelib.core.util.LoggerHelper.logger;
 
 import com.badlogic.gdx.assets.loaders.FileHandleResolver;
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonValue;
 import com.badlogic.gdx.utils.Logger;
+import com.codeheadsystems.gamelib.core.loader.AssetLoaderFactory;
+import com.codeheadsystems.gamelib.core.loader.JsonValueLoader;
+import com.codeheadsystems.gamelib.core.manager.AtlasPackingManager;
 import com.codeheadsystems.gamelib.core.model.LoadingConfiguration;
 import com.codeheadsystems.gamelib.core.screen.LoadingScreen;
 import com.codeheadsystems.gamelib.core.util.GameListener;
 import dagger.Module;
 import dagger.Provides;
+import dagger.multibindings.IntoMap;
 import dagger.multibindings.IntoSet;
+import dagger.multibindings.StringKey;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
@@ -97,4 +104,30 @@ public class LoadingModule {
   public GameListener loadingScreenGameListener(final LoadingScreen loadingScreen) {
     return loadingScreen;
   }
+
+  /**
+   * Builds the JsonValueLoader without reflection.
+   *
+   * @return the asset loader factory
+   */
+  @Provides
+  @Singleton
+  @IntoMap
+  @StringKey("com.codeheadsystems.gamelib.core.loader.JsonValueLoader")
+  public AssetLoaderFactory<?> jsonValueLoaderFactory() {
+    return AssetLoaderFactory.of(JsonValue.class, JsonValueLoader::new);
+  }
+
+  /**
+   * Atlas packing manager disposable.
+   *
+   * @param atlasPackingManager the atlas packing manager
+   * @return the disposable
+   */
+  @Provides
+  @Singleton
+  @IntoSet
+  public Disposable atlasPackingManagerDisposable(final AtlasPackingManager atlasPackingManager) {
+    return atlasPackingManager;
+  }
 }
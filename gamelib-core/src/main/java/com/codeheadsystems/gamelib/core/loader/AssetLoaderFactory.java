@@ -0,0 +1,70 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.loader;
+
+import com.badlogic.gdx.assets.loaders.AssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import java.util.function.Function;
+
+/**
+ * Builds an asset loader without reflection. Bind one into the Map of factories in GameResources, keyed by the
+ * loaderClass name used in assets.json, and the LoadingManager calls it instead of looking the loader and its
+ * asset class up by name.
+ *
+ * @param <T> the type loaded.
+ */
+public interface AssetLoaderFactory<T> {
+
+  /**
+   * Factory that calls the given constructor.
+   *
+   * @param type        the type loaded
+   * @param constructor the loader constructor, like JsonValueLoader::new
+   * @param <T>         the type loaded.
+   * @return the factory
+   */
+  static <T> AssetLoaderFactory<T> of(final Class<T> type,
+                                      final Function<FileHandleResolver, AssetLoader<T, ?>> constructor) {
+    return new AssetLoaderFactory<>() {
+      @Override
+      public Class<T> type() {
+        return type;
+      }
+
+      @Override
+      public AssetLoader<T, ?> create(final FileHandleResolver resolver) {
+        return constructor.apply(resolver);
+      }
+    };
+  }
+
+  /**
+   * The type loaded.
+   *
+   * @return the class
+   */
+  Class<T> type();
+
+  /**
+   * Creates the loader.
+   *
+   * @param resolver the resolver
+   * @return the loader
+   */
+  AssetLoader<T, ?> create(FileHandleResolver resolver);
+}
@@ -0,0 +1,93 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.loader;
+
+/**
+ * Receives the json as a stream of events and builds the typed result as it goes, so no JsonValue tree is
+ * created. Every method but result() does nothing by default. Names are null for array elements and the root.
+ *
+ * @param <T> the type built.
+ */
+public interface JsonHandler<T> {
+
+  /**
+   * Start of an object.
+   *
+   * @param name the name, or null.
+   */
+  default void startObject(final String name) {
+  }
+
+  /**
+   * Start of an array.
+   *
+   * @param name the name, or null.
+   */
+  default void startArray(final String name) {
+  }
+
+  /**
+   * End of the current object or array.
+   */
+  default void end() {
+  }
+
+  /**
+   * A string value, or a json null.
+   *
+   * @param name  the name, or null.
+   * @param value the value, null for a json null.
+   */
+  default void string(final String name, final String value) {
+  }
+
+  /**
+   * A number with a fraction or exponent.
+   *
+   * @param name  the name, or null.
+   * @param value the value
+   */
+  default void number(final String name, final double value) {
+  }
+
+  /**
+   * A whole number. Passed on as a double unless overridden.
+   *
+   * @param name  the name, or null.
+   * @param value the value
+   */
+  default void number(final String name, final long value) {
+    number(name, (double) value);
+  }
+
+  /**
+   * A true or false.
+   *
+   * @param name  the name, or null.
+   * @param value the value
+   */
+  default void bool(final String name, final boolean value) {
+  }
+
+  /**
+   * The object built, called once the whole file has been read.
+   *
+   * @return the result
+   */
+  T result();
+}
@@ -0,0 +1,151 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.loader;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.SerializationException;
+import java.util.function.Supplier;
+
+/**
+ * Loads large json files straight into typed objects. The file is parsed on the asset manager's executor and
+ * each value is handed to a JsonHandler as it is read, instead of building a JsonValue tree first. Use it for
+ * multi-megabyte data files, and JsonValueLoader for the small ones.
+ * <p>
+ * To register it from the loaders in assets.json, bind an AssetLoaderFactory for it, or subclass it with a
+ * constructor that takes only the FileHandleResolver.
+ *
+ * @param <T> the type loaded.
+ */
+public class JsonStreamLoader<T> extends AsynchronousAssetLoader<T, AssetLoaderParameters<T>> {
+
+  private final Supplier<? extends JsonHandler<T>> handlerSupplier;
+  private T result;
+
+  /**
+   * Instantiates a new Json stream loader.
+   *
+   * @param resolver        the resolver
+   * @param handlerSupplier a new handler for each file loaded.
+   */
+  public JsonStreamLoader(final FileHandleResolver resolver,
+                          final Supplier<? extends JsonHandler<T>> handlerSupplier) {
+    super(resolver);
+    this.handlerSupplier = handlerSupplier;
+  }
+
+  /**
+   * Streams the file through the handler.
+   *
+   * @param <T>     the type built
+   * @param file    the file
+   * @param handler the handler
+   * @return the handler's result
+   */
+  public static <T> T parse(final FileHandle file, final JsonHandler<T> handler) {
+    new EventReader(handler).parse(file);
+    return handler.result();
+  }
+
+  @Override
+  public void loadAsync(final AssetManager manager, final String fileName, final FileHandle file, final AssetLoaderParameters<T> parameter) {
+    result = parse(file, handlerSupplier.get());
+  }
+
+  @Override
+  public T loadSync(final AssetManager manager, final String fileName, final FileHandle file, final AssetLoaderParameters<T> parameter) {
+    final T loaded = result;
+    result = null;
+    return loaded;
+  }
+
+  @Override
+  public Array<AssetDescriptor> getDependencies(final String fileName, final FileHandle file, final AssetLoaderParameters<T> parameter) {
+    return null;
+  }
+
+  /**
+   * JsonReader already parses as a stream of events, this forwards them to the handler instead of building
+   * JsonValues. JsonReader finds unmatched braces from its own element stack, which is never filled here, so
+   * the depth is counted instead.
+   */
+  private static class EventReader extends JsonReader {
+
+    private final JsonHandler<?> handler;
+    private int depth;
+
+    private EventReader(final JsonHandler<?> handler) {
+      this.handler = handler;
+    }
+
+    @Override
+    public JsonValue parse(final char[] data, final int offset, final int length) {
+      depth = 0;
+      final JsonValue root = super.parse(data, offset, length);
+      if (depth != 0) {
+        throw new SerializationException("Error parsing JSON, unmatched brace or bracket.");
+      }
+      return root;
+    }
+
+    @Override
+    protected void startObject(final String name) {
+      depth++;
+      handler.startObject(name);
+    }
+
+    @Override
+    protected void startArray(final String name) {
+      depth++;
+      handler.startArray(name);
+    }
+
+    @Override
+    protected void pop() {
+      depth--;
+      handler.end();
+    }
+
+    @Override
+    protected void string(final String name, final String value) {
+      handler.string(name, value);
+    }
+
+    @Override
+    protected void number(final String name, final double value, final String stringValue) {
+      handler.number(name, value);
+    }
+
+    @Override
+    protected void number(final String name, final long value, final String stringValue) {
+      handler.number(name, value);
+    }
+
+    @Override
+    protected void bool(final String name, final boolean value) {
+      handler.bool(name, value);
+    }
+  }
+}
@@ -34,7 +34,8 @@ import com.badlogic.gdx.utils.JsonValue;
  */
 public class JsonValueLoader extends AsynchronousAssetLoader<JsonValue, JsonValueLoader.JsonValueLoaderParameter> {
 
-  private JsonReader jsonReader = new JsonReader();
+  private final JsonReader jsonReader = new JsonReader();
+  private JsonValue jsonValue;
 
   /**
    * Instantiates a new Json value loader.
@@ -45,13 +46,22 @@ public class JsonValueLoader extends AsynchronousAssetLoader<JsonValue, JsonValu
     super(resolver);
   }
 
+  /**
+   * Parses on the asset manager's executor, so the render thread never waits on it.
+   */
   @Override
   public void loadAsync(final AssetManager manager, final String fileName, final FileHandle file, final JsonValueLoaderParameter parameter) {
+    jsonValue = jsonReader.parse(file);
   }
 
+  /**
+   * Hands over the value parsed in loadAsync.
+   */
   @Override
   public JsonValue loadSync(final AssetManager manager, final String fileName, final FileHandle file, final JsonValueLoaderParameter parameter) {
-    return jsonReader.parse(file);
+    final JsonValue result = jsonValue;
+    jsonValue = null;
+    return result;
   }
 
   @Override
@@ -0,0 +1,101 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.loader;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+
+/**
+ * AssetManager that tells a listener each time an asset finishes loading, and when each update() call starts
+ * and ends. The AssetManager loads one asset at a time and finishes at most one per update(), so the time
+ * spent inside update() calls since the last asset finished is how long the next one took, without the frames
+ * drawn in between.
+ */
+public class ListenableAssetManager extends AssetManager {
+
+  private volatile Listener listener;
+
+  /**
+   * Instantiates a new Listenable asset manager.
+   *
+   * @param resolver the resolver
+   */
+  public ListenableAssetManager(final FileHandleResolver resolver) {
+    super(resolver);
+  }
+
+  /**
+   * Sets listener.
+   *
+   * @param listener the listener, or null for none.
+   */
+  public void setListener(final Listener listener) {
+    this.listener = listener;
+  }
+
+  @Override
+  public synchronized boolean update() {
+    final Listener current = listener;
+    if (current == null) {
+      return super.update();
+    }
+    current.updateStarted();
+    try {
+      return super.update();
+    } finally {
+      current.updateFinished();
+    }
+  }
+
+  @Override
+  protected <T> void addAsset(final String fileName, final Class<T> type, final T asset) {
+    super.addAsset(fileName, type, asset);
+    final Listener current = listener;
+    if (current != null) {
+      current.loaded(fileName, type);
+    }
+  }
+
+  /**
+   * Told about every asset as it finishes loading, on the thread calling update(). update(int) and
+   * finishLoading() call update() in a loop, so each pass is reported.
+   */
+  @FunctionalInterface
+  public interface Listener {
+
+    /**
+     * An update() call is starting.
+     */
+    default void updateStarted() {
+    }
+
+    /**
+     * An update() call has returned.
+     */
+    default void updateFinished() {
+    }
+
+    /**
+     * Loaded.
+     *
+     * @param fileName the file name
+     * @param type     the type
+     */
+    void loaded(String fileName, Class<?> type);
+  }
+}
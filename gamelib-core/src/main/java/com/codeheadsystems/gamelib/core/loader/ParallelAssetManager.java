@@ -0,0 +1,112 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.loader;
+
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
+import com.badlogic.gdx.graphics.Texture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AssetManager that decodes textures on a pool of worker threads. The AssetManager runs its loaders one asset
+ * at a time on a single thread, so here each texture starts decoding on the pool as soon as it is queued and
+ * the loader only picks up the result. Uploads still happen in loadSync on the render thread, in the order the
+ * assets were queued.
+ * <p>
+ * Only textures handled by the default texture loader are decoded ahead, anything else loads as usual. At most
+ * DECODES_AHEAD_PER_THREAD textures per thread are decoded ahead of the AssetManager, so a long queue does not
+ * hold every texture's pixels in memory at once.
+ */
+public class ParallelAssetManager extends ListenableAssetManager {
+
+  /**
+   * Textures per thread decoded ahead of the AssetManager by default.
+   */
+  public static final int DECODES_AHEAD_PER_THREAD = 2;
+
+  private final ExecutorService workers;
+  private final ParallelTextureLoader textureLoader;
+
+  /**
+   * Instantiates a new Parallel asset manager.
+   *
+   * @param resolver the resolver
+   * @param threads  how many textures to decode at once.
+   */
+  public ParallelAssetManager(final FileHandleResolver resolver,
+                              final int threads) {
+    this(resolver, threads, DECODES_AHEAD_PER_THREAD * threads);
+  }
+
+  /**
+   * Instantiates a new Parallel asset manager.
+   *
+   * @param resolver     the resolver
+   * @param threads      how many textures to decode at once.
+   * @param decodesAhead most textures decoded and waiting for the AssetManager to take them.
+   */
+  public ParallelAssetManager(final FileHandleResolver resolver,
+                              final int threads,
+                              final int decodesAhead) {
+    super(resolver);
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Threads must be positive: " + threads);
+    }
+    final AtomicInteger count = new AtomicInteger();
+    this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+      final Thread thread = new Thread(runnable, "AssetDecoder-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.textureLoader = new ParallelTextureLoader(resolver, workers, decodesAhead);
+    setLoader(Texture.class, textureLoader);
+  }
+
+  @Override
+  public synchronized <T> void load(final String fileName, final Class<T> type, final AssetLoaderParameters<T> parameter) {
+    // once queued or loaded, loading it again only adds a reference, so there is nothing new to decode.
+    final boolean known = contains(fileName);
+    super.load(fileName, type, parameter);
+    if (!known && type == Texture.class && getLoader(type, fileName) == textureLoader) {
+      textureLoader.decode(fileName, (TextureLoader.TextureParameter) parameter);
+    }
+  }
+
+  @Override
+  public synchronized void unload(final String fileName) {
+    super.unload(fileName);
+    if (!contains(fileName)) {
+      textureLoader.cancel(fileName);
+    }
+  }
+
+  @Override
+  public synchronized void clear() {
+    super.clear();
+    textureLoader.cancelAll();
+  }
+
+  @Override
+  public void dispose() {
+    super.dispose();
+    workers.shutdownNow();
+  }
+}
@@ -0,0 +1,213 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.loader;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Texture loader whose decoding can start on a worker pool as soon as the texture is queued, see
+ * ParallelAssetManager. loadAsync only waits for the decode that is already running, and loadSync uploads it on
+ * the render thread like TextureLoader does. Textures that were never passed to decode() are decoded in
+ * loadAsync, the same as TextureLoader.
+ * <p>
+ * Decoded pixels stay in memory until their upload, so only a few decodes run ahead of loadAsync. The rest wait
+ * in the order they were queued, and the next one starts each time loadAsync takes one.
+ */
+public class ParallelTextureLoader extends AsynchronousAssetLoader<Texture, TextureLoader.TextureParameter> {
+
+  private final ExecutorService workers;
+  private final int maxAhead;
+  // both guarded by this.
+  private final Map<String, TextureLoader.TextureParameter> waiting = new LinkedHashMap<>();
+  private final Map<String, Future<TextureData>> decoding = new HashMap<>();
+  private TextureData data;
+
+  /**
+   * Instantiates a new Parallel texture loader.
+   *
+   * @param resolver the resolver
+   * @param workers  the pool textures are decoded on.
+   * @param maxAhead most textures decoding or decoded and not yet taken by loadAsync.
+   */
+  public ParallelTextureLoader(final FileHandleResolver resolver,
+                               final ExecutorService workers,
+                               final int maxAhead) {
+    super(resolver);
+    if (maxAhead <= 0) {
+      throw new IllegalArgumentException("maxAhead must be positive: " + maxAhead);
+    }
+    this.workers = workers;
+    this.maxAhead = maxAhead;
+  }
+
+  private static TextureData prepare(final FileHandle file, final TextureLoader.TextureParameter parameter) {
+    final TextureData textureData;
+    if (parameter != null && parameter.textureData != null) {
+      textureData = parameter.textureData;
+    } else {
+      final Pixmap.Format format = parameter == null ? null : parameter.format;
+      final boolean genMipMaps = parameter != null && parameter.genMipMaps;
+      textureData = TextureData.Factory.loadFromFile(file, format, genMipMaps);
+    }
+    if (!textureData.isPrepared()) {
+      textureData.prepare();
+    }
+    return textureData;
+  }
+
+  /**
+   * Starts decoding the texture on the worker pool, or queues it if maxAhead decodes are already waiting.
+   *
+   * @param fileName  the file name
+   * @param parameter the parameter, may be null.
+   */
+  public synchronized void decode(final String fileName, final TextureLoader.TextureParameter parameter) {
+    final String name = fileName.replace('\\', '/');
+    if (!decoding.containsKey(name) && !waiting.containsKey(name)) {
+      waiting.put(name, parameter);
+      startDecodes();
+    }
+  }
+
+  /**
+   * Decodes started and not yet taken by loadAsync or cancelled.
+   *
+   * @return the int
+   */
+  public synchronized int decodesAhead() {
+    return decoding.size();
+  }
+
+  /**
+   * Drops a decode that will not be used, because the texture was unloaded before it was loaded.
+   *
+   * @param fileName the file name
+   */
+  public void cancel(final String fileName) {
+    final Future<TextureData> future = take(fileName.replace('\\', '/'));
+    if (future != null && !future.cancel(false) && !future.isCancelled()) {
+      try {
+        release(future.get());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+        // nothing was decoded, so there is nothing to release.
+      }
+    }
+  }
+
+  /**
+   * Drops every pending decode.
+   */
+  public void cancelAll() {
+    final List<String> fileNames;
+    synchronized (this) {
+      waiting.clear();
+      fileNames = new ArrayList<>(decoding.keySet());
+    }
+    fileNames.forEach(this::cancel);
+  }
+
+  @Override
+  public void loadAsync(final AssetManager manager, final String fileName, final FileHandle file, final TextureLoader.TextureParameter parameter) {
+    final Future<TextureData> future = take(fileName);
+    if (future == null) {
+      data = prepare(file, parameter);
+      return;
+    }
+    try {
+      data = future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new GdxRuntimeException("Interrupted decoding texture: " + fileName, e);
+    } catch (ExecutionException e) {
+      throw new GdxRuntimeException("Couldn't decode texture: " + fileName, e.getCause());
+    }
+  }
+
+  @Override
+  public Texture loadSync(final AssetManager manager, final String fileName, final FileHandle file, final TextureLoader.TextureParameter parameter) {
+    final TextureData textureData = data;
+    data = null;
+    Texture texture = parameter == null ? null : parameter.texture;
+    if (texture != null) {
+      texture.load(textureData);
+    } else {
+      texture = new Texture(textureData);
+    }
+    if (parameter != null) {
+      texture.setFilter(parameter.minFilter, parameter.magFilter);
+      texture.setWrap(parameter.wrapU, parameter.wrapV);
+    }
+    return texture;
+  }
+
+  @Override
+  public Array<AssetDescriptor> getDependencies(final String fileName, final FileHandle file, final TextureLoader.TextureParameter parameter) {
+    return null;
+  }
+
+  /**
+   * Removes the texture from the loader's books and starts the next waiting decode in its place.
+   */
+  private synchronized Future<TextureData> take(final String name) {
+    waiting.remove(name);
+    final Future<TextureData> future = decoding.remove(name);
+    startDecodes();
+    return future;
+  }
+
+  private void startDecodes() {
+    final Iterator<Map.Entry<String, TextureLoader.TextureParameter>> next = waiting.entrySet().iterator();
+    while (decoding.size() < maxAhead && next.hasNext()) {
+      final Map.Entry<String, TextureLoader.TextureParameter> entry = next.next();
+      final String name = entry.getKey();
+      final TextureLoader.TextureParameter parameter = entry.getValue();
+      next.remove();
+      decoding.put(name, workers.submit(() -> prepare(resolve(name), parameter)));
+    }
+  }
+
+  private void release(final TextureData textureData) {
+    if (textureData.getType() == TextureData.TextureDataType.Pixmap) {
+      final Pixmap pixmap = textureData.consumePixmap();
+      if (textureData.disposePixmap()) {
+        pixmap.dispose();
+      }
+    }
+  }
+}
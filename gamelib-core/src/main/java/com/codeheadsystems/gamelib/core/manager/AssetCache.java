@@ -0,0 +1,279 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.manager;
+
+import static com.codeheadsystems.gamelib.core.util.LoggerHelper.logger;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.Logger;
+import com.codeheadsystems.gamelib.core.model.LoadingConfiguration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Loads assets on demand through the AssetManager and unloads the least recently used ones nobody holds once
+ * their approximate size goes over the memory budget. Every get() must be matched by a release(); the cache
+ * holds one AssetManager reference per asset it loaded, so assets loaded elsewhere stay loaded.
+ * <p>
+ * Sizes are estimated per asset type: textures by their pixels, atlases by their pages, anything else by the
+ * size of its file. Like the AssetManager, this is for the render thread only.
+ */
+@Singleton
+public class AssetCache {
+
+  private static final Logger LOGGER = logger(AssetCache.class);
+  private static final int BYTES_PER_PIXEL = 4;
+
+  private final AssetManager assetManager;
+  private final Map<Class<?>, ToLongFunction<Object>> sizeEstimators = new HashMap<>();
+  // access ordered, so iteration starts at the least recently used.
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long budgetBytes;
+  private long bytes;
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  /**
+   * Instantiates a new Asset cache.
+   *
+   * @param assetManager         the asset manager
+   * @param loadingConfiguration the loading configuration
+   */
+  @Inject
+  public AssetCache(final AssetManager assetManager,
+                    final LoadingConfiguration loadingConfiguration) {
+    this.assetManager = assetManager;
+    this.budgetBytes = loadingConfiguration.getAssetCacheBytes();
+    setSizeEstimator(Texture.class, AssetCache::textureBytes);
+    setSizeEstimator(Pixmap.class, pixmap -> (long) pixmap.getWidth() * pixmap.getHeight() * BYTES_PER_PIXEL);
+    setSizeEstimator(TextureAtlas.class, atlas -> {
+      long total = 0L;
+      for (Texture texture : atlas.getTextures()) {
+        total += textureBytes(texture);
+      }
+      return total;
+    });
+    LOGGER.info("AssetCache(" + budgetBytes + ")");
+  }
+
+  private static long textureBytes(final Texture texture) {
+    return (long) texture.getWidth() * texture.getHeight() * BYTES_PER_PIXEL;
+  }
+
+  /**
+   * Sets how the size of an asset type is worked out.
+   *
+   * @param <T>       the type parameter
+   * @param type      the type
+   * @param estimator bytes the asset takes up.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> void setSizeEstimator(final Class<T> type, final ToLongFunction<? super T> estimator) {
+    sizeEstimators.put(type, (ToLongFunction<Object>) estimator);
+  }
+
+  /**
+   * Gets the asset, loading it now if it is not cached. Call release() when done with it.
+   *
+   * @param <T>      the type parameter
+   * @param fileName the file name
+   * @param type     the type
+   * @return the asset
+   */
+  public <T> T get(final String fileName, final Class<T> type) {
+    Entry entry = entries.get(fileName);
+    if (entry != null) {
+      hits++;
+    } else {
+      misses++;
+      assetManager.load(fileName, type);
+      final T asset = assetManager.finishLoadingAsset(fileName);
+      entry = new Entry(asset, estimate(fileName, type, asset));
+      entries.put(fileName, entry);
+      bytes += entry.bytes;
+    }
+    entry.references++;
+    if (bytes > budgetBytes) {
+      evict();
+    }
+    return type.cast(entry.asset);
+  }
+
+  /**
+   * Gives back an asset from get(). It stays cached until the budget needs the room.
+   *
+   * @param fileName the file name
+   */
+  public void release(final String fileName) {
+    final Entry entry = entries.get(fileName);
+    if (entry == null || entry.references == 0) {
+      throw new IllegalArgumentException("Asset not held: " + fileName);
+    }
+    entry.references--;
+    if (bytes > budgetBytes) {
+      evict();
+    }
+  }
+
+  /**
+   * Is cached boolean.
+   *
+   * @param fileName the file name
+   * @return the boolean
+   */
+  public boolean isCached(final String fileName) {
+    return entries.containsKey(fileName);
+  }
+
+  /**
+   * Sets the budget, evicting right away if it is now exceeded.
+   *
+   * @param budgetBytes the budget bytes
+   */
+  public void setBudgetBytes(final long budgetBytes) {
+    this.budgetBytes = budgetBytes;
+    if (bytes > budgetBytes) {
+      evict();
+    }
+  }
+
+  /**
+   * Unloads every cached asset nobody holds.
+   *
+   * @return how many were unloaded.
+   */
+  public int evictUnreferenced() {
+    return evict(-1L);
+  }
+
+  /**
+   * Gets budget bytes.
+   *
+   * @return the budget bytes
+   */
+  public long getBudgetBytes() {
+    return budgetBytes;
+  }
+
+  /**
+   * Approximate bytes held by the cached assets.
+   *
+   * @return the bytes
+   */
+  public long getBytes() {
+    return bytes;
+  }
+
+  /**
+   * Number of cached assets.
+   *
+   * @return the size
+   */
+  public int getSize() {
+    return entries.size();
+  }
+
+  /**
+   * Calls to get() that found the asset already cached.
+   *
+   * @return the hits
+   */
+  public long getHits() {
+    return hits;
+  }
+
+  /**
+   * Calls to get() that had to load the asset.
+   *
+   * @return the misses
+   */
+  public long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Assets unloaded to stay within the budget.
+   *
+   * @return the evictions
+   */
+  public long getEvictions() {
+    return evictions;
+  }
+
+  /**
+   * Resets the hit, miss and eviction counts.
+   */
+  public void resetStats() {
+    hits = 0L;
+    misses = 0L;
+    evictions = 0L;
+  }
+
+  private void evict() {
+    if (evict(budgetBytes) == 0 && bytes > budgetBytes) {
+      LOGGER.debug("Over budget with everything held: " + bytes + " > " + budgetBytes);
+    }
+  }
+
+  private int evict(final long target) {
+    int evicted = 0;
+    final Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+    while (bytes > target && iterator.hasNext()) {
+      final Map.Entry<String, Entry> next = iterator.next();
+      if (next.getValue().references == 0) {
+        iterator.remove();
+        assetManager.unload(next.getKey());
+        bytes -= next.getValue().bytes;
+        evictions++;
+        evicted++;
+      }
+    }
+    return evicted;
+  }
+
+  private long estimate(final String fileName, final Class<?> type, final Object asset) {
+    for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+      final ToLongFunction<Object> estimator = sizeEstimators.get(current);
+      if (estimator != null) {
+        return estimator.applyAsLong(asset);
+      }
+    }
+    return assetManager.getFileHandleResolver().resolve(fileName).length();
+  }
+
+  private static class Entry {
+
+    private final Object asset;
+    private final long bytes;
+    private int references;
+
+    private Entry(final Object asset, final long bytes) {
+      this.asset = asset;
+      this.bytes = bytes;
+    }
+  }
+}
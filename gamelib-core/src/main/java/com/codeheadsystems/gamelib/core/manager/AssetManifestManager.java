@@ -0,0 +1,104 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.manager;
+
+import static com.codeheadsystems.gamelib.core.util.LoggerHelper.logger;
+
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Logger;
+import com.codeheadsystems.gamelib.core.model.AssetManifest;
+import com.codeheadsystems.gamelib.core.model.Assets;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Purpose: load the Assets from the compiled AssetManifest when it is current, otherwise from the json. When
+ * falling back to the json, the compiled manifest is written for next time if its file type is writable.
+ */
+@Singleton
+public class AssetManifestManager {
+
+  private static final Logger LOGGER = logger(AssetManifestManager.class);
+
+  private final FileHandleResolver fileHandleResolver;
+  private final JsonManager jsonManager;
+
+  /**
+   * Instantiates a new Asset manifest manager.
+   *
+   * @param fileHandleResolver the file handle resolver
+   * @param jsonManager        the json manager
+   */
+  @Inject
+  public AssetManifestManager(final FileHandleResolver fileHandleResolver,
+                              final JsonManager jsonManager) {
+    this.fileHandleResolver = fileHandleResolver;
+    this.jsonManager = jsonManager;
+    LOGGER.info("AssetManifestManager()");
+  }
+
+  /**
+   * Loads the assets for the json filename.
+   *
+   * @param filename the json filename
+   * @return the assets
+   */
+  public Assets load(final String filename) {
+    final FileHandle json = fileHandleResolver.resolve(filename);
+    final FileHandle compiled = fileHandleResolver.resolve(filename + AssetManifest.SUFFIX);
+    final byte[] source = json.exists() ? json.readBytes() : null;
+    final long checksum = source == null ? AssetManifest.UNKNOWN_CHECKSUM : AssetManifest.checksum(source);
+    if (compiled.exists()) {
+      try (InputStream in = compiled.read()) {
+        final Assets assets = AssetManifest.read(in, checksum);
+        if (assets != null) {
+          LOGGER.info("Using compiled manifest: " + compiled.path());
+          return assets;
+        }
+        LOGGER.info("Compiled manifest is stale: " + compiled.path());
+      } catch (IOException | GdxRuntimeException e) {
+        LOGGER.error("Unable to read compiled manifest: " + compiled.path(), e);
+      }
+    }
+    if (source == null) {
+      throw new GdxRuntimeException("No asset manifest found: " + filename);
+    }
+    final Assets assets = jsonManager.fromJson(Assets.class, new String(source, StandardCharsets.UTF_8));
+    if (writable(compiled)) {
+      try (OutputStream out = compiled.write(false)) {
+        AssetManifest.write(assets, checksum, out);
+        LOGGER.info("Wrote compiled manifest: " + compiled.path());
+      } catch (IOException | GdxRuntimeException e) {
+        LOGGER.error("Unable to write compiled manifest: " + compiled.path(), e);
+      }
+    }
+    return assets;
+  }
+
+  private boolean writable(final FileHandle fileHandle) {
+    final Files.FileType type = fileHandle.type();
+    return type == Files.FileType.Local || type == Files.FileType.External || type == Files.FileType.Absolute;
+  }
+}
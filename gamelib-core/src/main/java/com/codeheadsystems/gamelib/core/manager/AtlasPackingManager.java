@@ -0,0 +1,260 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.manager;
+
+import static com.codeheadsystems.gamelib.core.util.LoggerHelper.logger;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.PixmapPackerIO;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Logger;
+import com.codeheadsystems.gamelib.core.model.LoadingConfiguration;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.TreeSet;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Packs the small textures from the manifest into atlas pages while loading, so sprites drawn from them share a
+ * few textures and the batch flushes far less. The packed atlas is cached on disk under the hash of the input
+ * files and the packing settings, so later launches load it straight from the cache. Hashing and packing are
+ * both done a few textures per update().
+ * <p>
+ * Packed textures are not queued on the AssetManager, use region() to draw them. Textures too big to pack are
+ * queued as before, and region() wraps those too.
+ */
+@Singleton
+public class AtlasPackingManager implements Disposable {
+
+  private static final Logger LOGGER = logger(AtlasPackingManager.class);
+  private static final String ATLAS_SUFFIX = ".atlas";
+  private static final String PAGE_SUFFIX = ".png";
+  private static final int HASH_CHARS = 32;
+  private static final int PADDING = 2;
+
+  private final AssetManager assetManager;
+  private final FileHandleResolver fileHandleResolver;
+  private final LoadingConfiguration loadingConfiguration;
+  private final ArrayDeque<String> hashing = new ArrayDeque<>();
+  private final ArrayDeque<String> pending = new ArrayDeque<>();
+  private MessageDigest digest;
+  private PixmapPacker packer;
+  private FileHandle cacheFile;
+  private TextureAtlas atlas;
+
+  /**
+   * Instantiates a new Atlas packing manager.
+   *
+   * @param assetManager         the asset manager
+   * @param fileHandleResolver   the file handle resolver
+   * @param loadingConfiguration the loading configuration
+   */
+  @Inject
+  public AtlasPackingManager(final AssetManager assetManager,
+                             final FileHandleResolver fileHandleResolver,
+                             final LoadingConfiguration loadingConfiguration) {
+    this.assetManager = assetManager;
+    this.fileHandleResolver = fileHandleResolver;
+    this.loadingConfiguration = loadingConfiguration;
+    LOGGER.info("AtlasPackingManager()");
+  }
+
+  /**
+   * Starts hashing the textures. Once update() has hashed them all, the cached atlas is loaded if these exact
+   * files were packed before, otherwise they are packed.
+   *
+   * @param textures the texture filenames
+   */
+  public void begin(final Collection<String> textures) {
+    dispose();
+    final String directory = loadingConfiguration.getAtlasCacheDirectory();
+    if (directory == null || directory.isBlank()) {
+      throw new IllegalArgumentException("atlasCacheDirectory must be set to pack textures");
+    }
+    digest = digest();
+    digest.update((loadingConfiguration.getAtlasPageSize() + ":" + loadingConfiguration.getPackedTextureMaxSize()
+        + ":" + PADDING).getBytes(StandardCharsets.UTF_8));
+    hashing.addAll(new TreeSet<>(textures));
+  }
+
+  /**
+   * Hashes or packs the next few textures. Once they are all packed the atlas is written to the cache and loaded.
+   *
+   * @return true when the atlas is ready.
+   */
+  public boolean update() {
+    if (digest != null) {
+      return hash();
+    }
+    if (packer == null) {
+      return true;
+    }
+    // anything that cannot fit on a page with its padding stays a texture of its own.
+    final int maxSize = Math.min(loadingConfiguration.getPackedTextureMaxSize(),
+        loadingConfiguration.getAtlasPageSize() - 2 * PADDING);
+    for (int i = loadingConfiguration.getTexturesPackedPerUpdate(); i > 0 && !pending.isEmpty(); i--) {
+      final String name = pending.poll();
+      final Pixmap pixmap = new Pixmap(fileHandleResolver.resolve(name));
+      try {
+        if (pixmap.getWidth() <= maxSize && pixmap.getHeight() <= maxSize) {
+          packer.pack(name, pixmap);
+        }
+      } finally {
+        pixmap.dispose();
+      }
+    }
+    if (!pending.isEmpty()) {
+      return false;
+    }
+    save();
+    atlas = new TextureAtlas(cacheFile);
+    return true;
+  }
+
+  /**
+   * Of the textures, the ones that were packed.
+   *
+   * @param textures the textures
+   * @return the packed ones
+   */
+  public List<String> packed(final Collection<String> textures) {
+    final List<String> result = new ArrayList<>();
+    if (atlas != null) {
+      for (String texture : textures) {
+        if (atlas.findRegion(texture) != null) {
+          result.add(texture);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Region for the texture, from the atlas if it was packed, otherwise the whole texture from the AssetManager.
+   *
+   * @param fileName the texture filename
+   * @return the region
+   */
+  public TextureRegion region(final String fileName) {
+    final TextureRegion region = atlas == null ? null : atlas.findRegion(fileName);
+    return region != null ? region : new TextureRegion(assetManager.get(fileName, Texture.class));
+  }
+
+  @Override
+  public void dispose() {
+    hashing.clear();
+    pending.clear();
+    digest = null;
+    if (packer != null) {
+      packer.dispose();
+      packer = null;
+    }
+    if (atlas != null) {
+      atlas.dispose();
+      atlas = null;
+    }
+  }
+
+  /**
+   * Hashes the next few textures, then loads the cached atlas or starts packing.
+   */
+  private boolean hash() {
+    for (int i = loadingConfiguration.getTexturesPackedPerUpdate(); i > 0 && !hashing.isEmpty(); i--) {
+      final String texture = hashing.poll();
+      digest.update(texture.getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) 0);
+      digest.update(fileHandleResolver.resolve(texture).readBytes());
+      pending.add(texture);
+    }
+    if (!hashing.isEmpty()) {
+      return false;
+    }
+    cacheFile = cacheDirectory().child(HexFormat.of().formatHex(digest.digest(), 0, HASH_CHARS / 2) + ATLAS_SUFFIX);
+    digest = null;
+    if (cacheFile.exists()) {
+      LOGGER.info("Using packed atlas: " + cacheFile.path());
+      pending.clear();
+      atlas = new TextureAtlas(cacheFile);
+      return true;
+    }
+    final int pageSize = loadingConfiguration.getAtlasPageSize();
+    packer = new PixmapPacker(pageSize, pageSize, Pixmap.Format.RGBA8888, PADDING, false);
+    return false;
+  }
+
+  private void save() {
+    final FileHandle directory = cacheDirectory();
+    // only the current atlas is kept, older packings are stale. Nothing but atlases written here is touched.
+    for (FileHandle old : directory.list(ATLAS_SUFFIX)) {
+      if (isPackedAtlas(old) && !old.name().equals(cacheFile.name())) {
+        final String pagePrefix = old.nameWithoutExtension() + "_";
+        for (FileHandle page : directory.list(PAGE_SUFFIX)) {
+          if (page.name().startsWith(pagePrefix)) {
+            page.delete();
+          }
+        }
+        old.delete();
+      }
+    }
+    try {
+      new PixmapPackerIO().save(cacheFile, packer);
+      LOGGER.info("Packed atlas: " + cacheFile.path());
+    } catch (IOException e) {
+      throw new GdxRuntimeException("Unable to write packed atlas: " + cacheFile.path(), e);
+    } finally {
+      packer.dispose();
+      packer = null;
+    }
+  }
+
+  private boolean isPackedAtlas(final FileHandle file) {
+    final String name = file.nameWithoutExtension();
+    return name.length() == HASH_CHARS && name.chars().allMatch(c -> Character.digit(c, 16) >= 0);
+  }
+
+  private FileHandle cacheDirectory() {
+    final FileHandle directory = Gdx.files.local(loadingConfiguration.getAtlasCacheDirectory());
+    directory.mkdirs();
+    return directory;
+  }
+
+  private MessageDigest digest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
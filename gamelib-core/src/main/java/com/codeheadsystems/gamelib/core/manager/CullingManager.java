@@ -0,0 +1,170 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.manager;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Logger;
+import com.codeheadsystems.gamelib.core.util.LoggerHelper;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Works out the world rectangle the camera can see, so renderers can skip anything outside it. The rectangle
+ * is computed once in update(), which the camera entity system calls every frame after it updates the camera,
+ * and after that every check is four comparisons. Call update() yourself if you move the camera mid-frame.
+ * <p>
+ * A rotated camera sees a rotated rectangle. This keeps the axis aligned box around it, so a little more than
+ * what is on screen passes.
+ */
+@Singleton
+public class CullingManager {
+  private static final Logger LOGGER = LoggerHelper.logger(CullingManager.class);
+
+  private final OrthographicCamera camera;
+  private float margin;
+  private float minX;
+  private float minY;
+  private float maxX;
+  private float maxY;
+
+  /**
+   * Instantiates a new Culling manager.
+   *
+   * @param camera the camera
+   */
+  @Inject
+  public CullingManager(final OrthographicCamera camera) {
+    LOGGER.info("CullingManager()");
+    this.camera = camera;
+    update();
+  }
+
+  /**
+   * Extra world units kept visible on every side, so things just off screen are ready as they scroll in.
+   *
+   * @param margin the margin
+   * @return this
+   */
+  public CullingManager setMargin(final float margin) {
+    this.margin = margin;
+    update();
+    return this;
+  }
+
+  /**
+   * Recomputes the visible rectangle from the camera position, viewport, zoom and rotation.
+   */
+  public void update() {
+    final float halfWidth = camera.viewportWidth * camera.zoom * 0.5f;
+    final float halfHeight = camera.viewportHeight * camera.zoom * 0.5f;
+    // up is (0, 1) unless the camera was rotated, the box around the rotated view grows by the other axis.
+    final float cos = Math.abs(camera.up.y);
+    final float sin = Math.abs(camera.up.x);
+    final float extentX = halfWidth * cos + halfHeight * sin + margin;
+    final float extentY = halfWidth * sin + halfHeight * cos + margin;
+    minX = camera.position.x - extentX;
+    maxX = camera.position.x + extentX;
+    minY = camera.position.y - extentY;
+    maxY = camera.position.y + extentY;
+  }
+
+  /**
+   * Min x float.
+   *
+   * @return the float
+   */
+  public float minX() {
+    return minX;
+  }
+
+  /**
+   * Min y float.
+   *
+   * @return the float
+   */
+  public float minY() {
+    return minY;
+  }
+
+  /**
+   * Max x float.
+   *
+   * @return the float
+   */
+  public float maxX() {
+    return maxX;
+  }
+
+  /**
+   * Max y float.
+   *
+   * @return the float
+   */
+  public float maxY() {
+    return maxY;
+  }
+
+  /**
+   * Copies the visible rectangle into the one given.
+   *
+   * @param rectangle the rectangle
+   * @return the rectangle
+   */
+  public Rectangle visibleArea(final Rectangle rectangle) {
+    return rectangle.set(minX, minY, maxX - minX, maxY - minY);
+  }
+
+  /**
+   * True if the rectangle overlaps the view.
+   *
+   * @param x      left edge
+   * @param y      bottom edge
+   * @param width  the width
+   * @param height the height
+   * @return the boolean
+   */
+  public boolean isVisible(final float x, final float y, final float width, final float height) {
+    return x <= maxX && x + width >= minX && y <= maxY && y + height >= minY;
+  }
+
+  /**
+   * True if the rectangle overlaps the view.
+   *
+   * @param rectangle the rectangle
+   * @return the boolean
+   */
+  public boolean isVisible(final Rectangle rectangle) {
+    return isVisible(rectangle.x, rectangle.y, rectangle.width, rectangle.height);
+  }
+
+  /**
+   * True if the box around the center overlaps the view.
+   *
+   * @param centerX    the center x
+   * @param centerY    the center y
+   * @param halfWidth  half the width
+   * @param halfHeight half the height
+   * @return the boolean
+   */
+  public boolean isVisibleAround(final float centerX, final float centerY,
+                                 final float halfWidth, final float halfHeight) {
+    return centerX - halfWidth <= maxX && centerX + halfWidth >= minX
+        && centerY - halfHeight <= maxY && centerY + halfHeight >= minY;
+  }
+}
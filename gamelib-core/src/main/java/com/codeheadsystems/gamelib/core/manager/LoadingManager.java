@@ -17,19 +17,26 @@
 
 package com.codeheadsystems.gamelib.core.manager;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetLoaderParameters;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
 import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import com.badlogic.gdx.utils.Logger;
+import com.codeheadsystems.gamelib.core.loader.AssetLoaderFactory;
+import com.codeheadsystems.gamelib.core.loader.ListenableAssetManager;
 import com.codeheadsystems.gamelib.core.model.Assets;
 import com.codeheadsystems.gamelib.core.model.Loader;
 import com.codeheadsystems.gamelib.core.model.LoadingConfiguration;
+import com.codeheadsystems.gamelib.core.util.FrameBudget;
 import com.codeheadsystems.gamelib.core.util.LoggerHelper;
+import com.codeheadsystems.gamelib.core.util.PoolRegistry;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Map;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -44,9 +51,14 @@ public class LoadingManager {
   private final AssetManager assetManager;
   private final FileHandleResolver fileHandleResolver;
   private final LoadingConfiguration loadingConfiguration;
-  private final JsonManager jsonManager;
+  private final AssetManifestManager assetManifestManager;
+  private final AtlasPackingManager atlasPackingManager;
+  private final LoadingProfiler loadingProfiler;
+  private final Map<String, AssetLoaderFactory<?>> assetLoaderFactories;
+  private final Map<String, Class<?>> assetTypes = new HashMap<>();
   private Stages currentStage;
   private Assets assets;
+  private FrameBudget frameBudget;
 
   /**
    * Instantiates a new Loading manager.
@@ -54,18 +66,31 @@ public class LoadingManager {
    * @param assetManager         the asset manager
    * @param fileHandleResolver   the file handle resolver
    * @param loadingConfiguration the loading configuration
-   * @param jsonManager          the json manager
+   * @param assetManifestManager the asset manifest manager
+   * @param atlasPackingManager  the atlas packing manager
+   * @param loadingProfiler      the loading profiler
+   * @param assetLoaderFactories the asset loader factories, by loader class name.
    */
   @Inject
   public LoadingManager(final AssetManager assetManager,
                         final FileHandleResolver fileHandleResolver,
                         final LoadingConfiguration loadingConfiguration,
-                        final JsonManager jsonManager) {
+                        final AssetManifestManager assetManifestManager,
+                        final AtlasPackingManager atlasPackingManager,
+                        final LoadingProfiler loadingProfiler,
+                        final Map<String, AssetLoaderFactory<?>> assetLoaderFactories) {
     this.assetManager = assetManager;
     this.fileHandleResolver = fileHandleResolver;
     this.loadingConfiguration = loadingConfiguration;
-    this.jsonManager = jsonManager;
-    currentStage = Stages.INIT;
+    this.assetManifestManager = assetManifestManager;
+    this.atlasPackingManager = atlasPackingManager;
+    this.loadingProfiler = loadingProfiler;
+    this.assetLoaderFactories = assetLoaderFactories;
+    assetLoaderFactories.values().forEach(factory -> assetTypes.put(factory.type().getName(), factory.type()));
+    if (assetManager instanceof ListenableAssetManager listenableAssetManager) {
+      listenableAssetManager.setListener(loadingProfiler);
+    }
+    setCurrentStage(Stages.INIT);
     LOGGER.info("LoadingManager()");
   }
 
@@ -78,23 +103,36 @@ public class LoadingManager {
     LOGGER.info("Update() : " + currentStage);
     switch (currentStage) {
       case INIT -> {
-        setAssets(jsonManager.fromJson(Assets.class, fileHandleResolver.resolve(loadingConfiguration.getAssetsFilename())));
+        setAssets(assetManifestManager.load(loadingConfiguration.getAssetsFilename()));
         setCurrentStage(Stages.ASSET_LOADERS);
         return false;
       }
       case ASSET_LOADERS -> {
-        setCurrentStage(Stages.QUEUE_ASSETS);
+        if (loadingConfiguration.isPackTextures() && textures() != null) {
+          atlasPackingManager.begin(textures());
+          setCurrentStage(Stages.PACK_TEXTURES);
+        } else {
+          setCurrentStage(Stages.QUEUE_ASSETS);
+        }
         assetManager.setLoader(TiledMap.class, ".tmx", new TmxMapLoader(fileHandleResolver));
         // Loop through the loaders.
         assets.loaders().forEach(this::buildLoader);
         return false;
       }
+      case PACK_TEXTURES -> {
+        if (atlasPackingManager.update()) {
+          // packed textures are drawn from the atlas, so they are not loaded on their own.
+          textures().removeAll(atlasPackingManager.packed(textures()));
+          setCurrentStage(Stages.QUEUE_ASSETS);
+        }
+        return false;
+      }
       case QUEUE_ASSETS -> {
         for (Map.Entry<String, ArrayList<String>> entry : assets.getAssetsToLoad().entrySet()) {
           final String clazzName = entry.getKey();
           LOGGER.info("Processing: " + clazzName);
           try {
-            final Class<?> clazz = Class.forName(clazzName);
+            final Class<?> clazz = assetType(clazzName);
             for (String filename : entry.getValue()) {
               LOGGER.info("  adding to queue: " + clazz.getSimpleName() + ":" + filename);
               assetManager.load(filename, clazz);
@@ -107,7 +145,9 @@ public class LoadingManager {
         return false;
       }
       case LOAD_ASSETS -> {
-        if (assetManager.update()) {
+        // pools fill up here so their allocation happens behind the loading screen, not mid-game.
+        final boolean poolsWarm = PoolRegistry.prewarm(loadingConfiguration.getPoolsPrewarmedPerUpdate());
+        if (updateAssets() && poolsWarm) {
           setCurrentStage(Stages.DONE);
         }
         return false;
@@ -118,7 +158,46 @@ public class LoadingManager {
     }
   }
 
+  private ArrayList<String> textures() {
+    return assets.getAssetsToLoad() == null ? null : assets.getAssetsToLoad().get(Texture.class.getName());
+  }
+
+  /**
+   * One AssetManager step per frame, or as many as fit in the frame budget when one is configured.
+   */
+  private boolean updateAssets() {
+    final int initialMillis = loadingConfiguration.getLoadingBudgetMillis();
+    if (initialMillis <= 0) {
+      return assetManager.update();
+    }
+    if (frameBudget == null) {
+      frameBudget = new FrameBudget(initialMillis, targetFrameMillis(loadingConfiguration.getTargetFrameMillis()));
+    }
+    return assetManager.update(frameBudget.next());
+  }
+
+  /**
+   * The configured frame time, or the display's refresh interval when none is set.
+   */
+  private static float targetFrameMillis(final int configured) {
+    if (configured > 0) {
+      return configured;
+    }
+    final int refreshRate = Gdx.graphics.getDisplayMode().refreshRate;
+    return 1000f / (refreshRate > 0 ? refreshRate : 60);
+  }
+
+  private Class<?> assetType(final String clazzName) throws ClassNotFoundException {
+    final Class<?> clazz = assetTypes.get(clazzName);
+    return clazz == null ? Class.forName(clazzName) : clazz;
+  }
+
   private <T> void buildLoader(final Loader l) {
+    final AssetLoaderFactory<?> factory = assetLoaderFactories.get(l.loaderClass());
+    if (factory != null) {
+      setLoader(factory, l.suffix());
+      return;
+    }
     try {
       LOGGER.info("Asset class to load: " + l.classToLoad());
       final Class<T> classToLoad = getParemeterizedClass(l.classToLoad());
@@ -133,6 +212,11 @@ public class LoadingManager {
     }
   }
 
+  private <T> void setLoader(final AssetLoaderFactory<T> factory, final String suffix) {
+    LOGGER.info("Asset class to load: " + factory.type().getName() + " from a factory");
+    assetManager.setLoader(factory.type(), suffix, factory.create(fileHandleResolver));
+  }
+
   /**
    * Isolate the evil here. Needs to be a better way to get the class as a generalized class.
    *
@@ -155,6 +239,7 @@ public class LoadingManager {
     return switch (currentStage) {
       case INIT -> 0f;
       case ASSET_LOADERS -> 0.1f;
+      case PACK_TEXTURES -> 0.15f;
       case QUEUE_ASSETS -> 0.2f;
       case LOAD_ASSETS -> 0.3f + (0.7f * assetManager.getProgress());
       default -> 1f;
@@ -213,6 +298,13 @@ public class LoadingManager {
    */
   void setCurrentStage(final Stages currentStage) {
     this.currentStage = currentStage;
+    if (currentStage == Stages.DONE) {
+      loadingProfiler.finish();
+      // give back what loading needed beyond the pre-warmed sizes.
+      PoolRegistry.trim();
+    } else {
+      loadingProfiler.stage(currentStage.name());
+    }
   }
 
   /**
@@ -227,6 +319,10 @@ public class LoadingManager {
      * The Asset loaders.
      */
     ASSET_LOADERS("Setting up asset loaders"),
+    /**
+     * The Pack textures.
+     */
+    PACK_TEXTURES("Packing textures"),
     /**
      * The Queue assets.
      */
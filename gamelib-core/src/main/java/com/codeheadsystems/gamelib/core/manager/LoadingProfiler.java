@@ -0,0 +1,305 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.manager;
+
+import static com.codeheadsystems.gamelib.core.util.LoggerHelper.logger;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonWriter;
+import com.badlogic.gdx.utils.Logger;
+import com.codeheadsystems.gamelib.core.loader.ListenableAssetManager;
+import com.codeheadsystems.gamelib.core.model.LoadingConfiguration;
+import com.codeheadsystems.gamelib.core.model.LoadingReport;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.function.LongSupplier;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Times the loading stages and every asset loaded, and at the end writes a LoadingReport as json to the local
+ * file named in the loading configuration. The same timings are emitted as JFR events, so a recording of the
+ * startup shows them next to GC and IO.
+ * <p>
+ * Asset times come from a ListenableAssetManager. It loads one asset at a time, so an asset starts in the first
+ * update() after the one before it finished, and only the time spent inside update() calls counts towards it.
+ * Rendering and vsync between updates are left out.
+ */
+@Singleton
+public class LoadingProfiler implements ListenableAssetManager.Listener {
+
+  private static final Logger LOGGER = logger(LoadingProfiler.class);
+  private static final long NANOS_PER_MILLI = 1_000_000L;
+
+  private final FileHandleResolver fileHandleResolver;
+  private final LoadingConfiguration loadingConfiguration;
+  private final LongSupplier clock;
+  private final ArrayList<LoadingReport.StageTiming> stages = new ArrayList<>();
+  private final ArrayList<LoadingReport.AssetTiming> assets = new ArrayList<>();
+  private boolean started;
+  private long loadingStart;
+  private String stage;
+  private long stageStart;
+  private StageEvent stageEvent;
+  private boolean updating;
+  private long segmentStart = -1L;
+  private long assetStart = -1L;
+  private long assetWork;
+  private long totalBytes;
+
+  /**
+   * Instantiates a new Loading profiler.
+   *
+   * @param fileHandleResolver   the file handle resolver
+   * @param loadingConfiguration the loading configuration
+   */
+  @Inject
+  public LoadingProfiler(final FileHandleResolver fileHandleResolver,
+                         final LoadingConfiguration loadingConfiguration) {
+    this(fileHandleResolver, loadingConfiguration, System::nanoTime);
+  }
+
+  /**
+   * Instantiates a new Loading profiler.
+   *
+   * @param fileHandleResolver   the file handle resolver
+   * @param loadingConfiguration the loading configuration
+   * @param clock                nano time source
+   */
+  LoadingProfiler(final FileHandleResolver fileHandleResolver,
+                  final LoadingConfiguration loadingConfiguration,
+                  final LongSupplier clock) {
+    this.fileHandleResolver = fileHandleResolver;
+    this.loadingConfiguration = loadingConfiguration;
+    this.clock = clock;
+    LOGGER.info("LoadingProfiler()");
+  }
+
+  /**
+   * Converts the report to json.
+   *
+   * @param report the report
+   * @return the json
+   */
+  public static String toJson(final LoadingReport report) {
+    final StringWriter out = new StringWriter();
+    final JsonWriter writer = new JsonWriter(out);
+    writer.setOutputType(JsonWriter.OutputType.json);
+    try {
+      writer.object()
+          .set("totalNanos", report.getTotalNanos())
+          .set("totalBytes", report.getTotalBytes())
+          .array("stages");
+      for (LoadingReport.StageTiming timing : report.getStages()) {
+        writer.object()
+            .set("stage", timing.getStage())
+            .set("startNanos", timing.getStartNanos())
+            .set("durationNanos", timing.getDurationNanos())
+            .pop();
+      }
+      writer.pop().array("assets");
+      for (LoadingReport.AssetTiming timing : report.getAssets()) {
+        writer.object()
+            .set("fileName", timing.getFileName())
+            .set("type", timing.getType())
+            .set("startNanos", timing.getStartNanos())
+            .set("durationNanos", timing.getDurationNanos())
+            .set("bytes", timing.getBytes())
+            .pop();
+      }
+      writer.pop().pop();
+      writer.close();
+    } catch (IOException e) {
+      throw new GdxRuntimeException(e);
+    }
+    return out.toString();
+  }
+
+  /**
+   * Ends the current stage, if any, and starts timing the next.
+   *
+   * @param name the stage name
+   */
+  public void stage(final String name) {
+    final long now = start();
+    endStage(now);
+    stage = name;
+    stageStart = now;
+    stageEvent = new StageEvent();
+    stageEvent.stage = name;
+    stageEvent.begin();
+  }
+
+  /**
+   * Starts counting time towards the asset being loaded.
+   */
+  @Override
+  public void updateStarted() {
+    final long now = start();
+    updating = true;
+    segmentStart = now;
+    if (assetStart < 0) {
+      assetStart = now;
+    }
+  }
+
+  /**
+   * Stops counting until the next update.
+   */
+  @Override
+  public void updateFinished() {
+    final long now = clock.getAsLong();
+    if (updating && segmentStart >= 0) {
+      assetWork += now - segmentStart;
+    }
+    updating = false;
+    segmentStart = -1L;
+  }
+
+  /**
+   * Records an asset that just finished loading.
+   *
+   * @param fileName the file name
+   * @param type     the type
+   */
+  @Override
+  public void loaded(final String fileName, final Class<?> type) {
+    final long now = start();
+    final long begin = assetStart < 0 ? now : assetStart;
+    final long duration = assetWork + (updating && segmentStart >= 0 ? now - segmentStart : 0L);
+    // nothing else loads in the rest of this update, the next asset starts in the next one.
+    assetStart = -1L;
+    assetWork = 0L;
+    segmentStart = -1L;
+    final long bytes = bytes(fileName);
+    totalBytes += bytes;
+    assets.add(new LoadingReport.AssetTiming(fileName, type.getName(), begin - loadingStart, duration, bytes));
+    final AssetEvent event = new AssetEvent();
+    if (event.shouldCommit()) {
+      event.fileName = fileName;
+      event.type = type.getName();
+      event.loadNanos = duration;
+      event.bytes = bytes;
+      event.commit();
+    }
+  }
+
+  /**
+   * Ends loading: builds the report, writes it out and starts over for the next load.
+   *
+   * @return the report
+   */
+  public LoadingReport finish() {
+    final long now = start();
+    endStage(now);
+    final ArrayList<LoadingReport.AssetTiming> slowest = new ArrayList<>(assets);
+    slowest.sort(Comparator.comparingLong(LoadingReport.AssetTiming::getDurationNanos).reversed());
+    final LoadingReport report = new LoadingReport(now - loadingStart, totalBytes, new ArrayList<>(stages), slowest);
+    LOGGER.info("Loading took " + report.getTotalNanos() / NANOS_PER_MILLI + "ms for " + assets.size()
+        + " assets, " + totalBytes + " bytes");
+    write(report);
+    stages.clear();
+    assets.clear();
+    totalBytes = 0L;
+    assetStart = -1L;
+    assetWork = 0L;
+    started = false;
+    return report;
+  }
+
+  private long start() {
+    final long now = clock.getAsLong();
+    if (!started) {
+      started = true;
+      loadingStart = now;
+    }
+    return now;
+  }
+
+  private void endStage(final long now) {
+    if (stage == null) {
+      return;
+    }
+    stages.add(new LoadingReport.StageTiming(stage, stageStart - loadingStart, now - stageStart));
+    stageEvent.commit();
+    stage = null;
+    stageEvent = null;
+  }
+
+  private long bytes(final String fileName) {
+    try {
+      return fileHandleResolver.resolve(fileName).length();
+    } catch (GdxRuntimeException e) {
+      return 0L;
+    }
+  }
+
+  private void write(final LoadingReport report) {
+    final String reportFile = loadingConfiguration.getLoadingReportFile();
+    if (reportFile == null || reportFile.isEmpty()) {
+      return;
+    }
+    try {
+      Gdx.files.local(reportFile).writeString(toJson(report), false);
+    } catch (GdxRuntimeException e) {
+      LOGGER.error("Unable to write loading report: " + reportFile, e);
+    }
+  }
+
+  /**
+   * JFR event for a loading stage.
+   */
+  @Name("com.codeheadsystems.gamelib.LoadingStage")
+  @Label("Loading Stage")
+  @Category({"GameLib", "Loading"})
+  static class StageEvent extends Event {
+
+    @Label("Stage")
+    String stage;
+  }
+
+  /**
+   * JFR event for an asset, committed when it finishes loading.
+   */
+  @Name("com.codeheadsystems.gamelib.AssetLoad")
+  @Label("Asset Load")
+  @Category({"GameLib", "Loading"})
+  static class AssetEvent extends Event {
+
+    @Label("File")
+    String fileName;
+    @Label("Type")
+    String type;
+    @Label("Load Time")
+    @Timespan
+    long loadNanos;
+    @Label("Bytes Read")
+    @DataAmount
+    long bytes;
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.model;
+
+import com.badlogic.gdx.utils.Json;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Compiled, binary form of the Assets json. Every class name and filename is written once into a string table
+ * and referenced by index after that, so reading it back is a straight pass over the bytes with no json parsing
+ * and no bean reflection. The checksum of the json it came from is stored with it, so a manifest whose json has
+ * since changed is seen as stale.
+ * <p>
+ * Run main() as a build step to ship the manifest next to the json, or let the AssetManifestManager write it on
+ * first run where the files are writable.
+ */
+public class AssetManifest {
+
+  /**
+   * Added to the json filename to get the compiled filename.
+   */
+  public static final String SUFFIX = ".bin";
+  /**
+   * Checksum to use when the json is not available, which accepts any compiled manifest.
+   */
+  public static final long UNKNOWN_CHECKSUM = -1L;
+
+  private static final int MAGIC = 0x474C414D; // GLAM
+  private static final int VERSION = 1;
+  private static final int NONE = -1;
+  // lists are only sized up front to this, the rest grow as entries are really read.
+  private static final int MAX_PRESIZE = 1024;
+
+  private AssetManifest() {
+
+  }
+
+  /**
+   * Compiles the json file given, into the second file or the json filename plus SUFFIX.
+   *
+   * @param args the json file, and optionally the output file.
+   * @throws IOException if either file cannot be used.
+   */
+  public static void main(final String[] args) throws IOException {
+    if (args.length < 1 || args.length > 2) {
+      System.err.println("Usage: AssetManifest <assets.json> [<assets.json" + SUFFIX + ">]");
+      System.exit(1);
+    }
+    final Path source = Path.of(args[0]);
+    final Path target = Path.of(args.length > 1 ? args[1] : args[0] + SUFFIX);
+    final byte[] bytes = Files.readAllBytes(source);
+    final Assets assets = new Json().fromJson(Assets.class, new String(bytes, StandardCharsets.UTF_8));
+    try (OutputStream out = Files.newOutputStream(target)) {
+      write(assets, checksum(bytes), out);
+    }
+  }
+
+  /**
+   * Checksum of the json source, the CRC32 of the bytes combined with their length.
+   *
+   * @param source the json bytes
+   * @return the checksum
+   */
+  public static long checksum(final byte[] source) {
+    final CRC32 crc = new CRC32();
+    crc.update(source);
+    return ((long) source.length << 32) | crc.getValue();
+  }
+
+  /**
+   * Writes the assets. The stream is flushed, not closed.
+   *
+   * @param assets   the assets
+   * @param checksum checksum of the json the assets were read from.
+   * @param out      the stream
+   * @throws IOException the io exception
+   */
+  public static void write(final Assets assets,
+                           final long checksum,
+                           final OutputStream out) throws IOException {
+    final Map<String, Integer> strings = new LinkedHashMap<>();
+    if (assets.loaders() != null) {
+      for (Loader loader : assets.loaders()) {
+        intern(strings, loader.classToLoad());
+        intern(strings, loader.suffix());
+        intern(strings, loader.loaderClass());
+      }
+    }
+    if (assets.getAssetsToLoad() != null) {
+      for (Map.Entry<String, ArrayList<String>> entry : assets.getAssetsToLoad().entrySet()) {
+        intern(strings, entry.getKey());
+        entry.getValue().forEach(filename -> intern(strings, filename));
+      }
+    }
+    final DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+    data.writeInt(MAGIC);
+    data.writeInt(VERSION);
+    data.writeLong(checksum);
+    data.writeInt(strings.size());
+    for (String string : strings.keySet()) {
+      data.writeUTF(string);
+    }
+    if (assets.loaders() == null) {
+      data.writeInt(NONE);
+    } else {
+      data.writeInt(assets.loaders().size());
+      for (Loader loader : assets.loaders()) {
+        data.writeInt(index(strings, loader.classToLoad()));
+        data.writeInt(index(strings, loader.suffix()));
+        data.writeInt(index(strings, loader.loaderClass()));
+      }
+    }
+    if (assets.getAssetsToLoad() == null) {
+      data.writeInt(NONE);
+    } else {
+      data.writeInt(assets.getAssetsToLoad().size());
+      for (Map.Entry<String, ArrayList<String>> entry : assets.getAssetsToLoad().entrySet()) {
+        data.writeInt(index(strings, entry.getKey()));
+        data.writeInt(entry.getValue().size());
+        for (String filename : entry.getValue()) {
+          data.writeInt(index(strings, filename));
+        }
+      }
+    }
+    data.flush();
+  }
+
+  /**
+   * Reads the assets back.
+   *
+   * @param in               the stream, not closed.
+   * @param expectedChecksum checksum of the current json, or UNKNOWN_CHECKSUM.
+   * @return the assets, or null if the manifest is stale.
+   * @throws IOException if the stream is not a manifest, is corrupt or is cut short.
+   */
+  public static Assets read(final InputStream in,
+                            final long expectedChecksum) throws IOException {
+    final DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+    if (data.readInt() != MAGIC) {
+      throw new IOException("Not an asset manifest");
+    }
+    if (data.readInt() != VERSION) {
+      return null;
+    }
+    final long checksum = data.readLong();
+    if (expectedChecksum != UNKNOWN_CHECKSUM && checksum != expectedChecksum) {
+      return null;
+    }
+    final int stringCount = count(data.readInt(), false);
+    final ArrayList<String> stringList = new ArrayList<>(Math.min(stringCount, MAX_PRESIZE));
+    for (int i = 0; i < stringCount; i++) {
+      stringList.add(data.readUTF());
+    }
+    final String[] strings = stringList.toArray(new String[0]);
+    final int loaderCount = count(data.readInt(), true);
+    ArrayList<Loader> loaders = null;
+    if (loaderCount != NONE) {
+      loaders = new ArrayList<>(Math.min(loaderCount, MAX_PRESIZE));
+      for (int i = 0; i < loaderCount; i++) {
+        loaders.add(new Loader(string(strings, data.readInt()), string(strings, data.readInt()), string(strings, data.readInt())));
+      }
+    }
+    final int groupCount = count(data.readInt(), true);
+    HashMap<String, ArrayList<String>> assetsToLoad = null;
+    if (groupCount != NONE) {
+      assetsToLoad = new HashMap<>();
+      for (int i = 0; i < groupCount; i++) {
+        final String clazz = string(strings, data.readInt());
+        final int count = count(data.readInt(), false);
+        final ArrayList<String> filenames = new ArrayList<>(Math.min(count, MAX_PRESIZE));
+        for (int j = 0; j < count; j++) {
+          filenames.add(string(strings, data.readInt()));
+        }
+        assetsToLoad.put(clazz, filenames);
+      }
+    }
+    return new Assets(assetsToLoad, loaders);
+  }
+
+  private static void intern(final Map<String, Integer> strings, final String string) {
+    if (string != null) {
+      strings.putIfAbsent(string, strings.size());
+    }
+  }
+
+  private static int index(final Map<String, Integer> strings, final String string) {
+    return string == null ? NONE : strings.get(string);
+  }
+
+  /**
+   * Counts come from the file, so a corrupt one is an IOException rather than a bad allocation.
+   */
+  private static int count(final int count, final boolean optional) throws IOException {
+    if (count < 0 && !(optional && count == NONE)) {
+      throw new IOException("Bad count in asset manifest: " + count);
+    }
+    return count;
+  }
+
+  private static String string(final String[] strings, final int index) throws IOException {
+    if (index == NONE) {
+      return null;
+    }
+    if (index < 0 || index >= strings.length) {
+      throw new IOException("Bad string index in asset manifest: " + index);
+    }
+    return strings[index];
+  }
+}
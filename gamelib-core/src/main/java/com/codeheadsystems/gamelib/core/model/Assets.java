@@ -28,6 +28,24 @@ public class Assets {
   private HashMap<String, ArrayList<String>> assetsToLoad;
   private ArrayList<Loader> loaders;
 
+  /**
+   * Instantiates a new Assets, filled in by Json.
+   */
+  public Assets() {
+  }
+
+  /**
+   * Instantiates a new Assets, used when reading an AssetManifest.
+   *
+   * @param assetsToLoad the assets to load
+   * @param loaders      the loaders
+   */
+  Assets(final HashMap<String, ArrayList<String>> assetsToLoad,
+         final ArrayList<Loader> loaders) {
+    this.assetsToLoad = assetsToLoad;
+    this.loaders = loaders;
+  }
+
   /**
    * Gets assets to load.
    *
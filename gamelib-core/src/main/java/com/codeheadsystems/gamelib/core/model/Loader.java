@@ -26,6 +26,27 @@ public class Loader {
   private String suffix;
   private String loaderClass;
 
+  /**
+   * Instantiates a new Loader, filled in by Json.
+   */
+  public Loader() {
+  }
+
+  /**
+   * Instantiates a new Loader, used when reading an AssetManifest.
+   *
+   * @param classToLoad the class to load
+   * @param suffix      the suffix
+   * @param loaderClass the loader class
+   */
+  Loader(final String classToLoad,
+         final String suffix,
+         final String loaderClass) {
+    this.classToLoad = classToLoad;
+    this.suffix = suffix;
+    this.loaderClass = loaderClass;
+  }
+
   /**
    * Class to load string.
    *
@@ -24,6 +24,17 @@ public class LoadingConfiguration {
 
   private String assetsFilename;
   private String loadingImage;
+  private int poolsPrewarmedPerUpdate = 4096;
+  private int loadingBudgetMillis = 8;
+  private int targetFrameMillis;
+  private long assetCacheBytes = 256L * 1024 * 1024;
+  private boolean packTextures;
+  private int packedTextureMaxSize = 256;
+  private int atlasPageSize = 2048;
+  private int texturesPackedPerUpdate = 32;
+  private String atlasCacheDirectory = "atlas-cache";
+  private int decodeThreads;
+  private String loadingReportFile = "loading-report.json";
 
   /**
    * Gets assets filename.
@@ -42,4 +53,105 @@ public class LoadingConfiguration {
   public String getLoadingImage() {
     return loadingImage;
   }
+
+  /**
+   * Gets how many pooled objects the loading screen creates per update while pre-warming pools, 0 for no limit.
+   *
+   * @return the pools prewarmed per update
+   */
+  public int getPoolsPrewarmedPerUpdate() {
+    return poolsPrewarmedPerUpdate;
+  }
+
+  /**
+   * Gets how many milliseconds of asset loading to start with each frame, 0 to make one AssetManager.update()
+   * call per frame instead. The budget then adapts to keep frames near the target frame time.
+   *
+   * @return the loading budget millis
+   */
+  public int getLoadingBudgetMillis() {
+    return loadingBudgetMillis;
+  }
+
+  /**
+   * Gets how long a frame of the loading screen should take.
+   * 0 uses the display's refresh interval, which is what a frame takes with vsync on.
+   *
+   * @return the target frame millis
+   */
+  public int getTargetFrameMillis() {
+    return targetFrameMillis;
+  }
+
+  /**
+   * Gets the memory budget of the AssetCache, in approximate bytes.
+   *
+   * @return the asset cache bytes
+   */
+  public long getAssetCacheBytes() {
+    return assetCacheBytes;
+  }
+
+  /**
+   * Is pack textures boolean. When set, small textures are packed into atlas pages while loading.
+   *
+   * @return the boolean
+   */
+  public boolean isPackTextures() {
+    return packTextures;
+  }
+
+  /**
+   * Gets the largest width or height of a texture that gets packed.
+   *
+   * @return the packed texture max size
+   */
+  public int getPackedTextureMaxSize() {
+    return packedTextureMaxSize;
+  }
+
+  /**
+   * Gets the width and height of each atlas page.
+   *
+   * @return the atlas page size
+   */
+  public int getAtlasPageSize() {
+    return atlasPageSize;
+  }
+
+  /**
+   * Gets how many textures are packed per update of the loading screen.
+   *
+   * @return the textures packed per update
+   */
+  public int getTexturesPackedPerUpdate() {
+    return texturesPackedPerUpdate;
+  }
+
+  /**
+   * Gets the local directory the packed atlas is cached in.
+   *
+   * @return the atlas cache directory
+   */
+  public String getAtlasCacheDirectory() {
+    return atlasCacheDirectory;
+  }
+
+  /**
+   * Gets how many threads decode textures for the AssetManager, 0 for the single loader thread it has anyway.
+   *
+   * @return the decode threads
+   */
+  public int getDecodeThreads() {
+    return decodeThreads;
+  }
+
+  /**
+   * Gets the local file the LoadingProfiler writes its report to, empty for none.
+   *
+   * @return the loading report file
+   */
+  public String getLoadingReportFile() {
+    return loadingReportFile;
+  }
 }
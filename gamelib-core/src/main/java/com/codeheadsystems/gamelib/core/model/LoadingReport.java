@@ -0,0 +1,232 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.model;
+
+import java.util.ArrayList;
+
+/**
+ * Timings of one run of the loading screen: how long each stage took and how long each asset took, slowest
+ * asset first. Written out as json by the LoadingProfiler so runs can be compared between builds.
+ */
+public class LoadingReport {
+
+  private long totalNanos;
+  private long totalBytes;
+  private ArrayList<StageTiming> stages = new ArrayList<>();
+  private ArrayList<AssetTiming> assets = new ArrayList<>();
+
+  /**
+   * Instantiates a new Loading report, filled in by Json.
+   */
+  public LoadingReport() {
+  }
+
+  /**
+   * Instantiates a new Loading report.
+   *
+   * @param totalNanos the total nanos
+   * @param totalBytes the total bytes
+   * @param stages     the stages, in order.
+   * @param assets     the assets, slowest first.
+   */
+  public LoadingReport(final long totalNanos,
+                       final long totalBytes,
+                       final ArrayList<StageTiming> stages,
+                       final ArrayList<AssetTiming> assets) {
+    this.totalNanos = totalNanos;
+    this.totalBytes = totalBytes;
+    this.stages = stages;
+    this.assets = assets;
+  }
+
+  /**
+   * Gets total nanos.
+   *
+   * @return the total nanos
+   */
+  public long getTotalNanos() {
+    return totalNanos;
+  }
+
+  /**
+   * Gets total bytes read by the assets.
+   *
+   * @return the total bytes
+   */
+  public long getTotalBytes() {
+    return totalBytes;
+  }
+
+  /**
+   * Gets stages.
+   *
+   * @return the stages
+   */
+  public ArrayList<StageTiming> getStages() {
+    return stages;
+  }
+
+  /**
+   * Gets assets.
+   *
+   * @return the assets
+   */
+  public ArrayList<AssetTiming> getAssets() {
+    return assets;
+  }
+
+  /**
+   * How long a loading stage took.
+   */
+  public static class StageTiming {
+
+    private String stage;
+    private long startNanos;
+    private long durationNanos;
+
+    /**
+     * Instantiates a new Stage timing, filled in by Json.
+     */
+    public StageTiming() {
+    }
+
+    /**
+     * Instantiates a new Stage timing.
+     *
+     * @param stage         the stage
+     * @param startNanos    start, relative to the start of loading.
+     * @param durationNanos the duration nanos
+     */
+    public StageTiming(final String stage, final long startNanos, final long durationNanos) {
+      this.stage = stage;
+      this.startNanos = startNanos;
+      this.durationNanos = durationNanos;
+    }
+
+    /**
+     * Gets stage.
+     *
+     * @return the stage
+     */
+    public String getStage() {
+      return stage;
+    }
+
+    /**
+     * Gets start nanos, relative to the start of loading.
+     *
+     * @return the start nanos
+     */
+    public long getStartNanos() {
+      return startNanos;
+    }
+
+    /**
+     * Gets duration nanos.
+     *
+     * @return the duration nanos
+     */
+    public long getDurationNanos() {
+      return durationNanos;
+    }
+  }
+
+  /**
+   * How long an asset took to load and how big its file is.
+   */
+  public static class AssetTiming {
+
+    private String fileName;
+    private String type;
+    private long startNanos;
+    private long durationNanos;
+    private long bytes;
+
+    /**
+     * Instantiates a new Asset timing, filled in by Json.
+     */
+    public AssetTiming() {
+    }
+
+    /**
+     * Instantiates a new Asset timing.
+     *
+     * @param fileName      the file name
+     * @param type          the type
+     * @param startNanos    start, relative to the start of loading.
+     * @param durationNanos the duration nanos
+     * @param bytes         the bytes
+     */
+    public AssetTiming(final String fileName,
+                       final String type,
+                       final long startNanos,
+                       final long durationNanos,
+                       final long bytes) {
+      this.fileName = fileName;
+      this.type = type;
+      this.startNanos = startNanos;
+      this.durationNanos = durationNanos;
+      this.bytes = bytes;
+    }
+
+    /**
+     * Gets file name.
+     *
+     * @return the file name
+     */
+    public String getFileName() {
+      return fileName;
+    }
+
+    /**
+     * Gets type.
+     *
+     * @return the type
+     */
+    public String getType() {
+      return type;
+    }
+
+    /**
+     * Gets start nanos, relative to the start of loading.
+     *
+     * @return the start nanos
+     */
+    public long getStartNanos() {
+      return startNanos;
+    }
+
+    /**
+     * Gets duration nanos.
+     *
+     * @return the duration nanos
+     */
+    public long getDurationNanos() {
+      return durationNanos;
+    }
+
+    /**
+     * Gets bytes.
+     *
+     * @return the bytes
+     */
+    public long getBytes() {
+      return bytes;
+    }
+  }
+}
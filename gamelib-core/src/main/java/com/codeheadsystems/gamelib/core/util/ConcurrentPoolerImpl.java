@@ -0,0 +1,269 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.util;
+
+import com.badlogic.gdx.utils.Pool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A pooler that is safe to use from many threads at once. Each thread keeps a small cache of free objects of its
+ * own, so most obtain() and free() calls touch no shared state. When a thread's cache fills up, half of it is
+ * pushed as a batch onto a shared lock-free stack, and a thread with an empty cache takes a batch from there
+ * before creating anything new. That way objects freed on one thread can still be reused by another.
+ * <p>
+ * Objects left in the cache of a thread that dies are not reused, they are simply collected. Like the libGDX
+ * pool, Pool.Poolable objects are reset when freed. Reports to the PoolRegistry and PoolLeakTracker like the
+ * other poolers. Pre-warming and trimming work on the shared stack only, a thread's own cache is left alone.
+ *
+ * @param <T> the type parameter
+ */
+public class ConcurrentPoolerImpl<T> implements Pooler<T> {
+
+  /**
+   * How many free objects each thread keeps by default.
+   */
+  public static final int DEFAULT_LOCAL_CAPACITY = 64;
+
+  private final Supplier<T> supplier;
+  private final int localCapacity;
+  private final ThreadLocal<Local> local;
+  private final AtomicReference<Batch> overflow = new AtomicReference<>();
+  private final LongAdder free = new LongAdder();
+  private final AtomicInteger batches = new AtomicInteger();
+  private final AtomicInteger lowWaterBatches = new AtomicInteger();
+  private final PoolStats stats;
+  private volatile PoolOptions options = new PoolOptions();
+
+  /**
+   * Instantiates a new Concurrent pooler.
+   *
+   * @param supplier the supplier
+   */
+  protected ConcurrentPoolerImpl(final Supplier<T> supplier) {
+    this(supplier, DEFAULT_LOCAL_CAPACITY);
+  }
+
+  /**
+   * Instantiates a new Concurrent pooler.
+   *
+   * @param supplier      the supplier
+   * @param localCapacity how many free objects each thread keeps before sharing them, at least 2.
+   */
+  protected ConcurrentPoolerImpl(final Supplier<T> supplier, final int localCapacity) {
+    if (localCapacity < 2) {
+      throw new IllegalArgumentException("localCapacity must be at least 2: " + localCapacity);
+    }
+    this.supplier = supplier;
+    this.localCapacity = localCapacity;
+    this.local = ThreadLocal.withInitial(Local::new);
+    this.stats = PoolRegistry.register(this);
+  }
+
+  @Override
+  public T obtain() {
+    final boolean counting = PoolRegistry.isEnabled();
+    if (counting) {
+      stats.obtained();
+    }
+    final Local cache = local.get();
+    final T instance;
+    if (cache.count == 0 && !cache.refill()) {
+      instance = supplier.get();
+      if (counting) {
+        stats.missed(instance);
+      }
+    } else {
+      free.decrement();
+      instance = cache.take();
+    }
+    if (PoolLeakTracker.isEnabled()) {
+      PoolLeakTracker.obtained(instance);
+    }
+    return instance;
+  }
+
+  @Override
+  public void free(final T tInstance) {
+    if (tInstance == null) {
+      throw new IllegalArgumentException("object cannot be null.");
+    }
+    if (PoolLeakTracker.isEnabled()) {
+      PoolLeakTracker.freed(tInstance);
+    }
+    if (tInstance instanceof Pool.Poolable poolable) {
+      poolable.reset();
+    }
+    final int maxRetained = options.getMaxRetained();
+    if (maxRetained != Integer.MAX_VALUE && free.intValue() >= maxRetained) {
+      if (PoolRegistry.isEnabled()) {
+        stats.freed(free.intValue());
+      }
+      return; // dropped.
+    }
+    final Local cache = local.get();
+    if (cache.count == localCapacity) {
+      cache.spill();
+    }
+    cache.put(tInstance);
+    free.increment();
+    if (PoolRegistry.isEnabled()) {
+      stats.freed(free.intValue());
+    }
+  }
+
+  /**
+   * Free objects across every thread. Only a snapshot while other threads are using the pool.
+   *
+   * @return the int
+   */
+  @Override
+  public int poolSize() {
+    return free.intValue();
+  }
+
+  @Override
+  public ConcurrentPoolerImpl<T> configure(final PoolOptions options) {
+    this.options = options;
+    return this;
+  }
+
+  @Override
+  public int prewarm(final int max) {
+    final int target = Math.min(options.getPrewarm(), options.getMaxRetained());
+    final int count = Math.min(max, target - free.intValue());
+    final int batchSize = localCapacity - localCapacity / 2;
+    for (int made = 0; made < count; made += batchSize) {
+      final Object[] items = new Object[Math.min(batchSize, count - made)];
+      for (int i = 0; i < items.length; i++) {
+        items[i] = supplier.get();
+      }
+      push(new Batch(items));
+      free.add(items.length);
+    }
+    lowWaterBatches.accumulateAndGet(batches.get(), Math::max);
+    return Math.max(count, 0);
+  }
+
+  @Override
+  public int trim() {
+    final float idleTrim = options.getIdleTrim();
+    final int idle = Math.min(lowWaterBatches.get(), batches.get());
+    int dropped = 0;
+    if (idle > 0 && idleTrim > 0f) {
+      final int drop = (int) Math.ceil(idle * idleTrim);
+      for (int i = 0; i < drop; i++) {
+        final Batch batch = pop();
+        if (batch == null) {
+          break;
+        }
+        if (free.intValue() - batch.items.length < options.getPrewarm()) {
+          push(batch); // dropping it would go under the prewarm size.
+          break;
+        }
+        free.add(-batch.items.length);
+        dropped += batch.items.length;
+      }
+    }
+    lowWaterBatches.set(batches.get());
+    return dropped;
+  }
+
+  private void push(final Batch batch) {
+    Batch head;
+    do {
+      head = overflow.get();
+      batch.next = head;
+    } while (!overflow.compareAndSet(head, batch));
+    batches.incrementAndGet();
+  }
+
+  private Batch pop() {
+    Batch head;
+    do {
+      head = overflow.get();
+      if (head == null) {
+        return null;
+      }
+    } while (!overflow.compareAndSet(head, head.next));
+    lowWaterBatches.accumulateAndGet(batches.decrementAndGet(), Math::min);
+    return head;
+  }
+
+  /**
+   * A batch of free objects on the shared stack. Batches are never changed once pushed.
+   */
+  private static final class Batch {
+
+    private final Object[] items;
+    private Batch next;
+
+    private Batch(final Object[] items) {
+      this.items = items;
+    }
+  }
+
+  /**
+   * One thread's cache.
+   */
+  private final class Local {
+
+    private final Object[] items = new Object[localCapacity];
+    private int count;
+
+    @SuppressWarnings("unchecked")
+    private T take() {
+      final Object item = items[--count];
+      items[count] = null;
+      return (T) item;
+    }
+
+    private void put(final T item) {
+      items[count++] = item;
+    }
+
+    /**
+     * Moves the top half of the cache onto the shared stack.
+     */
+    private void spill() {
+      final int keep = localCapacity / 2;
+      final Object[] batchItems = new Object[count - keep];
+      System.arraycopy(items, keep, batchItems, 0, batchItems.length);
+      for (int i = keep; i < count; i++) {
+        items[i] = null;
+      }
+      count = keep;
+      push(new Batch(batchItems));
+    }
+
+    /**
+     * Takes a batch from the shared stack into the empty cache.
+     */
+    private boolean refill() {
+      final Batch batch = pop();
+      if (batch == null) {
+        return false;
+      }
+      System.arraycopy(batch.items, 0, items, 0, batch.items.length);
+      count = batch.items.length;
+      return true;
+    }
+  }
+}
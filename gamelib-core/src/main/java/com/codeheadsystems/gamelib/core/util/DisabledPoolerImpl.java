@@ -27,6 +27,7 @@ import java.util.function.Supplier;
 public class DisabledPoolerImpl<T> implements Pooler<T> {
 
   private final Supplier<T> supplier;
+  private final PoolStats stats;
 
   /**
    * Instantiates a new Disabled pooler.
@@ -35,16 +36,30 @@ public class DisabledPoolerImpl<T> implements Pooler<T> {
    */
   protected DisabledPoolerImpl(final Supplier<T> supplier) {
     this.supplier = supplier;
+    this.stats = PoolRegistry.register(this);
   }
 
   @Override
   public T obtain() {
-    return supplier.get();
+    final T created = supplier.get();
+    if (PoolRegistry.isEnabled()) {
+      stats.obtained();
+      stats.missed(created);
+    }
+    if (PoolLeakTracker.isEnabled()) {
+      PoolLeakTracker.obtained(created);
+    }
+    return created;
   }
 
   @Override
   public void free(T tInstance) {
-
+    if (PoolLeakTracker.isEnabled()) {
+      PoolLeakTracker.freed(tInstance);
+    }
+    if (PoolRegistry.isEnabled()) {
+      stats.freed(0);
+    }
   }
 
   @Override
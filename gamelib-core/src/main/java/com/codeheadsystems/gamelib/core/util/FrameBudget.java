@@ -0,0 +1,84 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.util;
+
+/**
+ * How many milliseconds of asset loading fit in the next frame. Each call measures how long the last frame
+ * really took and moves the budget by half the difference from the target frame time, so loading takes all the
+ * time the frame has to spare while the loading screen keeps animating at the target rate.
+ * <p>
+ * With vsync on, a frame that fits lasts exactly one refresh interval, so use that interval (as a float) for the
+ * target. The budget then holds while frames fit and only shrinks after a frame misses a refresh; vsync hides any
+ * spare time, so it never grows past where it started.
+ */
+public class FrameBudget {
+
+  private static final long NANOS_PER_MILLI = 1_000_000L;
+  private static final int MINIMUM_MILLIS = 1;
+
+  private final float targetFrameMillis;
+  private float budgetMillis;
+  private long lastFrameNanos;
+
+  /**
+   * Instantiates a new Frame budget.
+   *
+   * @param initialMillis     the budget for the first frame.
+   * @param targetFrameMillis how long a frame should take, the refresh interval (1000f / 60 at 60Hz) with vsync.
+   */
+  public FrameBudget(final int initialMillis, final float targetFrameMillis) {
+    if (initialMillis <= 0 || !(targetFrameMillis > 0f)) {
+      throw new IllegalArgumentException("Budget and frame time must be positive: " + initialMillis + ", " + targetFrameMillis);
+    }
+    this.targetFrameMillis = targetFrameMillis;
+    this.budgetMillis = Math.min(initialMillis, targetFrameMillis);
+  }
+
+  /**
+   * Budget for the frame starting now.
+   *
+   * @return the millis
+   */
+  public int next() {
+    return next(System.nanoTime());
+  }
+
+  /**
+   * Budget for the frame starting at the given time.
+   *
+   * @param nowNanos the current System.nanoTime().
+   * @return the millis
+   */
+  public int next(final long nowNanos) {
+    if (lastFrameNanos != 0L) {
+      final float errorMillis = targetFrameMillis - (float) (nowNanos - lastFrameNanos) / NANOS_PER_MILLI;
+      budgetMillis = Math.max(MINIMUM_MILLIS, Math.min(targetFrameMillis, budgetMillis + errorMillis / 2f));
+    }
+    lastFrameNanos = nowNanos;
+    return current();
+  }
+
+  /**
+   * The budget last handed out.
+   *
+   * @return the millis
+   */
+  public int current() {
+    return Math.round(budgetMillis);
+  }
+}
@@ -0,0 +1,283 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.util;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Opt-in leak tracking for the poolers. A sample of obtains records where the object was obtained, and the object
+ * is watched with a phantom reference. If it is garbage collected without being freed back to its pool, that
+ * call site is counted as a leak. report() lists the sites that leak the most.
+ * <p>
+ * Turn it on with -Dgamelib.pool.leaks=true or setEnabled(), and set the sample rate with
+ * -Dgamelib.pool.leaks.sample (default one in 16 obtains). Meant for desktop debugging: it walks the stack on
+ * every sampled obtain and looks up every free. While off, each pool call only reads one flag.
+ */
+public class PoolLeakTracker {
+
+  /**
+   * How many stack frames make up a call site.
+   */
+  public static final int SITE_FRAMES = 4;
+
+  private static final Set<String> POOLER_CLASSES = Set.of(
+      PoolLeakTracker.class.getName(),
+      PoolerImpl.class.getName(),
+      PoolerImpl.class.getName() + "$1",
+      ConcurrentPoolerImpl.class.getName(),
+      DisabledPoolerImpl.class.getName(),
+      "com.badlogic.gdx.utils.Pool");
+  private static final StackWalker WALKER = StackWalker.getInstance();
+  private static final ReferenceQueue<Object> QUEUE = new ReferenceQueue<>();
+  // keyed by identity hash, colliding objects are chained.
+  private static final Map<Integer, Tracked> TRACKED = new ConcurrentHashMap<>();
+  private static final Map<String, Map<String, LongAdder>> LEAKS = new ConcurrentHashMap<>();
+  private static volatile boolean enabled = Boolean.getBoolean("gamelib.pool.leaks");
+  private static volatile int sampleRate = Math.max(1, Integer.getInteger("gamelib.pool.leaks.sample", 16));
+
+  private PoolLeakTracker() {
+  }
+
+  /**
+   * Is enabled boolean.
+   *
+   * @return the boolean
+   */
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Turns tracking on or off. Turning it off stops watching the objects already sampled, since their frees are
+   * no longer seen. Leaks already found are kept until reset().
+   *
+   * @param enabled the enabled
+   */
+  public static void setEnabled(final boolean enabled) {
+    PoolLeakTracker.enabled = enabled;
+    if (!enabled) {
+      TRACKED.clear();
+    }
+  }
+
+  /**
+   * Sets how often obtains are sampled.
+   *
+   * @param sampleRate one in this many obtains is tracked, 1 tracks all of them.
+   */
+  public static void setSampleRate(final int sampleRate) {
+    if (sampleRate < 1) {
+      throw new IllegalArgumentException("sampleRate must be positive: " + sampleRate);
+    }
+    PoolLeakTracker.sampleRate = sampleRate;
+  }
+
+  /**
+   * The call sites that leaked the most, most leaks first. Only counts objects the garbage collector has already
+   * found, so run a GC first for a fuller picture.
+   *
+   * @param top how many sites to return.
+   * @return the list
+   */
+  public static List<LeakSite> report(final int top) {
+    drain();
+    final List<LeakSite> sites = new ArrayList<>();
+    LEAKS.forEach((type, bySite) -> bySite.forEach((site, count) ->
+        sites.add(new LeakSite(type, site, count.sum()))));
+    return sites.stream()
+        .sorted(Comparator.comparingLong(LeakSite::getLeaks).reversed())
+        .limit(top)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Forgets every leak found so far.
+   */
+  public static void reset() {
+    drain();
+    LEAKS.clear();
+  }
+
+  /**
+   * Called by the poolers on obtain while enabled.
+   *
+   * @param object the object handed out.
+   */
+  static void obtained(final Object object) {
+    if (ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+      return;
+    }
+    drain();
+    final Tracked tracked = new Tracked(object, site());
+    TRACKED.compute(tracked.hash, (hash, head) -> {
+      tracked.next = head;
+      return tracked;
+    });
+  }
+
+  /**
+   * Called by the poolers on free while enabled.
+   *
+   * @param object the object given back.
+   */
+  static void freed(final Object object) {
+    if (TRACKED.isEmpty()) {
+      return;
+    }
+    TRACKED.computeIfPresent(System.identityHashCode(object), (hash, head) -> {
+      Tracked previous = null;
+      for (Tracked current = head; current != null; previous = current, current = current.next) {
+        if (current.refersTo(object)) {
+          current.clear();
+          if (previous == null) {
+            return current.next;
+          }
+          previous.next = current.next;
+          return head;
+        }
+      }
+      return head;
+    });
+  }
+
+  private static void drain() {
+    Tracked leaked;
+    while ((leaked = (Tracked) QUEUE.poll()) != null) {
+      final Tracked found = leaked;
+      final boolean[] removed = new boolean[1];
+      TRACKED.computeIfPresent(found.hash, (hash, head) -> {
+        Tracked previous = null;
+        for (Tracked current = head; current != null; previous = current, current = current.next) {
+          if (current == found) {
+            removed[0] = true;
+            if (previous == null) {
+              return current.next;
+            }
+            previous.next = current.next;
+            return head;
+          }
+        }
+        return head;
+      });
+      if (removed[0]) { // not removed means it was freed while waiting in the queue.
+        LEAKS.computeIfAbsent(found.type, t -> new ConcurrentHashMap<>())
+            .computeIfAbsent(found.site, s -> new LongAdder())
+            .increment();
+      }
+    }
+  }
+
+  private static String site() {
+    return WALKER.walk(frames -> frames
+        .dropWhile(frame -> POOLER_CLASSES.contains(frame.getClassName()))
+        .limit(SITE_FRAMES)
+        .map(frame -> simpleName(frame.getClassName()) + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+        .collect(Collectors.joining(" <- ")));
+  }
+
+  private static String simpleName(final String className) {
+    return className.substring(className.lastIndexOf('.') + 1);
+  }
+
+  /**
+   * A watched object. Holds nothing that keeps the object alive.
+   */
+  private static class Tracked extends PhantomReference<Object> {
+
+    private final int hash;
+    private final String type;
+    private final String site;
+    private Tracked next;
+
+    private Tracked(final Object object, final String site) {
+      super(object, QUEUE);
+      this.hash = System.identityHashCode(object);
+      this.type = object.getClass().getSimpleName();
+      this.site = site;
+    }
+  }
+
+  /**
+   * Leaks counted for one call site.
+   */
+  public static class LeakSite {
+
+    private final String type;
+    private final String site;
+    private final long leaks;
+
+    /**
+     * Instantiates a new Leak site.
+     *
+     * @param type  the simple class name of the leaked objects.
+     * @param site  where they were obtained, innermost frame first.
+     * @param leaks the leaks
+     */
+    public LeakSite(final String type, final String site, final long leaks) {
+      this.type = type;
+      this.site = site;
+      this.leaks = leaks;
+    }
+
+    /**
+     * Gets type.
+     *
+     * @return the type
+     */
+    public String getType() {
+      return type;
+    }
+
+    /**
+     * Gets site.
+     *
+     * @return the site
+     */
+    public String getSite() {
+      return site;
+    }
+
+    /**
+     * Gets leaks. Sampled, so the real count is about this times the sample rate.
+     *
+     * @return the leaks
+     */
+    public long getLeaks() {
+      return leaks;
+    }
+
+    @Override
+    public String toString() {
+      return "LeakSite{" +
+          "type='" + type + '\'' +
+          ", site='" + site + '\'' +
+          ", leaks=" + leaks +
+          '}';
+    }
+  }
+}
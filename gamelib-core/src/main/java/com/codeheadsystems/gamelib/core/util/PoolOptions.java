@@ -0,0 +1,101 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.util;
+
+/**
+ * Sizing for a pooler: how many objects to create up front, how many free objects to keep at most, and how
+ * much of the unused surplus trim() gives back.
+ */
+public class PoolOptions {
+
+  private int prewarm;
+  private int maxRetained = Integer.MAX_VALUE;
+  private float idleTrim;
+
+  /**
+   * Gets prewarm.
+   *
+   * @return the prewarm
+   */
+  public int getPrewarm() {
+    return prewarm;
+  }
+
+  /**
+   * Sets how many free objects the pool should hold once warmed. The objects are created by
+   * PoolRegistry.prewarm(), which the LoadingManager calls while assets load. Trimming never goes below this.
+   *
+   * @param prewarm the prewarm
+   * @return this
+   */
+  public PoolOptions setPrewarm(final int prewarm) {
+    if (prewarm < 0) {
+      throw new IllegalArgumentException("prewarm must not be negative: " + prewarm);
+    }
+    this.prewarm = prewarm;
+    return this;
+  }
+
+  /**
+   * Gets max retained.
+   *
+   * @return the max retained
+   */
+  public int getMaxRetained() {
+    return maxRetained;
+  }
+
+  /**
+   * Sets the most free objects the pool keeps. Objects freed past this are dropped for the garbage collector.
+   *
+   * @param maxRetained the max retained
+   * @return this
+   */
+  public PoolOptions setMaxRetained(final int maxRetained) {
+    if (maxRetained < 0) {
+      throw new IllegalArgumentException("maxRetained must not be negative: " + maxRetained);
+    }
+    this.maxRetained = maxRetained;
+    return this;
+  }
+
+  /**
+   * Gets idle trim.
+   *
+   * @return the idle trim
+   */
+  public float getIdleTrim() {
+    return idleTrim;
+  }
+
+  /**
+   * Sets the share of idle objects each trim() drops. Idle objects are the ones that stayed in the pool the whole
+   * time since the last trim, so a pool that is busy keeps what it uses and a pool that grew for one big burst
+   * shrinks back over a few trims. 0 turns trimming off.
+   *
+   * @param idleTrim from 0 to 1.
+   * @return this
+   */
+  public PoolOptions setIdleTrim(final float idleTrim) {
+    if (!(idleTrim >= 0f && idleTrim <= 1f)) {
+      throw new IllegalArgumentException("idleTrim must be between 0 and 1: " + idleTrim);
+    }
+    this.idleTrim = idleTrim;
+    return this;
+  }
+}
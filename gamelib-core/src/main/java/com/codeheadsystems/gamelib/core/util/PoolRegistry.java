@@ -0,0 +1,205 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.util;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Static registry every pooler reports to. Counts obtains, frees, misses (new objects), the peak free size and
+ * the outstanding objects of each pooler, so churning or leaking pools can be found.
+ * <p>
+ * Off by default, or on from the start with -Dgamelib.pool.stats=true. While off, each pool call only reads one
+ * flag. Poolers are held weakly, so short-lived ones drop out once collected. Call registerMBean() to see the
+ * pools over JMX on desktop.
+ * <p>
+ * The registry also drives every pool's pre-warm and trim (see PoolOptions), whether counting is on or not.
+ */
+public class PoolRegistry {
+
+  /**
+   * The JMX name the registry is published under.
+   */
+  public static final String OBJECT_NAME = "com.codeheadsystems.gamelib:type=PoolRegistry";
+
+  private static final List<WeakReference<PoolStats>> STATS = new ArrayList<>();
+  private static volatile boolean enabled = Boolean.getBoolean("gamelib.pool.stats");
+
+  private PoolRegistry() {
+  }
+
+  /**
+   * Is enabled boolean.
+   *
+   * @return the boolean
+   */
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Turns counting on or off. Counters keep their values while off.
+   *
+   * @param enabled the enabled
+   */
+  public static void setEnabled(final boolean enabled) {
+    PoolRegistry.enabled = enabled;
+  }
+
+  /**
+   * Snapshot of every live pooler, sorted by name.
+   *
+   * @return the list
+   */
+  public static List<PoolSnapshot> snapshot() {
+    final List<PoolSnapshot> result = new ArrayList<>();
+    for (PoolStats stats : live()) {
+      result.add(stats.snapshot());
+    }
+    result.sort(Comparator.comparing(PoolSnapshot::getName));
+    return result;
+  }
+
+  /**
+   * Resets every counter.
+   */
+  public static void reset() {
+    for (PoolStats stats : live()) {
+      stats.reset();
+    }
+  }
+
+  /**
+   * Publishes the registry on the platform MBean server as OBJECT_NAME. Desktop only, JMX is not on Android.
+   */
+  public static void registerMBean() {
+    try {
+      final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      final ObjectName name = new ObjectName(OBJECT_NAME);
+      if (!server.isRegistered(name)) {
+        server.registerMBean(new Bean(), name);
+      }
+    } catch (JMException e) {
+      throw new GdxRuntimeException("Unable to register " + OBJECT_NAME, e);
+    }
+  }
+
+  /**
+   * Creates free objects in the pools that are short of their pre-warm size (see PoolOptions), so the allocation
+   * happens during loading instead of mid-game. Call once per frame until it returns true.
+   *
+   * @param budget the most objects to create this call, 0 or less for no limit.
+   * @return true once every pool is warm.
+   */
+  public static boolean prewarm(final int budget) {
+    final int limit = budget <= 0 ? Integer.MAX_VALUE : budget;
+    int created = 0;
+    for (PoolStats stats : live()) {
+      created += stats.pooler().prewarm(limit - created);
+      if (created >= limit) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Trims every pool, see PoolOptions.setIdleTrim(). The LoadingManager calls this once loading is done, after
+   * that call it now and then, for example when changing screens. Pools only give back what went unused since
+   * the last trim.
+   *
+   * @return how many objects were dropped.
+   */
+  public static int trim() {
+    int dropped = 0;
+    for (PoolStats stats : live()) {
+      dropped += stats.pooler().trim();
+    }
+    return dropped;
+  }
+
+  /**
+   * Registers a pooler.
+   *
+   * @param pooler the pooler
+   * @return the stats the pooler updates.
+   */
+  static PoolStats register(final Pooler<?> pooler) {
+    final Class<?> type = pooler.getClass();
+    final boolean named = type != PoolerImpl.class && type != ConcurrentPoolerImpl.class
+        && type != DisabledPoolerImpl.class && !type.isAnonymousClass();
+    final PoolStats stats = new PoolStats(named ? type.getSimpleName() : null, pooler);
+    synchronized (STATS) {
+      STATS.add(new WeakReference<>(stats));
+    }
+    return stats;
+  }
+
+  /**
+   * The stats of the poolers still alive, dropping the ones that were collected. Copied, so the poolers are
+   * called outside the lock.
+   */
+  private static List<PoolStats> live() {
+    final List<PoolStats> result = new ArrayList<>();
+    synchronized (STATS) {
+      for (Iterator<WeakReference<PoolStats>> iterator = STATS.iterator(); iterator.hasNext(); ) {
+        final PoolStats stats = iterator.next().get();
+        if (stats == null) {
+          iterator.remove();
+        } else {
+          result.add(stats);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * The JMX bean.
+   */
+  private static class Bean implements PoolRegistryMXBean {
+
+    @Override
+    public boolean isEnabled() {
+      return PoolRegistry.isEnabled();
+    }
+
+    @Override
+    public void setEnabled(final boolean enabled) {
+      PoolRegistry.setEnabled(enabled);
+    }
+
+    @Override
+    public PoolSnapshot[] getPools() {
+      return snapshot().toArray(new PoolSnapshot[0]);
+    }
+
+    @Override
+    public void reset() {
+      PoolRegistry.reset();
+    }
+  }
+}
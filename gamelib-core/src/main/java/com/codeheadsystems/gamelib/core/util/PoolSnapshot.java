@@ -0,0 +1,135 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.util;
+
+/**
+ * What one pooler has done since it was created or the registry was last reset.
+ */
+public class PoolSnapshot {
+
+  private final String name;
+  private final long obtains;
+  private final long frees;
+  private final long misses;
+  private final int free;
+  private final long peakFree;
+  private final long outstanding;
+
+  /**
+   * Instantiates a new Pool snapshot.
+   *
+   * @param name        the name
+   * @param obtains     the obtains
+   * @param frees       the frees
+   * @param misses      obtains that had to create a new object.
+   * @param free        objects in the pool now.
+   * @param peakFree    the most objects the pool has held.
+   * @param outstanding obtained and not yet freed.
+   */
+  public PoolSnapshot(final String name,
+                      final long obtains,
+                      final long frees,
+                      final long misses,
+                      final int free,
+                      final long peakFree,
+                      final long outstanding) {
+    this.name = name;
+    this.obtains = obtains;
+    this.frees = frees;
+    this.misses = misses;
+    this.free = free;
+    this.peakFree = peakFree;
+    this.outstanding = outstanding;
+  }
+
+  /**
+   * Gets name. Pooler subclasses use their class name, other poolers the class of the objects they create.
+   *
+   * @return the name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Gets obtains.
+   *
+   * @return the obtains
+   */
+  public long getObtains() {
+    return obtains;
+  }
+
+  /**
+   * Gets frees.
+   *
+   * @return the frees
+   */
+  public long getFrees() {
+    return frees;
+  }
+
+  /**
+   * Gets misses, the obtains that had to create a new object.
+   *
+   * @return the misses
+   */
+  public long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Gets free, the objects in the pool now.
+   *
+   * @return the free
+   */
+  public int getFree() {
+    return free;
+  }
+
+  /**
+   * Gets peak free, the most objects the pool has held.
+   *
+   * @return the peak free
+   */
+  public long getPeakFree() {
+    return peakFree;
+  }
+
+  /**
+   * Gets outstanding, the objects obtained and not yet freed. Keeps growing if callers forget to free.
+   *
+   * @return the outstanding
+   */
+  public long getOutstanding() {
+    return outstanding;
+  }
+
+  @Override
+  public String toString() {
+    return "PoolSnapshot{" +
+        "name='" + name + '\'' +
+        ", obtains=" + obtains +
+        ", frees=" + frees +
+        ", misses=" + misses +
+        ", free=" + free +
+        ", peakFree=" + peakFree +
+        ", outstanding=" + outstanding +
+        '}';
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.util;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counters for one pooler. Only written while the PoolRegistry is enabled. Safe to update from many threads.
+ */
+final class PoolStats {
+
+  private final Pooler<?> pooler;
+  private final LongAdder obtains = new LongAdder();
+  private final LongAdder frees = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAccumulator peakFree = new LongAccumulator(Math::max, 0);
+  private volatile String name;
+
+  /**
+   * Instantiates new pool stats.
+   *
+   * @param name   the name, or null to name it after the first object created.
+   * @param pooler the pooler counted.
+   */
+  PoolStats(final String name, final Pooler<?> pooler) {
+    this.name = name;
+    this.pooler = pooler;
+  }
+
+  Pooler<?> pooler() {
+    return pooler;
+  }
+
+  void obtained() {
+    obtains.increment();
+  }
+
+  void missed(final Object created) {
+    misses.increment();
+    if (name == null) {
+      name = created.getClass().getSimpleName();
+    }
+  }
+
+  void freed(final int free) {
+    frees.increment();
+    peakFree.accumulate(free);
+  }
+
+  void reset() {
+    obtains.reset();
+    frees.reset();
+    misses.reset();
+    peakFree.reset();
+  }
+
+  PoolSnapshot snapshot() {
+    final long obtained = obtains.sum();
+    final long freed = frees.sum();
+    return new PoolSnapshot(name == null ? "unnamed" : name, obtained, freed, misses.sum(),
+        pooler.poolSize(), peakFree.get(), obtained - freed);
+  }
+}
@@ -37,6 +37,29 @@ public interface Pooler<T> {
     return new PoolerImpl<>(supplier);
   }
 
+  /**
+   * Of pooler.
+   *
+   * @param <T>      the type parameter
+   * @param supplier the supplier
+   * @param options  the options
+   * @return the pooler
+   */
+  static <T> Pooler<T> of(final Supplier<T> supplier, final PoolOptions options) {
+    return new PoolerImpl<>(supplier).configure(options);
+  }
+
+  /**
+   * Pooler that is safe to share between threads, see ConcurrentPoolerImpl.
+   *
+   * @param <T>      the type parameter
+   * @param supplier the supplier
+   * @return the pooler
+   */
+  static <T> Pooler<T> concurrent(final Supplier<T> supplier) {
+    return new ConcurrentPoolerImpl<>(supplier);
+  }
+
   /**
    * Disabled pooler.
    *
@@ -69,4 +92,34 @@ public interface Pooler<T> {
    */
   int poolSize();
 
+  /**
+   * Sets the pre-warm size, the most free objects kept and the idle trim. Poolers that do not keep objects
+   * ignore this.
+   *
+   * @param options the options
+   * @return this
+   */
+  default Pooler<T> configure(final PoolOptions options) {
+    return this;
+  }
+
+  /**
+   * Creates free objects until the pool holds its pre-warm size.
+   *
+   * @param max the most objects to create this call.
+   * @return how many were created.
+   */
+  default int prewarm(final int max) {
+    return 0;
+  }
+
+  /**
+   * Drops part of the objects that sat in the pool unused since the last trim, see PoolOptions.setIdleTrim().
+   *
+   * @return how many were dropped.
+   */
+  default int trim() {
+    return 0;
+  }
+
 }
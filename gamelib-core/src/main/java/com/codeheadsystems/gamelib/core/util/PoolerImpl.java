@@ -21,13 +21,17 @@ import com.badlogic.gdx.utils.Pool;
 import java.util.function.Supplier;
 
 /**
- * The type Pooler.
+ * The type Pooler. Reports to the PoolRegistry and, when on, the PoolLeakTracker.
  *
  * @param <T> the type parameter
  */
 public class PoolerImpl<T> implements Pooler<T> {
 
+  final private Supplier<T> supplier;
   final private Pool<T> pool;
+  final private PoolStats stats;
+  private PoolOptions options = new PoolOptions();
+  private int lowWater;
 
   /**
    * Instantiates a new Pooler.
@@ -35,26 +39,83 @@ public class PoolerImpl<T> implements Pooler<T> {
    * @param supplier the supplier
    */
   protected PoolerImpl(final Supplier<T> supplier) {
+    this.supplier = supplier;
     this.pool = new Pool<>() {
       @Override
       protected T newObject() {
-        return supplier.get();
+        final T created = supplier.get();
+        if (PoolRegistry.isEnabled()) {
+          stats.missed(created);
+        }
+        return created;
       }
     };
+    this.stats = PoolRegistry.register(this);
   }
 
   @Override
   public T obtain() {
-    return pool.obtain();
+    if (PoolRegistry.isEnabled()) {
+      stats.obtained();
+    }
+    final T instance = pool.obtain();
+    if (pool.getFree() < lowWater) {
+      lowWater = pool.getFree();
+    }
+    if (PoolLeakTracker.isEnabled()) {
+      PoolLeakTracker.obtained(instance);
+    }
+    return instance;
   }
 
   @Override
   public void free(T tInstance) {
-    pool.free(tInstance);
+    if (PoolLeakTracker.isEnabled()) {
+      PoolLeakTracker.freed(tInstance);
+    }
+    if (pool.getFree() < options.getMaxRetained()) {
+      pool.free(tInstance);
+    } else if (tInstance instanceof Pool.Poolable poolable) {
+      poolable.reset(); // dropped, but reset like the pool would so it lets go of what it holds.
+    }
+    if (PoolRegistry.isEnabled()) {
+      stats.freed(pool.getFree());
+    }
   }
 
   @Override
   public int poolSize() {
     return pool.getFree();
   }
+
+  @Override
+  public PoolerImpl<T> configure(final PoolOptions options) {
+    this.options = options;
+    return this;
+  }
+
+  @Override
+  public int prewarm(final int max) {
+    final int target = Math.min(options.getPrewarm(), options.getMaxRetained());
+    final int count = Math.min(max, target - pool.getFree());
+    for (int i = 0; i < count; i++) {
+      pool.free(supplier.get());
+    }
+    lowWater = Math.max(lowWater, pool.getFree());
+    return Math.max(count, 0);
+  }
+
+  @Override
+  public int trim() {
+    final int idle = Math.min(lowWater, pool.getFree()) - options.getPrewarm();
+    int dropped = 0;
+    if (idle > 0 && options.getIdleTrim() > 0f) {
+      dropped = (int) Math.ceil(idle * options.getIdleTrim());
+      for (int i = 0; i < dropped; i++) {
+        pool.obtain(); // hands back a free object, which is then let go.
+      }
+    }
+    lowWater = pool.getFree();
+    return dropped;
+  }
 }
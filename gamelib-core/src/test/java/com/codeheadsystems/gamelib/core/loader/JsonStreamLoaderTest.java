@@ -0,0 +1,116 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.loader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.SerializationException;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JsonStreamLoaderTest {
+
+  @TempDir
+  File directory;
+
+  @Test
+  void parse_forwardsEveryEvent() {
+    final FileHandle file = new FileHandle(new File(directory, "units.json"));
+    file.writeString("{ \"units\": [ { \"name\": \"scout\", \"speed\": 3, \"armor\": 0.5, \"flying\": true },"
+        + " { \"name\": null, \"speed\": 1 } ] }", false);
+
+    final List<String> events = JsonStreamLoader.parse(file, new RecordingHandler());
+
+    assertThat(events).containsExactly(
+        "object null", "array units",
+        "object null", "string name=scout", "long speed=3", "double armor=0.5", "bool flying=true", "end",
+        "object null", "string name=null", "long speed=1", "end",
+        "end", "end");
+  }
+
+  @Test
+  void parse_truncatedFile() {
+    final FileHandle file = new FileHandle(new File(directory, "truncated.json"));
+    file.writeString("{ \"units\": [ { \"name\": \"scout\" }, { \"name\": \"tank\" }", false);
+
+    assertThatExceptionOfType(SerializationException.class)
+        .isThrownBy(() -> JsonStreamLoader.parse(file, new RecordingHandler()));
+  }
+
+  @Test
+  void loadSync_handsOverWhatLoadAsyncParsed() {
+    final FileHandle file = new FileHandle(new File(directory, "units.json"));
+    file.writeString("{ \"speed\": 3 }", false);
+    final JsonStreamLoader<List<String>> loader = new JsonStreamLoader<>(null, RecordingHandler::new);
+
+    loader.loadAsync(null, file.path(), file, null);
+
+    assertThat(loader.loadSync(null, file.path(), file, null)).containsExactly("object null", "long speed=3", "end");
+    assertThat(loader.loadSync(null, file.path(), file, null)).isNull();
+  }
+
+  private static class RecordingHandler implements JsonHandler<List<String>> {
+
+    private final List<String> events = new ArrayList<>();
+
+    @Override
+    public void startObject(final String name) {
+      events.add("object " + name);
+    }
+
+    @Override
+    public void startArray(final String name) {
+      events.add("array " + name);
+    }
+
+    @Override
+    public void end() {
+      events.add("end");
+    }
+
+    @Override
+    public void string(final String name, final String value) {
+      events.add("string " + name + "=" + value);
+    }
+
+    @Override
+    public void number(final String name, final double value) {
+      events.add("double " + name + "=" + value);
+    }
+
+    @Override
+    public void number(final String name, final long value) {
+      events.add("long " + name + "=" + value);
+    }
+
+    @Override
+    public void bool(final String name, final boolean value) {
+      events.add("bool " + name + "=" + value);
+    }
+
+    @Override
+    public List<String> result() {
+      return events;
+    }
+  }
+}
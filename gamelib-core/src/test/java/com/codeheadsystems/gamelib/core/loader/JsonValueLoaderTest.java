@@ -0,0 +1,46 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.loader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.JsonValue;
+import java.io.File;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JsonValueLoaderTest {
+
+  @TempDir
+  File directory;
+
+  @Test
+  void loadSync_handsOverWhatLoadAsyncParsed() {
+    final FileHandle file = new FileHandle(new File(directory, "value.json"));
+    file.writeString("{ \"name\": \"scout\", \"speed\": 3 }", false);
+    final JsonValueLoader loader = new JsonValueLoader(null);
+
+    loader.loadAsync(null, file.path(), file, null);
+    final JsonValue value = loader.loadSync(null, file.path(), file, null);
+
+    assertThat(value.getString("name")).isEqualTo("scout");
+    assertThat(value.getInt("speed")).isEqualTo(3);
+    assertThat(loader.loadSync(null, file.path(), file, null)).isNull();
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.loader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.codeheadsystems.gamelib.core.GdxTest;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ParallelAssetManagerTest extends GdxTest {
+
+  private static final int IMAGES = 4;
+
+  @TempDir
+  File directory;
+
+  private ParallelAssetManager assetManager;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    for (int i = 0; i < IMAGES; i++) {
+      try (InputStream in = getClass().getClassLoader().getResourceAsStream("tiny.png")) {
+        Files.copy(in, new File(directory, "image" + i + ".png").toPath());
+      }
+    }
+    final FileHandleResolver resolver = name -> new FileHandle(new File(directory, name));
+    assetManager = new ParallelAssetManager(resolver, 2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    assetManager.dispose();
+  }
+
+  @Test
+  void load_decodesEveryTexture() {
+    for (int i = 0; i < IMAGES; i++) {
+      assetManager.load("image" + i + ".png", Texture.class);
+    }
+    assetManager.load("image0.png", Texture.class);
+
+    assetManager.finishLoading();
+
+    for (int i = 0; i < IMAGES; i++) {
+      assertThat(assetManager.get("image" + i + ".png", Texture.class)).isNotNull();
+    }
+    assertThat(assetManager.getReferenceCount("image0.png")).isEqualTo(2);
+  }
+
+  @Test
+  void unload_beforeLoading() {
+    assetManager.load("image0.png", Texture.class);
+    assetManager.load("image1.png", Texture.class);
+
+    assetManager.unload("image0.png");
+    assetManager.finishLoading();
+
+    assertThat(assetManager.isLoaded("image0.png")).isFalse();
+    assertThat(assetManager.isLoaded("image1.png")).isTrue();
+  }
+
+  @Test
+  void constructor_needsThreads() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new ParallelAssetManager(name -> null, 0));
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.loader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.codeheadsystems.gamelib.core.GdxTest;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ParallelTextureLoaderTest extends GdxTest {
+
+  private static final int IMAGES = 5;
+
+  @TempDir
+  File directory;
+
+  private ManualExecutor workers;
+  private ParallelTextureLoader loader;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    for (int i = 0; i < IMAGES; i++) {
+      try (InputStream in = getClass().getClassLoader().getResourceAsStream("tiny.png")) {
+        Files.copy(in, new File(directory, "image" + i + ".png").toPath());
+      }
+    }
+    workers = new ManualExecutor();
+    loader = new ParallelTextureLoader(name -> new FileHandle(new File(directory, name)), workers, 2);
+  }
+
+  @Test
+  void decode_onlyRunsAheadByTheLimit() {
+    for (int i = 0; i < IMAGES; i++) {
+      loader.decode("image" + i + ".png", null);
+    }
+    assertThat(workers.submitted).isEqualTo(2);
+    assertThat(loader.decodesAhead()).isEqualTo(2);
+
+    workers.runAll();
+    assertThat(workers.submitted).isEqualTo(2); // decoded but not taken, still counts.
+
+    loadAsync("image0.png");
+    assertThat(workers.submitted).isEqualTo(3);
+    assertThat(loader.decodesAhead()).isEqualTo(2);
+
+    loader.cancel("image1.png");
+    assertThat(workers.submitted).isEqualTo(4);
+
+    workers.runAll();
+    loadAsync("image2.png");
+    loadAsync("image3.png");
+    assertThat(workers.submitted).isEqualTo(5);
+    assertThat(loader.decodesAhead()).isEqualTo(1);
+  }
+
+  @Test
+  void loadAsync_decodesWaitingTextureItself() {
+    for (int i = 0; i < IMAGES; i++) {
+      loader.decode("image" + i + ".png", null);
+    }
+
+    loadAsync("image4.png");
+
+    assertThat(workers.submitted).isEqualTo(2);
+    assertThat(loader.decodesAhead()).isEqualTo(2);
+  }
+
+  private void loadAsync(final String fileName) {
+    loader.loadAsync(null, fileName, new FileHandle(new File(directory, fileName)), null);
+  }
+
+  /**
+   * Runs submitted tasks only when asked.
+   */
+  private static class ManualExecutor extends AbstractExecutorService {
+
+    private final List<Runnable> tasks = new ArrayList<>();
+    private int submitted;
+
+    @Override
+    public void execute(final Runnable command) {
+      submitted++;
+      tasks.add(command);
+    }
+
+    void runAll() {
+      final List<Runnable> running = new ArrayList<>(tasks);
+      tasks.clear();
+      running.forEach(Runnable::run);
+    }
+
+    @Override
+    public void shutdown() {
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      return tasks;
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return false;
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return false;
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) {
+      return true;
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.codeheadsystems.gamelib.core.model.LoadingConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AssetCacheTest {
+
+  private static final String ONE = "one";
+  private static final String TWO = "two";
+  private static final String THREE = "three";
+
+  @Mock
+  private AssetManager assetManager;
+  @Mock
+  private LoadingConfiguration loadingConfiguration;
+
+  private AssetCache assetCache;
+
+  @BeforeEach
+  void setUp() {
+    when(loadingConfiguration.getAssetCacheBytes()).thenReturn(10L);
+    assetCache = new AssetCache(assetManager, loadingConfiguration);
+    // the asset is its own name, sized by its length.
+    assetCache.setSizeEstimator(String.class, String::length);
+  }
+
+  @Test
+  void get_loadsOnceThenHits() {
+    when(assetManager.finishLoadingAsset(ONE)).thenReturn(ONE);
+
+    assertThat(assetCache.get(ONE, String.class)).isEqualTo(ONE);
+    assertThat(assetCache.get(ONE, String.class)).isEqualTo(ONE);
+
+    verify(assetManager, times(1)).load(ONE, String.class);
+    assertThat(assetCache.getMisses()).isEqualTo(1);
+    assertThat(assetCache.getHits()).isEqualTo(1);
+    assertThat(assetCache.getBytes()).isEqualTo(3);
+  }
+
+  @Test
+  void release_overBudgetEvictsLeastRecentlyUsed() {
+    when(assetManager.finishLoadingAsset(ONE)).thenReturn(ONE);
+    when(assetManager.finishLoadingAsset(TWO)).thenReturn(TWO);
+    when(assetManager.finishLoadingAsset(THREE)).thenReturn(THREE);
+    assetCache.get(ONE, String.class);
+    assetCache.get(TWO, String.class);
+    assetCache.release(ONE);
+    assetCache.release(TWO);
+    assetCache.get(ONE, String.class); // one is now the most recently used.
+    assetCache.release(ONE);
+
+    assetCache.get(THREE, String.class);
+
+    verify(assetManager).unload(TWO);
+    verify(assetManager, never()).unload(ONE);
+    assertThat(assetCache.isCached(TWO)).isFalse();
+    assertThat(assetCache.getEvictions()).isEqualTo(1);
+    assertThat(assetCache.getBytes()).isEqualTo(8);
+  }
+
+  @Test
+  void get_heldAssetsAreNeverEvicted() {
+    when(assetManager.finishLoadingAsset(ONE)).thenReturn(ONE);
+    when(assetManager.finishLoadingAsset(THREE)).thenReturn(THREE);
+    assetCache.get(ONE, String.class);
+    assetCache.get(THREE, String.class);
+    assetCache.setBudgetBytes(1L);
+
+    verify(assetManager, never()).unload(ONE);
+    assertThat(assetCache.getBytes()).isEqualTo(8);
+
+    assetCache.release(THREE);
+
+    verify(assetManager).unload(THREE);
+    assertThat(assetCache.getBytes()).isEqualTo(3);
+  }
+
+  @Test
+  void evictUnreferenced() {
+    when(assetManager.finishLoadingAsset(ONE)).thenReturn(ONE);
+    assetCache.get(ONE, String.class);
+    assetCache.release(ONE);
+
+    assertThat(assetCache.evictUnreferenced()).isEqualTo(1);
+    assertThat(assetCache.getSize()).isZero();
+  }
+
+  @Test
+  void release_notHeld() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> assetCache.release(ONE));
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Json;
+import com.codeheadsystems.gamelib.core.model.AssetManifest;
+import com.codeheadsystems.gamelib.core.model.Assets;
+import java.io.File;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AssetManifestManagerTest {
+
+  private static final String FILENAME = "assets.json";
+  private static final String JSON = "{ \"assetsToLoad\": { \"one\": [ \"a\", \"b\" ] } }";
+  private static final String CHANGED_JSON = "{ \"assetsToLoad\": { \"two\": [ \"c\" ] } }";
+
+  @TempDir
+  File directory;
+
+  private AssetManifestManager assetManifestManager;
+
+  @BeforeEach
+  void setUp() {
+    final FileHandleResolver resolver = name -> new FileHandle(new File(directory, name));
+    assetManifestManager = new AssetManifestManager(resolver, new JsonManager(new Json()));
+  }
+
+  @Test
+  void load_writesTheCompiledManifestOnFirstRun() {
+    json().writeString(JSON, false);
+
+    final Assets assets = assetManifestManager.load(FILENAME);
+
+    assertThat(assets.getAssetsToLoad()).containsOnlyKeys("one");
+    assertThat(compiled().exists()).isTrue();
+  }
+
+  @Test
+  void load_usesTheCompiledManifestWithoutTheJson() {
+    json().writeString(JSON, false);
+    assetManifestManager.load(FILENAME);
+    json().delete();
+
+    final Assets assets = assetManifestManager.load(FILENAME);
+
+    assertThat(assets.getAssetsToLoad()).containsOnlyKeys("one");
+  }
+
+  @Test
+  void load_fallsBackToTheJsonWhenStale() {
+    json().writeString(JSON, false);
+    assetManifestManager.load(FILENAME);
+    json().writeString(CHANGED_JSON, false);
+
+    final Assets assets = assetManifestManager.load(FILENAME);
+
+    assertThat(assets.getAssetsToLoad()).containsOnlyKeys("two");
+  }
+
+  @Test
+  void load_fallsBackToTheJsonWhenCorrupt() {
+    json().writeString(JSON, false);
+    compiled().writeString("garbage", false);
+
+    final Assets assets = assetManifestManager.load(FILENAME);
+
+    assertThat(assets.getAssetsToLoad()).containsOnlyKeys("one");
+  }
+
+  @Test
+  void load_nothingToLoad() {
+    assertThatExceptionOfType(GdxRuntimeException.class)
+        .isThrownBy(() -> assetManifestManager.load(FILENAME));
+  }
+
+  private FileHandle json() {
+    return new FileHandle(new File(directory, FILENAME));
+  }
+
+  private FileHandle compiled() {
+    return new FileHandle(new File(directory, FILENAME + AssetManifest.SUFFIX));
+  }
+}
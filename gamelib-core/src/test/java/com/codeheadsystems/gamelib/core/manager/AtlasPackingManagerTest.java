@@ -0,0 +1,184 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.codeheadsystems.gamelib.core.GdxTest;
+import com.codeheadsystems.gamelib.core.model.LoadingConfiguration;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+
+class AtlasPackingManagerTest extends GdxTest {
+
+  private static final List<String> TEXTURES = List.of("a.png", "b.png", "c.png");
+
+  @TempDir
+  File directory;
+
+  @Mock private AssetManager assetManager;
+  @Mock private Texture texture;
+
+  private File local;
+  private int packedTextureMaxSize;
+  private String atlasCacheDirectory;
+  private AtlasPackingManager manager;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    final File images = new File(directory, "images");
+    local = new File(directory, "local");
+    images.mkdirs();
+    for (String name : TEXTURES) {
+      try (InputStream in = getClass().getClassLoader().getResourceAsStream("tiny.png")) {
+        Files.copy(in, new File(images, name).toPath());
+      }
+    }
+    lenient().when(files.local(anyString())).thenAnswer(invocation ->
+        new FileHandle(new File(local, invocation.<String>getArgument(0))));
+    packedTextureMaxSize = 256;
+    atlasCacheDirectory = "atlas-cache";
+    manager = manager(images);
+  }
+
+  @AfterEach
+  void tearDown() {
+    manager.dispose();
+  }
+
+  @Test
+  void update_cacheMissPacks() {
+    manager.begin(TEXTURES);
+    assertThat(manager.update()).isFalse(); // hashed, nothing cached yet.
+    assertThat(manager.update()).isTrue();
+
+    assertThat(manager.packed(TEXTURES)).containsExactlyElementsOf(TEXTURES);
+    final TextureRegion region = manager.region("b.png");
+    assertThat(region.getRegionWidth()).isEqualTo(1);
+    assertThat(region.getRegionHeight()).isEqualTo(1);
+    assertThat(new File(local, atlasCacheDirectory).list((dir, name) -> name.endsWith(".atlas"))).hasSize(1);
+  }
+
+  @Test
+  void update_cacheHitSkipsThePacker() {
+    manager.begin(TEXTURES);
+    while (!manager.update()) {
+      // packing
+    }
+    manager.dispose();
+
+    final AtlasPackingManager second = manager(new File(directory, "images"));
+    second.begin(TEXTURES);
+    assertThat(second.update()).isTrue();
+    assertThat(second.packed(TEXTURES)).containsExactlyElementsOf(TEXTURES);
+    second.dispose();
+  }
+
+  @Test
+  void update_oversizeTexturesStayUnpacked() {
+    packedTextureMaxSize = 0;
+    manager.begin(TEXTURES);
+    while (!manager.update()) {
+      // packing
+    }
+
+    assertThat(manager.packed(TEXTURES)).isEmpty();
+  }
+
+  @Test
+  void region_fallsBackToTheTexture() {
+    packedTextureMaxSize = 0;
+    when(assetManager.get("a.png", Texture.class)).thenReturn(texture);
+    manager.begin(TEXTURES);
+    while (!manager.update()) {
+      // packing
+    }
+
+    assertThat(manager.region("a.png").getTexture()).isSameAs(texture);
+  }
+
+  @Test
+  void save_onlyDeletesOldAtlases() throws IOException {
+    final File cache = new File(local, atlasCacheDirectory);
+    cache.mkdirs();
+    final File stale = new File(cache, "0123456789abcdef0123456789abcdef.atlas");
+    final File stalePage = new File(cache, "0123456789abcdef0123456789abcdef_1.png");
+    final File notes = new File(cache, "notes.atlas");
+    final File picture = new File(cache, "picture.png");
+    for (File file : List.of(stale, stalePage, notes, picture)) {
+      Files.writeString(file.toPath(), "keep?");
+    }
+    manager.begin(TEXTURES);
+    while (!manager.update()) {
+      // packing
+    }
+
+    assertThat(stale).doesNotExist();
+    assertThat(stalePage).doesNotExist();
+    assertThat(notes).exists();
+    assertThat(picture).exists();
+  }
+
+  @Test
+  void begin_needsACacheDirectory() {
+    atlasCacheDirectory = "";
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> manager.begin(TEXTURES));
+  }
+
+  private AtlasPackingManager manager(final File images) {
+    final LoadingConfiguration loadingConfiguration = new LoadingConfiguration() {
+      @Override
+      public int getPackedTextureMaxSize() {
+        return packedTextureMaxSize;
+      }
+
+      @Override
+      public int getAtlasPageSize() {
+        return 64;
+      }
+
+      @Override
+      public int getTexturesPackedPerUpdate() {
+        return 32;
+      }
+
+      @Override
+      public String getAtlasCacheDirectory() {
+        return atlasCacheDirectory;
+      }
+    };
+    return new AtlasPackingManager(assetManager, name -> new FileHandle(new File(images, name)), loadingConfiguration);
+  }
+}
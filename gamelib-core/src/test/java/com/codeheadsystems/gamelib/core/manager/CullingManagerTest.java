@@ -0,0 +1,78 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CullingManagerTest {
+
+  private OrthographicCamera camera;
+  private CullingManager cullingManager;
+
+  @BeforeEach
+  void setUp() {
+    camera = new OrthographicCamera(200, 100);
+    camera.position.set(50, 20, 0);
+    cullingManager = new CullingManager(camera);
+  }
+
+  @Test
+  void update_followsPositionAndZoom() {
+    assertThat(cullingManager.minX()).isEqualTo(-50f);
+    assertThat(cullingManager.maxX()).isEqualTo(150f);
+    assertThat(cullingManager.minY()).isEqualTo(-30f);
+    assertThat(cullingManager.maxY()).isEqualTo(70f);
+
+    camera.zoom = 0.5f;
+    camera.position.set(0, 0, 0);
+    assertThat(cullingManager.maxX()).isEqualTo(150f); // not until update
+    cullingManager.update();
+    assertThat(cullingManager.minX()).isEqualTo(-50f);
+    assertThat(cullingManager.maxX()).isEqualTo(50f);
+    assertThat(cullingManager.minY()).isEqualTo(-25f);
+    assertThat(cullingManager.maxY()).isEqualTo(25f);
+  }
+
+  @Test
+  void update_rotatedCameraKeepsTheBoxAroundTheView() {
+    camera.up.set(1, 0, 0); // a quarter turn
+    cullingManager.update();
+    assertThat(cullingManager.minX()).isCloseTo(0f, within(0.001f));
+    assertThat(cullingManager.maxX()).isCloseTo(100f, within(0.001f));
+    assertThat(cullingManager.minY()).isCloseTo(-80f, within(0.001f));
+    assertThat(cullingManager.maxY()).isCloseTo(120f, within(0.001f));
+  }
+
+  @Test
+  void isVisible() {
+    assertThat(cullingManager.isVisible(140, 60, 20, 20)).isTrue();
+    assertThat(cullingManager.isVisible(151, 60, 20, 20)).isFalse();
+    assertThat(cullingManager.isVisible(-80, -60, 20, 20)).isFalse();
+    assertThat(cullingManager.isVisible(-80, -60, 40, 40)).isTrue();
+    assertThat(cullingManager.isVisibleAround(160, 20, 5, 5)).isFalse();
+    assertThat(cullingManager.isVisibleAround(160, 20, 10, 5)).isTrue();
+
+    cullingManager.setMargin(11);
+    assertThat(cullingManager.isVisible(151, 60, 20, 20)).isTrue();
+  }
+}
@@ -20,20 +20,27 @@ package com.codeheadsystems.gamelib.core.manager;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import com.badlogic.gdx.assets.AssetLoaderParameters;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.assets.loaders.AssetLoader;
 import com.badlogic.gdx.assets.loaders.FileHandleResolver;
-import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.codeheadsystems.gamelib.core.GdxTest;
+import com.codeheadsystems.gamelib.core.loader.AssetLoaderFactory;
 import com.codeheadsystems.gamelib.core.model.Assets;
+import com.codeheadsystems.gamelib.core.model.Loader;
 import com.codeheadsystems.gamelib.core.model.LoadingConfiguration;
+import com.codeheadsystems.gamelib.core.util.PoolOptions;
+import com.codeheadsystems.gamelib.core.util.Pooler;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Map;
 import org.assertj.core.util.Lists;
 import org.assertj.core.util.Maps;
 import org.junit.jupiter.api.BeforeEach;
@@ -59,12 +66,19 @@ public class LoadingManagerTest extends GdxTest {
   @Mock
   private LoadingConfiguration loadingConfiguration;
   @Mock
-  private JsonManager jsonManager;
+  private AssetManifestManager assetManifestManager;
   @Mock
-  private FileHandle fileHandle;
+  private AtlasPackingManager atlasPackingManager;
+  @Mock
+  private LoadingProfiler loadingProfiler;
   @Mock
   private Assets assets;
 
+  @Mock
+  private Loader loader;
+  @Mock
+  private AssetLoader<Texture, AssetLoaderParameters<Texture>> textureLoader;
+
   @Captor
   private ArgumentCaptor<AssetLoader> assetLoaderArgumentCaptor;
 
@@ -72,7 +86,7 @@ public class LoadingManagerTest extends GdxTest {
 
   @BeforeEach
   void setUp() {
-    this.loadingManager = new LoadingManager(assetManager, fileHandleResolver, loadingConfiguration, jsonManager);
+    this.loadingManager = new LoadingManager(assetManager, fileHandleResolver, loadingConfiguration, assetManifestManager, atlasPackingManager, loadingProfiler, Map.of());
   }
 
   @Test
@@ -86,8 +100,7 @@ public class LoadingManagerTest extends GdxTest {
   @Test
   void update_init() {
     when(loadingConfiguration.getAssetsFilename()).thenReturn(FILENAME);
-    when(fileHandleResolver.resolve(FILENAME)).thenReturn(fileHandle);
-    when(jsonManager.fromJson(Assets.class, fileHandle)).thenReturn(assets);
+    when(assetManifestManager.load(FILENAME)).thenReturn(assets);
 
     final boolean result = loadingManager.update();
 
@@ -110,6 +123,41 @@ public class LoadingManagerTest extends GdxTest {
     assertThat(result).isFalse();
   }
 
+  @Test
+  void update_asset_loaders_fromFactory() {
+    final AssetLoaderFactory<Texture> factory = AssetLoaderFactory.of(Texture.class, resolver -> textureLoader);
+    loadingManager = new LoadingManager(assetManager, fileHandleResolver, loadingConfiguration, assetManifestManager,
+        atlasPackingManager, loadingProfiler, Map.of("not.a.real.TextureLoader", factory));
+    loadingManager.setCurrentStage(LoadingManager.Stages.ASSET_LOADERS);
+    loadingManager.setAssets(assets);
+    when(loader.loaderClass()).thenReturn("not.a.real.TextureLoader");
+    when(loader.suffix()).thenReturn(".tex");
+    when(assets.loaders()).thenReturn(Lists.newArrayList(loader));
+
+    loadingManager.update();
+
+    verify(assetManager).setLoader(Texture.class, ".tex", textureLoader);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void update_packtextures() {
+    loadingManager.setCurrentStage(LoadingManager.Stages.PACK_TEXTURES);
+    loadingManager.setAssets(assets);
+    final ArrayList<String> textures = Lists.newArrayList("small.png", "large.png");
+    final HashMap<String, ArrayList<String>> map = (HashMap<String, ArrayList<String>>) Maps.newHashMap(Texture.class.getName(), textures);
+    when(assets.getAssetsToLoad()).thenReturn(map);
+    when(atlasPackingManager.update()).thenReturn(false, true);
+    when(atlasPackingManager.packed(textures)).thenReturn(Lists.newArrayList("small.png"));
+
+    loadingManager.update();
+    assertThat(loadingManager).extracting("currentStage").isEqualTo(LoadingManager.Stages.PACK_TEXTURES);
+    loadingManager.update();
+
+    assertThat(loadingManager).extracting("currentStage").isEqualTo(LoadingManager.Stages.QUEUE_ASSETS);
+    assertThat(textures).containsExactly("large.png");
+  }
+
   @Test
   void update_queueassets() {
     loadingManager.setCurrentStage(LoadingManager.Stages.QUEUE_ASSETS);
@@ -159,6 +207,44 @@ public class LoadingManagerTest extends GdxTest {
     assertThat(loadingManager).extracting("currentStage").isEqualTo(LoadingManager.Stages.DONE);
   }
 
+  @Test
+  void update_loadassets_prewarmsPools() {
+    final Pooler<Object> pool = Pooler.of(Object::new, new PoolOptions().setPrewarm(5));
+    loadingManager.setCurrentStage(LoadingManager.Stages.LOAD_ASSETS);
+    when(loadingConfiguration.getPoolsPrewarmedPerUpdate()).thenReturn(0);
+    when(assetManager.update()).thenReturn(true);
+
+    loadingManager.update();
+
+    assertThat(pool.poolSize()).isEqualTo(5);
+    assertThat(loadingManager).extracting("currentStage").isEqualTo(LoadingManager.Stages.DONE);
+  }
+
+  @Test
+  void update_loadassets_withFrameBudget() {
+    loadingManager.setCurrentStage(LoadingManager.Stages.LOAD_ASSETS);
+    when(loadingConfiguration.getLoadingBudgetMillis()).thenReturn(4);
+    when(loadingConfiguration.getTargetFrameMillis()).thenReturn(16);
+    when(assetManager.update(4)).thenReturn(true);
+
+    loadingManager.update();
+
+    verify(assetManager, never()).update();
+    assertThat(loadingManager).extracting("currentStage").isEqualTo(LoadingManager.Stages.DONE);
+  }
+
+  @Test
+  void update_loadassets_finishesTheProfile() {
+    loadingManager.setCurrentStage(LoadingManager.Stages.LOAD_ASSETS);
+    when(assetManager.update()).thenReturn(true);
+
+    loadingManager.update();
+
+    verify(loadingProfiler).stage("INIT");
+    verify(loadingProfiler).stage("LOAD_ASSETS");
+    verify(loadingProfiler).finish();
+  }
+
   @Test
   void update_done() {
     loadingManager.setCurrentStage(LoadingManager.Stages.DONE);
@@ -0,0 +1,140 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.codeheadsystems.gamelib.core.model.LoadingConfiguration;
+import com.codeheadsystems.gamelib.core.model.LoadingReport;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LoadingProfilerTest {
+
+  @TempDir
+  File directory;
+
+  private long now;
+  private LoadingProfiler loadingProfiler;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    Files.write(new File(directory, "big.png").toPath(), new byte[100]);
+    Files.write(new File(directory, "small.png").toPath(), new byte[10]);
+    final LoadingConfiguration noReportFile = new LoadingConfiguration() {
+      @Override
+      public String getLoadingReportFile() {
+        return "";
+      }
+    };
+    loadingProfiler = new LoadingProfiler(name -> new FileHandle(new File(directory, name)), noReportFile, () -> now);
+  }
+
+  @Test
+  void finish_timesStagesAndAssets() {
+    now = 1000L;
+    loadingProfiler.stage("INIT");
+    now = 1010L;
+    loadingProfiler.stage("LOAD_ASSETS");
+    update(1010L, "small.png", 1015L, 1016L);
+    update(1020L, null, 0L, 1030L);
+    update(1040L, "big.png", 1055L, 1056L);
+    now = 1060L;
+
+    final LoadingReport report = loadingProfiler.finish();
+
+    assertThat(report.getTotalNanos()).isEqualTo(60L);
+    assertThat(report.getTotalBytes()).isEqualTo(110L);
+    assertThat(report.getStages()).extracting(LoadingReport.StageTiming::getStage).containsExactly("INIT", "LOAD_ASSETS");
+    assertThat(report.getStages()).extracting(LoadingReport.StageTiming::getDurationNanos).containsExactly(10L, 50L);
+    // slowest first.
+    assertThat(report.getAssets()).extracting(LoadingReport.AssetTiming::getFileName).containsExactly("big.png", "small.png");
+    assertThat(report.getAssets()).extracting(LoadingReport.AssetTiming::getDurationNanos).containsExactly(25L, 5L);
+    assertThat(report.getAssets()).extracting(LoadingReport.AssetTiming::getStartNanos).containsExactly(20L, 10L);
+    assertThat(report.getAssets().get(0).getBytes()).isEqualTo(100L);
+  }
+
+  @Test
+  void loaded_leavesOutTimeBetweenUpdates() {
+    now = 0L;
+    loadingProfiler.stage("LOAD_ASSETS");
+    update(0L, null, 0L, 2L);
+    // a 14ns frame is drawn here.
+    update(16L, "small.png", 19L, 20L);
+    // and another, the next asset starts in the next update.
+    update(32L, "big.png", 37L, 38L);
+    now = 40L;
+
+    final LoadingReport report = loadingProfiler.finish();
+
+    assertThat(report.getAssets()).extracting(LoadingReport.AssetTiming::getFileName).containsExactly("small.png", "big.png");
+    assertThat(report.getAssets()).extracting(LoadingReport.AssetTiming::getDurationNanos).containsExactly(5L, 5L);
+    assertThat(report.getAssets()).extracting(LoadingReport.AssetTiming::getStartNanos).containsExactly(0L, 32L);
+  }
+
+  @Test
+  void finish_startsOver() {
+    now = 5L;
+    loadingProfiler.stage("INIT");
+    loadingProfiler.finish();
+    now = 20L;
+    loadingProfiler.stage("INIT");
+    now = 23L;
+
+    final LoadingReport report = loadingProfiler.finish();
+
+    assertThat(report.getTotalNanos()).isEqualTo(3L);
+    assertThat(report.getStages()).hasSize(1);
+  }
+
+  @Test
+  void toJson() {
+    now = 0L;
+    loadingProfiler.stage("INIT");
+    loadingProfiler.loaded("small.png", Texture.class);
+    now = 7L;
+
+    final String json = LoadingProfiler.toJson(loadingProfiler.finish());
+
+    assertThat(json)
+        .startsWith("{\"totalNanos\":7,\"totalBytes\":10,")
+        .contains("{\"stage\":\"INIT\",\"startNanos\":0,\"durationNanos\":7}")
+        .contains("\"fileName\":\"small.png\"")
+        .contains("\"type\":\"com.badlogic.gdx.graphics.Texture\"");
+  }
+
+  /**
+   * One AssetManager.update() call, finishing the asset if there is one.
+   */
+  private void update(final long start, final String loaded, final long loadedAt, final long end) {
+    now = start;
+    loadingProfiler.updateStarted();
+    if (loaded != null) {
+      now = loadedAt;
+      loadingProfiler.loaded(loaded, Texture.class);
+    }
+    now = end;
+    loadingProfiler.updateFinished();
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AssetManifestTest {
+
+  private static final String TEXTURE = "com.badlogic.gdx.graphics.Texture";
+  private static final int STRING_COUNT_OFFSET = 16; // after the magic, version and checksum.
+  private static final long CHECKSUM = AssetManifest.checksum("{}".getBytes(StandardCharsets.UTF_8));
+
+  @Test
+  void writeThenRead() throws IOException {
+    final HashMap<String, ArrayList<String>> assetsToLoad = new HashMap<>();
+    assetsToLoad.put(TEXTURE, new ArrayList<>(List.of("a.png", "b.png")));
+    assetsToLoad.put("two", new ArrayList<>(List.of("a.png")));
+    final ArrayList<Loader> loaders = new ArrayList<>();
+    loaders.add(new Loader(TEXTURE, null, "com.example.TextureLoader"));
+    loaders.add(new Loader("two", ".two", "com.example.TwoLoader"));
+
+    final Assets result = AssetManifest.read(new ByteArrayInputStream(bytes(new Assets(assetsToLoad, loaders))), CHECKSUM);
+
+    assertThat(result.getAssetsToLoad()).isEqualTo(assetsToLoad);
+    assertThat(result.loaders()).hasSize(2);
+    assertThat(result.loaders().get(0).classToLoad()).isEqualTo(TEXTURE);
+    assertThat(result.loaders().get(0).suffix()).isNull();
+    assertThat(result.loaders().get(0).loaderClass()).isEqualTo("com.example.TextureLoader");
+    assertThat(result.loaders().get(1).suffix()).isEqualTo(".two");
+  }
+
+  @Test
+  void read_keepsMissingSections() throws IOException {
+    final Assets result = AssetManifest.read(new ByteArrayInputStream(bytes(new Assets(null, null))), CHECKSUM);
+
+    assertThat(result.getAssetsToLoad()).isNull();
+    assertThat(result.loaders()).isNull();
+  }
+
+  @Test
+  void read_staleWhenTheJsonChanged() throws IOException {
+    final byte[] manifest = bytes(new Assets(new HashMap<>(), null));
+    final long changed = AssetManifest.checksum("{ }".getBytes(StandardCharsets.UTF_8));
+
+    assertThat(AssetManifest.read(new ByteArrayInputStream(manifest), changed)).isNull();
+    assertThat(AssetManifest.read(new ByteArrayInputStream(manifest), AssetManifest.UNKNOWN_CHECKSUM)).isNotNull();
+  }
+
+  @Test
+  void read_notAManifest() {
+    assertThatExceptionOfType(IOException.class)
+        .isThrownBy(() -> AssetManifest.read(new ByteArrayInputStream("{\"assetsToLoad\":{}}".getBytes(StandardCharsets.UTF_8)), CHECKSUM));
+  }
+
+  @Test
+  void read_badCounts() throws IOException {
+    final byte[] negative = bytes(new Assets(new HashMap<>(), null));
+    ByteBuffer.wrap(negative).putInt(STRING_COUNT_OFFSET, -5);
+    final byte[] huge = bytes(new Assets(new HashMap<>(), null));
+    ByteBuffer.wrap(huge).putInt(STRING_COUNT_OFFSET, Integer.MAX_VALUE);
+
+    assertThatExceptionOfType(IOException.class)
+        .isThrownBy(() -> AssetManifest.read(new ByteArrayInputStream(negative), CHECKSUM));
+    assertThatExceptionOfType(IOException.class)
+        .isThrownBy(() -> AssetManifest.read(new ByteArrayInputStream(huge), CHECKSUM));
+  }
+
+  private byte[] bytes(final Assets assets) throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    AssetManifest.write(assets, CHECKSUM, out);
+    return out.toByteArray();
+  }
+}
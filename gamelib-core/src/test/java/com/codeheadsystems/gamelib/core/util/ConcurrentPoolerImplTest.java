@@ -0,0 +1,158 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.badlogic.gdx.utils.Pool;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentPoolerImplTest {
+
+  @Test
+  void free_thenObtainReusesOnSameThread() {
+    final Pooler<Item> pool = Pooler.concurrent(Item::new);
+    final Item item = pool.obtain();
+    item.used = true;
+    pool.free(item);
+
+    assertThat(pool.poolSize()).isEqualTo(1);
+    assertThat(pool.obtain()).isSameAs(item);
+    assertThat(item.used).isFalse(); // reset on free.
+    assertThat(pool.poolSize()).isZero();
+  }
+
+  @Test
+  void free_null() {
+    final Pooler<Item> pool = Pooler.concurrent(Item::new);
+    assertThatThrownBy(() -> pool.free(null)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void overflow_reusedByOtherThread() throws InterruptedException {
+    final ConcurrentPoolerImpl<Item> pool = new ConcurrentPoolerImpl<>(Item::new, 4);
+    final Set<Item> freed = new HashSet<>();
+    for (int i = 0; i < 8; i++) {
+      freed.add(pool.obtain());
+    }
+    freed.forEach(pool::free);
+    assertThat(pool.poolSize()).isEqualTo(8);
+
+    final List<Item> obtained = new ArrayList<>();
+    final Thread other = new Thread(() -> {
+      for (int i = 0; i < 4; i++) {
+        obtained.add(pool.obtain());
+      }
+    });
+    other.start();
+    other.join();
+
+    assertThat(freed).containsAll(obtained);
+    assertThat(pool.poolSize()).isEqualTo(4);
+  }
+
+  @Test
+  void manyThreads_neverHandOutTheSameObjectTwice() throws InterruptedException {
+    final ConcurrentPoolerImpl<Item> pool = new ConcurrentPoolerImpl<>(Item::new, 8);
+    final AtomicInteger failures = new AtomicInteger();
+    final List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      final Thread thread = new Thread(() -> {
+        final Item[] held = new Item[12];
+        for (int loop = 0; loop < 20_000; loop++) {
+          for (int i = 0; i < held.length; i++) {
+            held[i] = pool.obtain();
+            if (!held[i].inUse.compareAndSet(false, true)) {
+              failures.incrementAndGet();
+            }
+          }
+          for (Item item : held) {
+            item.inUse.set(false);
+            pool.free(item);
+          }
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertThat(failures.get()).isZero();
+    assertThat(pool.poolSize()).isPositive();
+  }
+
+  @Test
+  void prewarm_thenTrimIdleBatches() {
+    final ConcurrentPoolerImpl<Item> pool = new ConcurrentPoolerImpl<>(Item::new, 4);
+    pool.configure(new PoolOptions().setPrewarm(10).setIdleTrim(1f));
+
+    assertThat(pool.prewarm(100)).isEqualTo(10);
+    assertThat(pool.poolSize()).isEqualTo(10);
+    final Item item = pool.obtain(); // takes a batch of two, so four batches stayed idle.
+    assertThat(pool.trim()).isZero(); // never goes under the prewarm size.
+    pool.free(item);
+
+    pool.configure(new PoolOptions().setIdleTrim(1f));
+    assertThat(pool.trim()).isEqualTo(8);
+    assertThat(pool.poolSize()).isEqualTo(2);
+  }
+
+  @Test
+  void trim_stopsBeforeABatchWouldGoUnderPrewarm() {
+    final ConcurrentPoolerImpl<Item> pool = new ConcurrentPoolerImpl<>(Item::new, 4);
+    pool.configure(new PoolOptions().setPrewarm(10).setIdleTrim(1f));
+    pool.prewarm(100); // five batches of two.
+
+    pool.configure(new PoolOptions().setPrewarm(7).setIdleTrim(1f));
+    assertThat(pool.trim()).isEqualTo(2);
+    assertThat(pool.poolSize()).isEqualTo(8);
+  }
+
+  @Test
+  void free_pastMaxRetainedIsDropped() {
+    final Pooler<Item> pool = Pooler.concurrent(Item::new).configure(new PoolOptions().setMaxRetained(3));
+    final Item[] items = new Item[5];
+    for (int i = 0; i < items.length; i++) {
+      items[i] = pool.obtain();
+    }
+    for (Item item : items) {
+      pool.free(item);
+    }
+
+    assertThat(pool.poolSize()).isEqualTo(3);
+  }
+
+  static class Item implements Pool.Poolable {
+
+    private final AtomicBoolean inUse = new AtomicBoolean();
+    private boolean used;
+
+    @Override
+    public void reset() {
+      used = false;
+    }
+  }
+}
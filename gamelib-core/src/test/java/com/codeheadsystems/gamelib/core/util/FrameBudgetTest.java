@@ -0,0 +1,115 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class FrameBudgetTest {
+
+  private static final long MILLI = 1_000_000L;
+  private static final float REFRESH_MILLIS = 1000f / 60;
+
+  @Test
+  void next_firstFrameUsesInitial() {
+    final FrameBudget budget = new FrameBudget(8, 16);
+
+    assertThat(budget.next(100 * MILLI)).isEqualTo(8);
+  }
+
+  @Test
+  void next_growsWhenFramesAreFast() {
+    final FrameBudget budget = new FrameBudget(4, 16);
+    budget.next(100 * MILLI);
+
+    assertThat(budget.next(108 * MILLI)).isEqualTo(8);
+    assertThat(budget.next(116 * MILLI)).isEqualTo(12);
+    assertThat(budget.next(124 * MILLI)).isEqualTo(16);
+    assertThat(budget.next(132 * MILLI)).isEqualTo(16);
+  }
+
+  @Test
+  void next_shrinksWhenFramesAreSlow() {
+    final FrameBudget budget = new FrameBudget(16, 16);
+    budget.next(100 * MILLI);
+
+    assertThat(budget.next(124 * MILLI)).isEqualTo(12);
+    assertThat(budget.next(200 * MILLI)).isEqualTo(1);
+  }
+
+  @Test
+  void next_settlesOnTheTarget() {
+    final FrameBudget budget = new FrameBudget(16, 16);
+    long now = 0L;
+    budget.next(now);
+    // every frame costs 10ms of rendering plus the loading budget.
+    for (int i = 0; i < 20; i++) {
+      now += (10 + budget.current()) * MILLI;
+      budget.next(now);
+    }
+
+    assertThat(budget.current()).isEqualTo(6);
+  }
+
+  @Test
+  void next_holdsUnderVsync() {
+    final FrameBudget budget = new FrameBudget(8, REFRESH_MILLIS);
+    final long[] now = {0L};
+    budget.next(now[0]);
+    // 4ms of rendering plus the budget fits in one refresh.
+    for (int i = 0; i < 20; i++) {
+      budget.next(vsync(now, 4 + budget.current()));
+    }
+
+    assertThat(budget.current()).isEqualTo(8);
+  }
+
+  @Test
+  void next_shrinksUntilFramesFitOneRefreshUnderVsync() {
+    final FrameBudget budget = new FrameBudget(16, REFRESH_MILLIS);
+    final long[] now = {0L};
+    budget.next(now[0]);
+    // 10ms of rendering plus the budget misses a refresh until the budget is under 6.7ms.
+    for (int i = 0; i < 20; i++) {
+      budget.next(vsync(now, 10 + budget.current()));
+    }
+    final int settled = budget.current();
+    budget.next(vsync(now, 10 + settled));
+
+    assertThat(10 + settled).isLessThan(17);
+    assertThat(budget.current()).isEqualTo(settled);
+  }
+
+  @Test
+  void constructor_rejectsNonPositive() {
+    assertThatThrownBy(() -> new FrameBudget(0, 16)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new FrameBudget(8, 0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  /**
+   * Moves the clock to the first refresh after the frame's work is done, as swapping buffers with vsync on does.
+   */
+  private static long vsync(final long[] now, final int workMillis) {
+    final long refresh = Math.round(REFRESH_MILLIS * MILLI);
+    final long refreshes = (workMillis * MILLI + refresh - 1) / refresh;
+    now[0] += refreshes * refresh;
+    return now[0];
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PoolLeakTrackerTest {
+
+  @BeforeEach
+  void setup() {
+    PoolLeakTracker.reset();
+    PoolLeakTracker.setSampleRate(1);
+    PoolLeakTracker.setEnabled(true);
+  }
+
+  @AfterEach
+  void tearDown() {
+    PoolLeakTracker.setEnabled(false);
+    PoolLeakTracker.setSampleRate(16);
+    PoolLeakTracker.reset();
+  }
+
+  @Test
+  void report_findsTheSiteThatForgetsToFree() throws InterruptedException {
+    final Pooler<Leaked> pool = Pooler.disabled(Leaked::new);
+    for (int i = 0; i < 100; i++) {
+      leak(pool);
+      pool.free(pool.obtain()); // freed, so never reported even though it is collected.
+    }
+
+    final List<PoolLeakTracker.LeakSite> report = reportAfterGc();
+    assertThat(report).hasSize(1);
+    assertThat(report.get(0).getType()).isEqualTo("Leaked");
+    assertThat(report.get(0).getSite()).startsWith("PoolLeakTrackerTest.leak:");
+    assertThat(report.get(0).getLeaks()).isPositive().isLessThanOrEqualTo(100L);
+  }
+
+  @Test
+  void report_nothingWhenDisabled() throws InterruptedException {
+    PoolLeakTracker.setEnabled(false);
+    final Pooler<Leaked> pool = Pooler.disabled(Leaked::new);
+    for (int i = 0; i < 100; i++) {
+      leak(pool);
+    }
+    System.gc();
+    Thread.sleep(50);
+
+    assertThat(PoolLeakTracker.report(10)).isEmpty();
+  }
+
+  @Test
+  void setSampleRate_mustBePositive() {
+    assertThatThrownBy(() -> PoolLeakTracker.setSampleRate(0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private void leak(final Pooler<Leaked> pool) {
+    pool.obtain();
+  }
+
+  private List<PoolLeakTracker.LeakSite> reportAfterGc() throws InterruptedException {
+    List<PoolLeakTracker.LeakSite> report = PoolLeakTracker.report(10);
+    for (int attempt = 0; attempt < 50 && report.isEmpty(); attempt++) {
+      System.gc();
+      Thread.sleep(20);
+      report = PoolLeakTracker.report(10);
+    }
+    return report;
+  }
+
+  static class Leaked {
+  }
+}
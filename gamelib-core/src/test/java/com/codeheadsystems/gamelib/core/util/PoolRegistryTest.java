@@ -0,0 +1,123 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class PoolRegistryTest {
+
+  @AfterEach
+  void tearDown() {
+    PoolRegistry.setEnabled(false);
+  }
+
+  @Test
+  void snapshot_countsWhileEnabled() {
+    PoolRegistry.setEnabled(true);
+    final Pooler<Counted> pool = Pooler.of(Counted::new);
+    final Counted first = pool.obtain();
+    final Counted second = pool.obtain();
+    pool.free(first);
+    pool.free(second);
+    pool.obtain();
+
+    final PoolSnapshot snapshot = snapshot("Counted");
+    assertThat(snapshot.getObtains()).isEqualTo(3);
+    assertThat(snapshot.getMisses()).isEqualTo(2);
+    assertThat(snapshot.getFrees()).isEqualTo(2);
+    assertThat(snapshot.getPeakFree()).isEqualTo(2);
+    assertThat(snapshot.getFree()).isEqualTo(1);
+    assertThat(snapshot.getOutstanding()).isEqualTo(1);
+  }
+
+  @Test
+  void snapshot_nothingCountedWhileDisabled() {
+    final QuietPooler pool = new QuietPooler();
+    pool.free(pool.obtain());
+
+    final PoolSnapshot snapshot = snapshot("QuietPooler");
+    assertThat(snapshot.getObtains()).isZero();
+    assertThat(snapshot.getMisses()).isZero();
+    assertThat(snapshot.getFrees()).isZero();
+    assertThat(snapshot.getFree()).isEqualTo(1);
+  }
+
+  @Test
+  void snapshot_subclassUsesItsName() {
+    PoolRegistry.setEnabled(true);
+    final NamedPooler pool = new NamedPooler();
+    pool.obtain();
+
+    assertThat(snapshot("NamedPooler").getMisses()).isEqualTo(1);
+  }
+
+  @Test
+  void prewarm_sharesTheBudgetAcrossPools() {
+    final Pooler<Object> first = Pooler.of(Object::new, new PoolOptions().setPrewarm(6));
+    final Pooler<Object> second = Pooler.concurrent(Object::new).configure(new PoolOptions().setPrewarm(6));
+
+    int updates = 1;
+    while (!PoolRegistry.prewarm(5)) {
+      updates++;
+    }
+
+    assertThat(updates).isGreaterThanOrEqualTo(3);
+    assertThat(first.poolSize()).isEqualTo(6);
+    assertThat(second.poolSize()).isEqualTo(6);
+    assertThat(PoolRegistry.prewarm(5)).isTrue();
+  }
+
+  @Test
+  void registerMBean() throws Exception {
+    PoolRegistry.registerMBean();
+    PoolRegistry.registerMBean(); // twice is fine.
+
+    final Object enabled = ManagementFactory.getPlatformMBeanServer()
+        .getAttribute(new ObjectName(PoolRegistry.OBJECT_NAME), "Enabled");
+    assertThat(enabled).isEqualTo(false);
+  }
+
+  private PoolSnapshot snapshot(final String name) {
+    return PoolRegistry.snapshot().stream()
+        .filter(s -> s.getName().equals(name))
+        .findFirst()
+        .orElseThrow();
+  }
+
+  static class Counted {
+  }
+
+  static class QuietPooler extends ConcurrentPoolerImpl<Object> {
+
+    QuietPooler() {
+      super(Object::new);
+    }
+  }
+
+  static class NamedPooler extends PoolerImpl<Object> {
+
+    NamedPooler() {
+      super(Object::new);
+    }
+  }
+}
@@ -18,6 +18,7 @@
 package com.codeheadsystems.gamelib.core.util;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -48,4 +49,51 @@ class PoolerImplTest {
         .isEqualTo(1);
   }
 
-}
\ No newline at end of file
+  @Test
+  void prewarm() {
+    pool = Pooler.of(Object::new, new PoolOptions().setPrewarm(10));
+
+    assertThat(pool.prewarm(4)).isEqualTo(4);
+    assertThat(pool.prewarm(100)).isEqualTo(6);
+    assertThat(pool.prewarm(100)).isZero();
+    assertThat(pool.poolSize()).isEqualTo(10);
+  }
+
+  @Test
+  void free_pastMaxRetainedIsDropped() {
+    pool = Pooler.of(Object::new, new PoolOptions().setMaxRetained(2));
+    final Object[] objects = {pool.obtain(), pool.obtain(), pool.obtain()};
+    for (Object object : objects) {
+      pool.free(object);
+    }
+
+    assertThat(pool.poolSize()).isEqualTo(2);
+  }
+
+  @Test
+  void trim_dropsOnlyWhatStayedIdle() {
+    pool = Pooler.of(Object::new, new PoolOptions().setPrewarm(2).setIdleTrim(0.5f));
+    final Object[] objects = new Object[10];
+    for (int i = 0; i < objects.length; i++) {
+      objects[i] = pool.obtain();
+    }
+    for (Object object : objects) {
+      pool.free(object);
+    }
+    assertThat(pool.trim()).isZero(); // the pool was empty at some point, nothing was idle.
+
+    pool.obtain(); // 9 free, 9 of them idle until the next trim.
+    assertThat(pool.trim()).isEqualTo(4); // half of the 7 above the prewarm size, rounded up.
+    assertThat(pool.poolSize()).isEqualTo(5);
+    assertThat(pool.trim()).isEqualTo(2);
+    assertThat(pool.trim()).isEqualTo(1);
+    assertThat(pool.trim()).isZero();
+    assertThat(pool.poolSize()).isEqualTo(2);
+  }
+
+  @Test
+  void options_validated() {
+    assertThatThrownBy(() -> new PoolOptions().setIdleTrim(2f)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new PoolOptions().setPrewarm(-1)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -26,6 +26,7 @@ import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.utils.Logger;
+import com.codeheadsystems.gamelib.core.manager.CullingManager;
 import com.codeheadsystems.gamelib.entity.manager.RenderClearManager;
 import java.util.Optional;
 import javax.inject.Inject;
@@ -41,6 +42,7 @@ public class CameraEntitySystem extends EntitySystem {
   private final SpriteBatch spriteBatch;
   private final ShapeRenderer shapeRenderer;
   private final RenderClearManager renderClearManager;
+  private final CullingManager cullingManager;
 
   /**
    * Instantiates a new Camera entity system.
@@ -49,23 +51,27 @@ public class CameraEntitySystem extends EntitySystem {
    * @param spriteBatch        the sprite batch
    * @param shapeRenderer      the shape renderer
    * @param renderClearManager the optional clean manager.
+   * @param cullingManager     the culling manager, updated once the camera is.
    */
   @Inject
   public CameraEntitySystem(final OrthographicCamera orthographicCamera,
                             final SpriteBatch spriteBatch,
                             final ShapeRenderer shapeRenderer,
-                            final Optional<RenderClearManager> renderClearManager) {
+                            final Optional<RenderClearManager> renderClearManager,
+                            final CullingManager cullingManager) {
     super(Priorities.CAMERA.priority());
     this.orthographicCamera = orthographicCamera;
     this.spriteBatch = spriteBatch;
     this.shapeRenderer = shapeRenderer;
     this.renderClearManager = renderClearManager.orElse(this::defaultCleanScreen);
+    this.cullingManager = cullingManager;
   }
 
   @Override
   public void update(float deltaTime) {
     renderClearManager.doRenderClean();
     orthographicCamera.update();
+    cullingManager.update();
     spriteBatch.setProjectionMatrix(orthographicCamera.combined);
     shapeRenderer.setProjectionMatrix(orthographicCamera.combined);
   }
@@ -23,15 +23,17 @@ import com.badlogic.ashley.core.ComponentMapper;
 import com.badlogic.ashley.core.Engine;
 import com.badlogic.ashley.core.Entity;
 import com.badlogic.ashley.core.Family;
+import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.utils.Logger;
+import com.codeheadsystems.gamelib.core.manager.CullingManager;
 import com.codeheadsystems.gamelib.entity.component.SortComponent;
 import com.codeheadsystems.gamelib.entity.component.SpriteComponent;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 /**
- * Purpose: Render anything with a sprite.
+ * Purpose: Render anything with a sprite. Sprites outside the camera view are skipped.
  */
 @Singleton
 public class SpriteBatchRenderer extends WrapperSortedIteratingSystem {
@@ -39,21 +41,25 @@ public class SpriteBatchRenderer extends WrapperSortedIteratingSystem {
   private static final Logger LOGGER = logger(SpriteBatchRenderer.class);
   private final ComponentMapper<SpriteComponent> sm = ComponentMapper.getFor(SpriteComponent.class);
   private final SpriteBatch spriteBatch;
+  private final CullingManager cullingManager;
 
   /**
    * Instantiates a new Sprite batch renderer.
    *
    * @param spriteBatch    the sprite batch
    * @param sortComparator the sort comparator
+   * @param cullingManager the culling manager
    */
   @Inject
   public SpriteBatchRenderer(final SpriteBatch spriteBatch,
-                             final SortComparator sortComparator) {
+                             final SortComparator sortComparator,
+                             final CullingManager cullingManager) {
     super(
         Family.all(SpriteComponent.class, SortComponent.class).get(),
         sortComparator,
         Priorities.SPRITES.priority()); // run after everything else
     this.spriteBatch = spriteBatch;
+    this.cullingManager = cullingManager;
     LOGGER.info("Created");
   }
 
@@ -64,7 +70,10 @@ public class SpriteBatchRenderer extends WrapperSortedIteratingSystem {
 
   @Override
   public void processEntity(Entity entity, float deltaTime) {
-    sm.get(entity).getSprite().draw(spriteBatch);
+    final Sprite sprite = sm.get(entity).getSprite();
+    if (cullingManager.isVisible(sprite.getBoundingRectangle())) {
+      sprite.draw(spriteBatch);
+    }
   }
 
   @Override
@@ -0,0 +1,102 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.manager;
+
+import com.badlogic.gdx.math.Vector2;
+import com.codeheadsystems.gamelib.hex.component.HexComponent;
+import com.codeheadsystems.gamelib.hex.model.Layout;
+import com.codeheadsystems.gamelib.hex.model.Orientation;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Generating a field through a stream of hexes against the coordinates worked out in parallel first. Run with
+ * ./gradlew :gamelib-hex:jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HexFieldGenerationBenchmark {
+
+  @Param({"100", "500"})
+  private int size;
+
+  private HexManager hexManager;
+  private LayoutManager layoutManager;
+  private HexComponentManager hexComponentManager;
+  private Layout layout;
+  private ForkJoinPool singleThread;
+
+  @Setup
+  public void setup() {
+    hexManager = new HexManager();
+    layoutManager = new LayoutManager(new Vector2Manager(), new FractionalHexManager(hexManager));
+    hexComponentManager = new HexComponentManager(hexManager, layoutManager);
+    layout = Layout.of(Orientation.flat, new Vector2().set(10, 10), new Vector2());
+    singleThread = new ForkJoinPool(1);
+  }
+
+  @TearDown
+  public void tearDown() {
+    singleThread.shutdown();
+  }
+
+  @Benchmark
+  public void streamOfHexes(final Blackhole blackhole) {
+    final Set<HexComponent> field = hexManager.generate(size, size)
+        .stream()
+        .map(h -> new HexComponent().initialize(h, layout, layoutManager))
+        .collect(Collectors.toSet());
+    blackhole.consume(field);
+  }
+
+  @Benchmark
+  public void coordinatesSingleThread(final Blackhole blackhole) {
+    blackhole.consume(layoutManager.coordinates(layout, size, size, singleThread));
+  }
+
+  @Benchmark
+  public void coordinatesParallel(final Blackhole blackhole) {
+    blackhole.consume(layoutManager.coordinates(layout, size, size));
+  }
+
+  @Benchmark
+  public void generate(final Blackhole blackhole) {
+    final Set<HexComponent> field = hexComponentManager.generate(size, size, layout);
+    blackhole.consume(field);
+    hexComponentManager.release(field);
+  }
+}
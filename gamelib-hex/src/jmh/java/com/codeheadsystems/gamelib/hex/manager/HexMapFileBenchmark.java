@@ -0,0 +1,150 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.manager;
+
+import com.badlogic.gdx.utils.Json;
+import com.codeheadsystems.gamelib.hex.model.HexFieldConfiguration;
+import com.codeheadsystems.gamelib.hex.model.HexMapData;
+import com.codeheadsystems.gamelib.hex.model.HexMapFile;
+import com.codeheadsystems.gamelib.hex.model.OffsetCoord;
+import com.codeheadsystems.gamelib.hex.model.Orientation;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Loading a map from JSON, one object per hex, against the binary map format. Run with ./gradlew :gamelib-hex:jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HexMapFileBenchmark {
+
+  @Param({"128", "512"})
+  private int size;
+
+  private HexMapFileManager hexMapFileManager;
+  private Json json;
+  private Path jsonPath;
+  private Path binaryPath;
+  private HexMapData data;
+
+  @Setup
+  public void setup() throws IOException {
+    hexMapFileManager = new HexMapFileManager(new HexFieldConfigurationManager());
+    json = new Json();
+    data = new HexMapData(size, size);
+    final JsonHexMap jsonHexMap = new JsonHexMap();
+    jsonHexMap.cols = size;
+    jsonHexMap.rows = size;
+    jsonHexMap.hexes = new JsonHex[data.size()];
+    final Random random = new Random(3);
+    for (int index = 0; index < data.size(); index++) {
+      final JsonHex hex = new JsonHex();
+      hex.q = index % size;
+      hex.r = OffsetCoordManager.qoffsetR(OffsetCoord.Offset.ODD, hex.q, index / size);
+      hex.terrain = (short) random.nextInt(64);
+      hex.flags = (byte) random.nextInt(4);
+      hex.height = random.nextFloat() * 10f;
+      jsonHexMap.hexes[index] = hex;
+      data.terrain()[index] = hex.terrain;
+      data.flags()[index] = hex.flags;
+      data.height()[index] = hex.height;
+    }
+    jsonPath = Files.createTempFile("hexmap", ".json");
+    binaryPath = Files.createTempFile("hexmap", ".bin");
+    Files.writeString(jsonPath, json.toJson(jsonHexMap));
+    final HexFieldConfiguration configuration = new HexFieldConfiguration()
+        .setCols(size)
+        .setRows(size)
+        .setOrientation(Orientation.flat)
+        .setSizeX(10)
+        .setSizeY(10);
+    hexMapFileManager.write(binaryPath, configuration, data);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(jsonPath);
+    Files.deleteIfExists(binaryPath);
+  }
+
+  @Benchmark
+  public void loadJson(final Blackhole blackhole) throws IOException {
+    final JsonHexMap map = json.fromJson(JsonHexMap.class,
+        new String(Files.readAllBytes(jsonPath), StandardCharsets.UTF_8));
+    final HexMapData result = new HexMapData(map.cols, map.rows);
+    for (JsonHex hex : map.hexes) {
+      final int index = result.index(hex.q, hex.r);
+      result.terrain()[index] = hex.terrain;
+      result.flags()[index] = hex.flags;
+      result.height()[index] = hex.height;
+    }
+    blackhole.consume(result);
+  }
+
+  @Benchmark
+  public void loadBinary(final Blackhole blackhole) {
+    blackhole.consume(hexMapFileManager.read(binaryPath));
+  }
+
+  @Benchmark
+  public void openBinaryAndReadOneHex(final Blackhole blackhole) {
+    final HexMapFile file = hexMapFileManager.open(binaryPath);
+    blackhole.consume(file.terrain(size / 2, size / 2));
+  }
+
+  /**
+   * The JSON shape, one object per hex.
+   */
+  public static class JsonHexMap {
+    public int cols;
+    public int rows;
+    public JsonHex[] hexes;
+  }
+
+  /**
+   * One hex in the JSON shape.
+   */
+  public static class JsonHex {
+    public int q;
+    public int r;
+    public short terrain;
+    public byte flags;
+    public float height;
+  }
+}
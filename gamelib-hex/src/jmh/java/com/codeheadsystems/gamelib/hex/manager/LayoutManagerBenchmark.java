@@ -0,0 +1,129 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.manager;
+
+import com.badlogic.gdx.math.Vector2;
+import com.codeheadsystems.gamelib.hex.model.FractionalHex;
+import com.codeheadsystems.gamelib.hex.model.Hex;
+import com.codeheadsystems.gamelib.hex.model.Layout;
+import com.codeheadsystems.gamelib.hex.model.Orientation;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Per-object hex/pixel conversion against the batch array versions. Run with ./gradlew :gamelib-hex:jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LayoutManagerBenchmark {
+
+  @Param({"1024", "16384"})
+  private int count;
+
+  private HexManager hexManager;
+  private FractionalHexManager fractionalHexManager;
+  private Vector2Manager vector2Manager;
+  private LayoutManager layoutManager;
+  private Layout layout;
+  private Hex[] hexes;
+  private int[] q;
+  private int[] r;
+  private float[] x;
+  private float[] y;
+  private float[] fq;
+  private float[] fr;
+  private int[] outQ;
+  private int[] outR;
+
+  @Setup
+  public void setup() {
+    hexManager = new HexManager();
+    fractionalHexManager = new FractionalHexManager(hexManager);
+    vector2Manager = new Vector2Manager();
+    layoutManager = new LayoutManager(vector2Manager, fractionalHexManager);
+    layout = Layout.of(Orientation.flat, new Vector2().set(10, 10), new Vector2().set(5, 5));
+    final Random random = new Random(1);
+    hexes = new Hex[count];
+    q = new int[count];
+    r = new int[count];
+    x = new float[count];
+    y = new float[count];
+    fq = new float[count];
+    fr = new float[count];
+    outQ = new int[count];
+    outR = new int[count];
+    for (int i = 0; i < count; i++) {
+      q[i] = random.nextInt(256);
+      r[i] = random.nextInt(256) - 128;
+      hexes[i] = Hex.of(q[i], r[i], -q[i] - r[i]);
+    }
+    layoutManager.hexToPixel(layout, q, r, x, y, count);
+  }
+
+  @Benchmark
+  public void hexToPixelPerObject(final Blackhole blackhole) {
+    for (int i = 0; i < count; i++) {
+      final Vector2 pixel = layoutManager.hexToPixel(layout, hexes[i]);
+      blackhole.consume(pixel.x);
+      blackhole.consume(pixel.y);
+      vector2Manager.free(pixel);
+    }
+  }
+
+  @Benchmark
+  public void hexToPixelBatch(final Blackhole blackhole) {
+    layoutManager.hexToPixel(layout, q, r, x, y, count);
+    blackhole.consume(x);
+    blackhole.consume(y);
+  }
+
+  @Benchmark
+  public void pixelToHexPerObject(final Blackhole blackhole) {
+    for (int i = 0; i < count; i++) {
+      final FractionalHex fractionalHex = layoutManager.pixelToHex(layout, x[i], y[i]);
+      final Hex hex = fractionalHexManager.hexRound(fractionalHex, true);
+      blackhole.consume(hex.q());
+      blackhole.consume(hex.r());
+      hexManager.free(hex);
+    }
+  }
+
+  @Benchmark
+  public void pixelToHexBatch(final Blackhole blackhole) {
+    layoutManager.pixelToHex(layout, x, y, fq, fr, count);
+    fractionalHexManager.hexRound(fq, fr, outQ, outR, count);
+    blackhole.consume(outQ);
+    blackhole.consume(outR);
+  }
+}
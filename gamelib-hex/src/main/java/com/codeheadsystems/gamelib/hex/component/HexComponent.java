@@ -19,35 +19,28 @@ package com.codeheadsystems.gamelib.hex.component;
 
 import com.badlogic.ashley.core.Component;
 import com.badlogic.gdx.math.Polygon;
-import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Pool;
 import com.codeheadsystems.gamelib.hex.manager.LayoutManager;
 import com.codeheadsystems.gamelib.hex.model.Hex;
+import com.codeheadsystems.gamelib.hex.model.HexGeometry;
 import com.codeheadsystems.gamelib.hex.model.Layout;
 
 /**
- * The type Hex component.
+ * The type Hex component. Only the center is stored per hex. The shape comes from the layout's shared
+ * HexGeometry, and vertices or triangles are worked out when asked for.
  */
 public class HexComponent implements Pool.Poolable, Component {
 
   private Hex hex;
-  private Polygon polygon;
-  private float[][] triangles;
-  private float originX, originY, width;
+  private HexGeometry geometry;
+  private float originX, originY;
 
   @Override
   public void reset() {
     originX = 0;
     originY = 0;
-    width = 0;
     hex = null;
-    polygon = null;
-    if (triangles != null) {
-      for (int i = 0; i < triangles.length; i++) {
-        triangles[i] = null;
-      }
-      triangles = null;
-    }
+    geometry = null;
   }
 
   /**
@@ -61,45 +54,89 @@ public class HexComponent implements Pool.Poolable, Component {
   public HexComponent initialize(final Hex hex,
                                  final Layout layout,
                                  final LayoutManager layoutManager) {
-    final float[] vertices = layoutManager.vertices(layout, hex);
-    this.polygon = new Polygon(vertices);
     this.hex = hex;
-    final Vector2 center = layoutManager.hexToPixel(layout, hex);
-    this.polygon.setOrigin(center.x, center.y);
-    this.polygon.setPosition(center.x, center.y);
-    final int maxsize = vertices.length - 2;
-    triangles = new float[vertices.length / 2][];
-    for (int i = 0; i < maxsize; i += 2) {
-      triangles[i / 2] = new float[]{center.x, center.y, vertices[i], vertices[i + 1], vertices[i + 2], vertices[i + 3]};
-    }
-    triangles[triangles.length - 1] = new float[]{center.x, center.y, vertices[0], vertices[1], vertices[vertices.length - 2], vertices[vertices.length - 1]};
-    // Cache the meaningful values.
-    originX = polygon.getOriginX();
-    originY = polygon.getOriginY();
-    width = polygon.getBoundingRectangle().getWidth();
+    this.geometry = layoutManager.geometry(layout);
+    originX = layoutManager.hexToPixelX(layout, hex.q(), hex.r());
+    originY = layoutManager.hexToPixelY(layout, hex.q(), hex.r());
+    return this;
+  }
+
+  /**
+   * Initialize hex component from a center that was already worked out, see LayoutManager.coordinates().
+   *
+   * @param hex      the hex
+   * @param geometry the shared geometry of the layout.
+   * @param originX  the center x
+   * @param originY  the center y
+   * @return the hex component
+   */
+  public HexComponent initialize(final Hex hex,
+                                 final HexGeometry geometry,
+                                 final float originX,
+                                 final float originY) {
+    this.hex = hex;
+    this.geometry = geometry;
+    this.originX = originX;
+    this.originY = originY;
     return this;
   }
 
   /**
-   * Triangles float [ ] [ ].
+   * The shared shape of the hex.
+   *
+   * @return the hex geometry, or null if not initialized.
+   */
+  public HexGeometry geometry() {
+    return geometry;
+  }
+
+  /**
+   * Writes one triangle of the hex's fan into the array, without creating any.
+   *
+   * @param triangle which triangle, 0 to 5.
+   * @param out      at least HexGeometry.TRIANGLE_FLOATS long.
+   * @return the out array
+   */
+  public float[] triangle(final int triangle, final float[] out) {
+    return geometry.triangle(triangle, originX, originY, out);
+  }
+
+  /**
+   * Triangles float [ ] [ ]. Creates new arrays each call, use triangle(int, float[]) in render loops.
    *
    * @return the float [ ] [ ]
    */
   public float[][] triangles() {
+    if (geometry == null) {
+      return null;
+    }
+    final float[][] triangles = new float[HexGeometry.TRIANGLES][];
+    for (int i = 0; i < HexGeometry.TRIANGLES; i++) {
+      triangles[i] = triangle(i, new float[HexGeometry.TRIANGLE_FLOATS]);
+    }
     return triangles;
   }
 
   /**
-   * Vertices float [ ].
+   * Writes the corners of the hex into the array as x, y pairs, without creating any.
+   *
+   * @param out at least HexGeometry.VERTEX_FLOATS long.
+   * @return the out array
+   */
+  public float[] vertices(final float[] out) {
+    return geometry.vertices(originX, originY, out);
+  }
+
+  /**
+   * Vertices float [ ]. Creates a new array each call, use vertices(float[]) in render loops.
    *
    * @return the float [ ]
    */
   public float[] vertices() {
-    if (polygon != null) {
-      return polygon.getVertices();
-    } else {
+    if (geometry == null) {
       return null;
     }
+    return vertices(new float[HexGeometry.VERTEX_FLOATS]);
   }
 
   /**
@@ -112,11 +149,17 @@ public class HexComponent implements Pool.Poolable, Component {
   }
 
   /**
-   * Polygon polygon.
+   * Polygon polygon. Creates a new polygon each call.
    *
    * @return the polygon
    */
   public Polygon polygon() {
+    if (geometry == null) {
+      return null;
+    }
+    final Polygon polygon = new Polygon(vertices());
+    polygon.setOrigin(originX, originY);
+    polygon.setPosition(originX, originY);
     return polygon;
   }
 
@@ -174,6 +217,6 @@ public class HexComponent implements Pool.Poolable, Component {
    * @return the width
    */
   public float getWidth() {
-    return width;
+    return geometry == null ? 0 : geometry.width();
   }
 }
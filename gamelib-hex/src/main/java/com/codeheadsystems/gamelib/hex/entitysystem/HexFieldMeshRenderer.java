@@ -0,0 +1,324 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.entitysystem;
+
+import static com.codeheadsystems.gamelib.core.util.LoggerHelper.logger;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Logger;
+import com.badlogic.gdx.utils.ObjectLongMap;
+import com.codeheadsystems.gamelib.core.manager.CullingManager;
+import com.codeheadsystems.gamelib.entity.entitysystem.Priorities;
+import com.codeheadsystems.gamelib.hex.component.HexComponent;
+import com.codeheadsystems.gamelib.hex.model.Hex;
+import com.codeheadsystems.gamelib.hex.model.HexField;
+import com.codeheadsystems.gamelib.hex.model.HexFieldMeshData;
+import com.codeheadsystems.gamelib.hex.utilities.HexKey;
+import java.util.ArrayList;
+import java.util.List;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Draws every hex entity from a few static meshes instead of one ShapeRenderer call per hex per frame. The
+ * vertex data lives in a HexFieldMeshData, and only the hexes changed since the last frame (colors, added or
+ * removed hexes) are uploaded again. Chunks whose hexes are all off screen are not drawn. Use this or
+ * HexShapeRenderer, not both.
+ * <p>
+ * Slots are keyed by hex, so only one entity is drawn per hex. With more than one field in the engine, use
+ * setHexField() to pick the one to draw, otherwise the first entity added for a hex keeps it.
+ */
+@Singleton
+public class HexFieldMeshRenderer extends EntitySystem implements EntityListener, Disposable {
+
+  private static final Logger LOGGER = logger(HexFieldMeshRenderer.class);
+  private static final String VERTEX_SHADER = ""
+      + "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+      + "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+      + "uniform mat4 u_projTrans;\n"
+      + "varying vec4 v_color;\n"
+      + "void main() {\n"
+      + "  v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+      + "  v_color.a = v_color.a * (255.0/254.0);\n"
+      + "  gl_Position = u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+      + "}\n";
+  private static final String FRAGMENT_SHADER = ""
+      + "#ifdef GL_ES\n"
+      + "precision mediump float;\n"
+      + "#endif\n"
+      + "varying vec4 v_color;\n"
+      + "void main() {\n"
+      + "  gl_FragColor = v_color;\n"
+      + "}\n";
+
+  private final ComponentMapper<HexComponent> hm = ComponentMapper.getFor(HexComponent.class);
+  private final Family family = Family.all(HexComponent.class).get();
+  private final OrthographicCamera camera;
+  private final CullingManager cullingManager;
+  private final HexFieldMeshData data = new HexFieldMeshData();
+  // the component is already gone when an entity is removed, so remember which hex each entity drew.
+  private final ObjectLongMap<Entity> keys = new ObjectLongMap<>();
+  private final List<Mesh> fillMeshes = new ArrayList<>();
+  private final List<Mesh> outlineMeshes = new ArrayList<>();
+  private Engine engine;
+  private HexField hexField;
+  private ShaderProgram shader;
+  private boolean filled = true;
+  private boolean outlined = true;
+  private float defaultFillColor = Color.DARK_GRAY.toFloatBits();
+  private float defaultOutlineColor = Color.WHITE.toFloatBits();
+
+  /**
+   * Instantiates a new Hex field mesh renderer.
+   *
+   * @param camera         the camera
+   * @param cullingManager the culling manager
+   */
+  @Inject
+  public HexFieldMeshRenderer(final OrthographicCamera camera,
+                              final CullingManager cullingManager) {
+    super(Priorities.BACKGROUND_LAYER1.priority());
+    this.camera = camera;
+    this.cullingManager = cullingManager;
+    LOGGER.debug("HexFieldMeshRenderer()");
+  }
+
+  /**
+   * The mesh data, for inspection.
+   *
+   * @return the hex field mesh data
+   */
+  public HexFieldMeshData data() {
+    return data;
+  }
+
+  /**
+   * Draws only the entities of the field, or every hex entity if null.
+   *
+   * @param hexField the hex field
+   * @return this
+   */
+  public HexFieldMeshRenderer setHexField(final HexField hexField) {
+    this.hexField = hexField;
+    data.clear();
+    keys.clear();
+    if (engine != null) {
+      for (Entity entity : engine.getEntitiesFor(family)) {
+        entityAdded(entity);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Sets if the hexes are filled.
+   *
+   * @param filled the filled
+   * @return this
+   */
+  public HexFieldMeshRenderer setFilled(final boolean filled) {
+    this.filled = filled;
+    return this;
+  }
+
+  /**
+   * Sets if the hexes are outlined.
+   *
+   * @param outlined the outlined
+   * @return this
+   */
+  public HexFieldMeshRenderer setOutlined(final boolean outlined) {
+    this.outlined = outlined;
+    return this;
+  }
+
+  /**
+   * Colors used for hexes added from now on.
+   *
+   * @param fill    the fill
+   * @param outline the outline
+   * @return this
+   */
+  public HexFieldMeshRenderer setDefaultColors(final Color fill, final Color outline) {
+    this.defaultFillColor = fill.toFloatBits();
+    this.defaultOutlineColor = outline.toFloatBits();
+    return this;
+  }
+
+  /**
+   * Sets the fill color of a hex. Only that hex is uploaded on the next frame.
+   *
+   * @param hex   the hex
+   * @param color the color
+   * @return false if the hex is not being drawn.
+   */
+  public boolean setFillColor(final Hex hex, final Color color) {
+    return data.setFillColor(HexKey.pack(hex), color.toFloatBits());
+  }
+
+  /**
+   * Sets the outline color of a hex. Only that hex is uploaded on the next frame.
+   *
+   * @param hex   the hex
+   * @param color the color
+   * @return false if the hex is not being drawn.
+   */
+  public boolean setOutlineColor(final Hex hex, final Color color) {
+    return data.setOutlineColor(HexKey.pack(hex), color.toFloatBits());
+  }
+
+  @Override
+  public void addedToEngine(final Engine engine) {
+    super.addedToEngine(engine);
+    this.engine = engine;
+    engine.addEntityListener(family, this);
+    for (Entity entity : engine.getEntitiesFor(family)) {
+      entityAdded(entity);
+    }
+  }
+
+  @Override
+  public void removedFromEngine(final Engine engine) {
+    engine.removeEntityListener(this);
+    data.clear();
+    keys.clear();
+    this.engine = null;
+    super.removedFromEngine(engine);
+  }
+
+  @Override
+  public void entityAdded(final Entity entity) {
+    final HexComponent component = hm.get(entity);
+    final Hex hex = component.hex();
+    if (hex == null || component.geometry() == null) {
+      return;
+    }
+    if (hexField != null && hexField.entityAt(hex.q(), hex.r()) != entity) {
+      return;
+    }
+    final long key = HexKey.pack(hex);
+    if (data.contains(key)) { // another entity already draws this hex.
+      return;
+    }
+    data.add(key, component.getOriginX(), component.getOriginY(),
+        component.geometry(), defaultFillColor, defaultOutlineColor);
+    keys.put(entity, key);
+  }
+
+  @Override
+  public void entityRemoved(final Entity entity) {
+    if (keys.containsKey(entity)) {
+      data.remove(keys.remove(entity, 0L));
+    }
+  }
+
+  @Override
+  public void update(final float deltaTime) {
+    if (data.size() == 0 || !(filled || outlined)) {
+      return;
+    }
+    upload();
+    Gdx.gl.glEnable(GL20.GL_BLEND);
+    Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+    shader.bind();
+    shader.setUniformMatrix("u_projTrans", camera.combined);
+    for (int chunk = 0; chunk < data.chunkCount(); chunk++) {
+      final int hexes = data.hexCount(chunk);
+      if (hexes == 0 || !isVisible(chunk)) {
+        continue;
+      }
+      if (filled) {
+        fillMeshes.get(chunk).render(shader, GL20.GL_TRIANGLES, 0, hexes * HexFieldMeshData.FILL_INDICES_PER_HEX);
+      }
+      if (outlined) {
+        outlineMeshes.get(chunk).render(shader, GL20.GL_LINES, 0, hexes * HexFieldMeshData.OUTLINE_INDICES_PER_HEX);
+      }
+    }
+    Gdx.gl.glDisable(GL20.GL_BLEND);
+  }
+
+  private boolean isVisible(final int chunk) {
+    return cullingManager.isVisible(data.minX(chunk), data.minY(chunk),
+        data.maxX(chunk) - data.minX(chunk), data.maxY(chunk) - data.minY(chunk));
+  }
+
+  /**
+   * Creates meshes for new chunks and sends the dirty ranges of the rest.
+   */
+  private void upload() {
+    if (shader == null) {
+      shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+      if (!shader.isCompiled()) {
+        throw new GdxRuntimeException("Hex field shader failed: " + shader.getLog());
+      }
+    }
+    final int fillFloats = HexFieldMeshData.FILL_VERTICES_PER_HEX * HexFieldMeshData.FLOATS_PER_VERTEX;
+    final int outlineFloats = HexFieldMeshData.OUTLINE_VERTICES_PER_HEX * HexFieldMeshData.FLOATS_PER_VERTEX;
+    for (int chunk = 0; chunk < data.chunkCount(); chunk++) {
+      if (chunk == fillMeshes.size()) {
+        fillMeshes.add(mesh(data.hexesPerChunk() * HexFieldMeshData.FILL_VERTICES_PER_HEX, data.fillIndices()));
+        outlineMeshes.add(mesh(data.hexesPerChunk() * HexFieldMeshData.OUTLINE_VERTICES_PER_HEX, data.outlineIndices()));
+        fillMeshes.get(chunk).setVertices(data.fillVertices(chunk));
+        outlineMeshes.get(chunk).setVertices(data.outlineVertices(chunk));
+      } else if (data.dirtyStart(chunk) >= 0) {
+        final int start = data.dirtyStart(chunk);
+        final int count = data.dirtyEnd(chunk) - start;
+        fillMeshes.get(chunk).updateVertices(start * fillFloats, data.fillVertices(chunk),
+            start * fillFloats, count * fillFloats);
+        outlineMeshes.get(chunk).updateVertices(start * outlineFloats, data.outlineVertices(chunk),
+            start * outlineFloats, count * outlineFloats);
+      }
+      data.clearDirty(chunk);
+    }
+  }
+
+  private Mesh mesh(final int vertices, final short[] indices) {
+    final Mesh mesh = new Mesh(true, vertices, indices.length,
+        new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+        VertexAttribute.ColorPacked());
+    mesh.setIndices(indices);
+    return mesh;
+  }
+
+  @Override
+  public void dispose() {
+    fillMeshes.forEach(Mesh::dispose);
+    outlineMeshes.forEach(Mesh::dispose);
+    fillMeshes.clear();
+    outlineMeshes.clear();
+    if (shader != null) {
+      shader.dispose();
+      shader = null;
+    }
+  }
+}
@@ -27,11 +27,13 @@ import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.utils.Logger;
 import com.codeheadsystems.gamelib.entity.entitysystem.Priorities;
 import com.codeheadsystems.gamelib.hex.component.HexComponent;
+import com.codeheadsystems.gamelib.hex.manager.HexCullingManager;
+import com.codeheadsystems.gamelib.hex.model.HexGeometry;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 /**
- * The type Hex shape renderer.
+ * The type Hex shape renderer. Hexes outside the camera view are skipped.
  */
 @Singleton
 public class HexShapeRenderer extends IteratingSystem {
@@ -39,16 +41,21 @@ public class HexShapeRenderer extends IteratingSystem {
   private static final Logger LOGGER = logger(HexShapeRenderer.class);
   private final ComponentMapper<HexComponent> hm = ComponentMapper.getFor(HexComponent.class);
   private final ShapeRenderer shapeRenderer;
+  private final HexCullingManager hexCullingManager;
+  private final float[] vertices = new float[HexGeometry.VERTEX_FLOATS];
 
   /**
    * Instantiates a new Hex shape renderer.
    *
-   * @param shapeRenderer the shape renderer
+   * @param shapeRenderer     the shape renderer
+   * @param hexCullingManager the hex culling manager
    */
   @Inject
-  public HexShapeRenderer(final ShapeRenderer shapeRenderer) {
+  public HexShapeRenderer(final ShapeRenderer shapeRenderer,
+                          final HexCullingManager hexCullingManager) {
     super(Family.all(HexComponent.class).get(), Priorities.BACKGROUND_LAYER1.priority());
     this.shapeRenderer = shapeRenderer;
+    this.hexCullingManager = hexCullingManager;
     LOGGER.debug("HexShapeRenderer()");
   }
 
@@ -62,7 +69,10 @@ public class HexShapeRenderer extends IteratingSystem {
   @Override
   protected void processEntity(final Entity entity,
                                final float deltaTime) {
-    shapeRenderer.polygon(hm.get(entity).vertices());
+    final HexComponent hexComponent = hm.get(entity);
+    if (hexCullingManager.isVisible(hexComponent)) {
+      shapeRenderer.polygon(hexComponent.vertices(vertices));
+    }
   }
 
   /**
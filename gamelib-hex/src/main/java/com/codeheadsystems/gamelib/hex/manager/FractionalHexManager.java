@@ -20,7 +20,7 @@ package com.codeheadsystems.gamelib.hex.manager;
 import static com.codeheadsystems.gamelib.core.util.LoggerHelper.logger;
 
 import com.badlogic.gdx.utils.Logger;
-import com.codeheadsystems.gamelib.core.util.PoolerImpl;
+import com.codeheadsystems.gamelib.core.util.ConcurrentPoolerImpl;
 import com.codeheadsystems.gamelib.hex.model.FractionalHex;
 import com.codeheadsystems.gamelib.hex.model.Hex;
 import java.util.List;
@@ -33,7 +33,7 @@ import javax.inject.Singleton;
  * The type Fractional hex manager.
  */
 @Singleton
-public class FractionalHexManager extends PoolerImpl<FractionalHex> {
+public class FractionalHexManager extends ConcurrentPoolerImpl<FractionalHex> {
 
   private static final Logger LOGGER = logger(FractionalHexManager.class);
   private final HexManager hexManager;
@@ -98,6 +98,39 @@ public class FractionalHexManager extends PoolerImpl<FractionalHex> {
     return result;
   }
 
+  /**
+   * Rounds a batch of fractional coordinates to hexes, same rule as hexRound(FractionalHex) but in float and
+   * with no objects. Written as a single branch free pass over the arrays so the JIT can vectorize it.
+   *
+   * @param q     the fractional q values
+   * @param r     the fractional r values
+   * @param outQ  receives the rounded q values, may be the same size as q.
+   * @param outR  receives the rounded r values.
+   * @param count how many to round, starting from index 0.
+   */
+  public void hexRound(final float[] q, final float[] r, final int[] outQ, final int[] outR, final int count) {
+    for (int i = 0; i < count; i++) {
+      final float fq = q[i];
+      final float fr = r[i];
+      final float fs = -fq - fr;
+      final int qi = Math.round(fq);
+      final int ri = Math.round(fr);
+      final int si = Math.round(fs);
+      final float qDiff = Math.abs(qi - fq);
+      final float rDiff = Math.abs(ri - fr);
+      final float sDiff = Math.abs(si - fs);
+      // all ones when the first diff is the larger, from the sign bit of the subtraction. Random input makes
+      // real branches here mispredict about half the time.
+      final int qOverR = Float.floatToRawIntBits(rDiff - qDiff) >> 31;
+      final int qOverS = Float.floatToRawIntBits(sDiff - qDiff) >> 31;
+      final int rOverS = Float.floatToRawIntBits(sDiff - rDiff) >> 31;
+      final int fixQ = qOverR & qOverS;
+      final int fixR = ~fixQ & rOverS;
+      outQ[i] = qi ^ ((qi ^ (-ri - si)) & fixQ);
+      outR[i] = ri ^ ((ri ^ (-qi - si)) & fixR);
+    }
+  }
+
   /**
    * Does not free old FractionalHex.
    *
@@ -0,0 +1,326 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.manager;
+
+import static com.codeheadsystems.gamelib.core.util.LoggerHelper.logger;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.utils.Logger;
+import com.codeheadsystems.gamelib.core.manager.CullingManager;
+import com.codeheadsystems.gamelib.entity.manager.EngineManager;
+import com.codeheadsystems.gamelib.hex.component.HexComponent;
+import com.codeheadsystems.gamelib.hex.model.Hex;
+import com.codeheadsystems.gamelib.hex.model.HexChunk;
+import com.codeheadsystems.gamelib.hex.model.HexChunkSource;
+import com.codeheadsystems.gamelib.hex.model.HexChunkWorld;
+import com.codeheadsystems.gamelib.hex.model.HexFieldConfiguration;
+import com.codeheadsystems.gamelib.hex.model.HexFieldLayout;
+import com.codeheadsystems.gamelib.hex.model.Layout;
+import com.codeheadsystems.gamelib.hex.model.OffsetCoord;
+import com.codeheadsystems.gamelib.hex.utilities.HexKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Streams a HexChunkWorld. Each update() works out which chunks are wanted (in view of the camera, or near a
+ * point of interest, plus the world's chunk radius), asks the source for the new ones on the loader thread,
+ * builds entities for a few of the loaded ones, and removes the entities of chunks that are no longer wanted.
+ * Memory stays proportional to what is around the camera, not to the size of the map. A chunk the source fails
+ * on is kept and loaded again after HexChunkWorld.retryUpdates(), waiting twice as long after each failure.
+ */
+@Singleton
+public class HexChunkWorldManager {
+
+  private static final Logger LOGGER = logger(HexChunkWorldManager.class);
+  private static final int MAX_RETRY_SHIFT = 6;
+
+  private final EngineManager engineManager;
+  private final HexManager hexManager;
+  private final LayoutManager layoutManager;
+  private final HexFieldLayoutManager hexFieldLayoutManager;
+  private final CullingManager cullingManager;
+  private final float[] cornerX = new float[4];
+  private final float[] cornerY = new float[4];
+  private final float[] cornerQ = new float[4];
+  private final float[] cornerR = new float[4];
+  // streaming state of each world, only touched on the render thread. Worlds that are dropped without a
+  // release() are not kept alive by it.
+  private final Map<HexChunkWorld, Stream> streams = new WeakHashMap<>();
+  private final List<HexChunk> unwanted = new ArrayList<>();
+  private ExecutorService loader;
+
+  /**
+   * Instantiates a new Hex chunk world manager.
+   *
+   * @param engineManager         the engine manager
+   * @param hexManager            the hex manager
+   * @param layoutManager         the layout manager
+   * @param hexFieldLayoutManager the hex field layout manager
+   * @param cullingManager        the culling manager
+   */
+  @Inject
+  public HexChunkWorldManager(final EngineManager engineManager,
+                              final HexManager hexManager,
+                              final LayoutManager layoutManager,
+                              final HexFieldLayoutManager hexFieldLayoutManager,
+                              final CullingManager cullingManager) {
+    this.engineManager = engineManager;
+    this.hexManager = hexManager;
+    this.layoutManager = layoutManager;
+    this.hexFieldLayoutManager = hexFieldLayoutManager;
+    this.cullingManager = cullingManager;
+    LOGGER.debug("HexChunkWorldManager()");
+  }
+
+  /**
+   * Creates a world that loads its chunks on a shared background thread. Nothing is loaded until update().
+   *
+   * @param configuration the size of the whole world
+   * @param chunkSize     hexes along each side of a chunk
+   * @param source        where chunk data comes from
+   * @param components    extra components for each hex entity
+   * @return the hex chunk world
+   */
+  public HexChunkWorld create(final HexFieldConfiguration configuration,
+                              final int chunkSize,
+                              final HexChunkSource source,
+                              final HexChunkWorld.Components components) {
+    return create(configuration, chunkSize, source, components, loader());
+  }
+
+  /**
+   * Creates a world that loads its chunks with the executor. Nothing is loaded until update().
+   *
+   * @param configuration the size of the whole world
+   * @param chunkSize     hexes along each side of a chunk
+   * @param source        where chunk data comes from
+   * @param components    extra components for each hex entity
+   * @param executor      runs the source
+   * @return the hex chunk world
+   */
+  public HexChunkWorld create(final HexFieldConfiguration configuration,
+                              final int chunkSize,
+                              final HexChunkSource source,
+                              final HexChunkWorld.Components components,
+                              final Executor executor) {
+    final HexFieldLayout hexFieldLayout = hexFieldLayoutManager.obtain(configuration);
+    return new HexChunkWorld(hexFieldLayout, chunkSize, source, components, executor);
+  }
+
+  /**
+   * Streams the world for this frame. Call it once per frame, after the camera moved.
+   *
+   * @param world the world
+   */
+  public void update(final HexChunkWorld world) {
+    final Stream stream = stream(world);
+    final long update = ++stream.updates;
+    if (world.isFollowCamera()) {
+      wantCamera(world, stream, update);
+    }
+    for (int i = 0; i < world.interestCount(); i++) {
+      final long key = world.interest(i);
+      final int col = HexKey.q(key);
+      final int row = OffsetCoordManager.qoffsetRow(OffsetCoord.Offset.ODD, col, HexKey.r(key));
+      want(world, stream, col, row, col, row, update);
+    }
+    world.chunks().forEach((chunkCol, chunkRow, chunk) -> {
+      if (chunk.wantedUpdate() != update) {
+        unwanted.add(chunk);
+      }
+    });
+    for (HexChunk chunk : unwanted) {
+      world.chunks().remove(chunk.chunkCol(), chunk.chunkRow());
+      drop(world, chunk);
+    }
+    unwanted.clear();
+    int built = 0;
+    HexChunk chunk;
+    while (built < world.maxBuildsPerUpdate() && (chunk = stream.loaded.poll()) != null) {
+      if (chunk.isCancelled()) {
+        world.pool().free(chunk);
+      } else if (chunk.isFailed()) {
+        // stays in chunks() so it is not asked for again until the wait is over.
+        final int shift = Math.min(chunk.failures(), MAX_RETRY_SHIFT);
+        chunk.retryAt(update + ((long) world.retryUpdates() << shift));
+      } else {
+        activate(world, chunk);
+        built++;
+      }
+    }
+  }
+
+  /**
+   * Removes every entity of the world and frees its layout. Chunks still loading are dropped when done.
+   *
+   * @param world the world
+   */
+  public void release(final HexChunkWorld world) {
+    world.chunks().forEach((chunkCol, chunkRow, chunk) -> unwanted.add(chunk));
+    for (HexChunk chunk : unwanted) {
+      drop(world, chunk);
+    }
+    unwanted.clear();
+    world.chunks().clear();
+    streams.remove(world);
+    hexFieldLayoutManager.free(world.getHexFieldLayout());
+  }
+
+  private Stream stream(final HexChunkWorld world) {
+    return streams.computeIfAbsent(world, w -> new Stream());
+  }
+
+  private void drop(final HexChunkWorld world, final HexChunk chunk) {
+    if (chunk.isActive()) {
+      deactivate(world, chunk);
+    } else if (chunk.retryUpdate() > 0) {
+      world.pool().free(chunk); // failed and waiting, the loader no longer has it.
+    } else {
+      chunk.setCancelled(true); // still loading, freed when the loader hands it back.
+    }
+  }
+
+  private void wantCamera(final HexChunkWorld world, final Stream stream, final long update) {
+    cornerX[0] = cullingManager.minX();
+    cornerY[0] = cullingManager.minY();
+    cornerX[1] = cullingManager.maxX();
+    cornerY[1] = cullingManager.minY();
+    cornerX[2] = cullingManager.minX();
+    cornerY[2] = cullingManager.maxY();
+    cornerX[3] = cullingManager.maxX();
+    cornerY[3] = cullingManager.maxY();
+    layoutManager.pixelToHex(world.getHexFieldLayout().layout(), cornerX, cornerY, cornerQ, cornerR, 4);
+    int minCol = Integer.MAX_VALUE;
+    int maxCol = Integer.MIN_VALUE;
+    int minRow = Integer.MAX_VALUE;
+    int maxRow = Integer.MIN_VALUE;
+    for (int i = 0; i < 4; i++) {
+      final long key = HexKey.round(cornerQ[i], cornerR[i]);
+      final int col = HexKey.q(key);
+      final int row = OffsetCoordManager.qoffsetRow(OffsetCoord.Offset.ODD, col, HexKey.r(key));
+      minCol = Math.min(minCol, col);
+      maxCol = Math.max(maxCol, col);
+      minRow = Math.min(minRow, row);
+      maxRow = Math.max(maxRow, row);
+    }
+    // a hex past the corner in the next column can still poke into view.
+    want(world, stream, minCol - 1, minRow - 1, maxCol + 1, maxRow + 1, update);
+  }
+
+  /**
+   * Marks the chunks covering the cols and rows, grown by the chunk radius, as wanted, and starts loading
+   * the ones that are new or whose wait after a failure is over.
+   */
+  private void want(final HexChunkWorld world,
+                    final Stream stream,
+                    final int minCol, final int minRow,
+                    final int maxCol, final int maxRow,
+                    final long update) {
+    final int size = world.chunkSize();
+    final int radius = world.chunkRadius();
+    final int lowCol = Math.max(Math.floorDiv(minCol, size) - radius, 0);
+    final int highCol = Math.min(Math.floorDiv(maxCol, size) + radius, world.chunkCols() - 1);
+    final int lowRow = Math.max(Math.floorDiv(minRow, size) - radius, 0);
+    final int highRow = Math.min(Math.floorDiv(maxRow, size) + radius, world.chunkRows() - 1);
+    for (int chunkCol = lowCol; chunkCol <= highCol; chunkCol++) {
+      for (int chunkRow = lowRow; chunkRow <= highRow; chunkRow++) {
+        HexChunk chunk = world.chunks().get(chunkCol, chunkRow);
+        if (chunk == null) {
+          chunk = world.pool().obtain().set(chunkCol, chunkRow,
+              world.getHexFieldLayout().cols(), world.getHexFieldLayout().rows());
+          world.chunks().put(chunkCol, chunkRow, chunk);
+          load(world, stream, chunk);
+        } else if (chunk.retryUpdate() > 0 && update >= chunk.retryUpdate()) {
+          load(world, stream, chunk.retry());
+        }
+        chunk.setWantedUpdate(update);
+      }
+    }
+  }
+
+  private void load(final HexChunkWorld world, final Stream stream, final HexChunk chunk) {
+    final Queue<HexChunk> loaded = stream.loaded;
+    world.executor().execute(() -> {
+      try {
+        world.source().load(chunk);
+      } catch (RuntimeException e) {
+        LOGGER.error("Unable to load chunk " + chunk.chunkCol() + "," + chunk.chunkRow(), e);
+        chunk.setFailed(true);
+      }
+      loaded.add(chunk);
+    });
+  }
+
+  private void activate(final HexChunkWorld world, final HexChunk chunk) {
+    final Layout layout = world.getHexFieldLayout().layout();
+    for (int localCol = 0; localCol < chunk.cols(); localCol++) {
+      final int q = chunk.q(localCol);
+      for (int localRow = 0; localRow < chunk.rows(); localRow++) {
+        final int r = chunk.r(localCol, localRow);
+        final Hex hex = hexManager.obtain().set(q, r, -q - r);
+        final HexComponent hexComponent = engineManager.createComponent(HexComponent.class)
+            .initialize(hex, layout, layoutManager);
+        final Entity entity = engineManager.createEntity().add(hexComponent);
+        world.components().components(hexComponent, chunk.value(localCol, localRow)).forEach(entity::add);
+        engineManager.addEntity(entity);
+        chunk.setEntity(localCol, localRow, entity);
+      }
+    }
+    chunk.setActive(true);
+  }
+
+  private void deactivate(final HexChunkWorld world, final HexChunk chunk) {
+    for (int localCol = 0; localCol < chunk.cols(); localCol++) {
+      for (int localRow = 0; localRow < chunk.rows(); localRow++) {
+        final Entity entity = chunk.entity(localCol, localRow);
+        final Hex hex = entity.getComponent(HexComponent.class).hex();
+        engineManager.removeEntity(entity);
+        hexManager.free(hex);
+      }
+    }
+    world.pool().free(chunk);
+  }
+
+  private synchronized ExecutorService loader() {
+    if (loader == null) {
+      loader = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "hex-chunk-loader");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    return loader;
+  }
+
+  /**
+   * Chunks the source has finished with, and the update count used to mark which chunks are still wanted.
+   */
+  private static class Stream {
+    private final Queue<HexChunk> loaded = new ConcurrentLinkedQueue<>();
+    private long updates;
+  }
+}
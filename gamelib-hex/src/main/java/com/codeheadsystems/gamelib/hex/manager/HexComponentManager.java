@@ -22,10 +22,11 @@ import static com.codeheadsystems.gamelib.core.util.LoggerHelper.logger;
 import com.badlogic.gdx.utils.Logger;
 import com.codeheadsystems.gamelib.core.util.Pooler;
 import com.codeheadsystems.gamelib.hex.component.HexComponent;
+import com.codeheadsystems.gamelib.hex.model.HexFieldCoordinates;
 import com.codeheadsystems.gamelib.hex.model.HexFieldLayout;
 import com.codeheadsystems.gamelib.hex.model.Layout;
+import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -67,7 +68,8 @@ public class HexComponentManager {
   }
 
   /**
-   * Generate set.
+   * Generate set. The coordinates are worked out in parallel first, then the hexes and components are taken
+   * from the pools on this thread.
    *
    * @param cols   the cols
    * @param rows   the rows
@@ -75,10 +77,24 @@ public class HexComponentManager {
    * @return the set
    */
   public Set<HexComponent> generate(final int cols, final int rows, final Layout layout) {
-    return hexManager.generate(cols, rows)
-        .stream()
-        .map(h -> pool.obtain().initialize(h, layout, layoutManager))
-        .collect(Collectors.toSet());
+    return generate(layoutManager.coordinates(layout, cols, rows));
+  }
+
+  /**
+   * Generate set from coordinates already worked out, which can be done off the render thread.
+   *
+   * @param coordinates the coordinates
+   * @return the set
+   */
+  public Set<HexComponent> generate(final HexFieldCoordinates coordinates) {
+    final Set<HexComponent> field = new HashSet<>(coordinates.size() * 4 / 3 + 1);
+    for (int index = 0; index < coordinates.size(); index++) {
+      final int q = coordinates.q(index);
+      final int r = coordinates.r(index);
+      field.add(pool.obtain().initialize(hexManager.obtain().set(q, r, -q - r),
+          coordinates.geometry(), coordinates.x(index), coordinates.y(index)));
+    }
+    return field;
   }
 
   /**
@@ -0,0 +1,232 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.manager;
+
+import static com.codeheadsystems.gamelib.core.util.LoggerHelper.logger;
+
+import com.badlogic.gdx.utils.Logger;
+import com.codeheadsystems.gamelib.core.manager.CullingManager;
+import com.codeheadsystems.gamelib.hex.component.HexComponent;
+import com.codeheadsystems.gamelib.hex.model.HexFieldLayout;
+import com.codeheadsystems.gamelib.hex.model.HexGeometry;
+import com.codeheadsystems.gamelib.hex.model.HexGrid;
+import com.codeheadsystems.gamelib.hex.model.Layout;
+import com.codeheadsystems.gamelib.hex.model.OffsetCoord;
+import com.codeheadsystems.gamelib.hex.utilities.IntIntConsumer;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Camera culling for hexes. The view corners are turned into hex coordinates, which bounds the columns that
+ * can be seen, and each column is then trimmed to the rows whose hex overlaps the view. Walking a huge field
+ * this way costs only as much as the hexes on screen.
+ */
+@Singleton
+public class HexCullingManager {
+
+  private static final Logger LOGGER = logger(HexCullingManager.class);
+
+  private final CullingManager cullingManager;
+  private final LayoutManager layoutManager;
+  private final ThreadLocal<VisibleRange> ranges = ThreadLocal.withInitial(VisibleRange::new);
+
+  /**
+   * Instantiates a new Hex culling manager.
+   *
+   * @param cullingManager the culling manager
+   * @param layoutManager  the layout manager
+   */
+  @Inject
+  public HexCullingManager(final CullingManager cullingManager,
+                           final LayoutManager layoutManager) {
+    this.cullingManager = cullingManager;
+    this.layoutManager = layoutManager;
+    LOGGER.debug("HexCullingManager()");
+  }
+
+  /**
+   * True if any of the hex's bounding box is in view.
+   *
+   * @param hexComponent the hex component
+   * @return the boolean
+   */
+  public boolean isVisible(final HexComponent hexComponent) {
+    final HexGeometry geometry = hexComponent.geometry();
+    return geometry != null && cullingManager.isVisibleAround(hexComponent.getOriginX(),
+        hexComponent.getOriginY(), geometry.width() * 0.5f, geometry.height() * 0.5f);
+  }
+
+  /**
+   * Visits every hex in view, with no field bounds. Creates no hexes.
+   *
+   * @param layout   the layout
+   * @param consumer the consumer
+   */
+  public void forEachVisible(final Layout layout,
+                             final IntIntConsumer consumer) {
+    final VisibleRange range = range(layout);
+    for (int q = range.qLow; q <= range.qHigh; q++) {
+      final int high = range.rHigh(q);
+      for (int r = range.rLow(q); r <= high; r++) {
+        consumer.accept(q, r);
+      }
+    }
+  }
+
+  /**
+   * Visits every hex in view that is inside the generated field.
+   *
+   * @param layout         the layout
+   * @param hexFieldLayout the hex field layout
+   * @param consumer       the consumer
+   */
+  public void forEachVisible(final Layout layout,
+                             final HexFieldLayout hexFieldLayout,
+                             final IntIntConsumer consumer) {
+    final VisibleRange range = range(layout);
+    final int lastRow = hexFieldLayout.rows() - 1;
+    final int qHigh = Math.min(range.qHigh, hexFieldLayout.cols() - 1);
+    for (int q = Math.max(range.qLow, 0); q <= qHigh; q++) {
+      final int low = Math.max(range.rLow(q), OffsetCoordManager.qoffsetR(OffsetCoord.Offset.ODD, q, 0));
+      final int high = Math.min(range.rHigh(q), OffsetCoordManager.qoffsetR(OffsetCoord.Offset.ODD, q, lastRow));
+      for (int r = low; r <= high; r++) {
+        consumer.accept(q, r);
+      }
+    }
+  }
+
+  /**
+   * Visits every hex of the grid that is in view, including the ones with no value.
+   *
+   * @param <T>     the value type
+   * @param layout  the layout
+   * @param grid    the grid
+   * @param visitor the visitor
+   */
+  public <T> void forEachVisible(final Layout layout,
+                                 final HexGrid<T> grid,
+                                 final HexGrid.Visitor<T> visitor) {
+    final VisibleRange range = range(layout);
+    final int lastRow = grid.rows() - 1;
+    final int qHigh = Math.min(range.qHigh, grid.cols() - 1);
+    for (int q = Math.max(range.qLow, 0); q <= qHigh; q++) {
+      final int low = Math.max(range.rLow(q), OffsetCoordManager.qoffsetR(grid.offset(), q, 0));
+      final int high = Math.min(range.rHigh(q), OffsetCoordManager.qoffsetR(grid.offset(), q, lastRow));
+      for (int r = low; r <= high; r++) {
+        final int index = grid.index(q, r);
+        visitor.visit(index, q, r, grid.get(index));
+      }
+    }
+  }
+
+  private VisibleRange range(final Layout layout) {
+    final VisibleRange range = ranges.get();
+    final HexGeometry geometry = layoutManager.geometry(layout);
+    // a hex is in view when its center is in the view grown by half a hex.
+    final float minX = cullingManager.minX() - geometry.width() * 0.5f;
+    final float maxX = cullingManager.maxX() + geometry.width() * 0.5f;
+    final float minY = cullingManager.minY() - geometry.height() * 0.5f;
+    final float maxY = cullingManager.maxY() + geometry.height() * 0.5f;
+    range.x[0] = minX;
+    range.y[0] = minY;
+    range.x[1] = maxX;
+    range.y[1] = minY;
+    range.x[2] = minX;
+    range.y[2] = maxY;
+    range.x[3] = maxX;
+    range.y[3] = maxY;
+    layoutManager.pixelToHex(layout, range.x, range.y, range.q, range.r, 4);
+    float qLow = range.q[0];
+    float qHigh = range.q[0];
+    for (int i = 1; i < 4; i++) {
+      qLow = Math.min(qLow, range.q[i]);
+      qHigh = Math.max(qHigh, range.q[i]);
+    }
+    range.qLow = (int) Math.ceil(qLow);
+    range.qHigh = (int) Math.floor(qHigh);
+    range.minX = minX;
+    range.maxX = maxX;
+    range.minY = minY;
+    range.maxY = maxY;
+    range.originX = layout.origin().x;
+    range.originY = layout.origin().y;
+    range.xq = layout.size().x * layout.orientation().f0();
+    range.xr = layout.size().x * layout.orientation().f1();
+    range.yq = layout.size().y * layout.orientation().f2();
+    range.yr = layout.size().y * layout.orientation().f3();
+    return range;
+  }
+
+  /**
+   * Per thread scratch holding the visible columns, and the hexToPixel terms to trim each column with. A center
+   * is x = originX + xq * q + xr * r, y = originY + yq * q + yr * r.
+   */
+  private static class VisibleRange {
+
+    private final float[] x = new float[4];
+    private final float[] y = new float[4];
+    private final float[] q = new float[4];
+    private final float[] r = new float[4];
+    private int qLow;
+    private int qHigh;
+    private float minX;
+    private float maxX;
+    private float minY;
+    private float maxY;
+    private float originX;
+    private float originY;
+    private float xq;
+    private float xr;
+    private float yq;
+    private float yr;
+
+    private int rLow(final int column) {
+      final float low = Math.max(
+          low(minX, maxX, originX + xq * column, xr),
+          low(minY, maxY, originY + yq * column, yr));
+      return (int) Math.ceil(low);
+    }
+
+    private int rHigh(final int column) {
+      final float high = Math.min(
+          high(minX, maxX, originX + xq * column, xr),
+          high(minY, maxY, originY + yq * column, yr));
+      return (int) Math.floor(high);
+    }
+
+    /**
+     * Smallest r with min <= base + step * r <= max.
+     */
+    private static float low(final float min, final float max, final float base, final float step) {
+      if (step == 0f) {
+        return base >= min && base <= max ? Float.NEGATIVE_INFINITY : Float.POSITIVE_INFINITY;
+      }
+      return step > 0f ? (min - base) / step : (max - base) / step;
+    }
+
+    /**
+     * Largest r with min <= base + step * r <= max.
+     */
+    private static float high(final float min, final float max, final float base, final float step) {
+      if (step == 0f) {
+        return base >= min && base <= max ? Float.POSITIVE_INFINITY : Float.NEGATIVE_INFINITY;
+      }
+      return step > 0f ? (max - base) / step : (min - base) / step;
+    }
+  }
+}
@@ -21,28 +21,33 @@ import static com.codeheadsystems.gamelib.core.util.LoggerHelper.logger;
 
 import com.badlogic.ashley.core.Component;
 import com.badlogic.ashley.core.Entity;
-import com.badlogic.ashley.core.Family;
 import com.badlogic.gdx.utils.Logger;
 import com.codeheadsystems.gamelib.core.util.Pooler;
 import com.codeheadsystems.gamelib.entity.manager.EngineManager;
 import com.codeheadsystems.gamelib.hex.component.HexComponent;
+import com.codeheadsystems.gamelib.hex.model.Hex;
 import com.codeheadsystems.gamelib.hex.model.HexField;
 import com.codeheadsystems.gamelib.hex.model.HexFieldConfiguration;
+import com.codeheadsystems.gamelib.hex.model.HexFieldCoordinates;
 import com.codeheadsystems.gamelib.hex.model.HexFieldLayout;
+import com.codeheadsystems.gamelib.hex.model.HexFieldRelease;
+import com.codeheadsystems.gamelib.hex.model.HexGrid;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 /**
- * Provides a way to generate a hex field and manage it from within an entity system.
+ * Provides a way to generate a hex field and manage it from within an entity system. Release fields outside of
+ * engine.update(): removals made during the update are deferred, but the hexes would be freed right away.
  */
 @Singleton
 public class HexFieldEntityManager {
 
   private static final Logger LOGGER = logger(HexFieldEntityManager.class);
-  private static final Family HEXS = Family.all(HexComponent.class).get();
+  // How many entities releaseFor() removes between looks at the clock.
+  private static final int ENTITIES_PER_CLOCK_CHECK = 64;
   private final EngineManager engineManager;
   private final HexManager hexManager;
   private final LayoutManager layoutManager;
@@ -75,7 +80,8 @@ public class HexFieldEntityManager {
   }
 
   /**
-   * Generate hex field.
+   * Generate hex field. The coordinates are worked out in parallel first, then the components and entities
+   * are created on this thread since the engine's pools are not thread safe.
    *
    * @param configuration        the configuration
    * @param additionalComponents the additional components
@@ -84,18 +90,57 @@ public class HexFieldEntityManager {
   public HexField generate(final HexFieldConfiguration configuration,
                            final Function<HexComponent, Set<Component>> additionalComponents) {
     final HexFieldLayout hexFieldLayout = hexFieldLayoutManager.obtain(configuration);
-    final Set<Entity> entities = hexManager.generate(hexFieldLayout.cols(), hexFieldLayout.rows())
-        .stream()
-        .map(h -> engineManager.createComponent(HexComponent.class)
-            .initialize(h, hexFieldLayout.layout(), layoutManager))
-        .map(hexComponent -> createEntity(hexComponent, additionalComponents))
-        .collect(Collectors.toSet());
-    entities.forEach(engineManager::addEntity);
+    final HexFieldCoordinates coordinates = coordinates(hexFieldLayout);
+    final Set<Entity> entities = new HashSet<>(coordinates.size() * 4 / 3 + 1);
+    for (int index = 0; index < coordinates.size(); index++) {
+      final Entity entity = createEntity(coordinates, index, additionalComponents);
+      engineManager.addEntity(entity);
+      entities.add(entity);
+    }
     return pool.obtain()
-        .setHexEntityHashMap(hexFieldSearchManager.hexEntityHashMap(entities))
+        .setHexEntityMap(hexFieldSearchManager.hexEntityMap(entities))
         .setHexFieldLayout(hexFieldLayout);
   }
 
+  /**
+   * Generate hex field backed by a dense HexGrid rather than a hash map. The entities are the same as
+   * generate(), but lookups are array indexes and no per-hex map entries are created.
+   *
+   * @param configuration        the configuration
+   * @param additionalComponents the additional components
+   * @return the hex field
+   */
+  public HexField generateGrid(final HexFieldConfiguration configuration,
+                               final Function<HexComponent, Set<Component>> additionalComponents) {
+    final HexFieldLayout hexFieldLayout = hexFieldLayoutManager.obtain(configuration);
+    final HexFieldCoordinates coordinates = coordinates(hexFieldLayout);
+    final HexGrid<Entity> grid = HexGrid.of(hexFieldLayout);
+    // the coordinates use the same index as the grid.
+    for (int index = 0; index < grid.size(); index++) {
+      final Entity entity = createEntity(coordinates, index, additionalComponents);
+      engineManager.addEntity(entity);
+      grid.set(index, entity);
+    }
+    return pool.obtain()
+        .setHexEntityGrid(grid)
+        .setHexFieldLayout(hexFieldLayout);
+  }
+
+  private HexFieldCoordinates coordinates(final HexFieldLayout hexFieldLayout) {
+    return layoutManager.coordinates(hexFieldLayout.layout(), hexFieldLayout.cols(), hexFieldLayout.rows());
+  }
+
+  private Entity createEntity(final HexFieldCoordinates coordinates,
+                              final int index,
+                              final Function<HexComponent, Set<Component>> additionalComponents) {
+    final int q = coordinates.q(index);
+    final int r = coordinates.r(index);
+    final Hex hex = hexManager.obtain().set(q, r, -q - r);
+    final HexComponent hexComponent = engineManager.createComponent(HexComponent.class)
+        .initialize(hex, coordinates.geometry(), coordinates.x(index), coordinates.y(index));
+    return createEntity(hexComponent, additionalComponents);
+  }
+
   private Entity createEntity(final HexComponent hexComponent,
                               final Function<HexComponent, Set<Component>> additionalComponents) {
     final Entity entity = engineManager.createEntity().add(hexComponent);
@@ -104,18 +149,79 @@ public class HexFieldEntityManager {
   }
 
   /**
-   * Release.
+   * Releases the field now, removing only its own entities from the engine.
    *
    * @param hexField the hex field
    */
   public void release(final HexField hexField) {
-    hexFieldLayoutManager.free(hexField.getHexFieldLayout()); // free the layout first.
-    engineManager.engine().getEntitiesFor(HEXS).forEach(e -> {
-      final HexComponent component = e.getComponent(HexComponent.class);
-      hexManager.free(component.hex());
-    });
-    engineManager.engine().removeAllEntities(HEXS); // We do this since freeing each hex entity individually can retain some due to delay.
+    release(beginRelease(hexField), Integer.MAX_VALUE);
+  }
+
+  /**
+   * Starts releasing the field over several frames. Call release(HexFieldRelease, int) or
+   * releaseFor(HexFieldRelease, long) each frame until it returns true. Do not use the field after this.
+   *
+   * @param hexField the hex field
+   * @return the release to drive.
+   */
+  public HexFieldRelease beginRelease(final HexField hexField) {
+    return new HexFieldRelease(hexField);
+  }
+
+  /**
+   * Removes up to maxEntities of the field's entities. Once the last one is gone the layout and field are freed.
+   *
+   * @param release     the release
+   * @param maxEntities the most entities to remove this call.
+   * @return true when the release is done.
+   */
+  public boolean release(final HexFieldRelease release, final int maxEntities) {
+    for (int i = 0; i < maxEntities && release.hasNext(); i++) {
+      releaseEntity(release.next());
+    }
+    return finishIfDone(release);
+  }
+
+  /**
+   * Removes the field's entities until the time budget runs out. The clock is only read every few entities, so
+   * the budget can be overrun by that many removals. Once the last one is gone the layout and field are freed.
+   *
+   * @param release     the release
+   * @param budgetNanos how long to spend this call.
+   * @return true when the release is done.
+   */
+  public boolean releaseFor(final HexFieldRelease release, final long budgetNanos) {
+    final long deadline = System.nanoTime() + budgetNanos;
+    do {
+      for (int i = 0; i < ENTITIES_PER_CLOCK_CHECK && release.hasNext(); i++) {
+        releaseEntity(release.next());
+      }
+    } while (release.hasNext() && System.nanoTime() - deadline < 0);
+    return finishIfDone(release);
+  }
+
+  private void releaseEntity(final Entity entity) {
+    // removing the entity resets its pooled component, so read the hex first and free it once it is detached.
+    final HexComponent component = entity.getComponent(HexComponent.class);
+    final Hex hex = component == null ? null : component.hex();
+    engineManager.removeEntity(entity);
+    if (hex != null) {
+      hexManager.free(hex);
+    }
+  }
+
+  private boolean finishIfDone(final HexFieldRelease release) {
+    if (release.isDone()) {
+      return true;
+    }
+    if (release.hasNext()) {
+      return false;
+    }
+    final HexField hexField = release.hexField();
+    hexFieldLayoutManager.free(hexField.getHexFieldLayout());
     pool.free(hexField);
+    release.finish();
+    return true;
   }
 
 }
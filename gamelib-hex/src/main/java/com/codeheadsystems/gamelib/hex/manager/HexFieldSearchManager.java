@@ -27,12 +27,12 @@ import com.badlogic.gdx.utils.Logger;
 import com.codeheadsystems.gamelib.hex.component.HexComponent;
 import com.codeheadsystems.gamelib.hex.model.Hex;
 import com.codeheadsystems.gamelib.hex.model.HexField;
+import com.codeheadsystems.gamelib.hex.model.HexObjectMap;
 import com.codeheadsystems.gamelib.hex.model.Layout;
-import java.util.Map;
+import com.codeheadsystems.gamelib.hex.utilities.HexKey;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -57,14 +57,17 @@ public class HexFieldSearchManager {
   }
 
   /**
-   * Hex entity hash map map.
+   * Hex entity map, keyed by the packed hex coordinate of each entity.
    *
    * @param entities the entities
    * @return the map
    */
-  public Map<Hex, Entity> hexEntityHashMap(final Set<Entity> entities) {
-    return entities.stream()
-        .collect(Collectors.toMap(this::hexForEntity, e -> e));
+  public HexObjectMap<Entity> hexEntityMap(final Set<Entity> entities) {
+    final HexObjectMap<Entity> map = new HexObjectMap<>(entities.size());
+    for (Entity entity : entities) {
+      map.put(hexForEntity(entity), entity);
+    }
+    return map;
   }
 
   /**
@@ -78,19 +81,16 @@ public class HexFieldSearchManager {
   }
 
   /**
-   * Provides a way to convert a point to a hex that can then be used for a search function.
+   * Converts a point to the packed coordinate of the hex it falls in. Nothing is obtained from a pool.
    *
-   * @param <T>            the type parameter
-   * @param x              from the layout. Must be unprojected from the screen. (See camera manager)
-   * @param y              from the layout. Must be unprojected from the screen. (See camera manager).
-   * @param layout         to be used.
-   * @param searchFunction the search function.
-   * @return whatever type they found.
+   * @param x      from the layout. Must be unprojected from the screen. (See camera manager)
+   * @param y      from the layout. Must be unprojected from the screen. (See camera manager).
+   * @param layout to be used.
+   * @return the packed key. See {@link HexKey}.
    */
-  protected <T> Optional<T> fromPoint(final float x,
-                                      final float y,
-                                      final Layout layout,
-                                      final Function<Hex, Optional<T>> searchFunction) {
+  public long keyFromPoint(final float x,
+                           final float y,
+                           final Layout layout) {
     // Convert the point on the screen to the whole field, based on the camera.
     final float layoutX = x - layout.origin().x;
     final float layoutY = y - layout.origin().y;
@@ -111,12 +111,28 @@ public class HexFieldSearchManager {
       q = -r - s;
     } else if (r_diff > s_diff) {
       r = -q - s;
-    } else {
-      s = -q - r;
     }
+    return HexKey.pack(q, r);
+  }
+
+  /**
+   * Provides a way to convert a point to a hex that can then be used for a search function.
+   *
+   * @param <T>            the type parameter
+   * @param x              from the layout. Must be unprojected from the screen. (See camera manager)
+   * @param y              from the layout. Must be unprojected from the screen. (See camera manager).
+   * @param layout         to be used.
+   * @param searchFunction the search function.
+   * @return whatever type they found.
+   */
+  protected <T> Optional<T> fromPoint(final float x,
+                                      final float y,
+                                      final Layout layout,
+                                      final Function<Hex, Optional<T>> searchFunction) {
+    final long key = keyFromPoint(x, y, layout);
     Hex checkHex = null;
     try {
-      checkHex = hexManager.obtain().set(q, r, s);
+      checkHex = hexManager.obtain().set(HexKey.q(key), HexKey.r(key), HexKey.s(key));
       // finally, lets see if anything is there.
       return searchFunction.apply(checkHex);
     } finally {
@@ -157,7 +173,21 @@ public class HexFieldSearchManager {
   public Optional<Entity> fromPoint(final float x,
                                     final float y,
                                     final HexField hexField) {
-    return fromPoint(x, y, hexField.getHexFieldLayout().layout(), h ->
-        Optional.ofNullable(hexField.hexEntityHashMap().get(h)));
+    final long key = keyFromPoint(x, y, hexField.getHexFieldLayout().layout());
+    return Optional.ofNullable(hexField.entityAt(HexKey.q(key), HexKey.r(key)));
+  }
+
+  /**
+   * Looks up the entity at the coordinate without needing a hex instance.
+   *
+   * @param q        the q
+   * @param r        the r
+   * @param hexField we are looking at.
+   * @return optional
+   */
+  public Optional<Entity> fromCoordinates(final int q,
+                                          final int r,
+                                          final HexField hexField) {
+    return Optional.ofNullable(hexField.entityAt(q, r));
   }
 }
@@ -21,9 +21,12 @@ import static com.codeheadsystems.gamelib.core.util.LoggerHelper.logger;
 
 import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.utils.Logger;
-import com.codeheadsystems.gamelib.core.util.PoolerImpl;
+import com.codeheadsystems.gamelib.core.util.ConcurrentPoolerImpl;
 import com.codeheadsystems.gamelib.hex.component.HexComponent;
 import com.codeheadsystems.gamelib.hex.model.Hex;
+import com.codeheadsystems.gamelib.hex.model.HexFieldLayout;
+import com.codeheadsystems.gamelib.hex.model.OffsetCoord;
+import com.codeheadsystems.gamelib.hex.utilities.IntIntConsumer;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -35,7 +38,7 @@ import javax.inject.Singleton;
  * The type Hex manager.
  */
 @Singleton
-public class HexManager extends PoolerImpl<Hex> {
+public class HexManager extends ConcurrentPoolerImpl<Hex> {
   private static final Logger LOGGER = logger(HexManager.class);
   /**
    * The constant directions.
@@ -48,6 +51,14 @@ public class HexManager extends PoolerImpl<Hex> {
     add(Hex.of(-1, 1, 0));
     add(Hex.of(0, 1, -1));
   }};
+  /**
+   * The q delta of each entry in directions, for code that works on primitive coordinates.
+   */
+  public static final int[] DIRECTION_Q = {1, 1, 0, -1, -1, 0};
+  /**
+   * The r delta of each entry in directions, for code that works on primitive coordinates.
+   */
+  public static final int[] DIRECTION_R = {0, -1, -1, 0, 1, 1};
   /**
    * The constant diagonals.
    */
@@ -114,6 +125,227 @@ public class HexManager extends PoolerImpl<Hex> {
     return hashSet;
   }
 
+  /**
+   * Visits every hex within the radius of the center, center included. Creates no hexes.
+   *
+   * @param center   the center
+   * @param radius   the radius
+   * @param consumer the consumer
+   */
+  public void forEachInRange(final Hex center, final int radius, final IntIntConsumer consumer) {
+    forEachInRange(center.q(), center.r(), radius, consumer);
+  }
+
+  /**
+   * Visits every hex within the radius of the center, center included. Creates no hexes.
+   *
+   * @param q        the center q
+   * @param r        the center r
+   * @param radius   the radius
+   * @param consumer the consumer
+   */
+  public void forEachInRange(final int q, final int r, final int radius, final IntIntConsumer consumer) {
+    for (int dq = -radius; dq <= radius; dq++) {
+      final int low = Math.max(-radius, -dq - radius);
+      final int high = Math.min(radius, -dq + radius);
+      for (int dr = low; dr <= high; dr++) {
+        consumer.accept(q + dq, r + dr);
+      }
+    }
+  }
+
+  /**
+   * Visits every hex within the radius of the center that is also inside the field generated for the layout
+   * (see generate()). The bounds are clipped up front, rather than testing each hex.
+   *
+   * @param hexFieldLayout the hex field layout
+   * @param q              the center q
+   * @param r              the center r
+   * @param radius         the radius
+   * @param consumer       the consumer
+   */
+  public void forEachInRange(final HexFieldLayout hexFieldLayout,
+                             final int q,
+                             final int r,
+                             final int radius,
+                             final IntIntConsumer consumer) {
+    final int lastRow = hexFieldLayout.rows() - 1;
+    final int qLow = Math.max(q - radius, 0);
+    final int qHigh = Math.min(q + radius, hexFieldLayout.cols() - 1);
+    for (int col = qLow; col <= qHigh; col++) {
+      final int dq = col - q;
+      final int low = Math.max(r + Math.max(-radius, -dq - radius),
+          OffsetCoordManager.qoffsetR(OffsetCoord.Offset.ODD, col, 0));
+      final int high = Math.min(r + Math.min(radius, -dq + radius),
+          OffsetCoordManager.qoffsetR(OffsetCoord.Offset.ODD, col, lastRow));
+      for (int row = low; row <= high; row++) {
+        consumer.accept(col, row);
+      }
+    }
+  }
+
+  /**
+   * Visits the hexes that are within range of both centers. Creates no hexes.
+   *
+   * @param q1       the first center q
+   * @param r1       the first center r
+   * @param radius1  the first radius
+   * @param q2       the second center q
+   * @param r2       the second center r
+   * @param radius2  the second radius
+   * @param consumer the consumer
+   */
+  public void forEachInRangeIntersection(final int q1, final int r1, final int radius1,
+                                         final int q2, final int r2, final int radius2,
+                                         final IntIntConsumer consumer) {
+    final int s1 = -q1 - r1;
+    final int s2 = -q2 - r2;
+    final int qLow = Math.max(q1 - radius1, q2 - radius2);
+    final int qHigh = Math.min(q1 + radius1, q2 + radius2);
+    final int rLow = Math.max(r1 - radius1, r2 - radius2);
+    final int rHigh = Math.min(r1 + radius1, r2 + radius2);
+    final int sLow = Math.max(s1 - radius1, s2 - radius2);
+    final int sHigh = Math.min(s1 + radius1, s2 + radius2);
+    for (int q = qLow; q <= qHigh; q++) {
+      final int low = Math.max(rLow, -q - sHigh);
+      final int high = Math.min(rHigh, -q - sLow);
+      for (int r = low; r <= high; r++) {
+        consumer.accept(q, r);
+      }
+    }
+  }
+
+  /**
+   * Visits the hexes exactly radius away from the center, walking around the ring. A radius of zero visits
+   * only the center. Creates no hexes.
+   *
+   * @param center   the center
+   * @param radius   the radius
+   * @param consumer the consumer
+   */
+  public void forEachInRing(final Hex center, final int radius, final IntIntConsumer consumer) {
+    forEachInRing(center.q(), center.r(), radius, consumer);
+  }
+
+  /**
+   * Visits the hexes exactly radius away from the center, walking around the ring. A radius of zero visits
+   * only the center. Creates no hexes.
+   *
+   * @param q        the center q
+   * @param r        the center r
+   * @param radius   the radius
+   * @param consumer the consumer
+   */
+  public void forEachInRing(final int q, final int r, final int radius, final IntIntConsumer consumer) {
+    ring(null, q, r, radius, consumer);
+  }
+
+  /**
+   * Visits the ring of the hexes around the center that are inside the field generated for the layout.
+   *
+   * @param hexFieldLayout the hex field layout
+   * @param q              the center q
+   * @param r              the center r
+   * @param radius         the radius
+   * @param consumer       the consumer
+   */
+  public void forEachInRing(final HexFieldLayout hexFieldLayout,
+                            final int q,
+                            final int r,
+                            final int radius,
+                            final IntIntConsumer consumer) {
+    ring(hexFieldLayout, q, r, radius, consumer);
+  }
+
+  /**
+   * Visits the center, then each ring outward up to the radius. Same hexes as forEachInRange, ordered by
+   * distance. Creates no hexes.
+   *
+   * @param center   the center
+   * @param radius   the radius
+   * @param consumer the consumer
+   */
+  public void forEachInSpiral(final Hex center, final int radius, final IntIntConsumer consumer) {
+    forEachInSpiral(center.q(), center.r(), radius, consumer);
+  }
+
+  /**
+   * Visits the center, then each ring outward up to the radius. Same hexes as forEachInRange, ordered by
+   * distance. Creates no hexes.
+   *
+   * @param q        the center q
+   * @param r        the center r
+   * @param radius   the radius
+   * @param consumer the consumer
+   */
+  public void forEachInSpiral(final int q, final int r, final int radius, final IntIntConsumer consumer) {
+    for (int ringRadius = 0; ringRadius <= radius; ringRadius++) {
+      ring(null, q, r, ringRadius, consumer);
+    }
+  }
+
+  /**
+   * Visits the spiral of hexes around the center that are inside the field generated for the layout.
+   *
+   * @param hexFieldLayout the hex field layout
+   * @param q              the center q
+   * @param r              the center r
+   * @param radius         the radius
+   * @param consumer       the consumer
+   */
+  public void forEachInSpiral(final HexFieldLayout hexFieldLayout,
+                              final int q,
+                              final int r,
+                              final int radius,
+                              final IntIntConsumer consumer) {
+    for (int ringRadius = 0; ringRadius <= radius; ringRadius++) {
+      ring(hexFieldLayout, q, r, ringRadius, consumer);
+    }
+  }
+
+  /**
+   * True if the hex is inside the field generated for the layout (see generate()).
+   *
+   * @param hexFieldLayout the hex field layout
+   * @param q              the q
+   * @param r              the r
+   * @return the boolean
+   */
+  public boolean inside(final HexFieldLayout hexFieldLayout, final int q, final int r) {
+    if (q < 0 || q >= hexFieldLayout.cols()) {
+      return false;
+    }
+    final int row = OffsetCoordManager.qoffsetRow(OffsetCoord.Offset.ODD, q, r);
+    return row >= 0 && row < hexFieldLayout.rows();
+  }
+
+  /**
+   * Walks the ring, skipping hexes outside the layout if there is one.
+   */
+  private void ring(final HexFieldLayout hexFieldLayout,
+                    final int q,
+                    final int r,
+                    final int radius,
+                    final IntIntConsumer consumer) {
+    if (radius <= 0) {
+      if (radius == 0 && (hexFieldLayout == null || inside(hexFieldLayout, q, r))) {
+        consumer.accept(q, r);
+      }
+      return;
+    }
+    int currentQ = q + DIRECTION_Q[4] * radius;
+    int currentR = r + DIRECTION_R[4] * radius;
+    for (int side = 0; side < 6; side++) {
+      for (int step = 0; step < radius; step++) {
+        if (hexFieldLayout == null || inside(hexFieldLayout, currentQ, currentR)) {
+          consumer.accept(currentQ, currentR);
+        }
+        currentQ += DIRECTION_Q[side];
+        currentR += DIRECTION_R[side];
+      }
+    }
+  }
+
   /**
    * Does not free old hexes.
    *
@@ -0,0 +1,218 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.manager;
+
+import static com.codeheadsystems.gamelib.core.util.LoggerHelper.logger;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Logger;
+import com.codeheadsystems.gamelib.hex.model.HexFieldConfiguration;
+import com.codeheadsystems.gamelib.hex.model.HexMapData;
+import com.codeheadsystems.gamelib.hex.model.HexMapFile;
+import com.codeheadsystems.gamelib.hex.model.Orientation;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Reads and writes the binary hex map format. Little endian, laid out as:
+ * <pre>
+ *   header   40 bytes: magic "HEXM", version, cols, rows, orientation (0 flat, 1 pointy),
+ *                      sizeX, sizeY, originX, originY, reserved
+ *   terrain  cols * rows shorts
+ *   flags    cols * rows bytes
+ *   height   cols * rows floats, starting on a four byte boundary
+ * </pre>
+ * Each layer is in row-major order (row * cols + col), the same index as HexGrid and HexMapData, and is
+ * mapped on its own so a layer can be up to 2GB.
+ */
+@Singleton
+public class HexMapFileManager {
+
+  /**
+   * "HEXM" read as a little endian int.
+   */
+  public static final int MAGIC = 'H' | 'E' << 8 | 'X' << 16 | 'M' << 24;
+  /**
+   * The version written.
+   */
+  public static final int VERSION = 1;
+  /**
+   * Header size in bytes.
+   */
+  public static final int HEADER_BYTES = 40;
+
+  private static final Logger LOGGER = logger(HexMapFileManager.class);
+  private static final int FLAT = 0;
+  private static final int POINTY = 1;
+
+  private final HexFieldConfigurationManager hexFieldConfigurationManager;
+
+  /**
+   * Instantiates a new Hex map file manager.
+   *
+   * @param hexFieldConfigurationManager the hex field configuration manager
+   */
+  @Inject
+  public HexMapFileManager(final HexFieldConfigurationManager hexFieldConfigurationManager) {
+    this.hexFieldConfigurationManager = hexFieldConfigurationManager;
+    LOGGER.debug("HexMapFileManager()");
+  }
+
+  /**
+   * Writes the map, replacing the file if it is there.
+   *
+   * @param path          the path
+   * @param configuration the configuration, cols and rows must match the data.
+   * @param data          the data
+   */
+  public void write(final Path path,
+                    final HexFieldConfiguration configuration,
+                    final HexMapData data) {
+    if (configuration.getCols() != data.cols() || configuration.getRows() != data.rows()) {
+      throw new IllegalArgumentException("Configuration is " + configuration.getCols() + "x"
+          + configuration.getRows() + ", data is " + data.cols() + "x" + data.rows());
+    }
+    final long size = data.size();
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN)
+          .putInt(MAGIC)
+          .putInt(VERSION)
+          .putInt(data.cols())
+          .putInt(data.rows())
+          .putInt(orientation(configuration.getOrientation()))
+          .putFloat(configuration.getSizeX())
+          .putFloat(configuration.getSizeY())
+          .putFloat(configuration.getOriginX())
+          .putFloat(configuration.getOriginY())
+          .putInt(0);
+      header.flip();
+      while (header.hasRemaining()) {
+        channel.write(header, header.position());
+      }
+      map(channel, FileChannel.MapMode.READ_WRITE, terrainOffset(), size * Short.BYTES)
+          .asShortBuffer().put(data.terrain());
+      map(channel, FileChannel.MapMode.READ_WRITE, flagsOffset(size), size)
+          .put(data.flags());
+      map(channel, FileChannel.MapMode.READ_WRITE, heightOffset(size), size * Float.BYTES)
+          .asFloatBuffer().put(data.height());
+    } catch (IOException e) {
+      throw new GdxRuntimeException("Unable to write hex map " + path, e);
+    }
+  }
+
+  /**
+   * Opens the map. Only the header is read, the layers are mapped and read as they are used.
+   *
+   * @param path the path
+   * @return the hex map file
+   */
+  public HexMapFile open(final Path path) {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      while (header.hasRemaining()) {
+        if (channel.read(header, header.position()) < 0) {
+          break;
+        }
+      }
+      header.flip();
+      if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+        throw new GdxRuntimeException("Not a hex map: " + path);
+      }
+      final int version = header.getInt();
+      if (version != VERSION) {
+        throw new GdxRuntimeException("Unsupported hex map version " + version + ": " + path);
+      }
+      final HexFieldConfiguration configuration = hexFieldConfigurationManager.obtain()
+          .setCols(header.getInt())
+          .setRows(header.getInt())
+          .setOrientation(orientation(header.getInt()))
+          .setSizeX(header.getFloat())
+          .setSizeY(header.getFloat())
+          .setOriginX(header.getFloat())
+          .setOriginY(header.getFloat());
+      final long size = (long) configuration.getCols() * configuration.getRows();
+      if (channel.size() < heightOffset(size) + size * Float.BYTES) {
+        throw new GdxRuntimeException("Hex map is truncated: " + path);
+      }
+      // the mappings stay valid after the channel is closed.
+      return new HexMapFile(configuration,
+          map(channel, FileChannel.MapMode.READ_ONLY, terrainOffset(), size * Short.BYTES).asShortBuffer(),
+          map(channel, FileChannel.MapMode.READ_ONLY, flagsOffset(size), size),
+          map(channel, FileChannel.MapMode.READ_ONLY, heightOffset(size), size * Float.BYTES).asFloatBuffer());
+    } catch (IOException e) {
+      throw new GdxRuntimeException("Unable to open hex map " + path, e);
+    }
+  }
+
+  /**
+   * Reads the whole map into a new dense HexMapData.
+   *
+   * @param path the path
+   * @return the hex map data
+   */
+  public HexMapData read(final Path path) {
+    final HexMapFile file = open(path);
+    return file.read(new HexMapData(file.cols(), file.rows()));
+  }
+
+  private MappedByteBuffer map(final FileChannel channel,
+                               final FileChannel.MapMode mode,
+                               final long offset,
+                               final long bytes) throws IOException {
+    final MappedByteBuffer buffer = channel.map(mode, offset, bytes);
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    return buffer;
+  }
+
+  private long terrainOffset() {
+    return HEADER_BYTES;
+  }
+
+  private long flagsOffset(final long size) {
+    return terrainOffset() + size * Short.BYTES;
+  }
+
+  private long heightOffset(final long size) {
+    return (flagsOffset(size) + size + 3) & ~3L;
+  }
+
+  private int orientation(final Orientation orientation) {
+    if (orientation == Orientation.flat) {
+      return FLAT;
+    } else if (orientation == Orientation.pointy) {
+      return POINTY;
+    }
+    throw new IllegalArgumentException("Only the flat and pointy orientations can be saved");
+  }
+
+  private Orientation orientation(final int value) {
+    return switch (value) {
+      case FLAT -> Orientation.flat;
+      case POINTY -> Orientation.pointy;
+      default -> throw new GdxRuntimeException("Unknown orientation " + value);
+    };
+  }
+}
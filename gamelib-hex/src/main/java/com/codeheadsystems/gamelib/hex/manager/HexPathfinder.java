@@ -0,0 +1,259 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.manager;
+
+import static com.codeheadsystems.gamelib.core.util.LoggerHelper.logger;
+
+import com.badlogic.gdx.utils.Logger;
+import com.codeheadsystems.gamelib.hex.model.HexGrid;
+import com.codeheadsystems.gamelib.hex.utilities.HexKey;
+import com.codeheadsystems.gamelib.hex.utilities.IndexMinHeap;
+import java.util.Arrays;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * A* pathfinding over a HexGrid. Coordinates in and out are packed keys (see HexKey), and all the search state
+ * lives in primitive arrays that are kept per thread and reused, so once warmed up a search does not allocate.
+ * Safe to call from multiple threads at once as long as the callbacks are.
+ */
+@Singleton
+public class HexPathfinder {
+
+  /**
+   * Returned when there is no path between the hexes.
+   */
+  public static final int NO_PATH = -1;
+  /**
+   * Every step costs one.
+   */
+  public static final MovementCost UNIT_COST = (from, to) -> 1f;
+
+  private static final Logger LOGGER = logger(HexPathfinder.class);
+
+  private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+  /**
+   * Instantiates a new Hex pathfinder.
+   */
+  @Inject
+  public HexPathfinder() {
+    LOGGER.debug("HexPathfinder()");
+  }
+
+  /**
+   * Find path where every step costs one.
+   *
+   * @param grid     the grid that bounds the search.
+   * @param start    packed key of the start.
+   * @param goal     packed key of the goal.
+   * @param passable which hexes can be entered.
+   * @param path     buffer the path is written to, start first.
+   * @return the path length. See {@link #findPath(HexGrid, long, long, Passable, MovementCost, long[])}.
+   */
+  public int findPath(final HexGrid<?> grid,
+                      final long start,
+                      final long goal,
+                      final Passable passable,
+                      final long[] path) {
+    return findPath(grid, start, goal, passable, UNIT_COST, path);
+  }
+
+  /**
+   * Find the cheapest path from start to goal. The path includes both the start and the goal. If the path is
+   * longer than the buffer, only the first path.length hexes are written, but the full length is still returned
+   * so the caller can grow the buffer and try again.
+   *
+   * @param grid     the grid that bounds the search.
+   * @param start    packed key of the start.
+   * @param goal     packed key of the goal.
+   * @param passable which hexes can be entered. The start hex is never checked.
+   * @param cost     cost of moving between neighbors. Infinite or NaN costs are treated as impassable.
+   * @param path     buffer the path is written to, start first.
+   * @return the number of hexes in the path, or NO_PATH.
+   */
+  public int findPath(final HexGrid<?> grid,
+                      final long start,
+                      final long goal,
+                      final Passable passable,
+                      final MovementCost cost,
+                      final long[] path) {
+    final int startIndex = grid.index(start);
+    final int goalIndex = grid.index(goal);
+    final Scratch s = scratch.get();
+    s.pathCost = Float.POSITIVE_INFINITY;
+    if (startIndex < 0 || goalIndex < 0 || !passable.passable(goal)) {
+      return NO_PATH;
+    }
+    if (startIndex == goalIndex) {
+      s.pathCost = 0f;
+      if (path.length > 0) {
+        path[0] = start;
+      }
+      return 1;
+    }
+    s.prepare(grid.size());
+    final int generation = s.generation;
+    final int[] seen = s.seen;
+    final int[] closed = s.closed;
+    final int[] parent = s.parent;
+    final float[] g = s.g;
+    final float minimumCost = cost.minimumCost();
+
+    seen[startIndex] = generation;
+    g[startIndex] = 0f;
+    parent[startIndex] = -1;
+    final float startH = minimumCost * HexKey.distance(start, goal);
+    final IndexMinHeap open = s.open;
+    // ties on f go to the smaller h, so the search runs toward the goal instead of fanning out.
+    open.push(startIndex, startH, startH);
+
+    while (!open.isEmpty()) {
+      final int current = open.pop();
+      if (current == goalIndex) {
+        s.pathCost = g[current];
+        return writePath(grid, parent, goalIndex, path);
+      }
+      if (closed[current] == generation) {
+        continue; // stale heap entry, we already found a cheaper way here.
+      }
+      closed[current] = generation;
+      final long currentKey = grid.key(current);
+      for (int direction = 0; direction < 6; direction++) {
+        final int next = grid.neighbor(current, direction);
+        if (next < 0 || closed[next] == generation) {
+          continue;
+        }
+        final long nextKey = grid.key(next);
+        if (!passable.passable(nextKey)) {
+          continue;
+        }
+        final float step = cost.cost(currentKey, nextKey);
+        if (!(step < Float.POSITIVE_INFINITY)) {
+          continue;
+        }
+        final float nextG = g[current] + step;
+        if (seen[next] != generation || nextG < g[next]) {
+          seen[next] = generation;
+          g[next] = nextG;
+          parent[next] = current;
+          final float h = minimumCost * HexKey.distance(nextKey, goal);
+          open.push(next, nextG + h, h);
+        }
+      }
+    }
+    return NO_PATH;
+  }
+
+  /**
+   * Total movement cost of the last path found on this thread.
+   *
+   * @return the cost, or infinity if the last search found no path.
+   */
+  public float lastPathCost() {
+    return scratch.get().pathCost;
+  }
+
+  private int writePath(final HexGrid<?> grid,
+                        final int[] parent,
+                        final int goalIndex,
+                        final long[] path) {
+    int length = 0;
+    for (int index = goalIndex; index >= 0; index = parent[index]) {
+      length++;
+    }
+    int position = length - 1;
+    for (int index = goalIndex; index >= 0; index = parent[index], position--) {
+      if (position < path.length) {
+        path[position] = grid.key(index);
+      }
+    }
+    return length;
+  }
+
+  /**
+   * Decides if a hex can be entered.
+   */
+  @FunctionalInterface
+  public interface Passable {
+
+    /**
+     * Passable boolean.
+     *
+     * @param key the packed key
+     * @return the boolean
+     */
+    boolean passable(long key);
+  }
+
+  /**
+   * Cost to move from one hex to its neighbor.
+   */
+  @FunctionalInterface
+  public interface MovementCost {
+
+    /**
+     * Cost float.
+     *
+     * @param from packed key of the hex being left.
+     * @param to   packed key of the neighbor being entered.
+     * @return the cost
+     */
+    float cost(long from, long to);
+
+    /**
+     * The smallest value cost() can return. Used to scale the distance heuristic so it never overestimates.
+     *
+     * @return the minimum cost
+     */
+    default float minimumCost() {
+      return 1f;
+    }
+  }
+
+  /**
+   * Per thread search state. Entries are only valid when their stamp matches the current generation, which
+   * avoids clearing the arrays between searches.
+   */
+  private static class Scratch {
+
+    private int[] seen = new int[0];
+    private int[] closed = new int[0];
+    private int[] parent = new int[0];
+    private float[] g = new float[0];
+    private final IndexMinHeap open = new IndexMinHeap(256);
+    private int generation;
+    private float pathCost;
+
+    private void prepare(final int size) {
+      if (seen.length < size) {
+        seen = new int[size];
+        closed = new int[size];
+        parent = new int[size];
+        g = new float[size];
+        generation = 0;
+      }
+      if (++generation == Integer.MAX_VALUE) {
+        Arrays.fill(seen, 0);
+        Arrays.fill(closed, 0);
+        generation = 1;
+      }
+      open.clear();
+    }
+  }
+}
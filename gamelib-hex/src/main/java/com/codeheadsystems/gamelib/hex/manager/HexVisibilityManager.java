@@ -0,0 +1,289 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.manager;
+
+import static com.codeheadsystems.gamelib.core.util.LoggerHelper.logger;
+
+import com.badlogic.gdx.utils.Logger;
+import com.codeheadsystems.gamelib.hex.model.HexGrid;
+import com.codeheadsystems.gamelib.hex.utilities.HexKey;
+import java.util.Arrays;
+import java.util.BitSet;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Field of view and line of sight on a HexGrid, without creating hexes.
+ * <p>
+ * Field of view is ring based shadow casting. Every ring around the origin is a scaled copy of the same hexagon,
+ * so a hex's position around its ring (as a fraction of the ring) is the same angle on every ring. Each opaque
+ * hex shadows its slice of that fraction, and a hex is visible when its center is not inside a shadow.
+ */
+@Singleton
+public class HexVisibilityManager {
+
+  private static final Logger LOGGER = logger(HexVisibilityManager.class);
+  private static final double NUDGE = 1e-06;
+
+  private final ThreadLocal<Shadows> shadows = ThreadLocal.withInitial(Shadows::new);
+
+  /**
+   * Instantiates a new Hex visibility manager.
+   */
+  @Inject
+  public HexVisibilityManager() {
+    LOGGER.debug("HexVisibilityManager()");
+  }
+
+  /**
+   * Sets the bit (grid index) of every hex visible from the origin within the radius. Bits are only ever set,
+   * so the same BitSet can collect the vision of many units. Clear it first for a fresh result. Opaque hexes
+   * are themselves visible, but hide what is behind them.
+   *
+   * @param grid    the grid
+   * @param origin  packed key of the viewer.
+   * @param radius  how far the viewer can see.
+   * @param opacity which hexes block sight.
+   * @param visible the bitset to set, indexed by grid index.
+   * @return how many hexes the origin can see, including itself.
+   */
+  public int fieldOfView(final HexGrid<?> grid,
+                         final long origin,
+                         final int radius,
+                         final Opacity opacity,
+                         final BitSet visible) {
+    final int originIndex = grid.index(origin);
+    if (originIndex < 0) {
+      return 0;
+    }
+    visible.set(originIndex);
+    int count = 1;
+    final Shadows shadow = shadows.get();
+    shadow.clear();
+    final int originQ = HexKey.q(origin);
+    final int originR = HexKey.r(origin);
+    for (int ring = 1; ring <= radius && !shadow.full(); ring++) {
+      final float ringSize = 6f * ring;
+      int q = originQ + HexManager.DIRECTION_Q[4] * ring;
+      int r = originR + HexManager.DIRECTION_R[4] * ring;
+      int position = 0;
+      shadow.beginRing();
+      for (int side = 0; side < 6; side++) {
+        for (int step = 0; step < ring; step++, position++) {
+          final int index = grid.index(q, r);
+          if (index >= 0) {
+            final float start = (position - 0.5f) / ringSize;
+            final float end = (position + 0.5f) / ringSize;
+            final boolean lit = !shadow.contains(position / ringSize);
+            if (lit) {
+              visible.set(index);
+              count++;
+            }
+            // a fully hidden hex cannot add any shadow, so skip asking about it.
+            if ((lit || !shadow.covers(start, end)) && opacity.opaque(HexKey.pack(q, r))) {
+              shadow.add(start, end);
+            }
+          }
+          q += HexManager.DIRECTION_Q[side];
+          r += HexManager.DIRECTION_R[side];
+        }
+      }
+      shadow.endRing();
+    }
+    return count;
+  }
+
+  /**
+   * True if nothing opaque sits on the line between the two hexes. The end points are not checked, so you can
+   * always see an adjacent hex, and you can see a wall but not through it.
+   *
+   * @param from    packed key of the viewer.
+   * @param to      packed key of the target.
+   * @param opacity which hexes block sight.
+   * @return the boolean
+   */
+  public boolean lineOfSight(final long from,
+                             final long to,
+                             final Opacity opacity) {
+    final int n = HexKey.distance(from, to);
+    final double aq = HexKey.q(from) + NUDGE;
+    final double ar = HexKey.r(from) + NUDGE;
+    final double dq = HexKey.q(to) - HexKey.q(from);
+    final double dr = HexKey.r(to) - HexKey.r(from);
+    for (int i = 1; i < n; i++) {
+      final double t = (double) i / n;
+      if (opacity.opaque(HexKey.round(aq + dq * t, ar + dr * t))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Writes the hexes on the line between the two hexes into the buffer, the same line as
+   * FractionalHexManager.hexLinedraw but with no objects. If the buffer is too small only the start of the line
+   * is written.
+   *
+   * @param from the from
+   * @param to   the to
+   * @param line the buffer
+   * @return the number of hexes on the line, including both ends.
+   */
+  public int line(final long from,
+                  final long to,
+                  final long[] line) {
+    final int n = HexKey.distance(from, to);
+    final double aq = HexKey.q(from) + NUDGE;
+    final double ar = HexKey.r(from) + NUDGE;
+    final double dq = HexKey.q(to) - HexKey.q(from);
+    final double dr = HexKey.r(to) - HexKey.r(from);
+    final double step = 1.0 / Math.max(n, 1);
+    for (int i = 0; i <= n && i < line.length; i++) {
+      line[i] = HexKey.round(aq + dq * step * i, ar + dr * step * i);
+    }
+    return n + 1;
+  }
+
+  /**
+   * Decides if a hex blocks sight.
+   */
+  @FunctionalInterface
+  public interface Opacity {
+
+    /**
+     * Opaque boolean.
+     *
+     * @param key the packed key
+     * @return the boolean
+     */
+    boolean opaque(long key);
+  }
+
+  /**
+   * Sorted, merged list of shadowed intervals in [0, 1], reused per thread. Positions only increase while
+   * walking a ring, so lookups move a cursor forward, and the ring's own shadows are held back and merged in
+   * once the ring is done (hexes in the same ring never shadow each other anyway).
+   */
+  private static class Shadows {
+
+    private float[] starts = new float[32];
+    private float[] ends = new float[32];
+    private int count;
+    private float[] ringStarts = new float[32];
+    private float[] ringEnds = new float[32];
+    private int ringCount;
+    private float[] mergedStarts = new float[64];
+    private float[] mergedEnds = new float[64];
+    private float wrapStart;
+    private int cursor;
+
+    private void clear() {
+      count = 0;
+      ringCount = 0;
+    }
+
+    private boolean full() {
+      return count == 1 && starts[0] <= 0f && ends[0] >= 1f;
+    }
+
+    private void beginRing() {
+      cursor = 0;
+      ringCount = 0;
+      wrapStart = Float.NaN;
+    }
+
+    private boolean contains(final float value) {
+      while (cursor < count && ends[cursor] <= value) {
+        cursor++;
+      }
+      // a shadow starting at 0 is the head of one that wrapped around the ring, so 0 is inside it.
+      return cursor < count && (starts[cursor] < value || starts[cursor] == 0f);
+    }
+
+    /**
+     * Only valid right after contains() returned true.
+     */
+    private boolean covers(final float start, final float end) {
+      return starts[cursor] <= start && ends[cursor] >= end;
+    }
+
+    private void add(final float start, final float end) {
+      if (start < 0f) { // wraps past the start of the ring, the tail is added when the ring is done.
+        wrapStart = start + 1f;
+        append(0f, end);
+      } else {
+        append(start, end);
+      }
+    }
+
+    private void endRing() {
+      if (wrapStart == wrapStart) {
+        append(wrapStart, 1f);
+      }
+      if (ringCount == 0) {
+        return;
+      }
+      final int capacity = count + ringCount;
+      if (mergedStarts.length < capacity) {
+        mergedStarts = new float[capacity << 1];
+        mergedEnds = new float[capacity << 1];
+      }
+      int merged = 0;
+      int i = 0;
+      int j = 0;
+      while (i < count || j < ringCount) {
+        final float start;
+        final float end;
+        if (j >= ringCount || (i < count && starts[i] <= ringStarts[j])) {
+          start = starts[i];
+          end = ends[i++];
+        } else {
+          start = ringStarts[j];
+          end = ringEnds[j++];
+        }
+        if (merged > 0 && start <= mergedEnds[merged - 1]) {
+          mergedEnds[merged - 1] = Math.max(mergedEnds[merged - 1], end);
+        } else {
+          mergedStarts[merged] = start;
+          mergedEnds[merged++] = end;
+        }
+      }
+      // swap so the old arrays are reused for the next merge.
+      final float[] oldStarts = starts;
+      final float[] oldEnds = ends;
+      starts = mergedStarts;
+      ends = mergedEnds;
+      mergedStarts = oldStarts;
+      mergedEnds = oldEnds;
+      count = merged;
+    }
+
+    private void append(final float start, final float end) {
+      if (ringCount > 0 && start <= ringEnds[ringCount - 1]) {
+        ringEnds[ringCount - 1] = end;
+        return;
+      }
+      if (ringCount == ringStarts.length) {
+        ringStarts = Arrays.copyOf(ringStarts, ringCount << 1);
+        ringEnds = Arrays.copyOf(ringEnds, ringCount << 1);
+      }
+      ringStarts[ringCount] = start;
+      ringEnds[ringCount++] = end;
+    }
+  }
+}
@@ -18,7 +18,6 @@
 package com.codeheadsystems.gamelib.hex.manager;
 
 import static com.codeheadsystems.gamelib.core.util.LoggerHelper.logger;
-import static com.codeheadsystems.gamelib.hex.utilities.MathConverter.toFloat;
 
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Logger;
@@ -26,10 +25,16 @@ import com.codeheadsystems.gamelib.core.util.PoolerImpl;
 import com.codeheadsystems.gamelib.hex.model.FractionalHex;
 import com.codeheadsystems.gamelib.hex.model.Hex;
 import com.codeheadsystems.gamelib.hex.model.HexFieldConfiguration;
+import com.codeheadsystems.gamelib.hex.model.HexFieldCoordinates;
+import com.codeheadsystems.gamelib.hex.model.HexGeometry;
 import com.codeheadsystems.gamelib.hex.model.Layout;
+import com.codeheadsystems.gamelib.hex.model.OffsetCoord;
 import com.codeheadsystems.gamelib.hex.model.Orientation;
+import java.nio.FloatBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -40,6 +45,8 @@ import javax.inject.Singleton;
 public class LayoutManager extends PoolerImpl<Layout> {
 
   private static final Logger LOGGER = logger(LayoutManager.class);
+  // Below this many hexes a task fills its rows itself instead of splitting.
+  private static final int HEXES_PER_TASK = 4096;
   private final Vector2Manager vector2Manager;
   private final FractionalHexManager fractionalHexManager;
 
@@ -119,6 +126,154 @@ public class LayoutManager extends PoolerImpl<Layout> {
     return pixelToHex(layout, p.x, p.y);
   }
 
+  /**
+   * Pixel x of the hex center, without creating a vector.
+   *
+   * @param layout the layout
+   * @param q      the q
+   * @param r      the r
+   * @return the x
+   */
+  public float hexToPixelX(final Layout layout, final int q, final int r) {
+    final Orientation m = layout.orientation();
+    return (m.f0() * q + m.f1() * r) * layout.size().x + layout.origin().x;
+  }
+
+  /**
+   * Pixel y of the hex center, without creating a vector.
+   *
+   * @param layout the layout
+   * @param q      the q
+   * @param r      the r
+   * @return the y
+   */
+  public float hexToPixelY(final Layout layout, final int q, final int r) {
+    final Orientation m = layout.orientation();
+    return (m.f2() * q + m.f3() * r) * layout.size().y + layout.origin().y;
+  }
+
+  /**
+   * Converts a batch of hexes to pixel centers without creating any vectors. Same math as
+   * hexToPixel(Layout, Hex), folded into one multiply-add per axis so the loop can be vectorized.
+   *
+   * @param layout the layout
+   * @param q      the hex q values
+   * @param r      the hex r values
+   * @param x      receives the x values
+   * @param y      receives the y values
+   * @param count  how many to convert, starting from index 0.
+   */
+  public void hexToPixel(final Layout layout,
+                         final int[] q,
+                         final int[] r,
+                         final float[] x,
+                         final float[] y,
+                         final int count) {
+    final Orientation m = layout.orientation();
+    final float xq = m.f0() * layout.size().x;
+    final float xr = m.f1() * layout.size().x;
+    final float yq = m.f2() * layout.size().y;
+    final float yr = m.f3() * layout.size().y;
+    final float ox = layout.origin().x;
+    final float oy = layout.origin().y;
+    for (int i = 0; i < count; i++) {
+      x[i] = xq * q[i] + xr * r[i] + ox;
+      y[i] = yq * q[i] + yr * r[i] + oy;
+    }
+  }
+
+  /**
+   * Converts a batch of hexes to pixel centers, written as interleaved x, y pairs starting at the buffer's
+   * position. The position is moved past what was written, so the buffer can go straight to a mesh.
+   *
+   * @param layout the layout
+   * @param q      the hex q values
+   * @param r      the hex r values
+   * @param xy     receives x, y pairs.
+   * @param count  how many to convert, starting from index 0.
+   */
+  public void hexToPixel(final Layout layout,
+                         final int[] q,
+                         final int[] r,
+                         final FloatBuffer xy,
+                         final int count) {
+    final Orientation m = layout.orientation();
+    final float xq = m.f0() * layout.size().x;
+    final float xr = m.f1() * layout.size().x;
+    final float yq = m.f2() * layout.size().y;
+    final float yr = m.f3() * layout.size().y;
+    final float ox = layout.origin().x;
+    final float oy = layout.origin().y;
+    final int start = xy.position();
+    for (int i = 0; i < count; i++) {
+      xy.put(start + 2 * i, xq * q[i] + xr * r[i] + ox);
+      xy.put(start + 2 * i + 1, yq * q[i] + yr * r[i] + oy);
+    }
+    xy.position(start + 2 * count);
+  }
+
+  /**
+   * Converts a batch of pixels to fractional hex coordinates without creating any objects. Pass the results to
+   * FractionalHexManager.hexRound(float[], float[], int[], int[], int) to get whole hexes.
+   *
+   * @param layout the layout
+   * @param x      the x values
+   * @param y      the y values
+   * @param q      receives the fractional q values
+   * @param r      receives the fractional r values
+   * @param count  how many to convert, starting from index 0.
+   */
+  public void pixelToHex(final Layout layout,
+                         final float[] x,
+                         final float[] y,
+                         final float[] q,
+                         final float[] r,
+                         final int count) {
+    final Orientation m = layout.orientation();
+    final float qx = m.b0() / layout.size().x;
+    final float qy = m.b1() / layout.size().y;
+    final float rx = m.b2() / layout.size().x;
+    final float ry = m.b3() / layout.size().y;
+    final float qc = -(qx * layout.origin().x + qy * layout.origin().y);
+    final float rc = -(rx * layout.origin().x + ry * layout.origin().y);
+    for (int i = 0; i < count; i++) {
+      q[i] = qx * x[i] + qy * y[i] + qc;
+      r[i] = rx * x[i] + ry * y[i] + rc;
+    }
+  }
+
+  /**
+   * Converts a batch of interleaved x, y pairs, read from the buffer's position, to fractional hex coordinates.
+   * The position is moved past what was read.
+   *
+   * @param layout the layout
+   * @param xy     the x, y pairs
+   * @param q      receives the fractional q values
+   * @param r      receives the fractional r values
+   * @param count  how many pairs to convert.
+   */
+  public void pixelToHex(final Layout layout,
+                         final FloatBuffer xy,
+                         final float[] q,
+                         final float[] r,
+                         final int count) {
+    final Orientation m = layout.orientation();
+    final float qx = m.b0() / layout.size().x;
+    final float qy = m.b1() / layout.size().y;
+    final float rx = m.b2() / layout.size().x;
+    final float ry = m.b3() / layout.size().y;
+    final float qc = -(qx * layout.origin().x + qy * layout.origin().y);
+    final float rc = -(rx * layout.origin().x + ry * layout.origin().y);
+    final int start = xy.position();
+    for (int i = 0; i < count; i++) {
+      final float x = xy.get(start + 2 * i);
+      final float y = xy.get(start + 2 * i + 1);
+      q[i] = qx * x + qy * y + qc;
+      r[i] = rx * x + ry * y + rc;
+    }
+    xy.position(start + 2 * count);
+  }
+
   /**
    * Hex corner offset vector 2.
    *
@@ -127,9 +282,9 @@ public class LayoutManager extends PoolerImpl<Layout> {
    * @return the vector 2
    */
   public Vector2 hexCornerOffset(final Layout layout, final int corner) {
-    final Orientation m = layout.orientation();
-    final double angle = 2.0 * Math.PI * (m.startAngle() - corner) / 6.0;
-    return vector2Manager.obtain().set(layout.size().x * toFloat(Math.cos(angle)), layout.size().y * toFloat(Math.sin(angle)));
+    final HexGeometry geometry = geometry(layout);
+    final int index = Math.floorMod(corner, 6);
+    return vector2Manager.obtain().set(geometry.cornerX(index), geometry.cornerY(index));
   }
 
   /**
@@ -141,10 +296,11 @@ public class LayoutManager extends PoolerImpl<Layout> {
    */
   public List<Vector2> polygonCorners(final Layout layout, final Hex h) {
     final List<Vector2> corners = new ArrayList<>();
-    final Vector2 center = hexToPixel(layout, h);
+    final HexGeometry geometry = geometry(layout);
+    final float x = hexToPixelX(layout, h.q(), h.r());
+    final float y = hexToPixelY(layout, h.q(), h.r());
     for (int i = 0; i < 6; i++) {
-      final Vector2 offset = hexCornerOffset(layout, i);
-      corners.add(vector2Manager.obtain().set(center.x + offset.x, center.y + offset.y));
+      corners.add(vector2Manager.obtain().set(x + geometry.cornerX(i), y + geometry.cornerY(i)));
     }
     return corners;
   }
@@ -157,13 +313,108 @@ public class LayoutManager extends PoolerImpl<Layout> {
    * @return the float [ ]
    */
   public float[] vertices(final Layout layout, final Hex hex) {
-    final List<Vector2> Vector2s = polygonCorners(layout, hex);
-    final float[] result = new float[Vector2s.size() * 2];
-    int idx = 0;
-    for (Vector2 Vector2 : Vector2s) {
-      result[idx++] = Vector2.x;
-      result[idx++] = Vector2.y;
+    return geometry(layout).vertices(
+        hexToPixelX(layout, hex.q(), hex.r()),
+        hexToPixelY(layout, hex.q(), hex.r()),
+        new float[HexGeometry.VERTEX_FLOATS]);
+  }
+
+  /**
+   * The shape shared by every hex in the layout. Built the first time it is asked for and cached on the layout,
+   * and rebuilt if the layout's orientation or size changes.
+   *
+   * @param layout the layout
+   * @return the hex geometry
+   */
+  public HexGeometry geometry(final Layout layout) {
+    HexGeometry geometry = layout.geometry();
+    if (geometry == null || !geometry.matches(layout)) {
+      geometry = new HexGeometry(layout.orientation(), layout.size().x, layout.size().y);
+      layout.setGeometry(geometry);
+    }
+    return geometry;
+  }
+
+  /**
+   * Works out the coordinates and centers of every hex in a cols x rows field (the shape of
+   * HexManager.generate(cols, rows)), across the common fork-join pool.
+   *
+   * @param layout the layout
+   * @param cols   the cols
+   * @param rows   the rows
+   * @return the hex field coordinates
+   */
+  public HexFieldCoordinates coordinates(final Layout layout, final int cols, final int rows) {
+    return coordinates(layout, cols, rows, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Works out the coordinates and centers of every hex in a cols x rows field. The field is split into blocks
+   * of rows that are filled in parallel on the pool. Nothing here touches a libGDX pool, so this is safe to run
+   * off the render thread, and the components can be created from the result afterwards.
+   *
+   * @param layout       the layout
+   * @param cols         the cols
+   * @param rows         the rows
+   * @param forkJoinPool the pool to run on.
+   * @return the hex field coordinates
+   */
+  public HexFieldCoordinates coordinates(final Layout layout,
+                                         final int cols,
+                                         final int rows,
+                                         final ForkJoinPool forkJoinPool) {
+    // the geometry is cached on the layout the first time, so get it here rather than from the workers.
+    final HexFieldCoordinates coordinates = new HexFieldCoordinates(cols, rows, geometry(layout));
+    final FillRows task = new FillRows(coordinates, layout, 0, rows);
+    if (coordinates.size() <= HEXES_PER_TASK) {
+      task.fill();
+    } else {
+      forkJoinPool.invoke(task);
+    }
+    return coordinates;
+  }
+
+  /**
+   * Fills a block of rows, splitting it in half until it is small enough.
+   */
+  private class FillRows extends RecursiveAction {
+
+    private final HexFieldCoordinates coordinates;
+    private final Layout layout;
+    private final int fromRow;
+    private final int toRow;
+
+    private FillRows(final HexFieldCoordinates coordinates,
+                     final Layout layout,
+                     final int fromRow,
+                     final int toRow) {
+      this.coordinates = coordinates;
+      this.layout = layout;
+      this.fromRow = fromRow;
+      this.toRow = toRow;
+    }
+
+    @Override
+    protected void compute() {
+      final int rows = toRow - fromRow;
+      if (rows == 1 || rows * coordinates.cols() <= HEXES_PER_TASK) {
+        fill();
+      } else {
+        final int middle = fromRow + rows / 2;
+        invokeAll(new FillRows(coordinates, layout, fromRow, middle),
+            new FillRows(coordinates, layout, middle, toRow));
+      }
+    }
+
+    private void fill() {
+      final int cols = coordinates.cols();
+      int index = fromRow * cols;
+      for (int row = fromRow; row < toRow; row++) {
+        for (int col = 0; col < cols; col++, index++) {
+          final int r = OffsetCoordManager.qoffsetR(OffsetCoord.Offset.ODD, col, row);
+          coordinates.set(index, col, r, hexToPixelX(layout, col, r), hexToPixelY(layout, col, r));
+        }
+      }
     }
-    return result;
   }
 }
@@ -56,10 +56,34 @@ public class OffsetCoordManager extends PoolerImpl<OffsetCoord> {
    */
   public OffsetCoord qoffsetFromCube(OffsetCoord.Offset offset, Hex h) {
     int col = h.q();
-    int row = h.r() + ((h.q() + offset.value * (h.q() & 1)) / 2);
+    int row = qoffsetRow(offset, h.q(), h.r());
     return obtain().setCol(col).setRow(row);
   }
 
+  /**
+   * Qoffset row from the cube coordinates, without any objects.
+   *
+   * @param offset the offset
+   * @param q      the q
+   * @param r      the r
+   * @return the row
+   */
+  public static int qoffsetRow(OffsetCoord.Offset offset, int q, int r) {
+    return r + ((q + offset.value * (q & 1)) / 2);
+  }
+
+  /**
+   * Cube r from the qoffset col/row, without any objects. The q is the col.
+   *
+   * @param offset the offset
+   * @param col    the col
+   * @param row    the row
+   * @return the r
+   */
+  public static int qoffsetR(OffsetCoord.Offset offset, int col, int row) {
+    return row - ((col + offset.value * (col & 1)) / 2);
+  }
+
   /**
    * Qoffset to cube hex.
    *
@@ -69,7 +93,7 @@ public class OffsetCoordManager extends PoolerImpl<OffsetCoord> {
    */
   public Hex qoffsetToCube(OffsetCoord.Offset offset, OffsetCoord h) {
     int q = h.col();
-    int r = h.row() - ((h.col() + offset.value * (h.col() & 1)) / 2);
+    int r = qoffsetR(offset, h.col(), h.row());
     int s = -q - r;
     return hexManager.obtain().setQ(q).setR(r).setS(s);
   }
@@ -21,7 +21,7 @@ import static com.codeheadsystems.gamelib.core.util.LoggerHelper.logger;
 
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Logger;
-import com.codeheadsystems.gamelib.core.util.PoolerImpl;
+import com.codeheadsystems.gamelib.core.util.ConcurrentPoolerImpl;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -29,7 +29,7 @@ import javax.inject.Singleton;
  * The type Vector 2 manager.
  */
 @Singleton
-public class Vector2Manager extends PoolerImpl<Vector2> {
+public class Vector2Manager extends ConcurrentPoolerImpl<Vector2> {
 
   private static final Logger LOGGER = logger(Vector2Manager.class);
 
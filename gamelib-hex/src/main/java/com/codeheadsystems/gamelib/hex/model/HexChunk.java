@@ -0,0 +1,343 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.model;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.utils.Pool;
+import com.codeheadsystems.gamelib.hex.manager.OffsetCoordManager;
+import java.util.Arrays;
+
+/**
+ * A square block of a HexChunkWorld, in the world's ODD q-offset col/row space. Holds one int of map data per
+ * hex, filled in by a HexChunkSource off the render thread, and the entities built from it once it is active.
+ * Chunks at the far edges of the world are clipped, so cols() and rows() can be smaller than the chunk size.
+ * Chunks are pooled by their world and reused for other parts of the map.
+ */
+public class HexChunk implements Pool.Poolable {
+
+  private final int size;
+  private final int[] data;
+  private final Entity[] entities;
+  private int chunkCol;
+  private int chunkRow;
+  private int cols;
+  private int rows;
+  private boolean active;
+  private boolean cancelled;
+  private volatile boolean failed;
+  private int failures;
+  private long retryUpdate;
+  private long wantedUpdate;
+
+  /**
+   * Instantiates a new Hex chunk.
+   *
+   * @param size hexes along each side.
+   */
+  public HexChunk(final int size) {
+    this.size = size;
+    this.data = new int[size * size];
+    this.entities = new Entity[size * size];
+  }
+
+  @Override
+  public void reset() {
+    Arrays.fill(entities, null);
+    active = false;
+    cancelled = false;
+    failed = false;
+    failures = 0;
+    retryUpdate = 0;
+    wantedUpdate = 0;
+  }
+
+  /**
+   * Points the chunk at a block of the world.
+   *
+   * @param chunkCol   the chunk col
+   * @param chunkRow   the chunk row
+   * @param worldCols  cols in the whole world
+   * @param worldRows  rows in the whole world
+   * @return this
+   */
+  public HexChunk set(final int chunkCol, final int chunkRow, final int worldCols, final int worldRows) {
+    this.chunkCol = chunkCol;
+    this.chunkRow = chunkRow;
+    this.cols = Math.min(size, worldCols - chunkCol * size);
+    this.rows = Math.min(size, worldRows - chunkRow * size);
+    return this;
+  }
+
+  /**
+   * Hexes along each side of a full chunk.
+   *
+   * @return the int
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Chunk col int.
+   *
+   * @return the int
+   */
+  public int chunkCol() {
+    return chunkCol;
+  }
+
+  /**
+   * Chunk row int.
+   *
+   * @return the int
+   */
+  public int chunkRow() {
+    return chunkRow;
+  }
+
+  /**
+   * World col of the chunk's first column.
+   *
+   * @return the int
+   */
+  public int firstCol() {
+    return chunkCol * size;
+  }
+
+  /**
+   * World row of the chunk's first row.
+   *
+   * @return the int
+   */
+  public int firstRow() {
+    return chunkRow * size;
+  }
+
+  /**
+   * Cols in this chunk.
+   *
+   * @return the int
+   */
+  public int cols() {
+    return cols;
+  }
+
+  /**
+   * Rows in this chunk.
+   *
+   * @return the int
+   */
+  public int rows() {
+    return rows;
+  }
+
+  /**
+   * Index into data() and the entities for a hex, from its col and row within the chunk.
+   *
+   * @param localCol the local col
+   * @param localRow the local row
+   * @return the index
+   */
+  public int index(final int localCol, final int localRow) {
+    return localRow * size + localCol;
+  }
+
+  /**
+   * Q of the hexes in the local col.
+   *
+   * @param localCol the local col
+   * @return the q
+   */
+  public int q(final int localCol) {
+    return firstCol() + localCol;
+  }
+
+  /**
+   * R of the hex at the local col and row.
+   *
+   * @param localCol the local col
+   * @param localRow the local row
+   * @return the r
+   */
+  public int r(final int localCol, final int localRow) {
+    return OffsetCoordManager.qoffsetR(OffsetCoord.Offset.ODD, firstCol() + localCol, firstRow() + localRow);
+  }
+
+  /**
+   * Per hex map data, written by the source and indexed by index(col, row).
+   *
+   * @return the int [ ]
+   */
+  public int[] data() {
+    return data;
+  }
+
+  /**
+   * Value of the hex at the local col and row.
+   *
+   * @param localCol the local col
+   * @param localRow the local row
+   * @return the value
+   */
+  public int value(final int localCol, final int localRow) {
+    return data[index(localCol, localRow)];
+  }
+
+  /**
+   * Entity at the local col and row, or null if the chunk is not active.
+   *
+   * @param localCol the local col
+   * @param localRow the local row
+   * @return the entity
+   */
+  public Entity entity(final int localCol, final int localRow) {
+    return entities[index(localCol, localRow)];
+  }
+
+  /**
+   * Sets the entity at the local col and row.
+   *
+   * @param localCol the local col
+   * @param localRow the local row
+   * @param entity   the entity
+   */
+  public void setEntity(final int localCol, final int localRow, final Entity entity) {
+    entities[index(localCol, localRow)] = entity;
+  }
+
+  /**
+   * True once the chunk's entities are in the engine.
+   *
+   * @return the boolean
+   */
+  public boolean isActive() {
+    return active;
+  }
+
+  /**
+   * Sets active.
+   *
+   * @param active the active
+   * @return this
+   */
+  public HexChunk setActive(final boolean active) {
+    this.active = active;
+    return this;
+  }
+
+  /**
+   * True if the chunk stopped being wanted while it was loading.
+   *
+   * @return the boolean
+   */
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Sets cancelled.
+   *
+   * @param cancelled the cancelled
+   * @return this
+   */
+  public HexChunk setCancelled(final boolean cancelled) {
+    this.cancelled = cancelled;
+    return this;
+  }
+
+  /**
+   * True if the source threw while loading.
+   *
+   * @return the boolean
+   */
+  public boolean isFailed() {
+    return failed;
+  }
+
+  /**
+   * Sets failed.
+   *
+   * @param failed the failed
+   * @return this
+   */
+  public HexChunk setFailed(final boolean failed) {
+    this.failed = failed;
+    return this;
+  }
+
+  /**
+   * Times in a row the source failed on this chunk.
+   *
+   * @return the int
+   */
+  public int failures() {
+    return failures;
+  }
+
+  /**
+   * The world update after which a failed chunk is loaded again, or 0 if it is not waiting to retry.
+   *
+   * @return the long
+   */
+  public long retryUpdate() {
+    return retryUpdate;
+  }
+
+  /**
+   * Counts a failure and waits until the update to load again.
+   *
+   * @param retryUpdate the retry update
+   * @return this
+   */
+  public HexChunk retryAt(final long retryUpdate) {
+    this.failures++;
+    this.retryUpdate = retryUpdate;
+    return this;
+  }
+
+  /**
+   * Clears the failure so the chunk can be loaded again. The failure count is kept for the next backoff.
+   *
+   * @return this
+   */
+  public HexChunk retry() {
+    this.failed = false;
+    this.retryUpdate = 0;
+    return this;
+  }
+
+  /**
+   * The last world update that wanted this chunk.
+   *
+   * @return the long
+   */
+  public long wantedUpdate() {
+    return wantedUpdate;
+  }
+
+  /**
+   * Sets wanted update.
+   *
+   * @param wantedUpdate the wanted update
+   * @return this
+   */
+  public HexChunk setWantedUpdate(final long wantedUpdate) {
+    this.wantedUpdate = wantedUpdate;
+    return this;
+  }
+}
@@ -0,0 +1,34 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.model;
+
+/**
+ * Supplies the map data for chunks of a HexChunkWorld. Called on the world's loader thread, never the render
+ * thread, so it can read files or generate terrain. It must not touch the engine.
+ */
+@FunctionalInterface
+public interface HexChunkSource {
+
+  /**
+   * Fills chunk.data() for the hexes from (firstCol, firstRow) to (firstCol + cols, firstRow + rows), at
+   * chunk.index(localCol, localRow).
+   *
+   * @param chunk the chunk
+   */
+  void load(HexChunk chunk);
+}
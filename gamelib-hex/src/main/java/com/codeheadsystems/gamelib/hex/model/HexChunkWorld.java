@@ -0,0 +1,344 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.model;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.ashley.core.Entity;
+import com.codeheadsystems.gamelib.core.util.Pooler;
+import com.codeheadsystems.gamelib.hex.component.HexComponent;
+import com.codeheadsystems.gamelib.hex.manager.OffsetCoordManager;
+import com.codeheadsystems.gamelib.hex.utilities.HexKey;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * A hex field too big to hold as entities all at once. The field is split into square chunks in ODD q-offset
+ * col/row space (the same shape as HexManager.generate), and only the chunks around the camera and around the
+ * points of interest have entities. See HexChunkWorldManager, which does the streaming.
+ */
+public class HexChunkWorld {
+
+  private final HexFieldLayout hexFieldLayout;
+  private final int chunkSize;
+  private final HexChunkSource source;
+  private final Components components;
+  private final Executor executor;
+  private final Pooler<HexChunk> pool;
+  // keyed by HexKey.pack(chunkCol, chunkRow).
+  private final HexObjectMap<HexChunk> chunks = new HexObjectMap<>();
+  private long[] interests = new long[8];
+  private int interestCount;
+  private boolean followCamera = true;
+  private int chunkRadius = 1;
+  private int maxBuildsPerUpdate = 2;
+  private int retryUpdates = 60;
+
+  /**
+   * Instantiates a new Hex chunk world.
+   *
+   * @param hexFieldLayout the layout of the whole world
+   * @param chunkSize      hexes along each side of a chunk
+   * @param source         where chunk data comes from
+   * @param components     extra components for each hex entity
+   * @param executor       runs the source off the render thread
+   */
+  public HexChunkWorld(final HexFieldLayout hexFieldLayout,
+                       final int chunkSize,
+                       final HexChunkSource source,
+                       final Components components,
+                       final Executor executor) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+    }
+    this.hexFieldLayout = hexFieldLayout;
+    this.chunkSize = chunkSize;
+    this.source = source;
+    this.components = components;
+    this.executor = executor;
+    this.pool = Pooler.of(() -> new HexChunk(chunkSize));
+  }
+
+  /**
+   * Gets hex field layout.
+   *
+   * @return the hex field layout
+   */
+  public HexFieldLayout getHexFieldLayout() {
+    return hexFieldLayout;
+  }
+
+  /**
+   * Chunk size int.
+   *
+   * @return the int
+   */
+  public int chunkSize() {
+    return chunkSize;
+  }
+
+  /**
+   * Chunk cols int.
+   *
+   * @return the int
+   */
+  public int chunkCols() {
+    return (hexFieldLayout.cols() + chunkSize - 1) / chunkSize;
+  }
+
+  /**
+   * Chunk rows int.
+   *
+   * @return the int
+   */
+  public int chunkRows() {
+    return (hexFieldLayout.rows() + chunkSize - 1) / chunkSize;
+  }
+
+  /**
+   * Source hex chunk source.
+   *
+   * @return the hex chunk source
+   */
+  public HexChunkSource source() {
+    return source;
+  }
+
+  /**
+   * Components components.
+   *
+   * @return the components
+   */
+  public Components components() {
+    return components;
+  }
+
+  /**
+   * Executor executor.
+   *
+   * @return the executor
+   */
+  public Executor executor() {
+    return executor;
+  }
+
+  /**
+   * Pool of unused chunks.
+   *
+   * @return the pooler
+   */
+  public Pooler<HexChunk> pool() {
+    return pool;
+  }
+
+  /**
+   * Chunks that are loading or active, keyed by HexKey.pack(chunkCol, chunkRow).
+   *
+   * @return the hex object map
+   */
+  public HexObjectMap<HexChunk> chunks() {
+    return chunks;
+  }
+
+  /**
+   * True if the chunks in view of the camera are kept.
+   *
+   * @return the boolean
+   */
+  public boolean isFollowCamera() {
+    return followCamera;
+  }
+
+  /**
+   * Sets follow camera.
+   *
+   * @param followCamera the follow camera
+   * @return this
+   */
+  public HexChunkWorld setFollowCamera(final boolean followCamera) {
+    this.followCamera = followCamera;
+    return this;
+  }
+
+  /**
+   * Extra chunks kept on every side of the wanted ones, so they are ready before they scroll into view.
+   *
+   * @return the int
+   */
+  public int chunkRadius() {
+    return chunkRadius;
+  }
+
+  /**
+   * Sets chunk radius.
+   *
+   * @param chunkRadius the chunk radius
+   * @return this
+   */
+  public HexChunkWorld setChunkRadius(final int chunkRadius) {
+    this.chunkRadius = chunkRadius;
+    return this;
+  }
+
+  /**
+   * Most chunks whose entities are built in one update, to spread the work over frames.
+   *
+   * @return the int
+   */
+  public int maxBuildsPerUpdate() {
+    return maxBuildsPerUpdate;
+  }
+
+  /**
+   * Sets max builds per update.
+   *
+   * @param maxBuildsPerUpdate the max builds per update
+   * @return this
+   */
+  public HexChunkWorld setMaxBuildsPerUpdate(final int maxBuildsPerUpdate) {
+    this.maxBuildsPerUpdate = maxBuildsPerUpdate;
+    return this;
+  }
+
+  /**
+   * Updates to wait before loading a chunk the source failed on again. The wait doubles with each failure in a
+   * row, up to 64 times this.
+   *
+   * @return the int
+   */
+  public int retryUpdates() {
+    return retryUpdates;
+  }
+
+  /**
+   * Sets retry updates.
+   *
+   * @param retryUpdates the retry updates
+   * @return this
+   */
+  public HexChunkWorld setRetryUpdates(final int retryUpdates) {
+    this.retryUpdates = retryUpdates;
+    return this;
+  }
+
+  /**
+   * Keeps the chunks around the hex loaded, such as a unit off screen.
+   *
+   * @param q the q
+   * @param r the r
+   * @return this
+   */
+  public HexChunkWorld addInterest(final int q, final int r) {
+    if (interestCount == interests.length) {
+      interests = Arrays.copyOf(interests, interestCount << 1);
+    }
+    interests[interestCount++] = HexKey.pack(q, r);
+    return this;
+  }
+
+  /**
+   * Removes a point of interest.
+   *
+   * @param q the q
+   * @param r the r
+   * @return true if it was there.
+   */
+  public boolean removeInterest(final int q, final int r) {
+    final long key = HexKey.pack(q, r);
+    for (int i = 0; i < interestCount; i++) {
+      if (interests[i] == key) {
+        interests[i] = interests[--interestCount];
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Clear interests.
+   */
+  public void clearInterests() {
+    interestCount = 0;
+  }
+
+  /**
+   * Interest count int.
+   *
+   * @return the int
+   */
+  public int interestCount() {
+    return interestCount;
+  }
+
+  /**
+   * Packed key of a point of interest.
+   *
+   * @param index the index
+   * @return the packed key
+   */
+  public long interest(final int index) {
+    return interests[index];
+  }
+
+  /**
+   * The chunk holding the hex, or null if it is not loaded.
+   *
+   * @param q the q
+   * @param r the r
+   * @return the hex chunk
+   */
+  public HexChunk chunkAt(final int q, final int r) {
+    final int row = OffsetCoordManager.qoffsetRow(OffsetCoord.Offset.ODD, q, r);
+    if (q < 0 || row < 0) {
+      return null;
+    }
+    return chunks.get(q / chunkSize, row / chunkSize);
+  }
+
+  /**
+   * The entity for the hex, or null if its chunk is not active.
+   *
+   * @param q the q
+   * @param r the r
+   * @return the entity
+   */
+  public Entity entityAt(final int q, final int r) {
+    final HexChunk chunk = chunkAt(q, r);
+    if (chunk == null || !chunk.isActive()) {
+      return null;
+    }
+    final int row = OffsetCoordManager.qoffsetRow(OffsetCoord.Offset.ODD, q, r);
+    return chunk.entity(q - chunk.firstCol(), row - chunk.firstRow());
+  }
+
+  /**
+   * Supplies the extra components for a hex entity from its chunk data.
+   */
+  @FunctionalInterface
+  public interface Components {
+
+    /**
+     * Components set.
+     *
+     * @param hexComponent the hex component
+     * @param value        the hex's value from the chunk data
+     * @return the set
+     */
+    Set<Component> components(HexComponent hexComponent, int value);
+  }
+}
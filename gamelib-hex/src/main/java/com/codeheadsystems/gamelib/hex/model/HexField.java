@@ -19,7 +19,6 @@ package com.codeheadsystems.gamelib.hex.model;
 
 import com.badlogic.ashley.core.Entity;
 import com.badlogic.gdx.utils.Pool;
-import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -29,37 +28,76 @@ public class HexField implements Pool.Poolable {
 
 
   private HexFieldLayout hexFieldLayout;
-  private Map<Hex, Entity> hexEntityHashMap;
+  private HexObjectMap<Entity> hexEntityMap;
+  private HexGrid<Entity> hexEntityGrid;
 
   @Override
   public void reset() {
     hexFieldLayout = null;
-    if (hexEntityHashMap != null) {
-      hexEntityHashMap.clear();
-      hexEntityHashMap = null;
+    if (hexEntityGrid != null) {
+      hexEntityGrid.clear();
+      hexEntityGrid = null;
+    }
+    if (hexEntityMap != null) {
+      hexEntityMap.clear();
+      hexEntityMap = null;
     }
   }
 
   /**
-   * Hex entity hash map map.
+   * Hex entity map, keyed by the packed hex coordinate.
    *
    * @return the map
    */
-  public Map<Hex, Entity> hexEntityHashMap() {
-    return this.hexEntityHashMap;
+  public HexObjectMap<Entity> hexEntityMap() {
+    return this.hexEntityMap;
+  }
+
+  /**
+   * Sets hex entity map.
+   *
+   * @param hexEntityMap the hex entity map
+   * @return the hex entity map
+   */
+  public HexField setHexEntityMap(final HexObjectMap<Entity> hexEntityMap) {
+    this.hexEntityMap = hexEntityMap;
+    return this;
+  }
+
+  /**
+   * Hex entity grid. Only set when the field was generated as a dense grid.
+   *
+   * @return the grid
+   */
+  public HexGrid<Entity> hexEntityGrid() {
+    return hexEntityGrid;
   }
 
   /**
-   * Sets hex entity hash map.
+   * Sets hex entity grid.
    *
-   * @param hexEntityHashMap the hex entity hash map
-   * @return the hex entity hash map
+   * @param hexEntityGrid the hex entity grid
+   * @return the hex entity grid
    */
-  public HexField setHexEntityHashMap(final Map<Hex, Entity> hexEntityHashMap) {
-    this.hexEntityHashMap = hexEntityHashMap;
+  public HexField setHexEntityGrid(final HexGrid<Entity> hexEntityGrid) {
+    this.hexEntityGrid = hexEntityGrid;
     return this;
   }
 
+  /**
+   * Entity at the coordinate. No hex instance is needed. Uses the grid if there is one, else the map.
+   *
+   * @param q the q
+   * @param r the r
+   * @return the entity, or null if the coordinate is not in this field.
+   */
+  public Entity entityAt(final int q, final int r) {
+    if (hexEntityGrid != null) {
+      return hexEntityGrid.get(q, r);
+    }
+    return hexEntityMap == null ? null : hexEntityMap.get(q, r);
+  }
+
   /**
    * Gets hex field layout.
    *
@@ -85,11 +123,11 @@ public class HexField implements Pool.Poolable {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
     final HexField hexField = (HexField) o;
-    return Objects.equals(hexFieldLayout, hexField.hexFieldLayout) && Objects.equals(hexEntityHashMap, hexField.hexEntityHashMap);
+    return Objects.equals(hexFieldLayout, hexField.hexFieldLayout) && Objects.equals(hexEntityMap, hexField.hexEntityMap) && Objects.equals(hexEntityGrid, hexField.hexEntityGrid);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(hexFieldLayout, hexEntityHashMap);
+    return Objects.hash(hexFieldLayout, hexEntityMap, hexEntityGrid);
   }
 }
@@ -0,0 +1,160 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.model;
+
+/**
+ * The coordinates and pixel centers of every hex in a rectangular field, held in primitive arrays and indexed
+ * the same way as an ODD HexGrid of the same size. Built by LayoutManager.coordinates(), which fills
+ * the arrays in parallel, so creating the components and entities afterwards is a plain walk over the index.
+ * <p>
+ * The shape of every hex is the same, so vertices come from the shared HexGeometry and the hex center.
+ */
+public class HexFieldCoordinates {
+
+  private final int cols;
+  private final int rows;
+  private final HexGeometry geometry;
+  private final int[] q;
+  private final int[] r;
+  private final float[] x;
+  private final float[] y;
+
+  /**
+   * Instantiates new, empty Hex field coordinates.
+   *
+   * @param cols     the cols
+   * @param rows     the rows
+   * @param geometry the shared geometry of the layout.
+   */
+  public HexFieldCoordinates(final int cols, final int rows, final HexGeometry geometry) {
+    if (cols <= 0 || rows <= 0) {
+      throw new IllegalArgumentException("cols and rows must be positive: " + cols + "x" + rows);
+    }
+    final int size = Math.multiplyExact(cols, rows);
+    this.cols = cols;
+    this.rows = rows;
+    this.geometry = geometry;
+    this.q = new int[size];
+    this.r = new int[size];
+    this.x = new float[size];
+    this.y = new float[size];
+  }
+
+  /**
+   * Cols int.
+   *
+   * @return the int
+   */
+  public int cols() {
+    return cols;
+  }
+
+  /**
+   * Rows int.
+   *
+   * @return the int
+   */
+  public int rows() {
+    return rows;
+  }
+
+  /**
+   * Number of hexes.
+   *
+   * @return the int
+   */
+  public int size() {
+    return q.length;
+  }
+
+  /**
+   * The shared shape of the hexes.
+   *
+   * @return the hex geometry
+   */
+  public HexGeometry geometry() {
+    return geometry;
+  }
+
+  /**
+   * Q of the index.
+   *
+   * @param index the index
+   * @return the q
+   */
+  public int q(final int index) {
+    return q[index];
+  }
+
+  /**
+   * R of the index.
+   *
+   * @param index the index
+   * @return the r
+   */
+  public int r(final int index) {
+    return r[index];
+  }
+
+  /**
+   * Pixel x of the hex center.
+   *
+   * @param index the index
+   * @return the x
+   */
+  public float x(final int index) {
+    return x[index];
+  }
+
+  /**
+   * Pixel y of the hex center.
+   *
+   * @param index the index
+   * @return the y
+   */
+  public float y(final int index) {
+    return y[index];
+  }
+
+  /**
+   * Writes the corners of the hex into the array as x, y pairs, without creating any.
+   *
+   * @param index the index
+   * @param out   at least HexGeometry.VERTEX_FLOATS long.
+   * @return the out array
+   */
+  public float[] vertices(final int index, final float[] out) {
+    return geometry.vertices(x[index], y[index], out);
+  }
+
+  /**
+   * Sets one hex. Each index is written by only one thread while filling.
+   *
+   * @param index   the index
+   * @param q       the q
+   * @param r       the r
+   * @param centerX the center x
+   * @param centerY the center y
+   */
+  public void set(final int index, final int q, final int r, final float centerX, final float centerY) {
+    this.q[index] = q;
+    this.r[index] = r;
+    this.x[index] = centerX;
+    this.y[index] = centerY;
+  }
+}
@@ -0,0 +1,470 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.model;
+
+import com.codeheadsystems.gamelib.hex.utilities.HexKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The vertex and index data for drawing a whole hex field as a few meshes, kept separate from the GL side so it
+ * can be built and tested headless. Each hex is a filled fan (center plus six corners) and an outline (the six
+ * corners), every vertex being x, y and a packed color.
+ * <p>
+ * Hexes are split into chunks small enough for short indices. Every chunk shares the same index pattern, and
+ * tracks the range of hexes changed since it was last uploaded so only that range needs sending to the GPU.
+ * Chunks also keep the box around their hexes, so a chunk that is off screen can be skipped whole.
+ */
+public class HexFieldMeshData {
+
+  /**
+   * Floats per vertex: x, y, packed color.
+   */
+  public static final int FLOATS_PER_VERTEX = 3;
+  /**
+   * Fill vertices per hex: the center, then the six corners.
+   */
+  public static final int FILL_VERTICES_PER_HEX = 7;
+  /**
+   * Outline vertices per hex: the six corners.
+   */
+  public static final int OUTLINE_VERTICES_PER_HEX = 6;
+  /**
+   * Fill indices per hex: six triangles.
+   */
+  public static final int FILL_INDICES_PER_HEX = 18;
+  /**
+   * Outline indices per hex: six lines.
+   */
+  public static final int OUTLINE_INDICES_PER_HEX = 12;
+  /**
+   * Most hexes in one chunk, so every fill vertex can be reached with an unsigned short index.
+   */
+  public static final int HEXES_PER_CHUNK = 65536 / FILL_VERTICES_PER_HEX;
+
+  private static final int FILL_FLOATS = FILL_VERTICES_PER_HEX * FLOATS_PER_VERTEX;
+  private static final int OUTLINE_FLOATS = OUTLINE_VERTICES_PER_HEX * FLOATS_PER_VERTEX;
+
+  private final int hexesPerChunk;
+  private final List<Chunk> chunks = new ArrayList<>();
+  private final HexIntMap slots = new HexIntMap();
+  private long[] keys = new long[64];
+  private short[] fillIndices;
+  private short[] outlineIndices;
+  private int size;
+
+  /**
+   * Instantiates a new Hex field mesh data.
+   */
+  public HexFieldMeshData() {
+    this(HEXES_PER_CHUNK);
+  }
+
+  /**
+   * Instantiates a new Hex field mesh data with smaller chunks.
+   *
+   * @param hexesPerChunk the hexes per chunk, at most HEXES_PER_CHUNK.
+   */
+  public HexFieldMeshData(final int hexesPerChunk) {
+    if (hexesPerChunk <= 0 || hexesPerChunk > HEXES_PER_CHUNK) {
+      throw new IllegalArgumentException("hexesPerChunk must be 1 to " + HEXES_PER_CHUNK + ": " + hexesPerChunk);
+    }
+    this.hexesPerChunk = hexesPerChunk;
+  }
+
+  /**
+   * Number of hexes.
+   *
+   * @return the int
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Hexes per chunk int.
+   *
+   * @return the int
+   */
+  public int hexesPerChunk() {
+    return hexesPerChunk;
+  }
+
+  /**
+   * Contains boolean.
+   *
+   * @param key the packed key
+   * @return the boolean
+   */
+  public boolean contains(final long key) {
+    return slots.containsKey(key);
+  }
+
+  /**
+   * Adds a hex, or moves and recolors it if it is already there.
+   *
+   * @param key          the packed key
+   * @param centerX      the center x
+   * @param centerY      the center y
+   * @param geometry     the shape
+   * @param fillColor    packed fill color, see Color.toFloatBits().
+   * @param outlineColor packed outline color.
+   */
+  public void add(final long key,
+                  final float centerX,
+                  final float centerY,
+                  final HexGeometry geometry,
+                  final float fillColor,
+                  final float outlineColor) {
+    int slot = slots.get(key, -1);
+    if (slot < 0) {
+      slot = size++;
+      if (slot == keys.length) {
+        keys = Arrays.copyOf(keys, slot << 1);
+      }
+      keys[slot] = key;
+      slots.put(key, slot);
+      if (slot / hexesPerChunk == chunks.size()) {
+        chunks.add(new Chunk(hexesPerChunk));
+      }
+      chunk(slot).count++;
+    }
+    final Chunk chunk = chunk(slot);
+    final int local = slot % hexesPerChunk;
+    int fill = local * FILL_FLOATS;
+    chunk.fill[fill++] = centerX;
+    chunk.fill[fill++] = centerY;
+    chunk.fill[fill++] = fillColor;
+    int outline = local * OUTLINE_FLOATS;
+    for (int corner = 0; corner < 6; corner++) {
+      final float x = centerX + geometry.cornerX(corner);
+      final float y = centerY + geometry.cornerY(corner);
+      chunk.fill[fill++] = x;
+      chunk.fill[fill++] = y;
+      chunk.fill[fill++] = fillColor;
+      chunk.outline[outline++] = x;
+      chunk.outline[outline++] = y;
+      chunk.outline[outline++] = outlineColor;
+      chunk.include(x, y);
+    }
+    chunk.markDirty(local);
+  }
+
+  /**
+   * Removes the hex. The last hex is moved into its place, so two ranges become dirty.
+   *
+   * @param key the packed key
+   * @return true if it was there.
+   */
+  public boolean remove(final long key) {
+    final int slot = slots.remove(key, -1);
+    if (slot < 0) {
+      return false;
+    }
+    final int last = --size;
+    if (slot != last) {
+      final Chunk from = chunk(last);
+      final Chunk to = chunk(slot);
+      final int fromLocal = last % hexesPerChunk;
+      final int toLocal = slot % hexesPerChunk;
+      System.arraycopy(from.fill, fromLocal * FILL_FLOATS, to.fill, toLocal * FILL_FLOATS, FILL_FLOATS);
+      System.arraycopy(from.outline, fromLocal * OUTLINE_FLOATS, to.outline, toLocal * OUTLINE_FLOATS, OUTLINE_FLOATS);
+      keys[slot] = keys[last];
+      slots.put(keys[slot], slot);
+      for (int vertex = 0; vertex < OUTLINE_VERTICES_PER_HEX; vertex++) {
+        final int at = toLocal * OUTLINE_FLOATS + vertex * FLOATS_PER_VERTEX;
+        to.include(to.outline[at], to.outline[at + 1]);
+      }
+      to.markDirty(toLocal);
+    }
+    chunk(last).count--;
+    return true;
+  }
+
+  /**
+   * Removes every hex. Chunks are kept for reuse.
+   */
+  public void clear() {
+    slots.clear();
+    size = 0;
+    for (Chunk chunk : chunks) {
+      chunk.count = 0;
+      chunk.clearDirty();
+      chunk.clearBounds();
+    }
+  }
+
+  /**
+   * Sets the fill color of the hex.
+   *
+   * @param key   the packed key
+   * @param color the packed color
+   * @return false if the hex is not in the mesh.
+   */
+  public boolean setFillColor(final long key, final float color) {
+    final int slot = slots.get(key, -1);
+    if (slot < 0) {
+      return false;
+    }
+    final Chunk chunk = chunk(slot);
+    final int local = slot % hexesPerChunk;
+    final int start = local * FILL_FLOATS + 2;
+    for (int vertex = 0; vertex < FILL_VERTICES_PER_HEX; vertex++) {
+      chunk.fill[start + vertex * FLOATS_PER_VERTEX] = color;
+    }
+    chunk.markDirty(local);
+    return true;
+  }
+
+  /**
+   * Sets the outline color of the hex.
+   *
+   * @param key   the packed key
+   * @param color the packed color
+   * @return false if the hex is not in the mesh.
+   */
+  public boolean setOutlineColor(final long key, final float color) {
+    final int slot = slots.get(key, -1);
+    if (slot < 0) {
+      return false;
+    }
+    final Chunk chunk = chunk(slot);
+    final int local = slot % hexesPerChunk;
+    final int start = local * OUTLINE_FLOATS + 2;
+    for (int vertex = 0; vertex < OUTLINE_VERTICES_PER_HEX; vertex++) {
+      chunk.outline[start + vertex * FLOATS_PER_VERTEX] = color;
+    }
+    chunk.markDirty(local);
+    return true;
+  }
+
+  /**
+   * Chunk count int. Chunks are never removed, an emptied one just has no hexes.
+   *
+   * @return the int
+   */
+  public int chunkCount() {
+    return chunks.size();
+  }
+
+  /**
+   * Hexes in the chunk.
+   *
+   * @param chunk the chunk
+   * @return the int
+   */
+  public int hexCount(final int chunk) {
+    return chunks.get(chunk).count;
+  }
+
+  /**
+   * Left edge of the box around the chunk's hexes. The box only grows as hexes are added or moved in, until
+   * clear(), so it may be larger than the hexes left in it.
+   *
+   * @param chunk the chunk
+   * @return the float
+   */
+  public float minX(final int chunk) {
+    return chunks.get(chunk).minX;
+  }
+
+  /**
+   * Bottom edge of the box around the chunk's hexes.
+   *
+   * @param chunk the chunk
+   * @return the float
+   */
+  public float minY(final int chunk) {
+    return chunks.get(chunk).minY;
+  }
+
+  /**
+   * Right edge of the box around the chunk's hexes.
+   *
+   * @param chunk the chunk
+   * @return the float
+   */
+  public float maxX(final int chunk) {
+    return chunks.get(chunk).maxX;
+  }
+
+  /**
+   * Top edge of the box around the chunk's hexes.
+   *
+   * @param chunk the chunk
+   * @return the float
+   */
+  public float maxY(final int chunk) {
+    return chunks.get(chunk).maxY;
+  }
+
+  /**
+   * Fill vertices of the chunk, sized for a full chunk. Do not modify.
+   *
+   * @param chunk the chunk
+   * @return the float [ ]
+   */
+  public float[] fillVertices(final int chunk) {
+    return chunks.get(chunk).fill;
+  }
+
+  /**
+   * Outline vertices of the chunk, sized for a full chunk. Do not modify.
+   *
+   * @param chunk the chunk
+   * @return the float [ ]
+   */
+  public float[] outlineVertices(final int chunk) {
+    return chunks.get(chunk).outline;
+  }
+
+  /**
+   * Triangle indices for a full chunk, shared by every chunk. Draw hexCount * FILL_INDICES_PER_HEX of them.
+   *
+   * @return the short [ ]
+   */
+  public short[] fillIndices() {
+    if (fillIndices == null) {
+      fillIndices = new short[hexesPerChunk * FILL_INDICES_PER_HEX];
+      int index = 0;
+      for (int hex = 0; hex < hexesPerChunk; hex++) {
+        final int base = hex * FILL_VERTICES_PER_HEX;
+        for (int triangle = 0; triangle < 6; triangle++) {
+          fillIndices[index++] = (short) base;
+          fillIndices[index++] = (short) (base + 1 + triangle);
+          fillIndices[index++] = (short) (base + 1 + (triangle + 1) % 6);
+        }
+      }
+    }
+    return fillIndices;
+  }
+
+  /**
+   * Line indices for a full chunk, shared by every chunk. Draw hexCount * OUTLINE_INDICES_PER_HEX of them.
+   *
+   * @return the short [ ]
+   */
+  public short[] outlineIndices() {
+    if (outlineIndices == null) {
+      outlineIndices = new short[hexesPerChunk * OUTLINE_INDICES_PER_HEX];
+      int index = 0;
+      for (int hex = 0; hex < hexesPerChunk; hex++) {
+        final int base = hex * OUTLINE_VERTICES_PER_HEX;
+        for (int side = 0; side < 6; side++) {
+          outlineIndices[index++] = (short) (base + side);
+          outlineIndices[index++] = (short) (base + (side + 1) % 6);
+        }
+      }
+    }
+    return outlineIndices;
+  }
+
+  /**
+   * First changed hex in the chunk since the last clearDirty, or -1 if nothing changed.
+   *
+   * @param chunk the chunk
+   * @return the int
+   */
+  public int dirtyStart(final int chunk) {
+    return chunks.get(chunk).dirtyStart;
+  }
+
+  /**
+   * One past the last changed hex in the chunk.
+   *
+   * @param chunk the chunk
+   * @return the int
+   */
+  public int dirtyEnd(final int chunk) {
+    return chunks.get(chunk).dirtyEnd;
+  }
+
+  /**
+   * Marks the chunk as uploaded.
+   *
+   * @param chunk the chunk
+   */
+  public void clearDirty(final int chunk) {
+    chunks.get(chunk).clearDirty();
+  }
+
+  /**
+   * Packed key of the hex in the chunk.
+   *
+   * @param chunk the chunk
+   * @param hex   the hex within the chunk
+   * @return the packed key, or HexKey.EMPTY if there is none.
+   */
+  public long key(final int chunk, final int hex) {
+    final int slot = chunk * hexesPerChunk + hex;
+    return hex < hexesPerChunk && slot < size ? keys[slot] : HexKey.EMPTY;
+  }
+
+  private Chunk chunk(final int slot) {
+    return chunks.get(slot / hexesPerChunk);
+  }
+
+  private static class Chunk {
+
+    private final float[] fill;
+    private final float[] outline;
+    private int count;
+    private int dirtyStart = -1;
+    private int dirtyEnd = -1;
+    private float minX;
+    private float minY;
+    private float maxX;
+    private float maxY;
+
+    private Chunk(final int hexes) {
+      fill = new float[hexes * FILL_FLOATS];
+      outline = new float[hexes * OUTLINE_FLOATS];
+      clearBounds();
+    }
+
+    private void include(final float x, final float y) {
+      minX = Math.min(minX, x);
+      minY = Math.min(minY, y);
+      maxX = Math.max(maxX, x);
+      maxY = Math.max(maxY, y);
+    }
+
+    private void clearBounds() {
+      minX = Float.POSITIVE_INFINITY;
+      minY = Float.POSITIVE_INFINITY;
+      maxX = Float.NEGATIVE_INFINITY;
+      maxY = Float.NEGATIVE_INFINITY;
+    }
+
+    private void markDirty(final int hex) {
+      if (dirtyStart < 0) {
+        dirtyStart = hex;
+        dirtyEnd = hex + 1;
+      } else {
+        dirtyStart = Math.min(dirtyStart, hex);
+        dirtyEnd = Math.max(dirtyEnd, hex + 1);
+      }
+    }
+
+    private void clearDirty() {
+      dirtyStart = -1;
+      dirtyEnd = -1;
+    }
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.model;
+
+import com.badlogic.ashley.core.Entity;
+import java.util.Arrays;
+
+/**
+ * Tracks a hex field being released a few entities at a time, see HexFieldEntityManager.beginRelease(). The
+ * field's entities are copied out when the release starts, so the field should not be used after that.
+ */
+public class HexFieldRelease {
+
+  private final HexField hexField;
+  private final Entity[] entities;
+  private int next;
+  private boolean finished;
+
+  /**
+   * Instantiates a new Hex field release.
+   *
+   * @param hexField the hex field
+   */
+  public HexFieldRelease(final HexField hexField) {
+    this.hexField = hexField;
+    final HexGrid<Entity> grid = hexField.hexEntityGrid();
+    final HexObjectMap<Entity> map = hexField.hexEntityMap();
+    if (grid != null) {
+      final Entity[] all = new Entity[grid.size()];
+      int count = 0;
+      for (int index = 0; index < grid.size(); index++) {
+        if (grid.get(index) != null) {
+          all[count++] = grid.get(index);
+        }
+      }
+      entities = count == all.length ? all : Arrays.copyOf(all, count);
+    } else if (map != null) {
+      entities = new Entity[map.size()];
+      map.forEach((q, r, entity) -> entities[next++] = entity);
+      next = 0;
+    } else {
+      entities = new Entity[0];
+    }
+  }
+
+  /**
+   * The field being released.
+   *
+   * @return the hex field
+   */
+  public HexField hexField() {
+    return hexField;
+  }
+
+  /**
+   * Number of entities in the field when the release started.
+   *
+   * @return the int
+   */
+  public int size() {
+    return entities.length;
+  }
+
+  /**
+   * Number of entities still to remove.
+   *
+   * @return the int
+   */
+  public int remaining() {
+    return entities.length - next;
+  }
+
+  /**
+   * True once every entity is removed and the field itself has been freed.
+   *
+   * @return the boolean
+   */
+  public boolean isDone() {
+    return finished;
+  }
+
+  /**
+   * True if there is another entity to remove.
+   *
+   * @return the boolean
+   */
+  public boolean hasNext() {
+    return next < entities.length;
+  }
+
+  /**
+   * The next entity to remove. The slot is cleared so the release does not hold on to it.
+   *
+   * @return the entity
+   */
+  public Entity next() {
+    final Entity entity = entities[next];
+    entities[next++] = null;
+    return entity;
+  }
+
+  /**
+   * Marks the release as finished.
+   *
+   * @return this
+   */
+  public HexFieldRelease finish() {
+    finished = true;
+    return this;
+  }
+}
@@ -0,0 +1,425 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.model;
+
+import com.codeheadsystems.gamelib.hex.utilities.HexKey;
+import com.codeheadsystems.gamelib.hex.utilities.IndexMinHeap;
+import java.util.Arrays;
+
+/**
+ * A flow field (Dijkstra map) over a HexGrid. Each hex has a cost to enter, and build() works out the cheapest
+ * cost from every hex to the nearest goal (the integration field) plus the direction to step to get there. Units
+ * then look up their next step in O(1) rather than each running their own search.
+ * <p>
+ * Changing a few costs and calling update() only recomputes the hexes whose flow actually depends on them.
+ * Everything is stored in primitive arrays indexed the same way as the grid.
+ */
+public class HexFlowField {
+
+  /**
+   * Direction for goals and hexes that cannot reach a goal.
+   */
+  public static final int NO_DIRECTION = -1;
+  /**
+   * Cost value for hexes that cannot be entered.
+   */
+  public static final float IMPASSABLE = Float.POSITIVE_INFINITY;
+
+  private final HexGrid<?> grid;
+  private final float[] costs;
+  private final float[] integration;
+  private final byte[] directions;
+  private final boolean[] goal;
+  private final IndexMinHeap heap;
+  // Reused by update() for the invalidation walk and the dirty list.
+  private final int[] queue;
+  private final int[] dirty;
+  private final float[] dirtyOldCost;
+  private final boolean[] isDirty;
+  private int[] goals = new int[8];
+  private int goalCount;
+  private int dirtyCount;
+  private boolean needsBuild = true;
+
+  /**
+   * Instantiates a new Hex flow field where every hex costs one to enter.
+   *
+   * @param grid the grid
+   */
+  public HexFlowField(final HexGrid<?> grid) {
+    this.grid = grid;
+    final int size = grid.size();
+    costs = new float[size];
+    Arrays.fill(costs, 1f);
+    integration = new float[size];
+    directions = new byte[size];
+    goal = new boolean[size];
+    heap = new IndexMinHeap(size);
+    queue = new int[size];
+    dirty = new int[size];
+    dirtyOldCost = new float[size];
+    isDirty = new boolean[size];
+  }
+
+  /**
+   * Grid hex grid.
+   *
+   * @return the hex grid
+   */
+  public HexGrid<?> grid() {
+    return grid;
+  }
+
+  /**
+   * Cost to enter the hex.
+   *
+   * @param index the grid index
+   * @return the cost
+   */
+  public float cost(final int index) {
+    return costs[index];
+  }
+
+  /**
+   * Sets the cost to enter the hex. Use IMPASSABLE for walls. Takes effect on the next update() or build().
+   *
+   * @param index the grid index
+   * @param cost  the cost, must not be negative.
+   * @return this
+   */
+  public HexFlowField setCost(final int index, final float cost) {
+    if (!(cost >= 0f)) {
+      throw new IllegalArgumentException("Cost must be positive: " + cost);
+    }
+    final float old = costs[index];
+    if (old == cost) {
+      return this;
+    }
+    if (!isDirty[index] && !needsBuild) {
+      isDirty[index] = true;
+      dirtyOldCost[dirtyCount] = old;
+      dirty[dirtyCount++] = index;
+    }
+    costs[index] = cost;
+    return this;
+  }
+
+  /**
+   * Sets the cost to enter the hex.
+   *
+   * @param q    the q
+   * @param r    the r
+   * @param cost the cost
+   * @return this
+   */
+  public HexFlowField setCost(final int q, final int r, final float cost) {
+    return setCost(checkedIndex(q, r), cost);
+  }
+
+  /**
+   * Sets every cost from the function. Forces a full build on the next update().
+   *
+   * @param costFunction the cost function
+   * @return this
+   */
+  public HexFlowField setCosts(final CostFunction costFunction) {
+    for (int index = 0; index < costs.length; index++) {
+      final float cost = costFunction.cost(grid.key(index));
+      if (!(cost >= 0f)) {
+        throw new IllegalArgumentException("Cost must be positive: " + cost);
+      }
+      costs[index] = cost;
+    }
+    markForBuild();
+    return this;
+  }
+
+  /**
+   * Removes all goals.
+   *
+   * @return this
+   */
+  public HexFlowField clearGoals() {
+    for (int i = 0; i < goalCount; i++) {
+      goal[goals[i]] = false;
+    }
+    goalCount = 0;
+    markForBuild();
+    return this;
+  }
+
+  /**
+   * Adds a goal.
+   *
+   * @param q the q
+   * @param r the r
+   * @return this
+   */
+  public HexFlowField addGoal(final int q, final int r) {
+    final int index = checkedIndex(q, r);
+    if (!goal[index]) {
+      if (goalCount == goals.length) {
+        goals = Arrays.copyOf(goals, goalCount << 1);
+      }
+      goals[goalCount++] = index;
+      goal[index] = true;
+      markForBuild();
+    }
+    return this;
+  }
+
+  /**
+   * Adds a goal.
+   *
+   * @param key the packed key
+   * @return this
+   */
+  public HexFlowField addGoal(final long key) {
+    return addGoal(HexKey.q(key), HexKey.r(key));
+  }
+
+  /**
+   * Recomputes the whole field.
+   *
+   * @return this
+   */
+  public HexFlowField build() {
+    Arrays.fill(integration, IMPASSABLE);
+    Arrays.fill(directions, (byte) NO_DIRECTION);
+    heap.clear();
+    for (int i = 0; i < goalCount; i++) {
+      integration[goals[i]] = 0f;
+      heap.push(goals[i], 0f);
+    }
+    propagate();
+    clearDirty();
+    needsBuild = false;
+    return this;
+  }
+
+  /**
+   * Brings the field up to date with the costs changed since the last build or update. Falls back to a full
+   * build if the goals changed or most of the field is dirty.
+   *
+   * @return this
+   */
+  public HexFlowField update() {
+    if (needsBuild || dirtyCount > costs.length / 4) {
+      return build();
+    }
+    if (dirtyCount == 0) {
+      return this;
+    }
+    heap.clear();
+    // Pass one: anything that got more expensive loses every hex that was flowing through it.
+    int queued = 0;
+    for (int i = 0; i < dirtyCount; i++) {
+      final int index = dirty[i];
+      if (!goal[index] && costs[index] > dirtyOldCost[i] && integration[index] < IMPASSABLE) {
+        queued = invalidate(index, queued);
+      }
+    }
+    // Pass two: reseed the invalidated hexes and the cheaper ones from their valid neighbors.
+    for (int i = 0; i < queued; i++) {
+      seed(queue[i]);
+    }
+    for (int i = 0; i < dirtyCount; i++) {
+      final int index = dirty[i];
+      if (!goal[index] && costs[index] < dirtyOldCost[i]) {
+        seed(index);
+      }
+    }
+    propagate();
+    clearDirty();
+    return this;
+  }
+
+  /**
+   * Cost from the hex to the nearest goal, or IMPASSABLE if no goal can be reached.
+   *
+   * @param index the grid index
+   * @return the integration value
+   */
+  public float integration(final int index) {
+    return integration[index];
+  }
+
+  /**
+   * Cost from the hex to the nearest goal, or IMPASSABLE if no goal can be reached or the hex is outside the
+   * grid.
+   *
+   * @param q the q
+   * @param r the r
+   * @return the integration value
+   */
+  public float integration(final int q, final int r) {
+    final int index = grid.index(q, r);
+    return index < 0 ? IMPASSABLE : integration[index];
+  }
+
+  /**
+   * Direction to step from the hex, as an index into HexManager.directions, or NO_DIRECTION.
+   *
+   * @param index the grid index
+   * @return the direction
+   */
+  public int direction(final int index) {
+    return directions[index];
+  }
+
+  /**
+   * Direction to step from the hex, as an index into HexManager.directions, or NO_DIRECTION.
+   *
+   * @param q the q
+   * @param r the r
+   * @return the direction
+   */
+  public int direction(final int q, final int r) {
+    final int index = grid.index(q, r);
+    return index < 0 ? NO_DIRECTION : directions[index];
+  }
+
+  /**
+   * Grid index of the next step from the hex, or -1 if there is none.
+   *
+   * @param index the grid index
+   * @return the next index
+   */
+  public int nextIndex(final int index) {
+    final int direction = directions[index];
+    return direction == NO_DIRECTION ? -1 : grid.neighbor(index, direction);
+  }
+
+  /**
+   * Packed key of the next step from the hex, or HexKey.EMPTY if there is none.
+   *
+   * @param key the packed key
+   * @return the next key
+   */
+  public long next(final long key) {
+    final int index = grid.index(key);
+    if (index < 0 || directions[index] == NO_DIRECTION) {
+      return HexKey.EMPTY;
+    }
+    return HexKey.neighbor(key, directions[index]);
+  }
+
+  private void markForBuild() {
+    needsBuild = true;
+    clearDirty();
+  }
+
+  private void clearDirty() {
+    for (int i = 0; i < dirtyCount; i++) {
+      isDirty[dirty[i]] = false;
+    }
+    dirtyCount = 0;
+  }
+
+  /**
+   * Marks the hex and everything downstream of it as unreachable, adding them to the queue.
+   */
+  private int invalidate(final int start, int queued) {
+    int head = queued;
+    integration[start] = IMPASSABLE;
+    directions[start] = NO_DIRECTION;
+    queue[queued++] = start;
+    while (head < queued) {
+      final int current = queue[head++];
+      for (int direction = 0; direction < 6; direction++) {
+        final int neighbor = grid.neighbor(current, direction);
+        // the neighbor flows into current if its own direction points back the opposite way.
+        if (neighbor >= 0 && directions[neighbor] == (direction + 3) % 6) {
+          integration[neighbor] = IMPASSABLE;
+          directions[neighbor] = NO_DIRECTION;
+          queue[queued++] = neighbor;
+        }
+      }
+    }
+    return queued;
+  }
+
+  /**
+   * Picks the best of the neighbors that are still valid and queues the hex if that improved it.
+   */
+  private void seed(final int index) {
+    final float cost = costs[index];
+    if (!(cost < IMPASSABLE)) {
+      return;
+    }
+    float best = integration[index];
+    int bestDirection = NO_DIRECTION;
+    for (int direction = 0; direction < 6; direction++) {
+      final int neighbor = grid.neighbor(index, direction);
+      if (neighbor >= 0 && integration[neighbor] + cost < best) {
+        best = integration[neighbor] + cost;
+        bestDirection = direction;
+      }
+    }
+    if (bestDirection != NO_DIRECTION) {
+      integration[index] = best;
+      directions[index] = (byte) bestDirection;
+      heap.push(index, best);
+    }
+  }
+
+  private void propagate() {
+    while (!heap.isEmpty()) {
+      final float distance = heap.peekPriority();
+      final int current = heap.pop();
+      if (distance > integration[current]) {
+        continue; // stale entry
+      }
+      for (int direction = 0; direction < 6; direction++) {
+        final int neighbor = grid.neighbor(current, direction);
+        if (neighbor < 0) {
+          continue;
+        }
+        final float next = distance + costs[neighbor];
+        if (next < integration[neighbor]) {
+          integration[neighbor] = next;
+          directions[neighbor] = (byte) ((direction + 3) % 6);
+          heap.push(neighbor, next);
+        }
+      }
+    }
+  }
+
+  private int checkedIndex(final int q, final int r) {
+    final int index = grid.index(q, r);
+    if (index < 0) {
+      throw new IndexOutOfBoundsException("Hex not in grid: q=" + q + ", r=" + r);
+    }
+    return index;
+  }
+
+  /**
+   * Supplies the cost to enter a hex.
+   */
+  @FunctionalInterface
+  public interface CostFunction {
+
+    /**
+     * Cost float.
+     *
+     * @param key the packed key
+     * @return the cost, or IMPASSABLE.
+     */
+    float cost(long key);
+  }
+}
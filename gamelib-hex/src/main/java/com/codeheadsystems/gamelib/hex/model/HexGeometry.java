@@ -0,0 +1,164 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.model;
+
+/**
+ * The shape shared by every hex of a layout: the six corner offsets from the hex center, worked out once. Hexes
+ * only need their center to get their vertices or triangle fan from here, so a field does not hold a copy of the
+ * same shape per hex. Immutable, get one from LayoutManager.geometry(layout).
+ */
+public class HexGeometry {
+
+  /**
+   * Number of floats in the vertex array, an x, y pair per corner.
+   */
+  public static final int VERTEX_FLOATS = 12;
+  /**
+   * Number of triangles in the fan, one per side.
+   */
+  public static final int TRIANGLES = 6;
+  /**
+   * Number of floats per triangle: center, corner, next corner.
+   */
+  public static final int TRIANGLE_FLOATS = 6;
+
+  private final Orientation orientation;
+  private final float sizeX;
+  private final float sizeY;
+  private final float[] corners = new float[VERTEX_FLOATS];
+  private final float width;
+  private final float height;
+
+  /**
+   * Instantiates a new Hex geometry.
+   *
+   * @param orientation the orientation
+   * @param sizeX       the size x
+   * @param sizeY       the size y
+   */
+  public HexGeometry(final Orientation orientation, final float sizeX, final float sizeY) {
+    this.orientation = orientation;
+    this.sizeX = sizeX;
+    this.sizeY = sizeY;
+    float minX = Float.MAX_VALUE;
+    float maxX = -Float.MAX_VALUE;
+    float minY = Float.MAX_VALUE;
+    float maxY = -Float.MAX_VALUE;
+    for (int corner = 0; corner < 6; corner++) {
+      final double angle = 2.0 * Math.PI * (orientation.startAngle() - corner) / 6.0;
+      final float x = sizeX * (float) Math.cos(angle);
+      final float y = sizeY * (float) Math.sin(angle);
+      corners[corner * 2] = x;
+      corners[corner * 2 + 1] = y;
+      minX = Math.min(minX, x);
+      maxX = Math.max(maxX, x);
+      minY = Math.min(minY, y);
+      maxY = Math.max(maxY, y);
+    }
+    width = maxX - minX;
+    height = maxY - minY;
+  }
+
+  /**
+   * True if this geometry was built for the layout's current orientation and size.
+   *
+   * @param layout the layout
+   * @return the boolean
+   */
+  public boolean matches(final Layout layout) {
+    return orientation == layout.orientation()
+        && sizeX == layout.size().x
+        && sizeY == layout.size().y;
+  }
+
+  /**
+   * X offset of the corner from the center.
+   *
+   * @param corner the corner
+   * @return the offset
+   */
+  public float cornerX(final int corner) {
+    return corners[corner * 2];
+  }
+
+  /**
+   * Y offset of the corner from the center.
+   *
+   * @param corner the corner
+   * @return the offset
+   */
+  public float cornerY(final int corner) {
+    return corners[corner * 2 + 1];
+  }
+
+  /**
+   * Width of the hex's bounding box.
+   *
+   * @return the width
+   */
+  public float width() {
+    return width;
+  }
+
+  /**
+   * Height of the hex's bounding box.
+   *
+   * @return the height
+   */
+  public float height() {
+    return height;
+  }
+
+  /**
+   * Writes the corners of the hex centered at x, y into the array as x, y pairs.
+   *
+   * @param centerX the center x
+   * @param centerY the center y
+   * @param out     at least VERTEX_FLOATS long.
+   * @return the out array
+   */
+  public float[] vertices(final float centerX, final float centerY, final float[] out) {
+    for (int i = 0; i < VERTEX_FLOATS; i += 2) {
+      out[i] = centerX + corners[i];
+      out[i + 1] = centerY + corners[i + 1];
+    }
+    return out;
+  }
+
+  /**
+   * Writes one triangle of the fan for the hex centered at x, y: the center, then the corner, then the next
+   * corner (the last triangle closes back to corner zero).
+   *
+   * @param triangle which triangle, 0 to 5.
+   * @param centerX  the center x
+   * @param centerY  the center y
+   * @param out      at least TRIANGLE_FLOATS long.
+   * @return the out array
+   */
+  public float[] triangle(final int triangle, final float centerX, final float centerY, final float[] out) {
+    final int corner = triangle * 2;
+    final int next = (corner + 2) % VERTEX_FLOATS;
+    out[0] = centerX;
+    out[1] = centerY;
+    out[2] = centerX + corners[corner];
+    out[3] = centerY + corners[corner + 1];
+    out[4] = centerX + corners[next];
+    out[5] = centerY + corners[next + 1];
+    return out;
+  }
+}
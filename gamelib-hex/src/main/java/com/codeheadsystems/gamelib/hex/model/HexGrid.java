@@ -0,0 +1,349 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.model;
+
+import com.codeheadsystems.gamelib.hex.manager.HexManager;
+import com.codeheadsystems.gamelib.hex.manager.OffsetCoordManager;
+import com.codeheadsystems.gamelib.hex.utilities.HexKey;
+import java.util.Arrays;
+
+/**
+ * Dense storage for a rectangular hex field. Each hex maps to an index in a flat, row-major array using the
+ * q-offset math from OffsetCoordManager: col is q, row is the offset row. The default ODD offset is the shape
+ * that HexManager.generate(cols, rows) produces, so index 0 is the bottom left hex.
+ * <p>
+ * Any primitive per-hex layer (costs, flags, heights) can be sized with size() and addressed with the same
+ * index, so the grid is also the index space for the other dense hex structures.
+ *
+ * @param <T> the type stored per hex.
+ */
+public class HexGrid<T> {
+
+  private final int cols;
+  private final int rows;
+  private final OffsetCoord.Offset offset;
+  private final T[] values;
+  // neighbor col/row delta per direction, split by the parity of the current column.
+  private final int[][] neighborCol = new int[2][6];
+  private final int[][] neighborRow = new int[2][6];
+
+  /**
+   * Instantiates a new Hex grid matching HexManager.generate(cols, rows).
+   *
+   * @param cols the cols
+   * @param rows the rows
+   */
+  public HexGrid(final int cols, final int rows) {
+    this(cols, rows, OffsetCoord.Offset.ODD);
+  }
+
+  /**
+   * Instantiates a new Hex grid.
+   *
+   * @param cols   the cols
+   * @param rows   the rows
+   * @param offset the offset
+   */
+  @SuppressWarnings("unchecked")
+  public HexGrid(final int cols, final int rows, final OffsetCoord.Offset offset) {
+    if (cols <= 0 || rows <= 0) {
+      throw new IllegalArgumentException("cols and rows must be positive: " + cols + "x" + rows);
+    }
+    this.cols = cols;
+    this.rows = rows;
+    this.offset = offset;
+    this.values = (T[]) new Object[Math.multiplyExact(cols, rows)];
+    for (int parity = 0; parity < 2; parity++) {
+      final int r = OffsetCoordManager.qoffsetR(offset, parity, 0);
+      for (int direction = 0; direction < 6; direction++) {
+        final int q = parity + HexManager.DIRECTION_Q[direction];
+        neighborCol[parity][direction] = HexManager.DIRECTION_Q[direction];
+        neighborRow[parity][direction] = OffsetCoordManager.qoffsetRow(offset, q, r + HexManager.DIRECTION_R[direction]);
+      }
+    }
+  }
+
+  /**
+   * Instantiates a new Hex grid sized for the layout.
+   *
+   * @param <T>            the type parameter
+   * @param hexFieldLayout the hex field layout
+   * @return the hex grid
+   */
+  public static <T> HexGrid<T> of(final HexFieldLayout hexFieldLayout) {
+    return new HexGrid<>(hexFieldLayout.cols(), hexFieldLayout.rows());
+  }
+
+  /**
+   * Cols int.
+   *
+   * @return the int
+   */
+  public int cols() {
+    return cols;
+  }
+
+  /**
+   * Rows int.
+   *
+   * @return the int
+   */
+  public int rows() {
+    return rows;
+  }
+
+  /**
+   * Offset offset.
+   *
+   * @return the offset
+   */
+  public OffsetCoord.Offset offset() {
+    return offset;
+  }
+
+  /**
+   * Number of hexes in the grid.
+   *
+   * @return the int
+   */
+  public int size() {
+    return values.length;
+  }
+
+  /**
+   * Index of the col/row, or -1 if outside the grid.
+   *
+   * @param col the col
+   * @param row the row
+   * @return the index
+   */
+  public int offsetIndex(final int col, final int row) {
+    if (col < 0 || col >= cols || row < 0 || row >= rows) {
+      return -1;
+    }
+    return row * cols + col;
+  }
+
+  /**
+   * Index of the cube coordinate, or -1 if outside the grid.
+   *
+   * @param q the q
+   * @param r the r
+   * @return the index
+   */
+  public int index(final int q, final int r) {
+    return offsetIndex(q, OffsetCoordManager.qoffsetRow(offset, q, r));
+  }
+
+  /**
+   * Index of the hex, or -1 if outside the grid.
+   *
+   * @param hex the hex
+   * @return the index
+   */
+  public int index(final Hex hex) {
+    return index(hex.q(), hex.r());
+  }
+
+  /**
+   * Index of the packed key, or -1 if outside the grid.
+   *
+   * @param key the packed key
+   * @return the index
+   */
+  public int index(final long key) {
+    return index(HexKey.q(key), HexKey.r(key));
+  }
+
+  /**
+   * Contains boolean.
+   *
+   * @param q the q
+   * @param r the r
+   * @return the boolean
+   */
+  public boolean contains(final int q, final int r) {
+    return index(q, r) >= 0;
+  }
+
+  /**
+   * Col of the index.
+   *
+   * @param index the index
+   * @return the col
+   */
+  public int col(final int index) {
+    return index % cols;
+  }
+
+  /**
+   * Row of the index.
+   *
+   * @param index the index
+   * @return the row
+   */
+  public int row(final int index) {
+    return index / cols;
+  }
+
+  /**
+   * Q of the index.
+   *
+   * @param index the index
+   * @return the q
+   */
+  public int q(final int index) {
+    return col(index);
+  }
+
+  /**
+   * R of the index.
+   *
+   * @param index the index
+   * @return the r
+   */
+  public int r(final int index) {
+    return OffsetCoordManager.qoffsetR(offset, col(index), row(index));
+  }
+
+  /**
+   * Packed key of the index.
+   *
+   * @param index the index
+   * @return the packed key
+   */
+  public long key(final int index) {
+    return HexKey.pack(q(index), r(index));
+  }
+
+  /**
+   * Index of the neighbor in the direction, or -1 if that neighbor is outside the grid. Same direction
+   * index as HexManager.directions.
+   *
+   * @param index     the index
+   * @param direction the direction
+   * @return the neighbor index
+   */
+  public int neighbor(final int index, final int direction) {
+    final int col = index % cols;
+    final int row = index / cols;
+    final int parity = col & 1;
+    return offsetIndex(col + neighborCol[parity][direction], row + neighborRow[parity][direction]);
+  }
+
+  /**
+   * Get t.
+   *
+   * @param index the index
+   * @return the t
+   */
+  public T get(final int index) {
+    return values[index];
+  }
+
+  /**
+   * Get t.
+   *
+   * @param q the q
+   * @param r the r
+   * @return the t, or null if outside the grid.
+   */
+  public T get(final int q, final int r) {
+    final int index = index(q, r);
+    return index < 0 ? null : values[index];
+  }
+
+  /**
+   * Get t.
+   *
+   * @param hex the hex
+   * @return the t, or null if outside the grid.
+   */
+  public T get(final Hex hex) {
+    return get(hex.q(), hex.r());
+  }
+
+  /**
+   * Set.
+   *
+   * @param index the index
+   * @param value the value
+   * @return the previous value
+   */
+  public T set(final int index, final T value) {
+    final T old = values[index];
+    values[index] = value;
+    return old;
+  }
+
+  /**
+   * Set.
+   *
+   * @param q     the q
+   * @param r     the r
+   * @param value the value
+   * @return the previous value
+   */
+  public T set(final int q, final int r, final T value) {
+    final int index = index(q, r);
+    if (index < 0) {
+      throw new IndexOutOfBoundsException("Hex not in grid: q=" + q + ", r=" + r);
+    }
+    return set(index, value);
+  }
+
+  /**
+   * Clears every value.
+   */
+  public void clear() {
+    Arrays.fill(values, null);
+  }
+
+  /**
+   * Visits each hex in row-major order, including the ones with no value.
+   *
+   * @param visitor the visitor
+   */
+  public void forEach(final Visitor<T> visitor) {
+    int index = 0;
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < cols; col++, index++) {
+        visitor.visit(index, col, OffsetCoordManager.qoffsetR(offset, col, row), values[index]);
+      }
+    }
+  }
+
+  /**
+   * Allocation free visitor over the grid.
+   *
+   * @param <T> the value type
+   */
+  @FunctionalInterface
+  public interface Visitor<T> {
+
+    /**
+     * Visit.
+     *
+     * @param index the index
+     * @param q     the q
+     * @param r     the r
+     * @param value the value, may be null.
+     */
+    void visit(int index, int q, int r, T value);
+  }
+}
@@ -0,0 +1,301 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.model;
+
+import static com.codeheadsystems.gamelib.hex.utilities.HexKey.EMPTY;
+
+import com.codeheadsystems.gamelib.hex.utilities.HexKey;
+import java.util.Arrays;
+
+/**
+ * Open addressed map from a hex coordinate to a primitive int. Keys are the packed (q, r) longs from
+ * {@link HexKey}. Use this for per-hex numbers (costs, indexes, ids) without boxing.
+ */
+public class HexIntMap {
+
+  private static final int DEFAULT_CAPACITY = 32;
+
+  private long[] keys;
+  private int[] values;
+  private int mask;
+  private int threshold;
+  private int size;
+
+  /**
+   * Instantiates a new Hex int map.
+   */
+  public HexIntMap() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Instantiates a new Hex int map sized to hold the expected number of entries without resizing.
+   *
+   * @param expectedSize the expected size
+   */
+  public HexIntMap(final int expectedSize) {
+    allocate(HexObjectMap.tableSizeFor(expectedSize));
+  }
+
+  /**
+   * Put the value for the coordinate.
+   *
+   * @param q     the q
+   * @param r     the r
+   * @param value the value
+   */
+  public void put(final int q, final int r, final int value) {
+    put(HexKey.pack(q, r), value);
+  }
+
+  /**
+   * Put the value for the packed key.
+   *
+   * @param key   the packed key
+   * @param value the value
+   */
+  public void put(final long key, final int value) {
+    if (key == EMPTY) {
+      throw new IllegalArgumentException("Reserved key: " + key);
+    }
+    int index = HexKey.slot(key, mask);
+    while (keys[index] != EMPTY) {
+      if (keys[index] == key) {
+        values[index] = value;
+        return;
+      }
+      index = (index + 1) & mask;
+    }
+    keys[index] = key;
+    values[index] = value;
+    if (++size >= threshold) {
+      resize(keys.length << 1);
+    }
+  }
+
+  /**
+   * Get the value for the coordinate.
+   *
+   * @param q            the q
+   * @param r            the r
+   * @param defaultValue returned if the coordinate is not in the map.
+   * @return the value
+   */
+  public int get(final int q, final int r, final int defaultValue) {
+    return get(HexKey.pack(q, r), defaultValue);
+  }
+
+  /**
+   * Get the value for the hex.
+   *
+   * @param hex          the hex
+   * @param defaultValue returned if the hex is not in the map.
+   * @return the value
+   */
+  public int get(final Hex hex, final int defaultValue) {
+    return get(HexKey.pack(hex), defaultValue);
+  }
+
+  /**
+   * Get the value for the packed key.
+   *
+   * @param key          the packed key
+   * @param defaultValue returned if the key is not in the map.
+   * @return the value
+   */
+  public int get(final long key, final int defaultValue) {
+    final int index = indexOf(key);
+    return index < 0 ? defaultValue : values[index];
+  }
+
+  /**
+   * Adds the amount to the current value, starting from the default if the key is missing.
+   *
+   * @param q            the q
+   * @param r            the r
+   * @param amount       the amount
+   * @param defaultValue the starting value if missing.
+   * @return the new value
+   */
+  public int increment(final int q, final int r, final int amount, final int defaultValue) {
+    final long key = HexKey.pack(q, r);
+    final int index = indexOf(key);
+    if (index >= 0) {
+      return values[index] += amount;
+    }
+    put(key, defaultValue + amount);
+    return defaultValue + amount;
+  }
+
+  /**
+   * Contains key boolean.
+   *
+   * @param q the q
+   * @param r the r
+   * @return the boolean
+   */
+  public boolean containsKey(final int q, final int r) {
+    return indexOf(HexKey.pack(q, r)) >= 0;
+  }
+
+  /**
+   * Contains key boolean.
+   *
+   * @param key the packed key
+   * @return the boolean
+   */
+  public boolean containsKey(final long key) {
+    return indexOf(key) >= 0;
+  }
+
+  /**
+   * Remove the value for the coordinate.
+   *
+   * @param q            the q
+   * @param r            the r
+   * @param defaultValue returned if the coordinate is not in the map.
+   * @return the removed value
+   */
+  public int remove(final int q, final int r, final int defaultValue) {
+    return remove(HexKey.pack(q, r), defaultValue);
+  }
+
+  /**
+   * Remove the value for the packed key.
+   *
+   * @param key          the packed key
+   * @param defaultValue returned if the key is not in the map.
+   * @return the removed value
+   */
+  public int remove(final long key, final int defaultValue) {
+    int index = indexOf(key);
+    if (index < 0) {
+      return defaultValue;
+    }
+    final int old = values[index];
+    // Backward shift deletion, so probe chains stay intact without tombstones.
+    int next = (index + 1) & mask;
+    while (keys[next] != EMPTY) {
+      final int home = HexKey.slot(keys[next], mask);
+      if (((next - home) & mask) >= ((next - index) & mask)) {
+        keys[index] = keys[next];
+        values[index] = values[next];
+        index = next;
+      }
+      next = (next + 1) & mask;
+    }
+    keys[index] = EMPTY;
+    size--;
+    return old;
+  }
+
+  /**
+   * Size int.
+   *
+   * @return the int
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Is empty boolean.
+   *
+   * @return the boolean
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Clear the map, keeping the current capacity.
+   */
+  public void clear() {
+    if (size > 0) {
+      Arrays.fill(keys, EMPTY);
+      size = 0;
+    }
+  }
+
+  /**
+   * Visits every entry without allocating. Do not modify the map from the visitor.
+   *
+   * @param visitor the visitor
+   */
+  public void forEach(final Visitor visitor) {
+    for (int i = 0; i < keys.length; i++) {
+      final long key = keys[i];
+      if (key != EMPTY) {
+        visitor.visit(HexKey.q(key), HexKey.r(key), values[i]);
+      }
+    }
+  }
+
+  private int indexOf(final long key) {
+    int index = HexKey.slot(key, mask);
+    long current;
+    while ((current = keys[index]) != EMPTY) {
+      if (current == key) {
+        return index;
+      }
+      index = (index + 1) & mask;
+    }
+    return -1;
+  }
+
+  private void allocate(final int capacity) {
+    keys = new long[capacity];
+    Arrays.fill(keys, EMPTY);
+    values = new int[capacity];
+    mask = capacity - 1;
+    threshold = (int) (capacity * HexObjectMap.LOAD_FACTOR);
+  }
+
+  private void resize(final int capacity) {
+    final long[] oldKeys = keys;
+    final int[] oldValues = values;
+    allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      final long key = oldKeys[i];
+      if (key != EMPTY) {
+        int index = HexKey.slot(key, mask);
+        while (keys[index] != EMPTY) {
+          index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = oldValues[i];
+      }
+    }
+  }
+
+  /**
+   * Allocation free visitor over the map entries.
+   */
+  @FunctionalInterface
+  public interface Visitor {
+
+    /**
+     * Visit.
+     *
+     * @param q     the q
+     * @param r     the r
+     * @param value the value
+     */
+    void visit(int q, int r, int value);
+  }
+}
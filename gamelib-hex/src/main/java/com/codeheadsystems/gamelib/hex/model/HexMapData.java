@@ -0,0 +1,120 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.model;
+
+import com.codeheadsystems.gamelib.hex.manager.OffsetCoordManager;
+
+/**
+ * Dense per-hex map layers for a rectangular field: terrain id, flags and height. Indexed the same way as a
+ * HexGrid with the default ODD offset (row * cols + col), so the arrays line up with any grid of the same size.
+ */
+public class HexMapData {
+
+  private final int cols;
+  private final int rows;
+  private final short[] terrain;
+  private final byte[] flags;
+  private final float[] height;
+
+  /**
+   * Instantiates a new Hex map data.
+   *
+   * @param cols the cols
+   * @param rows the rows
+   */
+  public HexMapData(final int cols, final int rows) {
+    if (cols <= 0 || rows <= 0) {
+      throw new IllegalArgumentException("cols and rows must be positive: " + cols + "x" + rows);
+    }
+    this.cols = cols;
+    this.rows = rows;
+    final int size = Math.multiplyExact(cols, rows);
+    this.terrain = new short[size];
+    this.flags = new byte[size];
+    this.height = new float[size];
+  }
+
+  /**
+   * Cols int.
+   *
+   * @return the int
+   */
+  public int cols() {
+    return cols;
+  }
+
+  /**
+   * Rows int.
+   *
+   * @return the int
+   */
+  public int rows() {
+    return rows;
+  }
+
+  /**
+   * Number of hexes.
+   *
+   * @return the int
+   */
+  public int size() {
+    return terrain.length;
+  }
+
+  /**
+   * Index of the cube coordinate, or -1 if outside the map.
+   *
+   * @param q the q
+   * @param r the r
+   * @return the index
+   */
+  public int index(final int q, final int r) {
+    final int row = OffsetCoordManager.qoffsetRow(OffsetCoord.Offset.ODD, q, r);
+    if (q < 0 || q >= cols || row < 0 || row >= rows) {
+      return -1;
+    }
+    return row * cols + q;
+  }
+
+  /**
+   * Terrain ids, one per hex.
+   *
+   * @return the short [ ]
+   */
+  public short[] terrain() {
+    return terrain;
+  }
+
+  /**
+   * Flags, one byte per hex.
+   *
+   * @return the byte [ ]
+   */
+  public byte[] flags() {
+    return flags;
+  }
+
+  /**
+   * Heights, one per hex.
+   *
+   * @return the float [ ]
+   */
+  public float[] height() {
+    return height;
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.model;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+
+/**
+ * An open binary hex map, see HexMapFileManager for the layout. The layers are memory mapped, so opening is
+ * just reading the header, and the operating system pages the data in as it is touched. Reads use absolute
+ * positions, so any number of threads can read at once.
+ * <p>
+ * As a HexChunkSource it packs each hex's terrain and flags into the chunk value, see terrain(int) and
+ * flags(int).
+ */
+public class HexMapFile implements HexChunkSource {
+
+  private final HexFieldConfiguration configuration;
+  private final int cols;
+  private final int rows;
+  private final ShortBuffer terrain;
+  private final ByteBuffer flags;
+  private final FloatBuffer height;
+
+  /**
+   * Instantiates a new Hex map file.
+   *
+   * @param configuration the configuration from the header
+   * @param terrain       the terrain layer
+   * @param flags         the flags layer
+   * @param height        the height layer
+   */
+  public HexMapFile(final HexFieldConfiguration configuration,
+                    final ShortBuffer terrain,
+                    final ByteBuffer flags,
+                    final FloatBuffer height) {
+    this.configuration = configuration;
+    this.cols = configuration.getCols();
+    this.rows = configuration.getRows();
+    this.terrain = terrain;
+    this.flags = flags;
+    this.height = height;
+  }
+
+  /**
+   * Terrain id from a chunk value.
+   *
+   * @param value the chunk value
+   * @return the terrain id
+   */
+  public static short terrain(final int value) {
+    return (short) value;
+  }
+
+  /**
+   * Flags from a chunk value.
+   *
+   * @param value the chunk value
+   * @return the flags
+   */
+  public static byte flags(final int value) {
+    return (byte) (value >>> 16);
+  }
+
+  /**
+   * Configuration from the header. Do not modify.
+   *
+   * @return the hex field configuration
+   */
+  public HexFieldConfiguration configuration() {
+    return configuration;
+  }
+
+  /**
+   * Cols int.
+   *
+   * @return the int
+   */
+  public int cols() {
+    return cols;
+  }
+
+  /**
+   * Rows int.
+   *
+   * @return the int
+   */
+  public int rows() {
+    return rows;
+  }
+
+  /**
+   * Terrain id at the col and row.
+   *
+   * @param col the col
+   * @param row the row
+   * @return the terrain id
+   */
+  public short terrain(final int col, final int row) {
+    return terrain.get(row * cols + col);
+  }
+
+  /**
+   * Flags at the col and row.
+   *
+   * @param col the col
+   * @param row the row
+   * @return the flags
+   */
+  public byte flags(final int col, final int row) {
+    return flags.get(row * cols + col);
+  }
+
+  /**
+   * Height at the col and row.
+   *
+   * @param col the col
+   * @param row the row
+   * @return the height
+   */
+  public float height(final int col, final int row) {
+    return height.get(row * cols + col);
+  }
+
+  /**
+   * Copies every layer into the data with bulk reads, no per-hex work or objects.
+   *
+   * @param data map data of the same size
+   * @return the data
+   */
+  public HexMapData read(final HexMapData data) {
+    if (data.cols() != cols || data.rows() != rows) {
+      throw new IllegalArgumentException("Map is " + cols + "x" + rows + ", data is " + data.cols() + "x" + data.rows());
+    }
+    terrain.get(0, data.terrain());
+    flags.get(0, data.flags());
+    height.get(0, data.height());
+    return data;
+  }
+
+  @Override
+  public void load(final HexChunk chunk) {
+    final int[] values = chunk.data();
+    for (int localRow = 0; localRow < chunk.rows(); localRow++) {
+      final int start = (chunk.firstRow() + localRow) * cols + chunk.firstCol();
+      for (int localCol = 0; localCol < chunk.cols(); localCol++) {
+        values[chunk.index(localCol, localRow)] = (terrain.get(start + localCol) & 0xFFFF)
+            | (flags.get(start + localCol) & 0xFF) << 16;
+      }
+    }
+  }
+}
@@ -0,0 +1,338 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.model;
+
+import static com.codeheadsystems.gamelib.hex.utilities.HexKey.EMPTY;
+
+import com.codeheadsystems.gamelib.hex.utilities.HexKey;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Open addressed map from a hex coordinate to an object. Keys are the packed (q, r) longs from {@link HexKey},
+ * so lookups never need a Hex instance, never box and never call Hex.hashCode(). Null values are not allowed.
+ *
+ * @param <T> the value type
+ */
+public class HexObjectMap<T> {
+
+  private static final int DEFAULT_CAPACITY = 32;
+  static final float LOAD_FACTOR = 0.6f;
+
+  private long[] keys;
+  private T[] values;
+  private int mask;
+  private int threshold;
+  private int size;
+
+  /**
+   * Instantiates a new Hex object map.
+   */
+  public HexObjectMap() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Instantiates a new Hex object map sized to hold the expected number of entries without resizing.
+   *
+   * @param expectedSize the expected size
+   */
+  public HexObjectMap(final int expectedSize) {
+    allocate(tableSizeFor(expectedSize));
+  }
+
+  /**
+   * Put the value for the coordinate.
+   *
+   * @param q     the q
+   * @param r     the r
+   * @param value the value
+   * @return the previous value, or null.
+   */
+  public T put(final int q, final int r, final T value) {
+    return put(HexKey.pack(q, r), value);
+  }
+
+  /**
+   * Put the value for the hex. The hex itself is not retained.
+   *
+   * @param hex   the hex
+   * @param value the value
+   * @return the previous value, or null.
+   */
+  public T put(final Hex hex, final T value) {
+    return put(HexKey.pack(hex), value);
+  }
+
+  /**
+   * Put the value for the packed key.
+   *
+   * @param key   the packed key
+   * @param value the value
+   * @return the previous value, or null.
+   */
+  public T put(final long key, final T value) {
+    if (key == EMPTY) {
+      throw new IllegalArgumentException("Reserved key: " + key);
+    }
+    Objects.requireNonNull(value, "value");
+    int index = HexKey.slot(key, mask);
+    while (keys[index] != EMPTY) {
+      if (keys[index] == key) {
+        final T old = values[index];
+        values[index] = value;
+        return old;
+      }
+      index = (index + 1) & mask;
+    }
+    keys[index] = key;
+    values[index] = value;
+    if (++size >= threshold) {
+      resize(keys.length << 1);
+    }
+    return null;
+  }
+
+  /**
+   * Get the value for the coordinate.
+   *
+   * @param q the q
+   * @param r the r
+   * @return the value, or null.
+   */
+  public T get(final int q, final int r) {
+    return get(HexKey.pack(q, r));
+  }
+
+  /**
+   * Get the value for the hex.
+   *
+   * @param hex the hex
+   * @return the value, or null.
+   */
+  public T get(final Hex hex) {
+    return get(HexKey.pack(hex));
+  }
+
+  /**
+   * Get the value for the packed key.
+   *
+   * @param key the packed key
+   * @return the value, or null.
+   */
+  public T get(final long key) {
+    final int index = indexOf(key);
+    return index < 0 ? null : values[index];
+  }
+
+  /**
+   * Contains key boolean.
+   *
+   * @param q the q
+   * @param r the r
+   * @return the boolean
+   */
+  public boolean containsKey(final int q, final int r) {
+    return indexOf(HexKey.pack(q, r)) >= 0;
+  }
+
+  /**
+   * Contains key boolean.
+   *
+   * @param key the packed key
+   * @return the boolean
+   */
+  public boolean containsKey(final long key) {
+    return indexOf(key) >= 0;
+  }
+
+  /**
+   * Remove the value for the coordinate.
+   *
+   * @param q the q
+   * @param r the r
+   * @return the removed value, or null.
+   */
+  public T remove(final int q, final int r) {
+    return remove(HexKey.pack(q, r));
+  }
+
+  /**
+   * Remove the value for the packed key.
+   *
+   * @param key the packed key
+   * @return the removed value, or null.
+   */
+  public T remove(final long key) {
+    int index = indexOf(key);
+    if (index < 0) {
+      return null;
+    }
+    final T old = values[index];
+    // Backward shift deletion, so probe chains stay intact without tombstones.
+    int next = (index + 1) & mask;
+    while (keys[next] != EMPTY) {
+      final int home = HexKey.slot(keys[next], mask);
+      if (((next - home) & mask) >= ((next - index) & mask)) {
+        keys[index] = keys[next];
+        values[index] = values[next];
+        index = next;
+      }
+      next = (next + 1) & mask;
+    }
+    keys[index] = EMPTY;
+    values[index] = null;
+    size--;
+    return old;
+  }
+
+  /**
+   * Size int.
+   *
+   * @return the int
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Is empty boolean.
+   *
+   * @return the boolean
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Clear the map, keeping the current capacity.
+   */
+  public void clear() {
+    if (size > 0) {
+      Arrays.fill(keys, EMPTY);
+      Arrays.fill(values, null);
+      size = 0;
+    }
+  }
+
+  /**
+   * Visits every entry without allocating. Do not modify the map from the visitor.
+   *
+   * @param visitor the visitor
+   */
+  public void forEach(final Visitor<T> visitor) {
+    for (int i = 0; i < keys.length; i++) {
+      final long key = keys[i];
+      if (key != EMPTY) {
+        visitor.visit(HexKey.q(key), HexKey.r(key), values[i]);
+      }
+    }
+  }
+
+  private int indexOf(final long key) {
+    int index = HexKey.slot(key, mask);
+    long current;
+    while ((current = keys[index]) != EMPTY) {
+      if (current == key) {
+        return index;
+      }
+      index = (index + 1) & mask;
+    }
+    return -1;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void allocate(final int capacity) {
+    keys = new long[capacity];
+    Arrays.fill(keys, EMPTY);
+    values = (T[]) new Object[capacity];
+    mask = capacity - 1;
+    threshold = (int) (capacity * LOAD_FACTOR);
+  }
+
+  private void resize(final int capacity) {
+    final long[] oldKeys = keys;
+    final T[] oldValues = values;
+    allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      final long key = oldKeys[i];
+      if (key != EMPTY) {
+        int index = HexKey.slot(key, mask);
+        while (keys[index] != EMPTY) {
+          index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = oldValues[i];
+      }
+    }
+  }
+
+  /**
+   * Smallest power of two table that holds the expected size under the load factor.
+   *
+   * @param expectedSize the expected size
+   * @return the table size
+   */
+  static int tableSizeFor(final int expectedSize) {
+    final int needed = Math.max(2, (int) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR) + 1);
+    return Integer.highestOneBit(needed - 1) << 1;
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    final HexObjectMap<?> that = (HexObjectMap<?>) o;
+    if (size != that.size) return false;
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != EMPTY && !values[i].equals(that.get(keys[i]))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = 0;
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != EMPTY) {
+        result += Long.hashCode(keys[i]) ^ values[i].hashCode();
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Allocation free visitor over the map entries.
+   *
+   * @param <T> the value type
+   */
+  @FunctionalInterface
+  public interface Visitor<T> {
+
+    /**
+     * Visit.
+     *
+     * @param q     the q
+     * @param r     the r
+     * @param value the value
+     */
+    void visit(int q, int r, T value);
+  }
+}
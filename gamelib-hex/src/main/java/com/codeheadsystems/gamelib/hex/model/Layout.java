@@ -29,6 +29,7 @@ public class Layout implements Pool.Poolable {
   private Orientation orientation;
   private Vector2 size;
   private Vector2 origin;
+  private HexGeometry geometry;
 
   /**
    * Of layout.
@@ -102,6 +103,26 @@ public class Layout implements Pool.Poolable {
     return this;
   }
 
+  /**
+   * The cached shape for this layout, see LayoutManager.geometry(layout).
+   *
+   * @return the hex geometry, may be null or stale.
+   */
+  public HexGeometry geometry() {
+    return geometry;
+  }
+
+  /**
+   * Sets geometry.
+   *
+   * @param geometry the geometry
+   * @return the layout
+   */
+  public Layout setGeometry(HexGeometry geometry) {
+    this.geometry = geometry;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -120,5 +141,6 @@ public class Layout implements Pool.Poolable {
     origin = null;
     size = null;
     orientation = null;
+    geometry = null;
   }
 }
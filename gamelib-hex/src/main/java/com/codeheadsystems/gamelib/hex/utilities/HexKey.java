@@ -0,0 +1,145 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.utilities;
+
+import com.codeheadsystems.gamelib.hex.manager.HexManager;
+import com.codeheadsystems.gamelib.hex.model.Hex;
+
+/**
+ * Packs an axial (q, r) coordinate into a single long so it can be used as a primitive key. The s value is
+ * always derived from q and r, so it is never stored.
+ */
+public class HexKey {
+
+  /**
+   * Reserved value that no packed coordinate in a real field will ever produce. Used as the empty slot marker
+   * in the primitive maps.
+   */
+  public static final long EMPTY = Long.MIN_VALUE;
+
+  /**
+   * Pack long.
+   *
+   * @param q the q
+   * @param r the r
+   * @return the packed key
+   */
+  public static long pack(final int q, final int r) {
+    return ((long) q << 32) | (r & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Pack long.
+   *
+   * @param hex the hex
+   * @return the packed key
+   */
+  public static long pack(final Hex hex) {
+    return pack(hex.q(), hex.r());
+  }
+
+  /**
+   * Q int.
+   *
+   * @param key the packed key
+   * @return the q
+   */
+  public static int q(final long key) {
+    return (int) (key >> 32);
+  }
+
+  /**
+   * R int.
+   *
+   * @param key the packed key
+   * @return the r
+   */
+  public static int r(final long key) {
+    return (int) key;
+  }
+
+  /**
+   * S int.
+   *
+   * @param key the packed key
+   * @return the s
+   */
+  public static int s(final long key) {
+    return -q(key) - r(key);
+  }
+
+  /**
+   * Neighbor of the packed key in the given direction. Same direction index as HexManager.directions.
+   *
+   * @param key       the packed key
+   * @param direction the direction
+   * @return the neighbor packed key
+   */
+  public static long neighbor(final long key, final int direction) {
+    return pack(q(key) + HexManager.DIRECTION_Q[direction], r(key) + HexManager.DIRECTION_R[direction]);
+  }
+
+  /**
+   * Distance between two packed keys.
+   *
+   * @param a the a
+   * @param b the b
+   * @return the distance
+   */
+  public static int distance(final long a, final long b) {
+    final int dq = q(a) - q(b);
+    final int dr = r(a) - r(b);
+    return (Math.abs(dq) + Math.abs(dr) + Math.abs(dq + dr)) / 2;
+  }
+
+  /**
+   * Rounds a fractional cube coordinate to the nearest hex, the same way FractionalHexManager.hexRound does,
+   * without any objects.
+   *
+   * @param q the fractional q
+   * @param r the fractional r
+   * @return the packed key
+   */
+  public static long round(final double q, final double r) {
+    final double s = -q - r;
+    int qi = (int) Math.round(q);
+    int ri = (int) Math.round(r);
+    final int si = (int) Math.round(s);
+    final double qDiff = Math.abs(qi - q);
+    final double rDiff = Math.abs(ri - r);
+    final double sDiff = Math.abs(si - s);
+    if (qDiff > rDiff && qDiff > sDiff) {
+      qi = -ri - si;
+    } else if (rDiff > sDiff) {
+      ri = -qi - si;
+    }
+    return pack(qi, ri);
+  }
+
+  /**
+   * Spreads the bits of the key so sequential coordinates do not cluster in an open addressed table.
+   *
+   * @param key  the packed key
+   * @param mask the table mask, capacity - 1.
+   * @return the slot
+   */
+  public static int slot(final long key, final int mask) {
+    final long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32)) & mask;
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.utilities;
+
+import java.util.Arrays;
+
+/**
+ * Primitive binary min-heap of int indexes. Ordered by priority, and on ties by the secondary value. Duplicate
+ * indexes are allowed, so callers use lazy deletion: skip an entry when it pops if it is stale. Only grows
+ * when it runs out of room, so a reused heap does not allocate.
+ */
+public class IndexMinHeap {
+
+  private int[] nodes;
+  private float[] priorities;
+  private float[] secondaries;
+  private int size;
+
+  /**
+   * Instantiates a new Index min heap.
+   *
+   * @param initialCapacity the initial capacity
+   */
+  public IndexMinHeap(final int initialCapacity) {
+    final int capacity = Math.max(initialCapacity, 16);
+    nodes = new int[capacity];
+    priorities = new float[capacity];
+    secondaries = new float[capacity];
+  }
+
+  /**
+   * Size int.
+   *
+   * @return the int
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Is empty boolean.
+   *
+   * @return the boolean
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Clear.
+   */
+  public void clear() {
+    size = 0;
+  }
+
+  /**
+   * Priority of the top entry. Only valid when not empty.
+   *
+   * @return the priority
+   */
+  public float peekPriority() {
+    return priorities[0];
+  }
+
+  /**
+   * Push.
+   *
+   * @param node     the node
+   * @param priority the priority
+   */
+  public void push(final int node, final float priority) {
+    push(node, priority, 0f);
+  }
+
+  /**
+   * Push.
+   *
+   * @param node      the node
+   * @param priority  the priority
+   * @param secondary used to order entries with the same priority, smallest first.
+   */
+  public void push(final int node, final float priority, final float secondary) {
+    if (size == nodes.length) {
+      nodes = Arrays.copyOf(nodes, size << 1);
+      priorities = Arrays.copyOf(priorities, size << 1);
+      secondaries = Arrays.copyOf(secondaries, size << 1);
+    }
+    int child = size++;
+    while (child > 0) {
+      final int parent = (child - 1) >>> 1;
+      if (!before(priority, secondary, parent)) {
+        break;
+      }
+      move(child, parent);
+      child = parent;
+    }
+    nodes[child] = node;
+    priorities[child] = priority;
+    secondaries[child] = secondary;
+  }
+
+  /**
+   * Removes and returns the node with the smallest priority. Only valid when not empty.
+   *
+   * @return the node
+   */
+  public int pop() {
+    final int result = nodes[0];
+    final int lastNode = nodes[--size];
+    final float lastPriority = priorities[size];
+    final float lastSecondary = secondaries[size];
+    int slot = 0;
+    while (true) {
+      int child = (slot << 1) + 1;
+      if (child >= size) {
+        break;
+      }
+      if (child + 1 < size && before(priorities[child + 1], secondaries[child + 1], child)) {
+        child++;
+      }
+      // the old last entry is still in slot size, so compare the child against it.
+      if (!before(priorities[child], secondaries[child], size)) {
+        break;
+      }
+      move(slot, child);
+      slot = child;
+    }
+    nodes[slot] = lastNode;
+    priorities[slot] = lastPriority;
+    secondaries[slot] = lastSecondary;
+    return result;
+  }
+
+  private boolean before(final float priority, final float secondary, final int slot) {
+    return priority < priorities[slot] || (priority == priorities[slot] && secondary < secondaries[slot]);
+  }
+
+  private void move(final int to, final int from) {
+    nodes[to] = nodes[from];
+    priorities[to] = priorities[from];
+    secondaries[to] = secondaries[from];
+  }
+}
@@ -20,10 +20,11 @@ package com.codeheadsystems.gamelib.hex.component;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
-import com.badlogic.gdx.math.Vector2;
 import com.codeheadsystems.gamelib.hex.manager.LayoutManager;
 import com.codeheadsystems.gamelib.hex.model.Hex;
+import com.codeheadsystems.gamelib.hex.model.HexGeometry;
 import com.codeheadsystems.gamelib.hex.model.Layout;
+import com.codeheadsystems.gamelib.hex.model.Orientation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -33,9 +34,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @ExtendWith(MockitoExtension.class)
 class HexComponentTest {
 
-  private static final float[] VERTICES = new float[]{0, 0, 1, 1, 1, 1, 2, 2, 2, 2, 0, 0};
   private static final Hex HEX = Hex.of(0, 0, 0);
-  private static final Vector2 VECTOR_2 = new Vector2(10f, 20f);
+  private static final HexGeometry GEOMETRY = new HexGeometry(Orientation.flat, 10f, 10f);
+  private static final float[] VERTICES = GEOMETRY.vertices(10f, 20f, new float[HexGeometry.VERTEX_FLOATS]);
   @Mock private Layout layout;
   @Mock private LayoutManager layoutManager;
   private HexComponent component;
@@ -45,11 +46,16 @@ class HexComponentTest {
     component = new HexComponent();
   }
 
+  private void initialize() {
+    when(layoutManager.geometry(layout)).thenReturn(GEOMETRY);
+    when(layoutManager.hexToPixelX(layout, 0, 0)).thenReturn(10f);
+    when(layoutManager.hexToPixelY(layout, 0, 0)).thenReturn(20f);
+    component.initialize(HEX, layout, layoutManager);
+  }
+
   @Test
   void testInitialize() {
-    when(layoutManager.vertices(layout, HEX)).thenReturn(VERTICES);
-    when(layoutManager.hexToPixel(layout, HEX)).thenReturn(VECTOR_2);
-    component.initialize(HEX, layout, layoutManager);
+    initialize();
     assertThat(component.hex())
         .isEqualTo(HEX);
     assertThat(component.isHex(0, 0, 0))
@@ -62,6 +68,14 @@ class HexComponentTest {
         .isNotNull();
     assertThat(component.triangles())
         .isNotNull();
+    assertThat(component.geometry())
+        .isSameAs(GEOMETRY);
+    assertThat(component.getOriginX())
+        .isEqualTo(10f);
+    assertThat(component.getOriginY())
+        .isEqualTo(20f);
+    assertThat(component.getWidth())
+        .isEqualTo(GEOMETRY.width());
   }
 
   @Test
@@ -72,40 +86,54 @@ class HexComponentTest {
         .isNull();
     assertThat(component.vertices())
         .isNull();
+    assertThat(component.triangles())
+        .isNull();
     assertThat(component.isHex(0, 0, 0))
         .isFalse();
   }
 
   @Test
   void reset() {
-    when(layoutManager.vertices(layout, HEX)).thenReturn(VERTICES);
-    when(layoutManager.hexToPixel(layout, HEX)).thenReturn(VECTOR_2);
-    component.initialize(HEX, layout, layoutManager);
+    initialize();
     component.reset();
     assertThat(component.polygon())
         .isNull();
     assertThat(component.vertices())
         .isNull();
+    assertThat(component.geometry())
+        .isNull();
   }
 
   @Test
   void vertices() {
-    when(layoutManager.vertices(layout, HEX)).thenReturn(VERTICES);
-    when(layoutManager.hexToPixel(layout, HEX)).thenReturn(VECTOR_2);
-    component.initialize(HEX, layout, layoutManager);
+    initialize();
     assertThat(component.vertices())
         .isNotNull()
         .isEqualTo(VERTICES);
+    final float[] out = new float[HexGeometry.VERTEX_FLOATS];
+    assertThat(component.vertices(out))
+        .isSameAs(out)
+        .isEqualTo(VERTICES);
+  }
+
+  @Test
+  void triangles() {
+    initialize();
+    final float[][] triangles = component.triangles();
+    assertThat(triangles).hasSize(HexGeometry.TRIANGLES);
+    for (int i = 0; i < HexGeometry.TRIANGLES; i++) {
+      final int next = (i + 1) % 6;
+      assertThat(triangles[i]).isEqualTo(new float[]{10f, 20f,
+          VERTICES[i * 2], VERTICES[i * 2 + 1], VERTICES[next * 2], VERTICES[next * 2 + 1]});
+    }
   }
 
   @Test
   void polygon() {
-    when(layoutManager.vertices(layout, HEX)).thenReturn(VERTICES);
-    when(layoutManager.hexToPixel(layout, HEX)).thenReturn(VECTOR_2);
-    component.initialize(HEX, layout, layoutManager);
+    initialize();
     assertThat(component.polygon())
         .isNotNull()
         .extracting("vertices")
         .isEqualTo(VERTICES);
   }
-}
\ No newline at end of file
+}
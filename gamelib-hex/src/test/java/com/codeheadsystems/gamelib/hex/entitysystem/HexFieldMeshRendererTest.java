@@ -0,0 +1,119 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.entitysystem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.PooledEngine;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.codeheadsystems.gamelib.core.manager.CullingManager;
+import com.codeheadsystems.gamelib.entity.manager.EngineManager;
+import com.codeheadsystems.gamelib.hex.component.HexComponent;
+import com.codeheadsystems.gamelib.hex.manager.FractionalHexManager;
+import com.codeheadsystems.gamelib.hex.manager.HexFieldEntityManager;
+import com.codeheadsystems.gamelib.hex.manager.HexFieldLayoutManager;
+import com.codeheadsystems.gamelib.hex.manager.HexFieldSearchManager;
+import com.codeheadsystems.gamelib.hex.manager.HexManager;
+import com.codeheadsystems.gamelib.hex.manager.LayoutManager;
+import com.codeheadsystems.gamelib.hex.manager.Vector2Manager;
+import com.codeheadsystems.gamelib.hex.model.HexField;
+import com.codeheadsystems.gamelib.hex.model.HexFieldConfiguration;
+import com.codeheadsystems.gamelib.hex.model.Orientation;
+import com.codeheadsystems.gamelib.hex.utilities.HexKey;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HexFieldMeshRendererTest {
+
+  private EngineManager engineManager;
+  private HexFieldEntityManager hexFieldEntityManager;
+  private HexFieldMeshRenderer renderer;
+  private HexField field;
+
+  @BeforeEach
+  void setup() {
+    engineManager = new EngineManager(Set.of(), Set.of(), new PooledEngine());
+    final HexManager hexManager = new HexManager();
+    final LayoutManager layoutManager = new LayoutManager(new Vector2Manager(), new FractionalHexManager(hexManager));
+    hexFieldEntityManager = new HexFieldEntityManager(engineManager, hexManager, layoutManager,
+        new HexFieldLayoutManager(layoutManager), new HexFieldSearchManager(hexManager));
+    field = generateGrid();
+    final OrthographicCamera camera = new OrthographicCamera(300, 200);
+    renderer = new HexFieldMeshRenderer(camera, new CullingManager(camera));
+    engineManager.addSystem(renderer);
+  }
+
+  private HexField generateGrid() {
+    return hexFieldEntityManager.generateGrid(new HexFieldConfiguration()
+        .setCols(4)
+        .setRows(3)
+        .setOrientation(Orientation.flat)
+        .setSizeX(10)
+        .setSizeY(10), c -> Set.of());
+  }
+
+  @Test
+  void addedToEngine_addsExistingHexes() {
+    assertThat(renderer.data().size()).isEqualTo(12);
+  }
+
+  @Test
+  void removeEntity_removesTheHex() {
+    final Entity entity = field.entityAt(0, 1);
+    final long key = HexKey.pack(entity.getComponent(HexComponent.class).hex());
+    assertThat(renderer.data().contains(key)).isTrue();
+
+    engineManager.removeEntity(entity);
+
+    assertThat(renderer.data().contains(key)).isFalse();
+    assertThat(renderer.data().size()).isEqualTo(11);
+  }
+
+  @Test
+  void release_removesTheField() {
+    hexFieldEntityManager.release(field);
+
+    assertThat(renderer.data().size()).isZero();
+  }
+
+  @Test
+  void overlappingFields_releasingTheSecondKeepsTheFirst() {
+    final HexField second = generateGrid();
+    assertThat(renderer.data().size()).isEqualTo(12);
+
+    hexFieldEntityManager.release(second);
+
+    assertThat(renderer.data().size()).isEqualTo(12);
+    assertThat(renderer.data().contains(HexKey.pack(0, 1))).isTrue();
+  }
+
+  @Test
+  void setHexField_drawsOnlyThatField() {
+    final HexField second = generateGrid();
+    renderer.setHexField(second);
+    assertThat(renderer.data().size()).isEqualTo(12);
+
+    hexFieldEntityManager.release(field);
+    assertThat(renderer.data().size()).isEqualTo(12);
+
+    hexFieldEntityManager.release(second);
+    assertThat(renderer.data().size()).isZero();
+  }
+}
@@ -0,0 +1,232 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.PooledEngine;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.codeheadsystems.gamelib.core.manager.CullingManager;
+import com.codeheadsystems.gamelib.entity.manager.EngineManager;
+import com.codeheadsystems.gamelib.hex.component.HexComponent;
+import com.codeheadsystems.gamelib.hex.model.HexChunk;
+import com.codeheadsystems.gamelib.hex.model.HexChunkSource;
+import com.codeheadsystems.gamelib.hex.model.HexChunkWorld;
+import com.codeheadsystems.gamelib.hex.model.HexFieldConfiguration;
+import com.codeheadsystems.gamelib.hex.model.Orientation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HexChunkWorldManagerTest {
+
+  private static final int CHUNK = 10;
+  // every hex's value is its q * 1000 + r, so the entities can be checked against the source.
+  private static final HexChunkSource SOURCE = chunk -> {
+    for (int col = 0; col < chunk.cols(); col++) {
+      for (int row = 0; row < chunk.rows(); row++) {
+        chunk.data()[chunk.index(col, row)] = chunk.q(col) * 1000 + chunk.r(col, row);
+      }
+    }
+  };
+
+  private PooledEngine engine;
+  private OrthographicCamera camera;
+  private CullingManager cullingManager;
+  private HexChunkWorldManager manager;
+  private HexFieldConfiguration configuration;
+  private List<Runnable> pending;
+
+  @BeforeEach
+  void setup() {
+    engine = new PooledEngine();
+    camera = new OrthographicCamera(100, 100);
+    cullingManager = new CullingManager(camera);
+    final HexManager hexManager = new HexManager();
+    final LayoutManager layoutManager = new LayoutManager(new Vector2Manager(), new FractionalHexManager(hexManager));
+    manager = new HexChunkWorldManager(new EngineManager(Set.of(), Set.of(), engine), hexManager, layoutManager,
+        new HexFieldLayoutManager(layoutManager), cullingManager);
+    configuration = new HexFieldConfiguration()
+        .setCols(95)
+        .setRows(95)
+        .setOrientation(Orientation.flat)
+        .setSizeX(10)
+        .setSizeY(10);
+    pending = new ArrayList<>();
+  }
+
+  @Test
+  void update_interestLoadsItsChunk() {
+    final HexChunkWorld world = world(Runnable::run).setFollowCamera(false).setChunkRadius(0);
+    world.addInterest(55, 10);
+    manager.update(world);
+    manager.update(world); // first update queues the load, the build may land on either.
+
+    assertThat(world.chunks().size()).isEqualTo(1);
+    assertThat(engine.getEntities().size()).isEqualTo(CHUNK * CHUNK);
+    final Entity entity = world.entityAt(55, 10);
+    assertThat(entity).isNotNull();
+    assertThat(entity.getComponent(HexComponent.class).isHex(55, 10, -65)).isTrue();
+    assertThat(world.entityAt(45, 10)).isNull();
+  }
+
+  @Test
+  void update_edgeChunksAreClipped() {
+    final HexChunkWorld world = world(Runnable::run).setFollowCamera(false).setChunkRadius(0);
+    world.addInterest(94, 0);
+    manager.update(world);
+
+    final HexChunk chunk = world.chunkAt(94, 0);
+    assertThat(chunk.cols()).isEqualTo(5);
+    assertThat(engine.getEntities().size()).isEqualTo(5 * CHUNK);
+  }
+
+  @Test
+  void update_movingAwayRecyclesChunks() {
+    final HexChunkWorld world = world(Runnable::run).setFollowCamera(false).setChunkRadius(0);
+    world.addInterest(5, 0);
+    manager.update(world);
+    world.clearInterests();
+    world.addInterest(85, 0);
+    manager.update(world);
+
+    assertThat(world.chunks().size()).isEqualTo(1);
+    assertThat(world.chunkAt(5, 0)).isNull();
+    assertThat(world.chunkAt(85, 0)).isNotNull();
+    assertThat(world.pool().poolSize()).isEqualTo(1);
+    assertThat(engine.getEntities().size()).isEqualTo(CHUNK * CHUNK);
+
+    world.clearInterests();
+    world.addInterest(5, 0);
+    manager.update(world);
+    assertThat(world.pool().poolSize()).isEqualTo(1); // the two chunks take turns.
+  }
+
+  @Test
+  void update_buildsAreSpreadOverUpdates() {
+    final HexChunkWorld world = world(Runnable::run).setFollowCamera(false).setChunkRadius(1)
+        .setMaxBuildsPerUpdate(2);
+    world.addInterest(45, 0); // chunk (4, 2) and its neighbors, nine chunks.
+    manager.update(world);
+    assertThat(world.chunks().size()).isEqualTo(9);
+    assertThat(engine.getEntities().size()).isEqualTo(2 * CHUNK * CHUNK);
+    for (int i = 0; i < 4; i++) {
+      manager.update(world);
+    }
+    assertThat(engine.getEntities().size()).isEqualTo(9 * CHUNK * CHUNK);
+  }
+
+  @Test
+  void update_unwantedWhileLoadingIsDropped() {
+    final HexChunkWorld world = world(pending::add).setFollowCamera(false).setChunkRadius(0);
+    world.addInterest(5, 0);
+    manager.update(world);
+    world.clearInterests();
+    manager.update(world);
+    assertThat(world.chunks().size()).isZero();
+
+    pending.forEach(Runnable::run);
+    manager.update(world);
+    assertThat(engine.getEntities().size()).isZero();
+    assertThat(world.pool().poolSize()).isEqualTo(1);
+  }
+
+  @Test
+  void update_followsTheCamera() {
+    final HexChunkWorld world = world(Runnable::run).setChunkRadius(0).setMaxBuildsPerUpdate(100);
+    camera.position.set(500, 500, 0);
+    cullingManager.update();
+    manager.update(world);
+    manager.update(world);
+
+    assertThat(world.chunks().size()).isGreaterThan(0);
+    assertThat(world.entityAt(33, 12)).isNotNull(); // centered at 495, 494.
+    assertThat(world.chunkAt(0, 0)).isNull();
+  }
+
+  @Test
+  void update_failedChunkWaitsBeforeRetrying() {
+    final int[] calls = new int[1];
+    final HexChunkSource failsTwice = chunk -> {
+      if (++calls[0] <= 2) {
+        throw new IllegalStateException("missing region");
+      }
+      SOURCE.load(chunk);
+    };
+    final HexChunkWorld world = manager.create(configuration, CHUNK, failsTwice, (hexComponent, value) -> Set.of(),
+            Runnable::run)
+        .setFollowCamera(false)
+        .setChunkRadius(0)
+        .setRetryUpdates(3);
+    world.addInterest(5, 0);
+    manager.update(world); // update 1 fails, retry after update 4.
+    assertThat(calls[0]).isEqualTo(1);
+    assertThat(world.chunks().size()).isEqualTo(1);
+    assertThat(world.chunkAt(5, 0).failures()).isEqualTo(1);
+
+    manager.update(world);
+    manager.update(world);
+    assertThat(calls[0]).isEqualTo(1);
+
+    manager.update(world); // update 4 fails again, the wait doubles to update 10.
+    assertThat(calls[0]).isEqualTo(2);
+    for (int update = 5; update < 10; update++) {
+      manager.update(world);
+    }
+    assertThat(calls[0]).isEqualTo(2);
+    assertThat(engine.getEntities().size()).isZero();
+
+    manager.update(world);
+    assertThat(calls[0]).isEqualTo(3);
+    assertThat(world.entityAt(5, 0)).isNotNull();
+  }
+
+  @Test
+  void update_unwantedFailedChunkIsFreed() {
+    final HexChunkWorld world = manager.create(configuration, CHUNK, chunk -> {
+          throw new IllegalStateException("corrupt region");
+        }, (hexComponent, value) -> Set.of(), Runnable::run)
+        .setFollowCamera(false)
+        .setChunkRadius(0);
+    world.addInterest(5, 0);
+    manager.update(world);
+    world.clearInterests();
+    manager.update(world);
+
+    assertThat(world.chunks().size()).isZero();
+    assertThat(world.pool().poolSize()).isEqualTo(1);
+  }
+
+  @Test
+  void release_removesEverything() {
+    final HexChunkWorld world = world(Runnable::run).setFollowCamera(false);
+    world.addInterest(50, 0);
+    manager.update(world);
+    manager.release(world);
+    assertThat(world.chunks().size()).isZero();
+    assertThat(engine.getEntities().size()).isZero();
+  }
+
+  private HexChunkWorld world(final Executor executor) {
+    return manager.create(configuration, CHUNK, SOURCE, (hexComponent, value) -> Set.of(), executor);
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.Vector2;
+import com.codeheadsystems.gamelib.core.manager.CullingManager;
+import com.codeheadsystems.gamelib.hex.model.HexGeometry;
+import com.codeheadsystems.gamelib.hex.model.HexGrid;
+import com.codeheadsystems.gamelib.hex.model.Layout;
+import com.codeheadsystems.gamelib.hex.model.Orientation;
+import com.codeheadsystems.gamelib.hex.utilities.HexKey;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HexCullingManagerTest {
+
+  private OrthographicCamera camera;
+  private CullingManager cullingManager;
+  private LayoutManager layoutManager;
+  private HexCullingManager hexCullingManager;
+
+  @BeforeEach
+  void setup() {
+    camera = new OrthographicCamera(300, 200);
+    cullingManager = new CullingManager(camera);
+    layoutManager = new LayoutManager(new Vector2Manager(), new FractionalHexManager(new HexManager()));
+    hexCullingManager = new HexCullingManager(cullingManager, layoutManager);
+  }
+
+  @Test
+  void forEachVisible_matchesBruteForce_flat() {
+    checkAgainstBruteForce(Layout.of(Orientation.flat, new Vector2().set(10, 10), new Vector2().set(0, 0)));
+  }
+
+  @Test
+  void forEachVisible_matchesBruteForce_pointy() {
+    checkAgainstBruteForce(Layout.of(Orientation.pointy, new Vector2().set(12, 8), new Vector2().set(-40, 25)));
+  }
+
+  @Test
+  void forEachVisible_grid_onlyVisitsGridHexesInView() {
+    final Layout layout = Layout.of(Orientation.flat, new Vector2().set(10, 10), new Vector2().set(0, 0));
+    final HexGrid<String> grid = new HexGrid<>(20, 20);
+    camera.position.set(0, 0, 0);
+    cullingManager.update();
+    final Set<Long> seen = new HashSet<>();
+    hexCullingManager.forEachVisible(layout, grid, (index, q, r, value) -> {
+      assertThat(grid.index(q, r)).isEqualTo(index);
+      seen.add(HexKey.pack(q, r));
+    });
+    final Set<Long> expected = new HashSet<>();
+    grid.forEach((index, q, r, value) -> {
+      if (inView(layout, q, r)) {
+        expected.add(HexKey.pack(q, r));
+      }
+    });
+    assertThat(seen).isNotEmpty().isEqualTo(expected);
+  }
+
+  private void checkAgainstBruteForce(final Layout layout) {
+    for (int[] position : new int[][]{{0, 0}, {500, -300}, {-1234, 777}}) {
+      camera.position.set(position[0], position[1], 0);
+      cullingManager.update();
+      final Set<Long> seen = new HashSet<>();
+      hexCullingManager.forEachVisible(layout, (q, r) -> assertThat(seen.add(HexKey.pack(q, r))).isTrue());
+      final Set<Long> expected = new HashSet<>();
+      for (int q = -200; q <= 200; q++) {
+        for (int r = -200; r <= 200; r++) {
+          if (inView(layout, q, r)) {
+            expected.add(HexKey.pack(q, r));
+          }
+        }
+      }
+      assertThat(seen).isNotEmpty().isEqualTo(expected);
+    }
+  }
+
+  private boolean inView(final Layout layout, final int q, final int r) {
+    final HexGeometry geometry = layoutManager.geometry(layout);
+    return cullingManager.isVisibleAround(layoutManager.hexToPixelX(layout, q, r),
+        layoutManager.hexToPixelY(layout, q, r), geometry.width() * 0.5f, geometry.height() * 0.5f);
+  }
+}
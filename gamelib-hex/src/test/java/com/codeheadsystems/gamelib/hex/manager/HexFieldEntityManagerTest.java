@@ -0,0 +1,94 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.badlogic.ashley.core.PooledEngine;
+import com.codeheadsystems.gamelib.entity.manager.EngineManager;
+import com.codeheadsystems.gamelib.hex.model.HexField;
+import com.codeheadsystems.gamelib.hex.model.HexFieldConfiguration;
+import com.codeheadsystems.gamelib.hex.model.HexFieldRelease;
+import com.codeheadsystems.gamelib.hex.model.Orientation;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HexFieldEntityManagerTest {
+
+  private PooledEngine engine;
+  private HexFieldEntityManager manager;
+  private HexFieldConfiguration configuration;
+
+  @BeforeEach
+  void setup() {
+    engine = new PooledEngine();
+    final HexManager hexManager = new HexManager();
+    final LayoutManager layoutManager = new LayoutManager(new Vector2Manager(), new FractionalHexManager(hexManager));
+    manager = new HexFieldEntityManager(new EngineManager(Set.of(), Set.of(), engine), hexManager, layoutManager,
+        new HexFieldLayoutManager(layoutManager), new HexFieldSearchManager(hexManager));
+    configuration = new HexFieldConfiguration()
+        .setCols(20)
+        .setRows(10)
+        .setOrientation(Orientation.flat)
+        .setSizeX(10)
+        .setSizeY(10);
+  }
+
+  @Test
+  void release_onlyRemovesItsOwnField() {
+    final HexField first = manager.generate(configuration, c -> Set.of());
+    final HexField second = manager.generateGrid(configuration, c -> Set.of());
+    assertThat(engine.getEntities().size()).isEqualTo(400);
+
+    manager.release(first);
+
+    assertThat(engine.getEntities().size()).isEqualTo(200);
+    assertThat(engine.getEntities().contains(second.entityAt(5, 3), true)).isTrue();
+  }
+
+  @Test
+  void release_bounded() {
+    final HexFieldRelease release = manager.beginRelease(manager.generateGrid(configuration, c -> Set.of()));
+    assertThat(release.size()).isEqualTo(200);
+
+    assertThat(manager.release(release, 150)).isFalse();
+    assertThat(engine.getEntities().size()).isEqualTo(50);
+    assertThat(release.remaining()).isEqualTo(50);
+
+    assertThat(manager.release(release, 150)).isTrue();
+    assertThat(release.isDone()).isTrue();
+    assertThat(engine.getEntities().size()).isZero();
+    assertThat(manager.release(release, 150)).isTrue();
+  }
+
+  @Test
+  void releaseFor_noBudgetStillMakesProgress() {
+    final HexFieldRelease release = manager.beginRelease(manager.generate(configuration, c -> Set.of()));
+    int remaining = release.remaining();
+    int calls = 0;
+    while (!manager.releaseFor(release, 0L)) {
+      assertThat(release.remaining()).isLessThan(remaining).isPositive();
+      remaining = release.remaining();
+      assertThat(++calls).isLessThan(200);
+    }
+    assertThat(release.remaining()).isZero();
+    assertThat(release.isDone()).isTrue();
+    assertThat(engine.getEntities().size()).isZero();
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.codeheadsystems.gamelib.hex.model.Hex;
+import com.codeheadsystems.gamelib.hex.model.HexFieldLayout;
+import com.codeheadsystems.gamelib.hex.utilities.HexKey;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HexManagerTest {
+
+  private static final long CENTER = HexKey.pack(3, -1);
+
+  private HexManager manager;
+  private List<Long> visited;
+
+  @BeforeEach
+  void setup() {
+    manager = new HexManager();
+    visited = new ArrayList<>();
+  }
+
+  @Test
+  void forEachInRange() {
+    manager.forEachInRange(HexKey.q(CENTER), HexKey.r(CENTER), 3, this::visit);
+    assertThat(visited).hasSize(37);
+    assertThat(new HashSet<>(visited)).hasSize(37);
+    visited.forEach(key -> assertThat(HexKey.distance(CENTER, key)).isLessThanOrEqualTo(3));
+  }
+
+  @Test
+  void forEachInRing() {
+    manager.forEachInRing(HexKey.q(CENTER), HexKey.r(CENTER), 4, this::visit);
+    assertThat(visited).hasSize(24);
+    assertThat(new HashSet<>(visited)).hasSize(24);
+    for (int i = 0; i < visited.size(); i++) {
+      assertThat(HexKey.distance(CENTER, visited.get(i))).isEqualTo(4);
+      // walks around the ring, so each hex touches the next one.
+      assertThat(HexKey.distance(visited.get(i), visited.get((i + 1) % visited.size()))).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void forEachInRing_zero() {
+    manager.forEachInRing(HexKey.q(CENTER), HexKey.r(CENTER), 0, this::visit);
+    assertThat(visited).containsExactly(CENTER);
+  }
+
+  @Test
+  void forEachInSpiral() {
+    final Set<Long> range = new HashSet<>();
+    manager.forEachInRange(HexKey.q(CENTER), HexKey.r(CENTER), 3, (q, r) -> range.add(HexKey.pack(q, r)));
+    manager.forEachInSpiral(Hex.of(HexKey.q(CENTER), HexKey.r(CENTER), HexKey.s(CENTER)), 3, this::visit);
+    assertThat(new HashSet<>(visited)).isEqualTo(range);
+    assertThat(visited.get(0)).isEqualTo(CENTER);
+    for (int i = 1; i < visited.size(); i++) {
+      assertThat(HexKey.distance(CENTER, visited.get(i)))
+          .isGreaterThanOrEqualTo(HexKey.distance(CENTER, visited.get(i - 1)));
+    }
+  }
+
+  @Test
+  void forEachInRangeIntersection() {
+    final long other = HexKey.pack(6, -3);
+    final Set<Long> expected = new HashSet<>();
+    manager.forEachInRange(HexKey.q(CENTER), HexKey.r(CENTER), 3, (q, r) -> {
+      if (HexKey.distance(other, HexKey.pack(q, r)) <= 2) {
+        expected.add(HexKey.pack(q, r));
+      }
+    });
+    manager.forEachInRangeIntersection(HexKey.q(CENTER), HexKey.r(CENTER), 3,
+        HexKey.q(other), HexKey.r(other), 2, this::visit);
+    assertThat(expected).isNotEmpty();
+    assertThat(visited).hasSize(expected.size());
+    assertThat(new HashSet<>(visited)).isEqualTo(expected);
+  }
+
+  @Test
+  void forEachInRange_clippedToLayout() {
+    final HexFieldLayout layout = new HexFieldLayout().setCols(6).setRows(4);
+    final Set<Long> field = new HashSet<>();
+    manager.generate(6, 4).forEach(hex -> field.add(HexKey.pack(hex)));
+    final Set<Long> expected = new HashSet<>();
+    manager.forEachInRange(1, 0, 3, (q, r) -> {
+      if (field.contains(HexKey.pack(q, r))) {
+        expected.add(HexKey.pack(q, r));
+      }
+    });
+    manager.forEachInRange(layout, 1, 0, 3, this::visit);
+    assertThat(visited).hasSize(expected.size());
+    assertThat(new HashSet<>(visited)).isEqualTo(expected);
+    field.forEach(key -> assertThat(manager.inside(layout, HexKey.q(key), HexKey.r(key))).isTrue());
+  }
+
+  @Test
+  void forEachInSpiral_clippedToLayout() {
+    final HexFieldLayout layout = new HexFieldLayout().setCols(6).setRows(4);
+    manager.forEachInSpiral(layout, 0, 0, 2, this::visit);
+    visited.forEach(key -> assertThat(manager.inside(layout, HexKey.q(key), HexKey.r(key))).isTrue());
+    assertThat(visited).contains(HexKey.pack(0, 0), HexKey.pack(2, -1));
+    assertThat(visited).doesNotContain(HexKey.pack(-1, 0));
+  }
+
+  private void visit(final int q, final int r) {
+    visited.add(HexKey.pack(q, r));
+  }
+}
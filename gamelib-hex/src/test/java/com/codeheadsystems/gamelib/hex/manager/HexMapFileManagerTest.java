@@ -0,0 +1,127 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.codeheadsystems.gamelib.hex.model.HexChunk;
+import com.codeheadsystems.gamelib.hex.model.HexFieldConfiguration;
+import com.codeheadsystems.gamelib.hex.model.HexMapData;
+import com.codeheadsystems.gamelib.hex.model.HexMapFile;
+import com.codeheadsystems.gamelib.hex.model.Orientation;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HexMapFileManagerTest {
+
+  private static final int COLS = 37;
+  private static final int ROWS = 23;
+
+  private HexMapFileManager manager;
+  private HexFieldConfiguration configuration;
+  private HexMapData data;
+  private Path path;
+
+  @BeforeEach
+  void setup() throws IOException {
+    manager = new HexMapFileManager(new HexFieldConfigurationManager());
+    configuration = new HexFieldConfiguration()
+        .setCols(COLS)
+        .setRows(ROWS)
+        .setOrientation(Orientation.pointy)
+        .setSizeX(12.5f)
+        .setSizeY(10f)
+        .setOriginX(3f)
+        .setOriginY(-4f);
+    data = new HexMapData(COLS, ROWS);
+    final Random random = new Random(12);
+    for (int i = 0; i < data.size(); i++) {
+      data.terrain()[i] = (short) random.nextInt();
+      data.flags()[i] = (byte) random.nextInt();
+      data.height()[i] = random.nextFloat() * 100f;
+    }
+    path = Files.createTempFile("hexmap", ".bin");
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    Files.deleteIfExists(path);
+  }
+
+  @Test
+  void writeThenRead() {
+    manager.write(path, configuration, data);
+    final HexMapData read = manager.read(path);
+    assertThat(read.cols()).isEqualTo(COLS);
+    assertThat(read.rows()).isEqualTo(ROWS);
+    assertThat(read.terrain()).isEqualTo(data.terrain());
+    assertThat(read.flags()).isEqualTo(data.flags());
+    assertThat(read.height()).isEqualTo(data.height());
+  }
+
+  @Test
+  void open_readsHeaderAndSingleHexes() {
+    manager.write(path, configuration, data);
+    final HexMapFile file = manager.open(path);
+    assertThat(file.configuration())
+        .hasFieldOrPropertyWithValue("cols", COLS)
+        .hasFieldOrPropertyWithValue("rows", ROWS)
+        .hasFieldOrPropertyWithValue("orientation", Orientation.pointy)
+        .hasFieldOrPropertyWithValue("sizeX", 12.5f)
+        .hasFieldOrPropertyWithValue("originY", -4f);
+    final int index = 7 * COLS + 30;
+    assertThat(file.terrain(30, 7)).isEqualTo(data.terrain()[index]);
+    assertThat(file.flags(30, 7)).isEqualTo(data.flags()[index]);
+    assertThat(file.height(30, 7)).isEqualTo(data.height()[index]);
+  }
+
+  @Test
+  void load_packsTerrainAndFlagsIntoTheChunk() {
+    manager.write(path, configuration, data);
+    final HexMapFile file = manager.open(path);
+    final HexChunk chunk = new HexChunk(16).set(2, 1, COLS, ROWS); // the clipped corner chunk
+    file.load(chunk);
+    for (int col = 0; col < chunk.cols(); col++) {
+      for (int row = 0; row < chunk.rows(); row++) {
+        final int index = (chunk.firstRow() + row) * COLS + chunk.firstCol() + col;
+        assertThat(HexMapFile.terrain(chunk.value(col, row))).isEqualTo(data.terrain()[index]);
+        assertThat(HexMapFile.flags(chunk.value(col, row))).isEqualTo(data.flags()[index]);
+      }
+    }
+  }
+
+  @Test
+  void open_notAMap() throws IOException {
+    Files.write(path, new byte[]{1, 2, 3});
+    assertThatThrownBy(() -> manager.open(path)).isInstanceOf(GdxRuntimeException.class);
+  }
+
+  @Test
+  void write_sizeMismatch() {
+    configuration.setRows(ROWS + 1);
+    assertThatThrownBy(() -> manager.write(path, configuration, data))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.codeheadsystems.gamelib.hex.model.HexGrid;
+import com.codeheadsystems.gamelib.hex.utilities.HexKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HexPathfinderTest {
+
+  private HexGrid<Object> grid;
+  private HexPathfinder pathfinder;
+  private long[] path;
+
+  @BeforeEach
+  void setup() {
+    grid = new HexGrid<>(20, 20);
+    pathfinder = new HexPathfinder();
+    path = new long[128];
+  }
+
+  @Test
+  void straightLine() {
+    final long start = grid.key(grid.offsetIndex(0, 5));
+    final long goal = grid.key(grid.offsetIndex(10, 5));
+    final int length = pathfinder.findPath(grid, start, goal, key -> true, path);
+    assertThat(length).isEqualTo(HexKey.distance(start, goal) + 1);
+    assertThat(path[0]).isEqualTo(start);
+    assertThat(path[length - 1]).isEqualTo(goal);
+    assertAdjacent(length);
+    assertThat(pathfinder.lastPathCost()).isEqualTo((float) (length - 1));
+  }
+
+  @Test
+  void sameHex() {
+    final long start = grid.key(0);
+    assertThat(pathfinder.findPath(grid, start, start, key -> true, path)).isEqualTo(1);
+    assertThat(path[0]).isEqualTo(start);
+  }
+
+  @Test
+  void aroundWall() {
+    // wall on column 5 except the top row.
+    final HexPathfinder.Passable passable = key -> {
+      final int index = grid.index(key);
+      return grid.col(index) != 5 || grid.row(index) == 19;
+    };
+    final long start = grid.key(grid.offsetIndex(0, 0));
+    final long goal = grid.key(grid.offsetIndex(10, 0));
+    final int length = pathfinder.findPath(grid, start, goal, passable, path);
+    assertThat(length).isGreaterThan(HexKey.distance(start, goal) + 1);
+    assertAdjacent(length);
+    for (int i = 0; i < length; i++) {
+      assertThat(passable.passable(path[i])).isTrue();
+    }
+  }
+
+  @Test
+  void noPath() {
+    final HexPathfinder.Passable passable = key -> grid.col(grid.index(key)) != 5;
+    final long start = grid.key(grid.offsetIndex(0, 0));
+    final long goal = grid.key(grid.offsetIndex(10, 0));
+    assertThat(pathfinder.findPath(grid, start, goal, passable, path)).isEqualTo(HexPathfinder.NO_PATH);
+    assertThat(pathfinder.lastPathCost()).isEqualTo(Float.POSITIVE_INFINITY);
+  }
+
+  @Test
+  void outsideGrid() {
+    assertThat(pathfinder.findPath(grid, HexKey.pack(-5, -5), grid.key(0), key -> true, path))
+        .isEqualTo(HexPathfinder.NO_PATH);
+  }
+
+  @Test
+  void avoidsExpensiveHexes() {
+    // row 2 is cheap, everything else costs 10.
+    final HexPathfinder.MovementCost cost = (from, to) -> grid.row(grid.index(to)) == 2 ? 1f : 10f;
+    final long start = grid.key(grid.offsetIndex(0, 2));
+    final long goal = grid.key(grid.offsetIndex(8, 2));
+    final int length = pathfinder.findPath(grid, start, goal, key -> true, cost, path);
+    assertAdjacent(length);
+    for (int i = 0; i < length; i++) {
+      assertThat(grid.row(grid.index(path[i]))).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void bufferTooSmall() {
+    final long start = grid.key(grid.offsetIndex(0, 0));
+    final long goal = grid.key(grid.offsetIndex(0, 10));
+    final long[] small = new long[3];
+    final int length = pathfinder.findPath(grid, start, goal, key -> true, small);
+    assertThat(length).isEqualTo(11);
+    assertThat(small[0]).isEqualTo(start);
+  }
+
+  @Test
+  void repeatedSearchesAreConsistent() {
+    final long start = grid.key(grid.offsetIndex(3, 3));
+    final long goal = grid.key(grid.offsetIndex(17, 12));
+    final int first = pathfinder.findPath(grid, start, goal, key -> true, path);
+    for (int i = 0; i < 100; i++) {
+      assertThat(pathfinder.findPath(grid, start, goal, key -> true, path)).isEqualTo(first);
+    }
+  }
+
+  private void assertAdjacent(final int length) {
+    for (int i = 1; i < length; i++) {
+      assertThat(HexKey.distance(path[i - 1], path[i])).isEqualTo(1);
+    }
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.codeheadsystems.gamelib.hex.model.HexGrid;
+import com.codeheadsystems.gamelib.hex.utilities.HexKey;
+import java.util.BitSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class HexVisibilityManagerTest {
+
+  private static final int RADIUS = 5;
+
+  private HexGrid<Object> grid;
+  private HexVisibilityManager manager;
+  private BitSet visible;
+  private long origin;
+
+  @BeforeEach
+  void setup() {
+    grid = new HexGrid<>(30, 30);
+    manager = new HexVisibilityManager();
+    visible = new BitSet(grid.size());
+    origin = grid.key(grid.offsetIndex(15, 15));
+  }
+
+  @Test
+  void openField() {
+    final int count = manager.fieldOfView(grid, origin, RADIUS, key -> false, visible);
+    assertThat(count).isEqualTo(1 + 3 * RADIUS * (RADIUS + 1));
+    assertThat(visible.cardinality()).isEqualTo(count);
+    for (int index = visible.nextSetBit(0); index >= 0; index = visible.nextSetBit(index + 1)) {
+      assertThat(HexKey.distance(origin, grid.key(index))).isLessThanOrEqualTo(RADIUS);
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 2, 3, 4, 5})
+  void wallIsVisibleButBlocks(final int direction) {
+    final long wall = HexKey.neighbor(origin, direction);
+    final long behind = HexKey.neighbor(wall, direction);
+    final long farBehind = HexKey.neighbor(behind, direction);
+    manager.fieldOfView(grid, origin, RADIUS, key -> key == wall, visible);
+    assertThat(visible.get(grid.index(wall))).isTrue();
+    assertThat(visible.get(grid.index(behind))).isFalse();
+    assertThat(visible.get(grid.index(farBehind))).isFalse();
+    // the hexes beside the wall are still in view.
+    assertThat(visible.get(grid.index(HexKey.neighbor(origin, (direction + 1) % 6)))).isTrue();
+    assertThat(visible.get(grid.index(HexKey.neighbor(origin, (direction + 5) % 6)))).isTrue();
+  }
+
+  @Test
+  void surroundedSeesOnlyWalls() {
+    final int count = manager.fieldOfView(grid, origin, RADIUS,
+        key -> HexKey.distance(origin, key) == 1, visible);
+    assertThat(count).isEqualTo(7);
+  }
+
+  @Test
+  void accumulates() {
+    final long other = grid.key(grid.offsetIndex(3, 3));
+    manager.fieldOfView(grid, origin, 1, key -> false, visible);
+    manager.fieldOfView(grid, other, 1, key -> false, visible);
+    assertThat(visible.cardinality()).isEqualTo(14);
+  }
+
+  @Test
+  void clippedToGrid() {
+    final int count = manager.fieldOfView(grid, grid.key(0), RADIUS, key -> false, visible);
+    assertThat(count).isEqualTo(visible.cardinality());
+    assertThat(count).isLessThan(1 + 3 * RADIUS * (RADIUS + 1));
+  }
+
+  @Test
+  void lineOfSight() {
+    final long target = grid.key(grid.offsetIndex(20, 15));
+    final long wall = grid.key(grid.offsetIndex(17, 15));
+    assertThat(manager.lineOfSight(origin, target, key -> false)).isTrue();
+    assertThat(manager.lineOfSight(origin, target, key -> key == wall)).isFalse();
+    assertThat(manager.lineOfSight(origin, wall, key -> key == wall)).isTrue();
+    assertThat(manager.lineOfSight(origin, HexKey.neighbor(origin, 2), key -> true)).isTrue();
+  }
+
+  @Test
+  void line() {
+    final long target = grid.key(grid.offsetIndex(22, 10));
+    final long[] line = new long[32];
+    final int length = manager.line(origin, target, line);
+    assertThat(length).isEqualTo(HexKey.distance(origin, target) + 1);
+    assertThat(line[0]).isEqualTo(origin);
+    assertThat(line[length - 1]).isEqualTo(target);
+    for (int i = 1; i < length; i++) {
+      assertThat(HexKey.distance(line[i - 1], line[i])).isEqualTo(1);
+    }
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.badlogic.gdx.math.Vector2;
+import com.codeheadsystems.gamelib.hex.model.FractionalHex;
+import com.codeheadsystems.gamelib.hex.model.Hex;
+import com.codeheadsystems.gamelib.hex.model.HexFieldCoordinates;
+import com.codeheadsystems.gamelib.hex.model.HexGrid;
+import com.codeheadsystems.gamelib.hex.model.Layout;
+import com.codeheadsystems.gamelib.hex.model.Orientation;
+import com.codeheadsystems.gamelib.hex.utilities.HexKey;
+import java.nio.FloatBuffer;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LayoutManagerTest {
+
+  private static final int COUNT = 200;
+
+  private HexManager hexManager;
+  private FractionalHexManager fractionalHexManager;
+  private LayoutManager layoutManager;
+  private Layout layout;
+  private int[] q;
+  private int[] r;
+
+  @BeforeEach
+  void setup() {
+    hexManager = new HexManager();
+    fractionalHexManager = new FractionalHexManager(hexManager);
+    layoutManager = new LayoutManager(new Vector2Manager(), fractionalHexManager);
+    layout = Layout.of(Orientation.pointy, new Vector2().set(7, 5), new Vector2().set(-30, 12));
+    final Random random = new Random(7);
+    q = new int[COUNT];
+    r = new int[COUNT];
+    for (int i = 0; i < COUNT; i++) {
+      q[i] = random.nextInt(200) - 100;
+      r[i] = random.nextInt(200) - 100;
+    }
+  }
+
+  @Test
+  void hexToPixel_matchesSingle() {
+    final float[] x = new float[COUNT];
+    final float[] y = new float[COUNT];
+    layoutManager.hexToPixel(layout, q, r, x, y, COUNT);
+    for (int i = 0; i < COUNT; i++) {
+      final Vector2 expected = layoutManager.hexToPixel(layout, hexManager.axial(q[i], r[i]));
+      assertThat(x[i]).isCloseTo(expected.x, within(0.001f));
+      assertThat(y[i]).isCloseTo(expected.y, within(0.001f));
+    }
+  }
+
+  @Test
+  void hexToPixel_buffer() {
+    final float[] x = new float[COUNT];
+    final float[] y = new float[COUNT];
+    final FloatBuffer buffer = FloatBuffer.allocate(COUNT * 2 + 1);
+    buffer.put(-1f);
+    layoutManager.hexToPixel(layout, q, r, x, y, COUNT);
+    layoutManager.hexToPixel(layout, q, r, buffer, COUNT);
+    assertThat(buffer.position()).isEqualTo(COUNT * 2 + 1);
+    for (int i = 0; i < COUNT; i++) {
+      assertThat(buffer.get(1 + 2 * i)).isEqualTo(x[i]);
+      assertThat(buffer.get(2 + 2 * i)).isEqualTo(y[i]);
+    }
+  }
+
+  @Test
+  void pixelToHex_roundTrip() {
+    final float[] x = new float[COUNT];
+    final float[] y = new float[COUNT];
+    final float[] fq = new float[COUNT];
+    final float[] fr = new float[COUNT];
+    final int[] outQ = new int[COUNT];
+    final int[] outR = new int[COUNT];
+    layoutManager.hexToPixel(layout, q, r, x, y, COUNT);
+    layoutManager.pixelToHex(layout, x, y, fq, fr, COUNT);
+    fractionalHexManager.hexRound(fq, fr, outQ, outR, COUNT);
+    assertThat(outQ).isEqualTo(q);
+    assertThat(outR).isEqualTo(r);
+  }
+
+  @Test
+  void pixelToHex_matchesSingle() {
+    final Random random = new Random(11);
+    final float[] x = new float[COUNT];
+    final float[] y = new float[COUNT];
+    for (int i = 0; i < COUNT; i++) {
+      x[i] = random.nextFloat() * 400f - 200f;
+      y[i] = random.nextFloat() * 400f - 200f;
+    }
+    final FloatBuffer buffer = FloatBuffer.allocate(COUNT * 2);
+    for (int i = 0; i < COUNT; i++) {
+      buffer.put(x[i]).put(y[i]);
+    }
+    buffer.flip();
+    final float[] fq = new float[COUNT];
+    final float[] fr = new float[COUNT];
+    final float[] bufferQ = new float[COUNT];
+    final float[] bufferR = new float[COUNT];
+    final int[] outQ = new int[COUNT];
+    final int[] outR = new int[COUNT];
+    layoutManager.pixelToHex(layout, x, y, fq, fr, COUNT);
+    layoutManager.pixelToHex(layout, buffer, bufferQ, bufferR, COUNT);
+    fractionalHexManager.hexRound(fq, fr, outQ, outR, COUNT);
+    assertThat(bufferQ).isEqualTo(fq);
+    assertThat(bufferR).isEqualTo(fr);
+    for (int i = 0; i < COUNT; i++) {
+      final FractionalHex expected = layoutManager.pixelToHex(layout, x[i], y[i]);
+      assertThat((double) fq[i]).isCloseTo(expected.q(), within(0.0001));
+      assertThat((double) fr[i]).isCloseTo(expected.r(), within(0.0001));
+      final Hex hex = fractionalHexManager.hexRound(expected, true);
+      assertThat(outQ[i]).isEqualTo(hex.q());
+      assertThat(outR[i]).isEqualTo(hex.r());
+    }
+  }
+
+  @Test
+  void coordinates_matchGenerate() {
+    final int cols = 150;
+    final int rows = 90; // large enough to be split over several tasks.
+    final ForkJoinPool pool = new ForkJoinPool(4);
+    final HexFieldCoordinates coordinates = layoutManager.coordinates(layout, cols, rows, pool);
+    pool.shutdown();
+    final HexGrid<Object> grid = new HexGrid<>(cols, rows);
+    assertThat(coordinates.size()).isEqualTo(grid.size());
+    assertThat(coordinates.geometry()).isSameAs(layoutManager.geometry(layout));
+    final Set<Long> generated = hexManager.generate(cols, rows).stream()
+        .map(HexKey::pack)
+        .collect(Collectors.toSet());
+    for (int i = 0; i < coordinates.size(); i++) {
+      assertThat(coordinates.q(i)).isEqualTo(grid.q(i));
+      assertThat(coordinates.r(i)).isEqualTo(grid.r(i));
+      assertThat(generated).contains(HexKey.pack(coordinates.q(i), coordinates.r(i)));
+      assertThat(coordinates.x(i)).isEqualTo(layoutManager.hexToPixelX(layout, grid.q(i), grid.r(i)));
+      assertThat(coordinates.y(i)).isEqualTo(layoutManager.hexToPixelY(layout, grid.q(i), grid.r(i)));
+    }
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.codeheadsystems.gamelib.hex.utilities.HexKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HexFieldMeshDataTest {
+
+  private static final HexGeometry GEOMETRY = new HexGeometry(Orientation.flat, 10f, 10f);
+  private static final float FILL = 1f;
+  private static final float OUTLINE = 2f;
+  private static final int FILL_FLOATS = HexFieldMeshData.FILL_VERTICES_PER_HEX * HexFieldMeshData.FLOATS_PER_VERTEX;
+  private static final int OUTLINE_FLOATS =
+      HexFieldMeshData.OUTLINE_VERTICES_PER_HEX * HexFieldMeshData.FLOATS_PER_VERTEX;
+
+  private HexFieldMeshData data;
+
+  @BeforeEach
+  void setup() {
+    data = new HexFieldMeshData(4);
+  }
+
+  @Test
+  void add() {
+    data.add(HexKey.pack(0, 0), 100f, 50f, GEOMETRY, FILL, OUTLINE);
+    assertThat(data.size()).isEqualTo(1);
+    assertThat(data.chunkCount()).isEqualTo(1);
+    assertThat(data.hexCount(0)).isEqualTo(1);
+    final float[] fill = data.fillVertices(0);
+    final float[] outline = data.outlineVertices(0);
+    assertThat(fill[0]).isEqualTo(100f);
+    assertThat(fill[1]).isEqualTo(50f);
+    for (int corner = 0; corner < 6; corner++) {
+      final int vertex = (corner + 1) * 3;
+      assertThat(fill[vertex]).isEqualTo(100f + GEOMETRY.cornerX(corner));
+      assertThat(fill[vertex + 1]).isEqualTo(50f + GEOMETRY.cornerY(corner));
+      assertThat(fill[vertex + 2]).isEqualTo(FILL);
+      assertThat(outline[corner * 3]).isEqualTo(fill[vertex]);
+      assertThat(outline[corner * 3 + 1]).isEqualTo(fill[vertex + 1]);
+      assertThat(outline[corner * 3 + 2]).isEqualTo(OUTLINE);
+    }
+    assertThat(data.dirtyStart(0)).isEqualTo(0);
+    assertThat(data.dirtyEnd(0)).isEqualTo(1);
+  }
+
+  @Test
+  void chunks() {
+    for (int q = 0; q < 9; q++) {
+      data.add(HexKey.pack(q, 0), q, 0, GEOMETRY, FILL, OUTLINE);
+    }
+    assertThat(data.chunkCount()).isEqualTo(3);
+    assertThat(data.hexCount(0)).isEqualTo(4);
+    assertThat(data.hexCount(1)).isEqualTo(4);
+    assertThat(data.hexCount(2)).isEqualTo(1);
+    assertThat(data.key(2, 0)).isEqualTo(HexKey.pack(8, 0));
+    assertThat(data.fillVertices(2)[0]).isEqualTo(8f);
+  }
+
+  @Test
+  void setColor_onlyDirtiesThatHex() {
+    for (int q = 0; q < 4; q++) {
+      data.add(HexKey.pack(q, 0), q, 0, GEOMETRY, FILL, OUTLINE);
+    }
+    data.clearDirty(0);
+    assertThat(data.dirtyStart(0)).isEqualTo(-1);
+    assertThat(data.setFillColor(HexKey.pack(2, 0), 5f)).isTrue();
+    assertThat(data.setOutlineColor(HexKey.pack(2, 0), 6f)).isTrue();
+    assertThat(data.setFillColor(HexKey.pack(9, 9), 5f)).isFalse();
+    assertThat(data.dirtyStart(0)).isEqualTo(2);
+    assertThat(data.dirtyEnd(0)).isEqualTo(3);
+    for (int vertex = 0; vertex < HexFieldMeshData.FILL_VERTICES_PER_HEX; vertex++) {
+      assertThat(data.fillVertices(0)[2 * FILL_FLOATS + vertex * 3 + 2]).isEqualTo(5f);
+      assertThat(data.fillVertices(0)[FILL_FLOATS + vertex * 3 + 2]).isEqualTo(FILL);
+    }
+    for (int vertex = 0; vertex < HexFieldMeshData.OUTLINE_VERTICES_PER_HEX; vertex++) {
+      assertThat(data.outlineVertices(0)[2 * OUTLINE_FLOATS + vertex * 3 + 2]).isEqualTo(6f);
+    }
+  }
+
+  @Test
+  void remove_movesLastHex() {
+    for (int q = 0; q < 6; q++) {
+      data.add(HexKey.pack(q, 0), q, 0, GEOMETRY, FILL, OUTLINE);
+    }
+    data.clearDirty(0);
+    data.clearDirty(1);
+    assertThat(data.remove(HexKey.pack(1, 0))).isTrue();
+    assertThat(data.remove(HexKey.pack(1, 0))).isFalse();
+    assertThat(data.size()).isEqualTo(5);
+    assertThat(data.hexCount(1)).isEqualTo(1);
+    assertThat(data.key(0, 1)).isEqualTo(HexKey.pack(5, 0));
+    assertThat(data.fillVertices(0)[FILL_FLOATS]).isEqualTo(5f);
+    assertThat(data.dirtyStart(0)).isEqualTo(1);
+    assertThat(data.dirtyEnd(0)).isEqualTo(2);
+    // the moved hex can still be found.
+    assertThat(data.setFillColor(HexKey.pack(5, 0), 3f)).isTrue();
+    assertThat(data.fillVertices(0)[FILL_FLOATS + 2]).isEqualTo(3f);
+  }
+
+  @Test
+  void indices() {
+    final short[] fill = data.fillIndices();
+    assertThat(fill).hasSize(4 * HexFieldMeshData.FILL_INDICES_PER_HEX);
+    // second hex, last triangle closes back to its first corner.
+    final int last = HexFieldMeshData.FILL_INDICES_PER_HEX * 2 - 3;
+    assertThat(fill[last]).isEqualTo((short) 7);
+    assertThat(fill[last + 1]).isEqualTo((short) 13);
+    assertThat(fill[last + 2]).isEqualTo((short) 8);
+    final short[] outline = data.outlineIndices();
+    assertThat(outline).hasSize(4 * HexFieldMeshData.OUTLINE_INDICES_PER_HEX);
+    assertThat(outline[22]).isEqualTo((short) 11);
+    assertThat(outline[23]).isEqualTo((short) 6);
+    assertThat(data.fillIndices()).isSameAs(fill);
+  }
+
+  @Test
+  void fullChunkFitsShortIndices() {
+    final HexFieldMeshData full = new HexFieldMeshData();
+    final short[] fill = full.fillIndices();
+    int max = 0;
+    for (short index : fill) {
+      max = Math.max(max, index & 0xFFFF);
+    }
+    assertThat(max).isLessThan(65536);
+    assertThat(max).isEqualTo(HexFieldMeshData.HEXES_PER_CHUNK * HexFieldMeshData.FILL_VERTICES_PER_HEX - 1);
+  }
+
+  @Test
+  void bounds_growWithHexesMovedIn() {
+    data.add(HexKey.pack(0, 0), 0f, 0f, GEOMETRY, FILL, OUTLINE);
+    data.add(HexKey.pack(1, 0), 100f, 0f, GEOMETRY, FILL, OUTLINE);
+    data.add(HexKey.pack(2, 0), 0f, 40f, GEOMETRY, FILL, OUTLINE);
+    data.add(HexKey.pack(3, 0), 0f, 0f, GEOMETRY, FILL, OUTLINE);
+    data.add(HexKey.pack(4, 0), 500f, -300f, GEOMETRY, FILL, OUTLINE);
+    assertThat(data.minX(0)).isEqualTo(-GEOMETRY.width() / 2);
+    assertThat(data.maxX(0)).isEqualTo(100f + GEOMETRY.width() / 2);
+    assertThat(data.minY(0)).isEqualTo(-GEOMETRY.height() / 2);
+    assertThat(data.maxY(0)).isEqualTo(40f + GEOMETRY.height() / 2);
+
+    data.remove(HexKey.pack(1, 0)); // the far hex in chunk one moves into chunk zero.
+    assertThat(data.maxX(0)).isEqualTo(500f + GEOMETRY.width() / 2);
+    assertThat(data.minY(0)).isEqualTo(-300f - GEOMETRY.height() / 2);
+
+    data.clear();
+    assertThat(data.minX(0)).isEqualTo(Float.POSITIVE_INFINITY);
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.codeheadsystems.gamelib.hex.utilities.HexKey;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HexFlowFieldTest {
+
+  private HexGrid<Object> grid;
+  private HexFlowField field;
+
+  @BeforeEach
+  void setup() {
+    grid = new HexGrid<>(16, 12);
+    field = new HexFlowField(grid);
+  }
+
+  @Test
+  void openFieldMatchesDistance() {
+    final long goal = grid.key(grid.offsetIndex(8, 6));
+    field.addGoal(goal).build();
+    for (int index = 0; index < grid.size(); index++) {
+      assertThat(field.integration(index)).isEqualTo((float) HexKey.distance(grid.key(index), goal));
+    }
+    assertThat(field.direction(grid.index(goal))).isEqualTo(HexFlowField.NO_DIRECTION);
+    assertThat(field.next(goal)).isEqualTo(HexKey.EMPTY);
+  }
+
+  @Test
+  void followsToNearestGoal() {
+    field.addGoal(grid.q(0), grid.r(0))
+        .addGoal(grid.q(grid.size() - 1), grid.r(grid.size() - 1))
+        .build();
+    long key = grid.key(grid.offsetIndex(14, 10));
+    int steps = 0;
+    while (field.next(key) != HexKey.EMPTY) {
+      key = field.next(key);
+      steps++;
+    }
+    assertThat(key).isEqualTo(grid.key(grid.size() - 1));
+    assertThat((float) steps).isEqualTo(field.integration(grid.index(grid.key(grid.offsetIndex(14, 10)))));
+  }
+
+  @Test
+  void wallsAreUnreachable() {
+    for (int row = 0; row < grid.rows(); row++) {
+      field.setCost(grid.offsetIndex(5, row), HexFlowField.IMPASSABLE);
+    }
+    field.addGoal(grid.q(0), grid.r(0)).build();
+    assertThat(field.integration(grid.offsetIndex(10, 3))).isEqualTo(HexFlowField.IMPASSABLE);
+    assertThat(field.direction(grid.offsetIndex(10, 3))).isEqualTo(HexFlowField.NO_DIRECTION);
+    assertThat(field.integration(grid.offsetIndex(3, 3))).isLessThan(HexFlowField.IMPASSABLE);
+  }
+
+  @Test
+  void incrementalMatchesFullBuild() {
+    final Random random = new Random(11);
+    final HexFlowField full = new HexFlowField(grid);
+    field.setCosts(key -> 1 + random.nextInt(4));
+    for (int index = 0; index < grid.size(); index++) {
+      full.setCost(index, field.cost(index));
+    }
+    field.addGoal(grid.q(20), grid.r(20)).addGoal(grid.q(150), grid.r(150)).build();
+    full.addGoal(grid.q(20), grid.r(20)).addGoal(grid.q(150), grid.r(150));
+    for (int round = 0; round < 50; round++) {
+      for (int change = 0; change < 1 + random.nextInt(5); change++) {
+        final int index = random.nextInt(grid.size());
+        final float cost = random.nextInt(6) == 0 ? HexFlowField.IMPASSABLE : 1 + random.nextInt(6);
+        field.setCost(index, cost);
+        full.setCost(index, cost);
+      }
+      field.update();
+      full.build();
+      for (int index = 0; index < grid.size(); index++) {
+        assertThat(field.integration(index)).isEqualTo(full.integration(index));
+        final int next = field.nextIndex(index);
+        if (next >= 0) {
+          assertThat(field.integration(index)).isEqualTo(field.integration(next) + field.cost(index));
+        }
+      }
+    }
+  }
+}
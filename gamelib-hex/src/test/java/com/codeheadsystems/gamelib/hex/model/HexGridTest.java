@@ -0,0 +1,104 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.codeheadsystems.gamelib.hex.manager.HexManager;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HexGridTest {
+
+  private HexGrid<String> grid;
+
+  @BeforeEach
+  void setup() {
+    grid = new HexGrid<>(7, 5);
+  }
+
+  @Test
+  void defaultObject() {
+    assertThat(grid.size()).isEqualTo(35);
+    assertThat(grid.cols()).isEqualTo(7);
+    assertThat(grid.rows()).isEqualTo(5);
+    assertThat(grid.get(0)).isNull();
+  }
+
+  @Test
+  void matchesGenerate() {
+    final Set<Hex> expected = new HexManager().generate(7, 5);
+    final Set<Hex> actual = new HashSet<>();
+    for (int index = 0; index < grid.size(); index++) {
+      actual.add(Hex.of(grid.q(index), grid.r(index), -grid.q(index) - grid.r(index)));
+      assertThat(grid.index(grid.q(index), grid.r(index))).isEqualTo(index);
+    }
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  @Test
+  void neighbors() {
+    for (OffsetCoord.Offset offset : OffsetCoord.Offset.values()) {
+      final HexGrid<String> offsetGrid = new HexGrid<>(6, 6, offset);
+      for (int index = 0; index < offsetGrid.size(); index++) {
+        for (int direction = 0; direction < 6; direction++) {
+          final int q = offsetGrid.q(index) + HexManager.DIRECTION_Q[direction];
+          final int r = offsetGrid.r(index) + HexManager.DIRECTION_R[direction];
+          assertThat(offsetGrid.neighbor(index, direction)).isEqualTo(offsetGrid.index(q, r));
+        }
+      }
+    }
+  }
+
+  @Test
+  void setAndGet() {
+    assertThat(grid.set(3, 1, "a")).isNull();
+    assertThat(grid.get(3, 1)).isEqualTo("a");
+    assertThat(grid.get(Hex.of(3, 1, -4))).isEqualTo("a");
+    assertThat(grid.get(grid.index(3, 1))).isEqualTo("a");
+    assertThat(grid.get(-1, 0)).isNull();
+    assertThat(grid.contains(-1, 0)).isFalse();
+    grid.clear();
+    assertThat(grid.get(3, 1)).isNull();
+  }
+
+  @Test
+  void setOutside() {
+    assertThatExceptionOfType(IndexOutOfBoundsException.class)
+        .isThrownBy(() -> grid.set(100, 0, "a"));
+  }
+
+  @Test
+  void forEachIsRowMajor() {
+    final int[] expectedIndex = {0};
+    grid.forEach((index, q, r, value) -> {
+      assertThat(index).isEqualTo(expectedIndex[0]++);
+      assertThat(grid.index(q, r)).isEqualTo(index);
+    });
+    assertThat(expectedIndex[0]).isEqualTo(35);
+  }
+
+  @Test
+  void invalidSize() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> new HexGrid<String>(0, 5));
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.codeheadsystems.gamelib.hex.utilities.HexKey;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HexIntMapTest {
+
+  private HexIntMap map;
+
+  @BeforeEach
+  void setup() {
+    map = new HexIntMap();
+  }
+
+  @Test
+  void putAndGet() {
+    map.put(-5, 7, 12);
+    assertThat(map.get(-5, 7, -1)).isEqualTo(12);
+    assertThat(map.get(Hex.of(-5, 7, -2), -1)).isEqualTo(12);
+    assertThat(map.get(7, -5, -1)).isEqualTo(-1);
+    assertThat(map.size()).isEqualTo(1);
+  }
+
+  @Test
+  void increment() {
+    assertThat(map.increment(1, 1, 3, 10)).isEqualTo(13);
+    assertThat(map.increment(1, 1, 3, 10)).isEqualTo(16);
+  }
+
+  @Test
+  void remove() {
+    map.put(0, 0, 1);
+    assertThat(map.remove(0, 0, -1)).isEqualTo(1);
+    assertThat(map.remove(0, 0, -1)).isEqualTo(-1);
+    assertThat(map.isEmpty()).isTrue();
+  }
+
+  @Test
+  void packing() {
+    final long key = HexKey.pack(-123456, 654321);
+    assertThat(HexKey.q(key)).isEqualTo(-123456);
+    assertThat(HexKey.r(key)).isEqualTo(654321);
+    assertThat(HexKey.s(key)).isEqualTo(123456 - 654321);
+  }
+
+  @Test
+  void matchesHashMap() {
+    final Random random = new Random(7);
+    final Map<Long, Integer> expected = new HashMap<>();
+    for (int i = 0; i < 20000; i++) {
+      final int q = random.nextInt(50) - 25;
+      final int r = random.nextInt(50) - 25;
+      final long key = HexKey.pack(q, r);
+      if (random.nextInt(3) == 0) {
+        assertThat(map.remove(q, r, -1)).isEqualTo(expected.getOrDefault(key, -1));
+        expected.remove(key);
+      } else {
+        map.put(q, r, i);
+        expected.put(key, i);
+      }
+    }
+    assertThat(map.size()).isEqualTo(expected.size());
+    expected.forEach((key, value) -> assertThat(map.get(key, -1)).isEqualTo(value));
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ *   Copyright (c) 2023. Ned Wolpert <ned.wolpert@gmail.com>
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ *
+ */
+
+package com.codeheadsystems.gamelib.hex.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.codeheadsystems.gamelib.hex.utilities.HexKey;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HexObjectMapTest {
+
+  private HexObjectMap<String> map;
+
+  @BeforeEach
+  void setup() {
+    map = new HexObjectMap<>();
+  }
+
+  @Test
+  void defaultObject() {
+    assertThat(map.size()).isEqualTo(0);
+    assertThat(map.isEmpty()).isTrue();
+    assertThat(map.get(0, 0)).isNull();
+  }
+
+  @Test
+  void putAndGet() {
+    assertThat(map.put(1, -2, "a")).isNull();
+    assertThat(map.put(1, -2, "b")).isEqualTo("a");
+    assertThat(map.get(1, -2)).isEqualTo("b");
+    assertThat(map.get(Hex.of(1, -2, 1))).isEqualTo("b");
+    assertThat(map.get(HexKey.pack(1, -2))).isEqualTo("b");
+    assertThat(map.containsKey(1, -2)).isTrue();
+    assertThat(map.containsKey(-2, 1)).isFalse();
+    assertThat(map.size()).isEqualTo(1);
+  }
+
+  @Test
+  void nullValue() {
+    assertThatExceptionOfType(NullPointerException.class)
+        .isThrownBy(() -> map.put(0, 0, null));
+  }
+
+  @Test
+  void reservedKey() {
+    assertThatExceptionOfType(IllegalArgumentException.class)
+        .isThrownBy(() -> map.put(HexKey.EMPTY, "a"));
+  }
+
+  @Test
+  void remove() {
+    map.put(0, 0, "a");
+    map.put(0, 1, "b");
+    assertThat(map.remove(0, 0)).isEqualTo("a");
+    assertThat(map.remove(0, 0)).isNull();
+    assertThat(map.get(0, 1)).isEqualTo("b");
+    assertThat(map.size()).isEqualTo(1);
+  }
+
+  @Test
+  void clear() {
+    map.put(0, 0, "a");
+    map.clear();
+    assertThat(map.isEmpty()).isTrue();
+    assertThat(map.get(0, 0)).isNull();
+  }
+
+  @Test
+  void forEach() {
+    map.put(2, 3, "a");
+    final Map<String, String> visited = new HashMap<>();
+    map.forEach((q, r, value) -> visited.put(q + "," + r, value));
+    assertThat(visited).containsExactly(Map.entry("2,3", "a"));
+  }
+
+  @Test
+  void equalsAndHashCode() {
+    final HexObjectMap<String> other = new HexObjectMap<>(1000);
+    map.put(1, 2, "a");
+    other.put(1, 2, "a");
+    assertThat(map).isEqualTo(other);
+    assertThat(map.hashCode()).isEqualTo(other.hashCode());
+    other.put(1, 2, "b");
+    assertThat(map).isNotEqualTo(other);
+  }
+
+  @Test
+  void matchesHashMap() {
+    final Random random = new Random(42);
+    final Map<Long, String> expected = new HashMap<>();
+    for (int i = 0; i < 20000; i++) {
+      final int q = random.nextInt(64) - 32;
+      final int r = random.nextInt(64) - 32;
+      final long key = HexKey.pack(q, r);
+      if (random.nextInt(3) == 0) {
+        assertThat(map.remove(q, r)).isEqualTo(expected.remove(key));
+      } else {
+        final String value = Integer.toString(i);
+        assertThat(map.put(q, r, value)).isEqualTo(expected.put(key, value));
+      }
+    }
+    assertThat(map.size()).isEqualTo(expected.size());
+    expected.forEach((key, value) -> assertThat(map.get(key)).isEqualTo(value));
+  }
+}
@@ -18,6 +18,7 @@
 package com.codeheadsystems.gamelib.hex.model;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 
 import com.badlogic.gdx.math.Vector2;
 import com.codeheadsystems.gamelib.hex.GdxTest;
@@ -71,6 +72,28 @@ class LayoutTest extends GdxTest {
         .hasSize(12);
   }
 
+  @Test
+  public void vertices_matchCornerMath() {
+    final float[] result = manager.vertices(LAYOUT, HEX);
+    final Vector2 center = manager.hexToPixel(LAYOUT, HEX);
+    for (int corner = 0; corner < 6; corner++) {
+      final double angle = 2.0 * Math.PI * (LAYOUT.orientation().startAngle() - corner) / 6.0;
+      assertThat(result[corner * 2]).isCloseTo(center.x + 10f * (float) Math.cos(angle), within(0.0001f));
+      assertThat(result[corner * 2 + 1]).isCloseTo(center.y + 10f * (float) Math.sin(angle), within(0.0001f));
+    }
+  }
+
+  @Test
+  void geometry() {
+    final Layout layout = Layout.of(Orientation.flat, new Vector2().set(10.0f, 15.0f), new Vector2().set(35.0f, 71.0f));
+    final HexGeometry geometry = manager.geometry(layout);
+    assertThat(manager.geometry(layout)).isSameAs(geometry);
+    assertThat(geometry.width()).isCloseTo(20f, within(0.0001f));
+    layout.size().set(20f, 15f);
+    assertThat(manager.geometry(layout)).isNotSameAs(geometry);
+    assertThat(manager.geometry(layout).width()).isCloseTo(40f, within(0.0001f));
+  }
+
   @Test
   void testHashCode() {
     assertThat(LAYOUT.hashCode())
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2023. Ned Wolpert
+ */
+
+package com.codeheadsystems.gamelib.loader.manager;
+
+/**
+ * How many milliseconds of asset loading fit in the next frame. Each call measures how long the last frame
+ * took and moves the budget by half the difference from the target frame time. Same as the core FrameBudget,
+ * this module does not depend on gamelib-core.
+ */
+class FrameBudget {
+
+  private static final long NANOS_PER_MILLI = 1_000_000L;
+  private static final int MINIMUM_MILLIS = 1;
+
+  private final float targetFrameMillis;
+  private float budgetMillis;
+  private long lastFrameNanos;
+
+  /**
+   * Instantiates a new Frame budget.
+   *
+   * @param initialMillis     the budget for the first frame.
+   * @param targetFrameMillis how long a frame should take, the refresh interval with vsync.
+   */
+  FrameBudget(final int initialMillis, final float targetFrameMillis) {
+    if (initialMillis <= 0 || !(targetFrameMillis > 0f)) {
+      throw new IllegalArgumentException("Budget and frame time must be positive: " + initialMillis + ", " + targetFrameMillis);
+    }
+    this.targetFrameMillis = targetFrameMillis;
+    this.budgetMillis = Math.min(initialMillis, targetFrameMillis);
+  }
+
+  /**
+   * Budget for the frame starting now.
+   *
+   * @return the millis
+   */
+  int next() {
+    final long now = System.nanoTime();
+    if (lastFrameNanos != 0L) {
+      final float errorMillis = targetFrameMillis - (float) (now - lastFrameNanos) / NANOS_PER_MILLI;
+      budgetMillis = Math.max(MINIMUM_MILLIS, Math.min(targetFrameMillis, budgetMillis + errorMillis / 2f));
+    }
+    lastFrameNanos = now;
+    return Math.round(budgetMillis);
+  }
+}
@@ -4,6 +4,7 @@
 
 package com.codeheadsystems.gamelib.loader.manager;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.assets.AssetLoaderParameters;
 import com.badlogic.gdx.assets.AssetManager;
@@ -19,6 +20,7 @@ import com.codeheadsystems.gamelib.loader.Infrastructure;
 import com.codeheadsystems.gamelib.loader.ScreenProvider;
 import com.codeheadsystems.gamelib.loader.model.Assets;
 import com.codeheadsystems.gamelib.loader.model.Loader;
+import com.codeheadsystems.gamelib.loader.model.LoadingScreenConfiguration;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Map;
@@ -36,8 +38,10 @@ public class LoadingManager {
   private final Json json;
   private final Infrastructure gameInfrastructure;
   private Assets assets;
+  private FrameBudget frameBudget;
 
   private LoadingStage loadingStage;
+  private long stageStart;
 
   /**
    * Instantiates a new Loading manager.
@@ -146,12 +150,38 @@ public class LoadingManager {
   }
 
   private Optional<Screen> loadAssets() {
-    if (assetManager.update()) {
+    if (updateAssets()) {
       setLoadingStage(LoadingStage.GENERATE_SCREEN);
     }
     return Optional.empty();
   }
 
+  /**
+   * One AssetManager step per frame, or as many as fit in the frame budget when one is configured.
+   */
+  private boolean updateAssets() {
+    final LoadingScreenConfiguration configuration = assets.getLoadingScreenConfiguration();
+    if (configuration.getLoadingBudgetMillis() <= 0) {
+      return assetManager.update();
+    }
+    if (frameBudget == null) {
+      frameBudget = new FrameBudget(configuration.getLoadingBudgetMillis(),
+          targetFrameMillis(configuration.getTargetFrameMillis()));
+    }
+    return assetManager.update(frameBudget.next());
+  }
+
+  /**
+   * The configured frame time, or the display's refresh interval when none is set.
+   */
+  private static float targetFrameMillis(final int configured) {
+    if (configured > 0) {
+      return configured;
+    }
+    final int refreshRate = Gdx.graphics.getDisplayMode().refreshRate;
+    return 1000f / (refreshRate > 0 ? refreshRate : 60);
+  }
+
   private Optional<Screen> generateScreen() {
     try {
       final ScreenProvider screenProvider = Class.forName(assets.getLoadingScreenConfiguration().getScreenProvider())
@@ -225,6 +255,11 @@ public class LoadingManager {
    * @param loadingStage the current stage
    */
   void setLoadingStage(final LoadingStage loadingStage) {
+    final long now = System.nanoTime();
+    if (this.loadingStage != null) {
+      LOGGER.info("stage: " + this.loadingStage.name() + " took " + (now - stageStart) / 1_000_000 + "ms");
+    }
+    stageStart = now;
     LOGGER.info("stage: " + loadingStage.getTitle());
     this.loadingStage = loadingStage;
   }
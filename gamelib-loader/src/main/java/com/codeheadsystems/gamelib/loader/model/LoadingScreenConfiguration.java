@@ -13,6 +13,8 @@ public class LoadingScreenConfiguration {
 
   private String postQueueAssetsHook;
   private String preQueueAssetsHook;
+  private int loadingBudgetMillis = 8;
+  private int targetFrameMillis;
 
   /**
    * Gets post queue assets hook.
@@ -42,4 +44,24 @@ public class LoadingScreenConfiguration {
   public String getScreenProvider() {
     return screenProvider;
   }
+
+  /**
+   * How many milliseconds of asset loading to start with each frame, 0 to make one AssetManager.update() call
+   * per frame instead. The budget then adapts to keep frames near the target frame time.
+   *
+   * @return the loading budget millis
+   */
+  public int getLoadingBudgetMillis() {
+    return loadingBudgetMillis;
+  }
+
+  /**
+   * How long a frame of the loading screen should take.
+   * 0 uses the display's refresh interval, which is what a frame takes with vsync on.
+   *
+   * @return the target frame millis
+   */
+  public int getTargetFrameMillis() {
+    return targetFrameMillis;
+  }
 }